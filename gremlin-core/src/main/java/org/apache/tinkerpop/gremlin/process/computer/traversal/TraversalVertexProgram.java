@@ -47,6 +47,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
 import org.apache.tinkerpop.gremlin.process.traversal.step.LocalBarrier;
 import org.apache.tinkerpop.gremlin.process.traversal.step.MapReducer;
 import org.apache.tinkerpop.gremlin.process.traversal.step.MemoryComputing;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.ShortestPathFilterStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.ProfileSideEffectStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
@@ -104,6 +105,7 @@ public final class TraversalVertexProgram implements VertexProgram<TraverserSet<
     private Set<MemoryComputeKey> memoryComputeKeys = new HashSet<>();
     private static final Set<VertexComputeKey> VERTEX_COMPUTE_KEYS =
             new HashSet<>(Arrays.asList(VertexComputeKey.of(HALTED_TRAVERSERS, false), VertexComputeKey.of(ACTIVE_TRAVERSERS, true)));
+    private Set<VertexComputeKey> vertexComputeKeys = VERTEX_COMPUTE_KEYS;
 
     private PureTraversal<?, ?> traversal;
     private TraversalMatrix<?, ?> traversalMatrix;
@@ -188,6 +190,11 @@ public final class TraversalVertexProgram implements VertexProgram<TraverserSet<
         for (final ProfileStep profileStep : TraversalHelper.getStepsOfAssignableClassRecursively(ProfileStep.class, this.traversal.get())) {
             this.traversal.get().getSideEffects().register(profileStep.getId(), new MutableMetricsSupplier(profileStep.getPreviousStep()), ProfileStep.ProfileBiOperator.instance());
         }
+        // register the vertex compute key that shortest path filter steps keep their visited start vertices in
+        if (TraversalHelper.hasStepOfAssignableClassRecursively(ShortestPathFilterStep.class, this.traversal.get())) {
+            this.vertexComputeKeys = new HashSet<>(VERTEX_COMPUTE_KEYS);
+            this.vertexComputeKeys.add(VertexComputeKey.of(ShortestPathFilterStep.VISITED, true));
+        }
         // register TraversalVertexProgram specific memory compute keys
         this.memoryComputeKeys.add(MemoryComputeKey.of(VOTE_TO_HALT, Operator.and, false, true));
         this.memoryComputeKeys.add(MemoryComputeKey.of(HALTED_TRAVERSERS, Operator.addAll, false, false));
@@ -344,7 +351,7 @@ public final class TraversalVertexProgram implements VertexProgram<TraverserSet<
 
     @Override
     public Set<VertexComputeKey> getVertexComputeKeys() {
-        return VERTEX_COMPUTE_KEYS;
+        return this.vertexComputeKeys;
     }
 
     @Override
@@ -35,6 +35,8 @@ import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.Path
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.PathRetractionStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.CountStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.RepeatUnrollStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.ReachabilityStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.ShortestPathStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.ComputerVerificationStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.StandardVerificationStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
@@ -210,8 +212,11 @@ public interface TraversalStrategies extends Serializable, Cloneable {
                     AdjacentToIncidentStrategy.instance(),
                     FilterRankingStrategy.instance(),
                     MatchPredicateStrategy.instance(),
+                    ShortestPathStrategy.instance(),
                     RepeatUnrollStrategy.instance(),
+                    ReachabilityStrategy.instance(),
                     CountStrategy.instance(),
+                    OrderLimitStrategy.instance(),
                     PathRetractionStrategy.instance(),
                     LazyBarrierStrategy.instance(),
                     ProfileStrategy.instance(),
@@ -225,7 +230,6 @@ public interface TraversalStrategies extends Serializable, Cloneable {
             graphComputerStrategies.addStrategies(
                     GraphFilterStrategy.instance(),
                     MessagePassingReductionStrategy.instance(),
-                    OrderLimitStrategy.instance(),
                     PathProcessorStrategy.instance(),
                     ComputerFinalizationStrategy.instance(),
                     ComputerVerificationStrategy.instance());
@@ -35,7 +35,10 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.map.AddVertexStartSte
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.InjectStep;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.RequirementsStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.TraverserGeneratorFactoryStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserGeneratorFactory;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.CompactPathTraverserGeneratorFactory;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.T;
@@ -74,6 +77,7 @@ public class GraphTraversalSource implements TraversalSource {
 
         public static final String withBulk = "withBulk";
         public static final String withPath = "withPath";
+        public static final String withTraverserGeneratorFactory = "withTraverserGeneratorFactory";
 
     }
 
@@ -230,6 +234,18 @@ public class GraphTraversalSource implements TraversalSource {
         return clone;
     }
 
+    /**
+     * Has the traversals of the source create their traversers with the provided factory, such as the
+     * {@link CompactPathTraverserGeneratorFactory} for traversers whose paths are a
+     * {@link org.apache.tinkerpop.gremlin.process.traversal.step.util.CompactPath}.
+     */
+    public GraphTraversalSource withTraverserGeneratorFactory(final TraverserGeneratorFactory traverserGeneratorFactory) {
+        final GraphTraversalSource clone = this.clone();
+        clone.getStrategies().addStrategies(TraverserGeneratorFactoryStrategy.create(traverserGeneratorFactory));
+        clone.bytecode.addSource(Symbols.withTraverserGeneratorFactory, traverserGeneratorFactory);
+        return clone;
+    }
+
     @Override
     public GraphTraversalSource withRemote(final Configuration conf) {
         return (GraphTraversalSource) TraversalSource.super.withRemote(conf);
@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+
+/**
+ * A barrier step that can be limited in the number of traversers or entries it holds in memory. A step that is not
+ * also {@link Spilling} has to hold what it has seen in memory as a whole (see {@code DedupGlobalStep}) and fails the
+ * traversal once it holds more than that number, which is preferable to it exhausting the memory of the JVM.
+ *
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ */
+public interface MemoryBounded {
+
+    /**
+     * Sets the number of traversers or entries that the step may hold in memory, where a negative number does not
+     * limit them.
+     */
+    public void setMaxInMemory(final long maxInMemory);
+
+    public long getMaxInMemory();
+
+    public static class Exceptions {
+
+        private Exceptions() {
+        }
+
+        public static IllegalStateException barrierExceedsMaxInMemory(final Step<?, ?> step, final long maxInMemory) {
+            return new IllegalStateException(String.format("%s holds more than the %s entries allowed in memory and can not spill them", step, maxInMemory));
+        }
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step;
+
+import java.io.File;
+
+/**
+ * A {@link MemoryBounded} barrier step that, once it holds more than the maximum number in memory, writes them to
+ * files in the spill directory and reads them back when the barrier is consumed. {@code OrderGlobalStep} writes its
+ * traversers in sorted runs that are merged back in order and {@code GroupStep} writes its groups partitioned by the
+ * hash of their keys, which are reduced back one partition at a time.
+ *
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ */
+public interface Spilling extends MemoryBounded {
+
+    /**
+     * Sets the directory that the step writes its spilled traversers to.
+     */
+    public void setSpillDirectory(final File spillDirectory);
+}
@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.branch;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ReducingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInterruptedException;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Executes a traversal that ends with a {@link ReducingBarrierStep} over its starts on a number of threads, as
+ * determined by {@code ParallelStrategy}. The starts are read in batches and each batch is handed to a clone of the
+ * traversal on one of the threads of a {@code ForkJoinPool}, where each clone reduces all of the batches it is given
+ * to a single value. Those values are then merged with the reducer of the {@link ReducingBarrierStep}, which is the
+ * one a {@code GraphComputer} merges the values of its workers with, and the result of the barrier is emitted.
+ * <p/>
+ * The pool is given to the step, as it is shared by all the traversals of a {@code ParallelStrategy}, and there are
+ * as many clones as the pool has threads. If the execution fails or the thread that executes the step is interrupted,
+ * the clones of that execution stop at the next traverser that they take from a batch.
+ *
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ */
+public final class ParallelStep<S, E> extends AbstractStep<S, E> implements TraversalParent {
+
+    private Traversal.Admin<S, E> parallelTraversal;
+    private final ForkJoinPool pool;
+    private final int batchSize;
+    private boolean done = false;
+
+    public ParallelStep(final Traversal.Admin traversal, final Traversal.Admin<S, E> parallelTraversal,
+                        final ForkJoinPool pool, final int batchSize) {
+        super(traversal);
+        if (batchSize < 1)
+            throw new IllegalArgumentException("The batch size must be greater than zero: " + batchSize);
+        if (!(parallelTraversal.getEndStep() instanceof ReducingBarrierStep))
+            throw new IllegalArgumentException("The traversal to execute in parallel must end with a reducing barrier: " + parallelTraversal);
+        this.parallelTraversal = this.integrateChild(parallelTraversal);
+        this.pool = pool;
+        this.batchSize = batchSize;
+    }
+
+    public Traversal.Admin<S, E> getParallelTraversal() {
+        return this.parallelTraversal;
+    }
+
+    public ForkJoinPool getPool() {
+        return this.pool;
+    }
+
+    public int getThreads() {
+        return this.pool.getParallelism();
+    }
+
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    @Override
+    public List<Traversal.Admin<S, E>> getGlobalChildren() {
+        return Collections.singletonList(this.parallelTraversal);
+    }
+
+    @Override
+    public Set<TraverserRequirement> getRequirements() {
+        return this.parallelTraversal.getTraverserRequirements();
+    }
+
+    @Override
+    protected Traverser.Admin<E> processNextStart() throws NoSuchElementException {
+        if (this.done)
+            throw FastNoSuchElementException.instance();
+        this.done = true;
+
+        final Barrier<E> barrier = (Barrier<E>) this.parallelTraversal.getEndStep();
+        for (final Traversal.Admin<S, E> worker : this.executeInParallel()) {
+            final Barrier<E> workerBarrier = (Barrier<E>) worker.getEndStep();
+            if (workerBarrier.hasNextBarrier())
+                barrier.addBarrier(workerBarrier.nextBarrier());
+        }
+        // the barrier has no starts of its own, so it produces its result from the values of the workers alone
+        return this.parallelTraversal.getEndStep().next();
+    }
+
+    /**
+     * Hands the starts in batches to clones of the parallel traversal, at most one batch at a time to each clone,
+     * and returns the clones once they have processed all of them.
+     */
+    private List<Traversal.Admin<S, E>> executeInParallel() {
+        final int threads = this.getThreads();
+        final AtomicBoolean cancelled = new AtomicBoolean(false);
+        final List<Traversal.Admin<S, E>> workers = new ArrayList<>(threads);
+        final Deque<Traversal.Admin<S, E>> idleWorkers = new ArrayDeque<>(threads);
+        final Deque<ForkJoinTask<Traversal.Admin<S, E>>> tasks = new ArrayDeque<>(threads);
+        try {
+            while (this.starts.hasNext()) {
+                final List<Traverser.Admin<S>> batch = new ArrayList<>(this.batchSize);
+                while (batch.size() < this.batchSize && this.starts.hasNext()) {
+                    batch.add(this.starts.next());
+                }
+
+                if (idleWorkers.isEmpty()) {
+                    if (workers.size() < threads) {
+                        final Traversal.Admin<S, E> worker = this.parallelTraversal.clone();
+                        workers.add(worker);
+                        idleWorkers.add(worker);
+                    } else {
+                        idleWorkers.add(join(tasks.remove()));
+                    }
+                }
+                final Traversal.Admin<S, E> worker = idleWorkers.remove();
+                tasks.add(this.pool.submit(() -> {
+                    // a start step takes all the starts it is given at once, so they are given one at a time for
+                    // the worker to stop between them once the execution is cancelled
+                    final Barrier<E> workerBarrier = (Barrier<E>) worker.getEndStep();
+                    for (final Traverser.Admin<S> start : batch) {
+                        if (cancelled.get() || Thread.currentThread().isInterrupted())
+                            throw new TraversalInterruptedException();
+                        worker.addStart(start);
+                        workerBarrier.processAllStarts();
+                    }
+                    return worker;
+                }));
+            }
+            while (!tasks.isEmpty()) {
+                join(tasks.remove());
+            }
+            return workers;
+        } finally {
+            // cancelling a ForkJoinTask does not stop it once it runs and the pool is shared with other executions,
+            // so the workers of this one check the flag between traversers
+            cancelled.set(true);
+            tasks.forEach(task -> task.cancel(true));
+        }
+    }
+
+    private static <T> T join(final ForkJoinTask<T> task) {
+        try {
+            return task.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TraversalInterruptedException();
+        } catch (final ExecutionException e) {
+            Throwable cause = e.getCause();
+            // a ForkJoinTask rethrows a copy of an exception from another thread, with the original as its cause
+            if (null != cause.getCause() && cause.getClass().equals(cause.getCause().getClass()))
+                cause = cause.getCause();
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            else if (cause instanceof Error)
+                throw (Error) cause;
+            throw new IllegalStateException(cause.getMessage(), cause);
+        }
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.done = false;
+        this.parallelTraversal.reset();
+    }
+
+    @Override
+    public ParallelStep<S, E> clone() {
+        final ParallelStep<S, E> clone = (ParallelStep<S, E>) super.clone();
+        clone.parallelTraversal = this.parallelTraversal.clone();
+        clone.done = false;
+        return clone;
+    }
+
+    @Override
+    public void setTraversal(final Traversal.Admin<?, ?> parentTraversal) {
+        super.setTraversal(parentTraversal);
+        this.integrateChild(this.parallelTraversal);
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, this.parallelTraversal, this.getThreads(), this.batchSize);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode() ^ this.parallelTraversal.hashCode() ^ (this.getThreads() << 16) ^ this.batchSize;
+    }
+}
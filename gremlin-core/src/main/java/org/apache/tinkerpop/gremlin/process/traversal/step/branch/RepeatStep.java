@@ -21,10 +21,14 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.branch;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.lambda.LoopTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.lambda.TrueTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ComputerAwareStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.IdSet;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
@@ -45,6 +49,8 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
     private Traversal.Admin<S, ?> emitTraversal = null;
     public boolean untilFirst = false;
     public boolean emitFirst = false;
+    private boolean pruneVisited = false;
+    private List<IdSet> visited = null;
 
     public RepeatStep(final Traversal.Admin traversal) {
         super(traversal);
@@ -94,6 +100,22 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
         return this.repeatTraversal;
     }
 
+    /**
+     * Sets whether a traverser goes through the repeat traversal again if another traverser has already done so from
+     * the same object. This must only be set when the traversers that come out of the {@code repeat()} depend on
+     * nothing but the objects they go through the repeat traversal from, and when the objects they come out with are
+     * deduplicated, as then going through it again from an object can only produce duplicates. If the
+     * {@code repeat()} is bounded by {@code times()}, a traverser only goes through it again if none of the others
+     * that did looped as many times or, if every traverser is emitted, if it has looped fewer times than all of them.
+     */
+    public void setPruneVisited(final boolean pruneVisited) {
+        this.pruneVisited = pruneVisited;
+    }
+
+    public boolean isPruneVisited() {
+        return this.pruneVisited;
+    }
+
     public List<Traversal.Admin<S, S>> getGlobalChildren() {
         return null == this.repeatTraversal ? Collections.emptyList() : Collections.singletonList(this.repeatTraversal);
     }
@@ -115,16 +137,41 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
         return emitFirst == this.emitFirst && null != this.emitTraversal && TraversalUtil.test(traverser, this.emitTraversal);
     }
 
+    /**
+     * Determines if the traverser should go through the repeat traversal, which it should not if visited objects are
+     * pruned and another traverser has already gone through it from the same object in as few loops.
+     */
+    private boolean isFirstVisit(final Traverser.Admin<S> traverser) {
+        if (!this.pruneVisited)
+            return true;
+        final Object object = traverser.get();
+        final Object id = object instanceof Vertex ? ((Vertex) object).id() : object;
+        // the loops only matter when times() bounds the repeat()
+        final int loops = this.untilTraversal instanceof LoopTraversal ? traverser.loops() : 0;
+        if (null == this.visited)
+            this.visited = new ArrayList<>();
+        while (this.visited.size() <= loops) {
+            this.visited.add(new IdSet());
+        }
+        if (this.emitTraversal instanceof TrueTraversal) {
+            for (int i = 0; i < loops; i++) {
+                if (this.visited.get(i).contains(id))
+                    return false;
+            }
+        }
+        return this.visited.get(loops).add(id);
+    }
+
     @Override
     public String toString() {
         if (this.untilFirst && this.emitFirst)
-            return StringFactory.stepString(this, untilString(), emitString(), this.repeatTraversal);
+            return StringFactory.stepString(this, untilString(), emitString(), this.repeatTraversal, pruneString());
         else if (this.emitFirst)
-            return StringFactory.stepString(this, emitString(), this.repeatTraversal, untilString());
+            return StringFactory.stepString(this, emitString(), this.repeatTraversal, untilString(), pruneString());
         else if (this.untilFirst)
-            return StringFactory.stepString(this, untilString(), this.repeatTraversal, emitString());
+            return StringFactory.stepString(this, untilString(), this.repeatTraversal, emitString(), pruneString());
         else
-            return StringFactory.stepString(this, this.repeatTraversal, untilString(), emitString());
+            return StringFactory.stepString(this, this.repeatTraversal, untilString(), emitString(), pruneString());
     }
 
     @Override
@@ -136,6 +183,7 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
             this.untilTraversal.reset();
         if (null != this.repeatTraversal)
             this.repeatTraversal.reset();
+        this.visited = null;
     }
 
     private final String untilString() {
@@ -146,6 +194,10 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
         return null == this.emitTraversal ? "emit(false)" : "emit(" + this.emitTraversal + ')';
     }
 
+    private final String pruneString() {
+        return this.pruneVisited ? "prune(visited)" : null;
+    }
+
     /////////////////////////
 
     @Override
@@ -156,6 +208,7 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
             clone.untilTraversal = this.untilTraversal.clone();
         if (null != this.emitTraversal)
             clone.emitTraversal = this.emitTraversal.clone();
+        clone.visited = null;
         return clone;
     }
 
@@ -172,6 +225,7 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
         int result = super.hashCode() ^ this.repeatTraversal.hashCode();
         result ^= Boolean.hashCode(this.untilFirst);
         result ^= Boolean.hashCode(this.emitFirst) << 1;
+        result ^= Boolean.hashCode(this.pruneVisited) << 2;
         if (this.untilTraversal != null)
             result ^= this.untilTraversal.hashCode();
         if (this.emitTraversal != null)
@@ -190,7 +244,8 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
                     start.resetLoops();
                     return IteratorUtils.of(start);
                 }
-                this.repeatTraversal.addStart(start);
+                if (isFirstVisit(start))
+                    this.repeatTraversal.addStart(start);
                 if (doEmit(start, true)) {
                     final Traverser.Admin<S> emitSplit = start.split();
                     emitSplit.resetLoops();
@@ -277,9 +332,10 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
                     start.resetLoops();
                     return IteratorUtils.of(start);
                 } else {
-                    if (!repeatStep.untilFirst && !repeatStep.emitFirst)
-                        repeatStep.repeatTraversal.addStart(start);
-                    else
+                    if (!repeatStep.untilFirst && !repeatStep.emitFirst) {
+                        if (repeatStep.isFirstVisit(start))
+                            repeatStep.repeatTraversal.addStart(start);
+                    } else
                         repeatStep.addStart(start);
                     if (repeatStep.doEmit(start, false)) {
                         final Traverser.Admin<S> emitSplit = start.split();
@@ -28,6 +28,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.ByModulating;
 import org.apache.tinkerpop.gremlin.process.traversal.step.GraphComputing;
 import org.apache.tinkerpop.gremlin.process.traversal.step.PathProcessor;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Scoping;
+import org.apache.tinkerpop.gremlin.process.traversal.step.MemoryBounded;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
@@ -50,7 +51,7 @@ import java.util.function.BinaryOperator;
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class DedupGlobalStep<S> extends FilterStep<S> implements TraversalParent, Scoping, GraphComputing, Barrier<Map<Object, Traverser.Admin<S>>>, ByModulating, PathProcessor {
+public final class DedupGlobalStep<S> extends FilterStep<S> implements TraversalParent, Scoping, GraphComputing, Barrier<Map<Object, Traverser.Admin<S>>>, ByModulating, PathProcessor, MemoryBounded {
 
     private Traversal.Admin<S, Object> dedupTraversal = null;
     private Set<Object> duplicateSet = new HashSet<>();
@@ -60,6 +61,7 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
     private boolean executingAtMaster = false;
     private Map<Object, Traverser.Admin<S>> barrier;
     private Iterator<Map.Entry<Object, Traverser.Admin<S>>> barrierIterator;
+    private long maxInMemory = -1;
 
     public DedupGlobalStep(final Traversal.Admin traversal, final String... dedupLabels) {
         super(traversal);
@@ -70,13 +72,28 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
     protected boolean filter(final Traverser.Admin<S> traverser) {
         if (this.onGraphComputer && !this.executingAtMaster) return true;
         traverser.setBulk(1L);
+        final boolean added;
         if (null == this.dedupLabels) {
-            return this.duplicateSet.add(TraversalUtil.applyNullable(traverser, this.dedupTraversal));
+            added = this.duplicateSet.add(TraversalUtil.applyNullable(traverser, this.dedupTraversal));
         } else {
             final List<Object> objects = new ArrayList<>(this.dedupLabels.size());
             this.dedupLabels.forEach(label -> objects.add(TraversalUtil.applyNullable((S) this.getScopeValue(Pop.last, label, traverser), this.dedupTraversal)));
-            return this.duplicateSet.add(objects);
+            added = this.duplicateSet.add(objects);
         }
+        // the objects seen so far are needed to filter those that follow so they can not be spilled
+        if (added && this.maxInMemory >= 0 && this.duplicateSet.size() > this.maxInMemory)
+            throw MemoryBounded.Exceptions.barrierExceedsMaxInMemory(this, this.maxInMemory);
+        return added;
+    }
+
+    @Override
+    public void setMaxInMemory(final long maxInMemory) {
+        this.maxInMemory = maxInMemory;
+    }
+
+    @Override
+    public long getMaxInMemory() {
+        return this.maxInMemory;
     }
 
     @Override
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.filter;
+
+import org.apache.tinkerpop.gremlin.process.computer.traversal.TraversalVertexProgram;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.ShortestPathStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Used by {@link ShortestPathStrategy} within the {@code repeat()} of a {@link TraversalVertexProgram} so that only
+ * the first traverser to reach a vertex from a given start vertex goes on from it. As the traversers of a
+ * {@code repeat()} take a step per iteration of the program, the first to reach a vertex has a path to it that is no
+ * longer than that of any other. The start vertices that have reached a vertex are kept on it in the transient
+ * {@link #VISITED} compute key, so this step can only be used on a graph computer.
+ *
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ */
+public final class ShortestPathFilterStep extends FilterStep<Vertex> {
+
+    public static final String VISITED = "gremlin.shortestPathFilterStep.visited";
+
+    public ShortestPathFilterStep(final Traversal.Admin traversal) {
+        super(traversal);
+    }
+
+    @Override
+    protected boolean filter(final Traverser.Admin<Vertex> traverser) {
+        final Vertex vertex = traverser.get();
+        final Object source = traverser.path().<Element>get(0).id();
+        final VertexProperty<Set<Object>> property = vertex.property(VISITED);
+        final Set<Object> visited = property.isPresent() ? property.value() : new HashSet<>();
+        if (!visited.add(source))
+            return false;
+        vertex.property(VertexProperty.Cardinality.single, VISITED, visited);
+        return true;
+    }
+
+    @Override
+    public Set<TraverserRequirement> getRequirements() {
+        return Collections.singleton(TraverserRequirement.PATH);
+    }
+}
@@ -29,14 +29,18 @@ import org.apache.tinkerpop.gremlin.process.traversal.lambda.IdentityTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.lambda.TokenTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
 import org.apache.tinkerpop.gremlin.process.traversal.step.ByModulating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.MemoryBounded;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Spilling;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ReducingBarrierStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.MapSpill;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.function.HashMapSupplier;
 
+import java.io.File;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -48,12 +52,15 @@ import java.util.function.BinaryOperator;
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>> implements ByModulating, TraversalParent {
+public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>> implements ByModulating, TraversalParent, Spilling, AutoCloseable {
 
     private char state = 'k';
     private Traversal.Admin<S, K> keyTraversal;
     private Traversal.Admin<S, V> valueTraversal;
     private Barrier barrierStep;
+    private long maxInMemory = -1;
+    private File spillDirectory = null;
+    private transient MapSpill<K, V> mapSpill = null;
 
     public GroupStep(final Traversal.Admin traversal) {
         super(traversal);
@@ -80,17 +87,70 @@ public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>>
 
     @Override
     public Map<K, V> projectTraverser(final Traverser.Admin<S> traverser) {
+        final K key = TraversalUtil.applyNullable(traverser, this.keyTraversal);
+        // the groups held so far are spilled before a new one would make more of them than may be held in memory
+        if (this.maxInMemory >= 0 && null != this.seed && !this.seed.containsKey(key) && this.seed.size() + 1 > this.maxInMemory) {
+            if (null == this.spillDirectory)
+                throw MemoryBounded.Exceptions.barrierExceedsMaxInMemory(this, this.maxInMemory);
+            if (null == this.mapSpill)
+                this.mapSpill = new MapSpill<>(this.spillDirectory, this.getBiOperator(), this.getTraversal());
+            this.mapSpill.spill(this.seed);
+        }
         final Map<K, V> map = new HashMap<>(1);
         this.valueTraversal.reset();
         this.valueTraversal.addStart(traverser);
         if (null == this.barrierStep) {
             if (this.valueTraversal.hasNext())
-                map.put(TraversalUtil.applyNullable(traverser, this.keyTraversal), (V) this.valueTraversal.next());
+                map.put(key, (V) this.valueTraversal.next());
         } else if (this.barrierStep.hasNextBarrier())
-            map.put(TraversalUtil.applyNullable(traverser, this.keyTraversal), (V) this.barrierStep.nextBarrier());
+            map.put(key, (V) this.barrierStep.nextBarrier());
         return map;
     }
 
+    @Override
+    public void setMaxInMemory(final long maxInMemory) {
+        this.maxInMemory = maxInMemory;
+    }
+
+    @Override
+    public void setSpillDirectory(final File spillDirectory) {
+        this.spillDirectory = spillDirectory;
+    }
+
+    @Override
+    public long getMaxInMemory() {
+        return this.maxInMemory;
+    }
+
+    @Override
+    public Map<K, V> nextBarrier() {
+        Map<K, V> barrier = super.nextBarrier();
+        if (null != this.mapSpill && !this.mapSpill.isEmpty()) {
+            // the barrier is handed on as a whole so the spilled groups are reduced back into it
+            for (int i = 0; i < this.mapSpill.getPartitionCount(); i++) {
+                barrier = this.getBiOperator().apply(barrier, this.mapSpill.merge(i));
+            }
+        }
+        return barrier;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.close();
+    }
+
+    /**
+     * Deletes the files of any groups that were spilled and not yet merged back.
+     */
+    @Override
+    public void close() {
+        if (null != this.mapSpill) {
+            this.mapSpill.close();
+            this.mapSpill = null;
+        }
+    }
+
     @Override
     public String toString() {
         return StringFactory.stepString(this, this.keyTraversal, this.valueTraversal);
@@ -117,6 +177,7 @@ public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>>
             clone.keyTraversal = this.keyTraversal.clone();
         clone.valueTraversal = this.valueTraversal.clone();
         clone.barrierStep = TraversalHelper.getFirstStepOfAssignableClass(Barrier.class, clone.valueTraversal).orElse(null);
+        clone.mapSpill = null;
         return clone;
     }
 
@@ -137,7 +198,16 @@ public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>>
 
     @Override
     public Map<K, V> generateFinalResult(final Map<K, V> object) {
-        return GroupStep.doFinalReduction((Map<K, Object>) object, this.valueTraversal);
+        if (null == this.mapSpill || this.mapSpill.isEmpty())
+            return GroupStep.doFinalReduction((Map<K, Object>) object, this.valueTraversal);
+        // the groups in memory are spilled as well so that each partition is reduced back and finalized on its own,
+        // with only the final values of the groups of the partitions before it held alongside it
+        this.mapSpill.spill(object);
+        final Map<K, V> map = new HashMap<>();
+        for (int i = 0; i < this.mapSpill.getPartitionCount(); i++) {
+            map.putAll(GroupStep.doFinalReduction((Map<K, Object>) this.mapSpill.merge(i), this.valueTraversal));
+        }
+        return map;
     }
 
     ///////////////////////
@@ -29,6 +29,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.Scoping;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.AndStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.ConnectiveStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.NotStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WherePredicateStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WhereTraversalStep;
@@ -43,7 +44,12 @@ import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequire
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
 import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.util.PathUtil;
+import org.apache.tinkerpop.gremlin.process.traversal.util.SelectivityHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.GraphStatistics;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
@@ -54,6 +60,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -754,6 +761,10 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
         @Override
         public void recordEnd(final Traverser.Admin<Object> traverser, final Traversal.Admin<Object, Object> traversal) {
             this.getBundle(traversal).incrementEndCount();
+            this.sortBundles();
+        }
+
+        protected void sortBundles() {
             if (!this.onComputer) {  // if on computer, sort on a per traverser-basis with bias towards local star graph
                 if (this.counter < 200 || this.counter % 250 == 0) // aggressively sort for the first 200 results -- after that, sort every 250
                     Collections.sort(this.bundles, Comparator.<Bundle>comparingInt(b -> b.traversalType.ordinal()).thenComparingDouble(b -> b.multiplicity));
@@ -791,4 +802,68 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
             }
         }
     }
+
+    /**
+     * A {@link CountMatchAlgorithm} that plans the order of the patterns before the first traverser arrives, using the
+     * {@link GraphStatistics} of the graph to estimate how many results each pattern produces per start (e.g. the
+     * average number of {@code knows}-edges per vertex for {@code out('knows')} and the fraction of vertices with a
+     * given label for {@code hasLabel('person')}). The estimate is then refined with the counts observed during
+     * execution, where it weighs as much as {@link #PRIOR_WEIGHT} starts, so that the plan follows the statistics
+     * early on and the data later. Patterns that can not be estimated, or all patterns if the graph does not offer
+     * statistics, are assumed to produce one result per start.
+     */
+    public static class StatisticsMatchAlgorithm extends CountMatchAlgorithm {
+
+        protected static final double PRIOR_WEIGHT = 100.0d;
+
+        protected Map<Traversal.Admin<Object, Object>, Double> priors;
+
+        @Override
+        public void initialize(final TraversalEngine.Type traversalEngineType, final List<Traversal.Admin<Object, Object>> traversals) {
+            super.initialize(traversalEngineType, traversals);
+            final Optional<GraphStatistics> statistics = traversals.isEmpty() ?
+                    Optional.empty() :
+                    SelectivityHelper.getStatistics(traversals.get(0));
+            this.priors = new IdentityHashMap<>();
+            for (final Bundle bundle : this.bundles) {
+                final double prior = statistics.isPresent() ? estimateMultiplicity(statistics.get(), bundle.traversal) : 1.0d;
+                this.priors.put(bundle.traversal, prior);
+                bundle.multiplicity = prior;
+            }
+            Collections.sort(this.bundles, Comparator.<Bundle>comparingInt(b -> b.traversalType.ordinal()).thenComparingDouble(b -> b.multiplicity));
+        }
+
+        @Override
+        public void recordEnd(final Traverser.Admin<Object> traverser, final Traversal.Admin<Object, Object> traversal) {
+            final Bundle bundle = this.getBundle(traversal);
+            bundle.endsCount++;
+            bundle.multiplicity = (this.priors.get(traversal) * PRIOR_WEIGHT + bundle.endsCount) / (PRIOR_WEIGHT + bundle.startsCount);
+            this.sortBundles();
+        }
+
+        /**
+         * Estimates the number of results that a pattern produces per start as the product of the average degree of
+         * its {@link VertexStep} instances and the selectivity of its {@link HasStep} instances.
+         */
+        protected static double estimateMultiplicity(final GraphStatistics statistics, final Traversal.Admin<?, ?> traversal) {
+            double multiplicity = 1.0d;
+            Class<? extends Element> elementClass = Vertex.class;
+            for (final Step<?, ?> step : traversal.getSteps()) {
+                if (step instanceof VertexStep) {
+                    final VertexStep<?> vertexStep = (VertexStep<?>) step;
+                    multiplicity = multiplicity * statistics.averageDegree(vertexStep.getDirection(), vertexStep.getEdgeLabels()).orElse(1.0d);
+                    elementClass = vertexStep.getReturnClass();
+                } else if (step instanceof EdgeVertexStep) {
+                    if (((EdgeVertexStep) step).getDirection() == Direction.BOTH)
+                        multiplicity = multiplicity * 2.0d;
+                    elementClass = Vertex.class;
+                } else if (step instanceof EdgeOtherVertexStep) {
+                    elementClass = Vertex.class;
+                } else if (step instanceof HasStep) {
+                    multiplicity = multiplicity * SelectivityHelper.estimateSelectivity(statistics, elementClass, step).orElse(1.0d);
+                }
+            }
+            return multiplicity;
+        }
+    }
 }
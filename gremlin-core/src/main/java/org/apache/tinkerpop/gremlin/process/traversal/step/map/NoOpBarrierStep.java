@@ -22,10 +22,12 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.LocalBarrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Profiling;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.MutableMetrics;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 
 import java.util.Collections;
@@ -33,20 +35,66 @@ import java.util.NoSuchElementException;
 import java.util.Set;
 
 /**
+ * Collects traversers so that those at the same location are merged into one with a bulk, up to a maximum number of
+ * unique traversers at a time. An adaptive barrier, as inserted by {@code LazyBarrierStrategy}, resizes itself each
+ * time it is full: it grows while the traversers it collects are merged at least two to one, as the steps that follow
+ * it then do less work, and shrinks when few of them are merged or when the heap is nearly exhausted, as holding
+ * those traversers back only costs memory. When profiled, the size of the barrier and the bulk that it collects for
+ * each traverser that it emits are kept as annotations of the metrics of the step.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements LocalBarrier<S> {
-
+public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements LocalBarrier<S>, Profiling {
+
+    public static final String BARRIER_SIZE_KEY = "barrierSize";
+    public static final String BULKING_RATIO_KEY = "bulkingRatio";
+    public static final int MIN_ADAPTIVE_BARRIER_SIZE = 100;
+    public static final int MAX_ADAPTIVE_BARRIER_SIZE = 100000;
+    private static final double GROW_RATIO = 2.0d;
+    private static final double SHRINK_RATIO = 1.1d;
+    private static final double MIN_FREE_HEAP = 0.1d;
+
+    private final int initialBarrierSize;
+    private final boolean adaptive;
     private int maxBarrierSize;
     private TraverserSet<S> barrier = new TraverserSet<>();
+    private long collected = 0l;
+    private long bulkIn = 0l;
+    private long traversersOut = 0l;
+    private MutableMetrics metrics;
 
     public NoOpBarrierStep(final Traversal.Admin traversal) {
         this(traversal, Integer.MAX_VALUE);
     }
 
     public NoOpBarrierStep(final Traversal.Admin traversal, final int maxBarrierSize) {
+        this(traversal, maxBarrierSize, false);
+    }
+
+    public NoOpBarrierStep(final Traversal.Admin traversal, final int maxBarrierSize, final boolean adaptive) {
         super(traversal);
-        this.maxBarrierSize = maxBarrierSize;
+        this.adaptive = adaptive;
+        this.initialBarrierSize = adaptive ?
+                Math.max(MIN_ADAPTIVE_BARRIER_SIZE, Math.min(maxBarrierSize, MAX_ADAPTIVE_BARRIER_SIZE)) :
+                maxBarrierSize;
+        this.maxBarrierSize = this.initialBarrierSize;
+    }
+
+    public boolean isAdaptive() {
+        return this.adaptive;
+    }
+
+    /**
+     * Gets the number of unique traversers that the barrier holds at most, which changes as it is executed if it is
+     * adaptive.
+     */
+    public int getMaxBarrierSize() {
+        return this.maxBarrierSize;
+    }
+
+    @Override
+    public void setMetrics(final MutableMetrics metrics) {
+        this.metrics = metrics;
     }
 
     @Override
@@ -63,13 +111,46 @@ public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements Loca
 
     @Override
     public void processAllStarts() {
+        if (this.barrier.isEmpty())
+            this.collected = 0l;
+        final long bulkIn = this.bulkIn;
         while (this.starts.hasNext() && (this.maxBarrierSize == Integer.MAX_VALUE || this.barrier.size() < this.maxBarrierSize)) {
             final Traverser.Admin<S> traverser = this.starts.next();
             traverser.setStepId(this.getNextStep().getId()); // when barrier is reloaded, the traversers should be at the next step
-            this.barrier.add(traverser);
+            final long bulk = traverser.bulk();
+            if (this.barrier.add(traverser))
+                this.traversersOut++;
+            this.collected = this.collected + bulk;
+            this.bulkIn = this.bulkIn + bulk;
+        }
+        if (this.adaptive && this.collected > 0 && this.barrier.size() >= this.maxBarrierSize)
+            this.adapt();
+        if (null != this.metrics && this.bulkIn != bulkIn) {
+            this.metrics.setAnnotation(BARRIER_SIZE_KEY, this.maxBarrierSize);
+            this.metrics.setAnnotation(BULKING_RATIO_KEY, (double) this.bulkIn / this.traversersOut);
         }
     }
 
+    /**
+     * Resizes a full barrier from the ratio of the bulk that it collected to the unique traversers that it holds,
+     * which is the number of traversers each of the traversers it emits stands in for.
+     */
+    private void adapt() {
+        final double ratio = (double) this.collected / this.barrier.size();
+        final boolean lowMemory = isMemoryLow();
+        if (ratio >= GROW_RATIO && !lowMemory)
+            this.maxBarrierSize = (int) Math.min(2l * this.maxBarrierSize, MAX_ADAPTIVE_BARRIER_SIZE);
+        else if (ratio < SHRINK_RATIO || lowMemory)
+            this.maxBarrierSize = Math.max(this.maxBarrierSize / 2, MIN_ADAPTIVE_BARRIER_SIZE);
+        this.collected = 0l;
+    }
+
+    private static boolean isMemoryLow() {
+        final Runtime runtime = Runtime.getRuntime();
+        final long free = runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
+        return free < runtime.maxMemory() * MIN_FREE_HEAP;
+    }
+
     @Override
     public boolean hasNextBarrier() {
         this.processAllStarts();
@@ -97,22 +178,29 @@ public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements Loca
     public NoOpBarrierStep<S> clone() {
         final NoOpBarrierStep<S> clone = (NoOpBarrierStep<S>) super.clone();
         clone.barrier = new TraverserSet<>();
+        clone.maxBarrierSize = this.initialBarrierSize;
+        clone.collected = 0l;
+        clone.bulkIn = 0l;
+        clone.traversersOut = 0l;
+        clone.metrics = null;
         return clone;
     }
 
     @Override
     public String toString() {
-        return StringFactory.stepString(this, this.maxBarrierSize == Integer.MAX_VALUE ? null : this.maxBarrierSize);
+        return StringFactory.stepString(this, this.initialBarrierSize == Integer.MAX_VALUE ? null : this.initialBarrierSize,
+                this.adaptive ? "adaptive" : null);
     }
 
     @Override
     public int hashCode() {
-        return super.hashCode() ^ this.maxBarrierSize;
+        return super.hashCode() ^ this.initialBarrierSize;
     }
 
     @Override
     public void reset() {
         super.reset();
         this.barrier.clear();
+        this.collected = 0l;
     }
 }
@@ -25,16 +25,24 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.lambda.IdentityTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.step.ByModulating;
 import org.apache.tinkerpop.gremlin.process.traversal.step.ComparatorHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.MemoryBounded;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Spilling;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.CollectingBarrierStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.ProjectedTraverser;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserHeap;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSpill;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.function.MultiComparator;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.javatuples.Pair;
 
+import java.io.File;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -48,11 +56,16 @@ import java.util.stream.Collectors;
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBarrierStep<S> implements ComparatorHolder<S, C>, TraversalParent, ByModulating {
+public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBarrierStep<S> implements ComparatorHolder<S, C>, TraversalParent, ByModulating, Spilling, AutoCloseable {
 
     private List<Pair<Traversal.Admin<S, C>, Comparator<C>>> comparators = new ArrayList<>();
     private MultiComparator<C> multiComparator = null;
     private long limit = Long.MAX_VALUE;
+    private long maxInMemory = -1;
+    private File spillDirectory = null;
+    private transient TraverserHeap<S> traverserHeap = null;
+    private transient TraverserSpill<S> traverserSpill = null;
+    private transient CloseableIterator<Traverser.Admin<S>> spilledTraversers = null;
 
     public OrderGlobalStep(final Traversal.Admin traversal) {
         super(traversal);
@@ -61,20 +74,111 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
     @Override
     public void barrierConsumer(final TraverserSet<S> traverserSet) {
         if (null == this.multiComparator) this.multiComparator = this.createMultiComparator();
+        // the traversers are about to be taken from the set so the heap over them can no longer be used
+        this.traverserHeap = null;
         //
         if (this.multiComparator.isShuffle())
             traverserSet.shuffle();
         else
             traverserSet.sort((Comparator) this.multiComparator);
+
+        // if runs were spilled then the rest of the traversers become the last run and all of them are merged back,
+        // with the first of them left in the set to be taken from it and the others taken from the merge
+        if (null != this.traverserSpill && this.traverserSpill.getRunCount() > 0) {
+            if (null != this.spilledTraversers)
+                this.traverserSpill.spill(this.spilledTraversers);
+            this.traverserSpill.spill(IteratorUtils.removeOnNext(traverserSet.iterator()));
+            this.closeSpilledTraversers();
+            this.spilledTraversers = this.traverserSpill.merge();
+            if (this.spilledTraversers.hasNext())
+                traverserSet.add(this.spilledTraversers.next());
+        }
+    }
+
+    @Override
+    public Traverser.Admin<S> processNextStart() {
+        if (null != this.spilledTraversers) {
+            if (this.spilledTraversers.hasNext())
+                return ProjectedTraverser.tryUnwrap(this.spilledTraversers.next());
+            this.closeSpilledTraversers();
+        }
+        return super.processNextStart();
     }
 
     @Override
     public void processAllStarts() {
-        while (this.starts.hasNext()) {
-            this.traverserSet.add(this.createProjectedTraverser(this.starts.next()));
+        if (!this.starts.hasNext())
+            return;
+        if (null == this.multiComparator) this.multiComparator = this.createMultiComparator();
+        // with a limit only the first traversers in order need to be kept, which a heap can do as they arrive unless
+        // there are more of them than may be held in memory, in which case they are spilled like any other
+        if (isLimited(this.limit) && !this.multiComparator.isShuffle() && (this.maxInMemory < 0 || this.limit <= this.maxInMemory)) {
+            if (null == this.traverserHeap)
+                this.traverserHeap = new TraverserHeap<>(this.traverserSet, (Comparator) this.multiComparator, this.limit);
+            while (this.starts.hasNext()) {
+                this.traverserHeap.add(this.createProjectedTraverser(this.starts.next()));
+            }
+        } else if (this.maxInMemory >= 0 && !this.multiComparator.isShuffle()) {
+            while (this.starts.hasNext()) {
+                this.traverserSet.add(this.createProjectedTraverser(this.starts.next()));
+                if (this.traverserSet.size() > this.maxInMemory) {
+                    // the objects of a path are not attached to the graph again once spilled so it must stay in memory
+                    if (this.hasPaths())
+                        throw MemoryBounded.Exceptions.barrierExceedsMaxInMemory(this, this.maxInMemory);
+                    if (null == this.traverserSpill)
+                        this.traverserSpill = new TraverserSpill<>(this.spillDirectory, (Comparator) this.multiComparator, this.getTraversal());
+                    this.traverserSet.sort((Comparator) this.multiComparator);
+                    this.traverserSpill.spill(IteratorUtils.removeOnNext(this.traverserSet.iterator()));
+                }
+            }
+        } else {
+            while (this.starts.hasNext()) {
+                this.traverserSet.add(this.createProjectedTraverser(this.starts.next()));
+            }
+        }
+    }
+
+    @Override
+    public void addBarrier(final TraverserSet<S> barrier) {
+        // the traversers of the barrier are added to the set without the heap knowing of them
+        this.traverserHeap = null;
+        super.addBarrier(barrier);
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.traverserHeap = null;
+        this.close();
+    }
+
+    /**
+     * Deletes the files of any traversers that were spilled and not yet merged back.
+     */
+    @Override
+    public void close() {
+        this.closeSpilledTraversers();
+        if (null != this.traverserSpill) {
+            this.traverserSpill.close();
+            this.traverserSpill = null;
         }
     }
 
+    @Override
+    public void setMaxInMemory(final long maxInMemory) {
+        this.maxInMemory = maxInMemory;
+    }
+
+    @Override
+    public void setSpillDirectory(final File spillDirectory) {
+        this.spillDirectory = spillDirectory;
+    }
+
+    @Override
+    public long getMaxInMemory() {
+        return this.maxInMemory;
+    }
+
     public void setLimit(final long limit) {
         this.limit = limit;
     }
@@ -134,6 +238,9 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
         for (final Pair<Traversal.Admin<S, C>, Comparator<C>> comparator : this.comparators) {
             clone.comparators.add(new Pair<>(comparator.getValue0().clone(), comparator.getValue1()));
         }
+        clone.traverserHeap = null;
+        clone.traverserSpill = null;
+        clone.spilledTraversers = null;
         return clone;
     }
 
@@ -157,6 +264,22 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
         return new ProjectedTraverser<>(traverser, projections);
     }
 
+    private void closeSpilledTraversers() {
+        if (null != this.spilledTraversers) {
+            this.spilledTraversers.close();
+            this.spilledTraversers = null;
+        }
+    }
+
+    private boolean hasPaths() {
+        final Set<TraverserRequirement> requirements = TraversalHelper.getRootTraversal(this.getTraversal()).getTraverserRequirements();
+        return requirements.contains(TraverserRequirement.PATH) || requirements.contains(TraverserRequirement.LABELED_PATH);
+    }
+
+    private static boolean isLimited(final long limit) {
+        return limit >= 0 && limit < Long.MAX_VALUE;
+    }
+
     private final MultiComparator<C> createMultiComparator() {
         final List<Comparator<C>> list = new ArrayList<>(this.comparators.size());
         for (final Pair<Traversal.Admin<S, C>, Comparator<C>> pair : this.comparators) {
@@ -183,6 +306,15 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
 
         @Override
         public TraverserSet<S> apply(final TraverserSet<S> setA, final TraverserSet<S> setB) {
+            if (isLimited(this.limit) && !this.comparator.isShuffle()) {
+                // keep just the first traversers of the two sets in order rather than sorting all of them
+                final TraverserHeap<S> heap = new TraverserHeap<>(setA, this.comparator, this.limit);
+                for (final Traverser.Admin<S> traverser : setB) {
+                    heap.add(traverser);
+                }
+                return setA;
+            }
+
             setA.addAll(setB);
             if (this.limit != -1 && setA.bulkSize() > this.limit) {
                 if (this.comparator.isShuffle())
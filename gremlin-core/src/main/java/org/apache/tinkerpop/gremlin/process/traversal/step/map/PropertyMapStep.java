@@ -21,7 +21,9 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.LazyPropertyMap;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Property;
@@ -49,6 +51,7 @@ public class PropertyMapStep<K,E> extends MapStep<Element, Map<K, E>> implements
     protected final PropertyType returnType;
     protected final boolean includeTokens;
     protected Traversal.Admin<Element, ? extends Property> propertyTraversal;
+    private Boolean lazy = null;
 
     public PropertyMapStep(final Traversal.Admin traversal, final boolean includeTokens, final PropertyType propertyType, final String... propertyKeys) {
         super(traversal);
@@ -60,6 +63,9 @@ public class PropertyMapStep<K,E> extends MapStep<Element, Map<K, E>> implements
 
     @Override
     protected Map<K, E> map(final Traverser.Admin<Element> traverser) {
+        if (this.isLazy())
+            return new LazyPropertyMap<>(traverser.get(), this.propertyKeys, this.returnType, this.includeTokens);
+
         final Map<Object, Object> map = new HashMap<>();
         final Element element = traverser.get();
         final boolean isVertex = traverser.get() instanceof Vertex;
@@ -92,6 +98,16 @@ public class PropertyMapStep<K,E> extends MapStep<Element, Map<K, E>> implements
         return (Map) map;
     }
 
+    /**
+     * Determines if the maps can be a {@link LazyPropertyMap}, which is not the case when the properties are filtered
+     * by a child traversal or when the maps are sent between the workers of a {@code GraphComputer}.
+     */
+    private boolean isLazy() {
+        if (null == this.lazy)
+            this.lazy = null == this.propertyTraversal && !TraversalHelper.onGraphComputer(this.getTraversal());
+        return this.lazy;
+    }
+
     @Override
     public List<Traversal.Admin<Element, ? extends Property>> getLocalChildren() {
         return null == this.propertyTraversal ? Collections.emptyList() : Collections.singletonList(this.propertyTraversal);
@@ -99,6 +115,7 @@ public class PropertyMapStep<K,E> extends MapStep<Element, Map<K, E>> implements
 
     public void setPropertyTraversal(final Traversal.Admin<Element, ? extends Property> propertyTraversal) {
         this.propertyTraversal = this.integrateChild(propertyTraversal);
+        this.lazy = null;
     }
 
     public PropertyType getReturnType() {
@@ -143,6 +160,7 @@ public class PropertyMapStep<K,E> extends MapStep<Element, Map<K, E>> implements
     @Override
     public void setTraversal(final Traversal.Admin<?, ?> parentTraversal) {
         super.setTraversal(parentTraversal);
+        this.lazy = null;
         if (null != this.propertyTraversal)
             this.integrateChild(this.propertyTraversal);
     }
@@ -0,0 +1,256 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.map;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.ShortestPathStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Takes the place of {@code repeat(out().simplePath()).until(hasId(x))} when only the first path it finds is wanted,
+ * as determined by {@link ShortestPathStrategy}, and emits the traverser of a shortest path from any of its starts
+ * to a vertex that passes the {@link HasContainer} filters. The path does not pass through the vertices already on
+ * the path of its start, as {@code simplePath()} would not allow that. When the filters are on the identifiers of
+ * the vertices and those vertices can all be found, the search is made from both the start and the vertices found,
+ * expanding the side with fewer vertices to visit a level at a time, otherwise it is made from the start alone.
+ * Either way no vertex is visited more than once per start and once a path is found, the starts that follow it are
+ * only searched for shorter ones.
+ *
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ */
+public final class ShortestPathStep extends AbstractStep<Vertex, Vertex> {
+
+    private final Direction direction;
+    private final String[] edgeLabels;
+    private final List<HasContainer> hasContainers;
+
+    public ShortestPathStep(final Traversal.Admin traversal, final Direction direction, final String[] edgeLabels,
+                            final List<HasContainer> hasContainers) {
+        super(traversal);
+        this.direction = direction;
+        this.edgeLabels = edgeLabels;
+        this.hasContainers = hasContainers;
+    }
+
+    public Direction getDirection() {
+        return this.direction;
+    }
+
+    public String[] getEdgeLabels() {
+        return this.edgeLabels;
+    }
+
+    public List<HasContainer> getHasContainers() {
+        return Collections.unmodifiableList(this.hasContainers);
+    }
+
+    @Override
+    protected Traverser.Admin<Vertex> processNextStart() {
+        final Set<Vertex> targets = this.getTargets();
+        Traverser.Admin<Vertex> shortest = null;
+        List<Vertex> shortestPath = null;
+        while (this.starts.hasNext()) {
+            final Traverser.Admin<Vertex> start = this.starts.next();
+            // a path found for a later start is only of use if it is shorter than the one already found
+            final int maxLength = null == shortestPath ? Integer.MAX_VALUE : shortestPath.size() - 2;
+            final List<Vertex> path = this.search(start, targets, maxLength);
+            if (null != path) {
+                shortest = start;
+                shortestPath = path;
+            }
+        }
+        if (null == shortest)
+            throw FastNoSuchElementException.instance();
+
+        Traverser.Admin<Vertex> traverser = shortest;
+        for (int i = 1; i < shortestPath.size(); i++) {
+            traverser = traverser.split(shortestPath.get(i), EmptyStep.instance());
+        }
+        return traverser;
+    }
+
+    /**
+     * Finds a shortest path of no more than {@code maxLength} edges from the start, returning its vertices with the
+     * start first, or {@code null} if there is none.
+     */
+    private List<Vertex> search(final Traverser.Admin<Vertex> start, final Set<Vertex> targets, final int maxLength) {
+        if (maxLength < 1 || !start.path().isSimple())
+            return null;
+        final Vertex source = start.get();
+        // the source itself is only kept from being visited again by being the first vertex of the search
+        final Set<Object> blocked = new HashSet<>(start.path().objects());
+        blocked.remove(source);
+        if (null == targets)
+            return this.search(source, blocked, maxLength);
+
+        final Set<Vertex> sinks = new LinkedHashSet<>(targets);
+        sinks.remove(source);
+        sinks.removeAll(blocked);
+        return sinks.isEmpty() ? null : this.search(source, sinks, blocked, maxLength);
+    }
+
+    /**
+     * Searches from the source alone, testing each vertex as it is first visited.
+     */
+    private List<Vertex> search(final Vertex source, final Set<Object> blocked, final int maxLength) {
+        final Map<Vertex, Vertex> parents = new HashMap<>();
+        parents.put(source, null);
+        List<Vertex> frontier = Collections.singletonList(source);
+        for (int depth = 0; depth < maxLength && !frontier.isEmpty(); depth++) {
+            final List<Vertex> nextFrontier = new ArrayList<>();
+            for (final Vertex vertex : frontier) {
+                final Iterator<Vertex> adjacents = vertex.vertices(this.direction, this.edgeLabels);
+                while (adjacents.hasNext()) {
+                    final Vertex adjacent = adjacents.next();
+                    if (blocked.contains(adjacent) || parents.containsKey(adjacent))
+                        continue;
+                    parents.put(adjacent, vertex);
+                    if (HasContainer.testAll(adjacent, this.hasContainers))
+                        return toPath(adjacent, parents, Collections.emptyMap());
+                    nextFrontier.add(adjacent);
+                }
+            }
+            frontier = nextFrontier;
+        }
+        return null;
+    }
+
+    /**
+     * Searches from the source and the targets at once. As every level of a side is visited before the next, the
+     * first vertex reached from both sides is on a shortest path.
+     */
+    private List<Vertex> search(final Vertex source, final Set<Vertex> targets, final Set<Object> blocked, final int maxLength) {
+        final Map<Vertex, Vertex> parents = new HashMap<>();
+        final Map<Vertex, Vertex> children = new HashMap<>();
+        parents.put(source, null);
+        for (final Vertex target : targets) {
+            children.put(target, null);
+        }
+        List<Vertex> forward = Collections.singletonList(source);
+        List<Vertex> backward = new ArrayList<>(targets);
+        final Direction opposite = this.direction.opposite();
+        for (int length = 0; length < maxLength && !forward.isEmpty() && !backward.isEmpty(); length++) {
+            final boolean isForward = forward.size() <= backward.size();
+            final Map<Vertex, Vertex> visited = isForward ? parents : children;
+            final Map<Vertex, Vertex> other = isForward ? children : parents;
+            final List<Vertex> next = new ArrayList<>();
+            for (final Vertex vertex : isForward ? forward : backward) {
+                final Iterator<Vertex> adjacents = vertex.vertices(isForward ? this.direction : opposite, this.edgeLabels);
+                while (adjacents.hasNext()) {
+                    final Vertex adjacent = adjacents.next();
+                    if (blocked.contains(adjacent) || visited.containsKey(adjacent))
+                        continue;
+                    visited.put(adjacent, vertex);
+                    if (other.containsKey(adjacent))
+                        return toPath(adjacent, parents, children);
+                    next.add(adjacent);
+                }
+            }
+            if (isForward)
+                forward = next;
+            else
+                backward = next;
+        }
+        return null;
+    }
+
+    private static List<Vertex> toPath(final Vertex meeting, final Map<Vertex, Vertex> parents, final Map<Vertex, Vertex> children) {
+        final List<Vertex> path = new ArrayList<>();
+        for (Vertex vertex = meeting; null != vertex; vertex = parents.get(vertex)) {
+            path.add(vertex);
+        }
+        Collections.reverse(path);
+        for (Vertex vertex = children.get(meeting); null != vertex; vertex = children.get(vertex)) {
+            path.add(vertex);
+        }
+        return path;
+    }
+
+    /**
+     * Gets the vertices that pass the filters if they are on identifiers and all of those can be found, otherwise
+     * {@code null}.
+     */
+    private Set<Vertex> getTargets() {
+        if (this.hasContainers.size() != 1 || !this.hasContainers.get(0).getKey().equals(T.id.getAccessor()))
+            return null;
+        final HasContainer hasContainer = this.hasContainers.get(0);
+        final Collection<?> ids;
+        if (hasContainer.getBiPredicate() == Compare.eq)
+            ids = Collections.singleton(hasContainer.getValue());
+        else if (hasContainer.getBiPredicate() == Contains.within && hasContainer.getValue() instanceof Collection)
+            ids = new HashSet<>((Collection<?>) hasContainer.getValue());
+        else
+            return null;
+
+        final Graph graph = TraversalHelper.getRootTraversal(this.getTraversal()).getGraph().orElse(null);
+        if (null == graph || ids.isEmpty())
+            return null;
+        final Set<Vertex> targets = new LinkedHashSet<>();
+        graph.vertices(ids.toArray()).forEachRemaining(vertex -> {
+            if (HasContainer.testAll(vertex, this.hasContainers))
+                targets.add(vertex);
+        });
+        // an identifier that does not find its vertex as given might still match one, so only search from what was found if it is everything
+        return targets.size() == ids.size() ? targets : null;
+    }
+
+    @Override
+    public Set<TraverserRequirement> getRequirements() {
+        return Collections.singleton(TraverserRequirement.PATH);
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, this.direction, Arrays.asList(this.edgeLabels), this.hasContainers);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = super.hashCode() ^ this.direction.hashCode() ^ this.hasContainers.hashCode();
+        for (final String edgeLabel : this.edgeLabels) {
+            result ^= edgeLabel.hashCode();
+        }
+        return result;
+    }
+}
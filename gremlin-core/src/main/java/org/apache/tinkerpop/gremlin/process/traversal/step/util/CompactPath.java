@@ -0,0 +1,495 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.Pop;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An immutable {@link Path} like {@link ImmutablePath}, in that each object is added in a section that refers to the
+ * sections before it so that the paths of traversers split from one another share them, but with sections that keep
+ * the size and hash code of the path up to them along with the labels on it. The sets of labels are interned, each
+ * with the bits of its labels in a {@code long}, so that labels are added to and removed from a path without copying
+ * sets of them and so that a path can tell if it has a label, or stop looking for it, without walking its sections.
+ * <p/>
+ * Labels are interned in a table that is shared by the paths extended from the same {@link #make()}, which a
+ * traverser generator calls once for each traversal, so the table goes away with the traversal and its paths. No more
+ * than 64 labels are interned in a table, so a path that is extended with a label that can not be interned continues
+ * as an {@link ImmutablePath}.
+ *
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ */
+public final class CompactPath implements Path, Serializable, Cloneable {
+
+    private final transient CompactPath previousPath;
+    private final transient Object currentObject;
+    private final transient LabelSet currentLabels;
+    private final transient long allLabels;
+    private final transient int size;
+    private final transient int hashCode;
+
+    private CompactPath(final CompactPath previousPath, final Object currentObject, final LabelSet currentLabels) {
+        this.previousPath = previousPath;
+        this.currentObject = currentObject;
+        this.currentLabels = currentLabels;
+        if (null == previousPath) {
+            this.allLabels = currentLabels.bits;
+            this.size = 0;
+            this.hashCode = 1;
+        } else {
+            this.allLabels = previousPath.allLabels | currentLabels.bits;
+            this.size = previousPath.size + 1;
+            this.hashCode = 31 * previousPath.hashCode + currentObject.hashCode();
+        }
+    }
+
+    /**
+     * Makes an empty path with a new table of interned labels.
+     */
+    public static CompactPath make() {
+        return new LabelTable().emptyPath;
+    }
+
+    /**
+     * Gets the empty path that shares the table of interned labels of this path.
+     */
+    public CompactPath emptyPath() {
+        return this.currentLabels.table.emptyPath;
+    }
+
+    @SuppressWarnings("CloneDoesntCallSuperClone,CloneDoesntDeclareCloneNotSupportedException")
+    @Override
+    public CompactPath clone() {
+        return this;
+    }
+
+    private boolean isTail() {
+        return null == this.previousPath;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.isTail();
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public <A> A head() {
+        return (A) this.currentObject;
+    }
+
+    @Override
+    public Path extend(final Object object, final Set<String> labels) {
+        final LabelSet labelSet = this.currentLabels.table.empty.union(labels);
+        return null == labelSet ? this.toImmutablePath().extend(object, labels) : new CompactPath(this, object, labelSet);
+    }
+
+    @Override
+    public Path extend(final Set<String> labels) {
+        if (labels.isEmpty() || this.isTail())
+            return this;
+        final LabelSet labelSet = this.currentLabels.union(labels);
+        if (null == labelSet)
+            return this.toImmutablePath().extend(labels);
+        return labelSet == this.currentLabels ? this : new CompactPath(this.previousPath, this.currentObject, labelSet);
+    }
+
+    @Override
+    public Path retract(final Set<String> labels) {
+        if (labels.isEmpty())
+            return this;
+        // labels that were never interned can not be on the path, though as with ImmutablePath the sections without
+        // labels are removed regardless
+        final long bits = this.currentLabels.table.toBits(labels) & this.allLabels;
+        if (0L == bits && this.isLabeled())
+            return this;
+
+        final CompactPath[] sections = this.sections();
+        CompactPath newPath = this.emptyPath();
+        for (final CompactPath section : sections) {
+            final LabelSet sectionLabels = section.currentLabels.remove(bits);
+            if (0L != sectionLabels.bits)
+                newPath = new CompactPath(newPath, section.currentObject, sectionLabels);
+        }
+        return newPath;
+    }
+
+    @Override
+    public <A> A get(final int index) {
+        if (index < 0 || index >= this.size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+        CompactPath currentPath = this;
+        while (currentPath.size - 1 != index) {
+            currentPath = currentPath.previousPath;
+        }
+        return (A) currentPath.currentObject;
+    }
+
+    @Override
+    public <A> A get(final String label) {
+        final long bit = this.currentLabels.table.toBit(label);
+        if (0L == (this.allLabels & bit))
+            throw Path.Exceptions.stepWithProvidedLabelDoesNotExist(label);
+        final List<Object> objects = this.get(bit);
+        return (A) (1 == objects.size() ? objects.get(0) : objects);
+    }
+
+    @Override
+    public <A> A get(final Pop pop, final String label) {
+        if (Pop.mixed == pop)
+            return this.get(label);
+
+        final long bit = this.currentLabels.table.toBit(label);
+        if (Pop.all == pop)
+            return (A) (0L == (this.allLabels & bit) ? new ArrayList<>() : this.get(bit));
+
+        if (0L == (this.allLabels & bit))
+            throw Path.Exceptions.stepWithProvidedLabelDoesNotExist(label);
+        CompactPath currentPath = this;
+        if (Pop.last == pop) {
+            while (!currentPath.currentLabels.contains(bit)) {
+                currentPath = currentPath.previousPath;
+            }
+        } else { // Pop.first
+            // the first section with the label is the one after which no earlier section has it
+            while (0L != (currentPath.previousPath.allLabels & bit)) {
+                currentPath = currentPath.previousPath;
+            }
+        }
+        return (A) currentPath.currentObject;
+    }
+
+    /**
+     * Gets the objects of the sections with the label, stopping at the first section before which none has it.
+     */
+    private List<Object> get(final long bit) {
+        final List<Object> objects = new ArrayList<>();
+        CompactPath currentPath = this;
+        while (0L != (currentPath.allLabels & bit)) {
+            if (currentPath.currentLabels.contains(bit))
+                objects.add(currentPath.currentObject);
+            currentPath = currentPath.previousPath;
+        }
+        Collections.reverse(objects);
+        return objects;
+    }
+
+    @Override
+    public boolean hasLabel(final String label) {
+        return 0L != (this.allLabels & this.currentLabels.table.toBit(label));
+    }
+
+    @Override
+    public List<Object> objects() {
+        final Object[] objects = new Object[this.size];
+        for (CompactPath currentPath = this; !currentPath.isTail(); currentPath = currentPath.previousPath) {
+            objects[currentPath.size - 1] = currentPath.currentObject;
+        }
+        return Collections.unmodifiableList(Arrays.asList(objects));
+    }
+
+    @Override
+    public List<Set<String>> labels() {
+        final Set<String>[] labels = new Set[this.size];
+        for (CompactPath currentPath = this; !currentPath.isTail(); currentPath = currentPath.previousPath) {
+            labels[currentPath.size - 1] = currentPath.currentLabels.labels;
+        }
+        return Collections.unmodifiableList(Arrays.asList(labels));
+    }
+
+    @Override
+    public boolean isSimple() {
+        final Set<Object> objects = new HashSet<>();
+        for (CompactPath currentPath = this; !currentPath.isTail(); currentPath = currentPath.previousPath) {
+            if (!objects.add(currentPath.currentObject))
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean popEquals(final Pop pop, final Object other) {
+        if (!(other instanceof Path))
+            return false;
+        final Path otherPath = (Path) other;
+        for (CompactPath currentPath = this; !currentPath.isTail(); currentPath = currentPath.previousPath) {
+            for (final String label : currentPath.currentLabels.labels) {
+                if (!otherPath.hasLabel(label) || !this.get(pop, label).equals(otherPath.get(pop, label)))
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return this.objects().toString();
+    }
+
+    @Override
+    public int hashCode() {
+        // the hashCode algorithm of AbstractList over the objects, as with ImmutablePath
+        return this.hashCode;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other)
+            return true;
+        if (!(other instanceof Path))
+            return false;
+        final Path otherPath = (Path) other;
+        if (otherPath.size() != this.size)
+            return false;
+        // the bits of labels can only be compared between paths that share a table
+        if (otherPath instanceof CompactPath && ((CompactPath) otherPath).currentLabels.table == this.currentLabels.table) {
+            CompactPath otherCompactPath = (CompactPath) otherPath;
+            if (otherCompactPath.hashCode != this.hashCode || otherCompactPath.allLabels != this.allLabels)
+                return false;
+            for (CompactPath currentPath = this; !currentPath.isTail() && currentPath != otherCompactPath; currentPath = currentPath.previousPath) {
+                if (otherCompactPath.currentLabels.bits != currentPath.currentLabels.bits ||
+                        !otherCompactPath.currentObject.equals(currentPath.currentObject))
+                    return false;
+                otherCompactPath = otherCompactPath.previousPath;
+            }
+            return true;
+        }
+        final List<Object> otherObjects = otherPath.objects();
+        final List<Set<String>> otherLabels = otherPath.labels();
+        for (CompactPath currentPath = this; !currentPath.isTail(); currentPath = currentPath.previousPath) {
+            final int index = currentPath.size - 1;
+            if (!currentPath.currentObject.equals(otherObjects.get(index)) || !currentPath.currentLabels.labels.equals(otherLabels.get(index)))
+                return false;
+        }
+        return true;
+    }
+
+    private boolean isLabeled() {
+        for (CompactPath currentPath = this; !currentPath.isTail(); currentPath = currentPath.previousPath) {
+            if (0L == currentPath.currentLabels.bits)
+                return false;
+        }
+        return true;
+    }
+
+    private CompactPath[] sections() {
+        final CompactPath[] sections = new CompactPath[this.size];
+        for (CompactPath currentPath = this; !currentPath.isTail(); currentPath = currentPath.previousPath) {
+            sections[currentPath.size - 1] = currentPath;
+        }
+        return sections;
+    }
+
+    private Path toImmutablePath() {
+        Path path = ImmutablePath.make();
+        for (final CompactPath section : this.sections()) {
+            path = path.extend(section.currentObject, new LinkedHashSet<>(section.currentLabels.labels));
+        }
+        return path;
+    }
+
+    private Object writeReplace() {
+        return new SerializedPath(this.objects(), this.labels());
+    }
+
+    /**
+     * The labels interned for the paths that share an empty path, with the interned sets of them.
+     */
+    private static final class LabelTable {
+
+        private static final int MAX_LABELS = Long.SIZE;
+        private static final int MAX_LABEL_SETS = 4096;
+
+        private final Map<String, Integer> indices = new ConcurrentHashMap<>();
+        private final Map<List<String>, LabelSet> labelSets = new ConcurrentHashMap<>();
+        private final LabelSet empty = new LabelSet(this, 0L, Collections.emptySet());
+        private final CompactPath emptyPath = new CompactPath(null, null, this.empty);
+
+        private LabelSet of(final long bits, final Set<String> labels) {
+            if (labels.isEmpty())
+                return this.empty;
+            final List<String> key = new ArrayList<>(labels);
+            final LabelSet labelSet = this.labelSets.get(key);
+            if (null != labelSet)
+                return labelSet;
+            final LabelSet newLabelSet = new LabelSet(this, bits, Collections.unmodifiableSet(labels));
+            if (this.labelSets.size() >= MAX_LABEL_SETS)
+                return newLabelSet;
+            final LabelSet existing = this.labelSets.putIfAbsent(key, newLabelSet);
+            return null == existing ? newLabelSet : existing;
+        }
+
+        private long toBit(final String label) {
+            final Integer index = this.indices.get(label);
+            return null == index ? 0L : 1L << index;
+        }
+
+        private long toBits(final Set<String> labels) {
+            long bits = 0L;
+            for (final String label : labels) {
+                bits = bits | this.toBit(label);
+            }
+            return bits;
+        }
+
+        private Integer intern(final String label) {
+            final Integer index = this.indices.get(label);
+            if (null != index || this.indices.size() >= MAX_LABELS)
+                return index;
+            synchronized (this.indices) {
+                if (this.indices.containsKey(label) || this.indices.size() >= MAX_LABELS)
+                    return this.indices.get(label);
+                final int newIndex = this.indices.size();
+                this.indices.put(label, newIndex);
+                return newIndex;
+            }
+        }
+    }
+
+    /**
+     * An interned set of labels in the order in which they were added, along with the bits of their interned indices.
+     * The sets that result from adding labels to or removing labels from a set are remembered by it.
+     */
+    private static final class LabelSet {
+
+        private static final int MAX_TRANSITIONS = 64;
+
+        private final LabelTable table;
+        private final long bits;
+        private final Set<String> labels;
+        private final Map<Set<String>, LabelSet> unions = new ConcurrentHashMap<>();
+        private final Map<Long, LabelSet> removals = new ConcurrentHashMap<>();
+
+        private LabelSet(final LabelTable table, final long bits, final Set<String> labels) {
+            this.table = table;
+            this.bits = bits;
+            this.labels = labels;
+        }
+
+        private boolean contains(final long bit) {
+            return 0L != (this.bits & bit);
+        }
+
+        /**
+         * Gets the set of these labels followed by the provided ones, or {@code null} if they can not all be interned.
+         */
+        private LabelSet union(final Set<String> labels) {
+            if (labels.isEmpty())
+                return this;
+            final LabelSet cached = this.unions.get(labels);
+            // sets are equal regardless of the order of their labels, but the order matters to the union
+            if (null != cached && isOrdered(cached.labels, this.labels, labels))
+                return cached;
+
+            long bits = this.bits;
+            for (final String label : labels) {
+                final Integer index = this.table.intern(label);
+                if (null == index)
+                    return null;
+                bits = bits | (1L << index);
+            }
+            if (bits == this.bits)
+                return this;
+            final Set<String> union = new LinkedHashSet<>(this.labels);
+            union.addAll(labels);
+            final LabelSet labelSet = this.table.of(bits, union);
+            if (this.unions.size() < MAX_TRANSITIONS)
+                this.unions.putIfAbsent(new LinkedHashSet<>(labels), labelSet);
+            return labelSet;
+        }
+
+        /**
+         * Gets the set of these labels without those of the bits.
+         */
+        private LabelSet remove(final long bits) {
+            if (0L == (this.bits & bits))
+                return this;
+            final Long key = bits;
+            LabelSet labelSet = this.removals.get(key);
+            if (null == labelSet) {
+                final Set<String> remaining = new LinkedHashSet<>();
+                for (final String label : this.labels) {
+                    if (0L == (bits & this.table.toBit(label)))
+                        remaining.add(label);
+                }
+                labelSet = this.table.of(this.bits & ~bits, remaining);
+                if (this.removals.size() < MAX_TRANSITIONS)
+                    this.removals.putIfAbsent(key, labelSet);
+            }
+            return labelSet;
+        }
+
+        /**
+         * Determines if the union has the labels that were added to the first labels in the order of the added labels.
+         */
+        private static boolean isOrdered(final Set<String> union, final Set<String> first, final Set<String> added) {
+            final Iterator<String> iterator = union.iterator();
+            for (int i = 0; i < first.size(); i++) {
+                iterator.next();
+            }
+            for (final String label : added) {
+                // labels that were already in the set keep their position
+                if (!first.contains(label) && (!iterator.hasNext() || !iterator.next().equals(label)))
+                    return false;
+            }
+            return !iterator.hasNext();
+        }
+    }
+
+    /**
+     * The form in which a {@code CompactPath} is serialized, as its interned labels are only meaningful to the table
+     * that interned them. A deserialized path is given a table of its own.
+     */
+    private static final class SerializedPath implements Serializable {
+        private final List<Object> objects;
+        private final List<Set<String>> labels;
+
+        private SerializedPath(final List<Object> objects, final List<Set<String>> labels) {
+            this.objects = new ArrayList<>(objects);
+            this.labels = new ArrayList<>(labels.size());
+            for (final Set<String> objectLabels : labels) {
+                this.labels.add(new LinkedHashSet<>(objectLabels));
+            }
+        }
+
+        private Object readResolve() {
+            Path path = CompactPath.make();
+            for (int i = 0; i < this.objects.size(); i++) {
+                path = path.extend(this.objects.get(i), this.labels.get(i));
+            }
+            return path;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import java.io.Serializable;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A set of element identifiers. Identifiers that are small non-negative {@code Long} or {@code Integer} values, such
+ * as those generated by TinkerGraph, are kept as bits of a bitmap for each of the two types, which takes far less
+ * memory and time than hashing them. Any other identifiers are kept in a hash set.
+ *
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ */
+public final class IdSet implements Serializable {
+
+    /**
+     * Identifiers from this value up are hashed so that a single large identifier can not grow a bitmap beyond
+     * eight megabytes.
+     */
+    private static final long MAX_BITMAP_ID = 1L << 26;
+
+    private final BitSet longs = new BitSet();
+    private final BitSet integers = new BitSet();
+    private final Set<Object> others = new HashSet<>();
+
+    /**
+     * Adds the identifier to the set.
+     *
+     * @return {@code true} if the set did not already hold the identifier
+     */
+    public boolean add(final Object id) {
+        final int index = index(id);
+        if (index < 0)
+            return this.others.add(id);
+        final BitSet bitmap = bitmap(id);
+        if (bitmap.get(index))
+            return false;
+        bitmap.set(index);
+        return true;
+    }
+
+    public boolean contains(final Object id) {
+        final int index = index(id);
+        return index < 0 ? this.others.contains(id) : bitmap(id).get(index);
+    }
+
+    public int size() {
+        return this.longs.cardinality() + this.integers.cardinality() + this.others.size();
+    }
+
+    public void clear() {
+        this.longs.clear();
+        this.integers.clear();
+        this.others.clear();
+    }
+
+    private BitSet bitmap(final Object id) {
+        return id instanceof Long ? this.longs : this.integers;
+    }
+
+    private static int index(final Object id) {
+        if (id instanceof Long || id instanceof Integer) {
+            final long value = ((Number) id).longValue();
+            if (value >= 0 && value < MAX_BITMAP_ID)
+                return (int) value;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.PropertyType;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * The map of {@code valueMap()} and {@code propertyMap()}, which reads the properties of an {@link Element} when it is
+ * created and holds them in arrays of keys and values rather than in a {@code HashMap}, as the map usually has few
+ * keys and is only read or serialized. Looking up a key scans the keys, and the map is only copied to a
+ * {@code HashMap} that takes over from the arrays the first time it is modified. Later changes to the element are not
+ * seen by the map. It is written as a {@code HashMap} by Java and Gryo serialization.
+ *
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ */
+public final class LazyPropertyMap<K, V> extends AbstractMap<K, V> implements Serializable {
+
+    private Object[] keys;
+    private Object[] values;
+    private Map<K, V> copy;
+
+    public LazyPropertyMap(final Element element, final String[] propertyKeys, final PropertyType returnType,
+                           final boolean includeTokens) {
+        final List<Object> keys = new ArrayList<>();
+        final List<Object> values = new ArrayList<>();
+        if (propertyKeys.length == 0) {
+            for (final String key : element.keys()) {
+                addProperties(element, key, returnType, keys, values);
+            }
+        } else {
+            for (final String key : propertyKeys) {
+                if (!keys.contains(key))
+                    addProperties(element, key, returnType, keys, values);
+            }
+        }
+        if (includeTokens && returnType == PropertyType.VALUE) {
+            keys.add(T.id);
+            values.add(element.id());
+            if (element instanceof VertexProperty) {
+                keys.add(T.key);
+                values.add(((VertexProperty<?>) element).key());
+                keys.add(T.value);
+                values.add(((VertexProperty<?>) element).value());
+            } else {
+                keys.add(T.label);
+                values.add(element.label());
+            }
+        }
+        this.keys = keys.toArray();
+        this.values = values.toArray();
+    }
+
+    @Override
+    public V get(final Object key) {
+        if (null != this.copy)
+            return this.copy.get(key);
+        final int index = this.indexOf(key);
+        return index < 0 ? null : (V) this.values[index];
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return null != this.copy ? this.copy.containsKey(key) : this.indexOf(key) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return null != this.copy ? this.copy.size() : this.keys.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size() == 0;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        if (null != this.copy)
+            return this.copy.entrySet();
+        final Object[] keys = this.keys;
+        final Object[] values = this.values;
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new Iterator<Entry<K, V>>() {
+                    private int index = 0;
+
+                    @Override
+                    public boolean hasNext() {
+                        return this.index < keys.length;
+                    }
+
+                    @Override
+                    public Entry<K, V> next() {
+                        if (this.index >= keys.length)
+                            throw new NoSuchElementException();
+                        final Entry<K, V> entry = new SimpleImmutableEntry<>((K) keys[this.index], (V) values[this.index]);
+                        this.index++;
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return keys.length;
+            }
+        };
+    }
+
+    @Override
+    public V put(final K key, final V value) {
+        return this.materialize().put(key, value);
+    }
+
+    @Override
+    public V remove(final Object key) {
+        return this.materialize().remove(key);
+    }
+
+    @Override
+    public void putAll(final Map<? extends K, ? extends V> map) {
+        this.materialize().putAll(map);
+    }
+
+    @Override
+    public void clear() {
+        this.materialize().clear();
+    }
+
+    private Map<K, V> materialize() {
+        if (null == this.copy) {
+            final Map<K, V> copy = new HashMap<>(this);
+            this.keys = null;
+            this.values = null;
+            this.copy = copy;
+        }
+        return this.copy;
+    }
+
+    private int indexOf(final Object key) {
+        for (int i = 0; i < this.keys.length; i++) {
+            if (this.keys[i].equals(key))
+                return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Adds the key along with its properties if the element has any, where those of a vertex are a list as a vertex
+     * may have more than one property of a key.
+     */
+    private static void addProperties(final Element element, final String key, final PropertyType returnType,
+                                      final List<Object> keys, final List<Object> values) {
+        final Iterator<? extends Property<?>> properties = element.properties(key);
+        if (!properties.hasNext())
+            return;
+        keys.add(key);
+        if (!(element instanceof Vertex)) {
+            values.add(project(properties.next(), returnType));
+            return;
+        }
+        final List<Object> list = new ArrayList<>();
+        while (properties.hasNext()) {
+            list.add(project(properties.next(), returnType));
+        }
+        values.add(list);
+    }
+
+    private static Object project(final Property<?> property, final PropertyType returnType) {
+        return returnType == PropertyType.VALUE ? property.value() : property;
+    }
+
+    private Object writeReplace() {
+        return new HashMap<>(this);
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserGeneratorFactory;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.DefaultTraverserGeneratorFactory;
+
+/**
+ * Has the traversals of the {@link TraversalStrategies} that it is added to create their traversers with a
+ * {@link TraverserGeneratorFactory} other than the {@link DefaultTraverserGeneratorFactory}, such as the
+ * {@link org.apache.tinkerpop.gremlin.process.traversal.traverser.util.CompactPathTraverserGeneratorFactory}. It is
+ * added with
+ * {@link org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource#withTraverserGeneratorFactory(TraverserGeneratorFactory)}
+ * and is serialized with the strategies, so the factory must be {@link java.io.Serializable} for traversals that are
+ * serialized, as they are to a {@link org.apache.tinkerpop.gremlin.process.computer.GraphComputer}.
+ *
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ */
+public final class TraverserGeneratorFactoryStrategy extends AbstractTraversalStrategy<TraversalStrategy.DecorationStrategy> implements TraversalStrategy.DecorationStrategy {
+
+    private final TraverserGeneratorFactory traverserGeneratorFactory;
+
+    private TraverserGeneratorFactoryStrategy(final TraverserGeneratorFactory traverserGeneratorFactory) {
+        if (null == traverserGeneratorFactory)
+            throw new IllegalArgumentException("The traverser generator factory can not be null");
+        this.traverserGeneratorFactory = traverserGeneratorFactory;
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        // do nothing as this is simply a metadata strategy
+    }
+
+    public TraverserGeneratorFactory getTraverserGeneratorFactory() {
+        return this.traverserGeneratorFactory;
+    }
+
+    /**
+     * Gets the factory that traversals with the provided strategies create their traversers with.
+     */
+    public static TraverserGeneratorFactory getTraverserGeneratorFactory(final TraversalStrategies traversalStrategies) {
+        return traversalStrategies.getStrategy(TraverserGeneratorFactoryStrategy.class)
+                .map(TraverserGeneratorFactoryStrategy::getTraverserGeneratorFactory)
+                .orElse(DefaultTraverserGeneratorFactory.instance());
+    }
+
+    public static TraverserGeneratorFactoryStrategy create(final TraverserGeneratorFactory traverserGeneratorFactory) {
+        return new TraverserGeneratorFactoryStrategy(traverserGeneratorFactory);
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.commons.configuration.Configuration;
+import org.apache.commons.configuration.MapConfiguration;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Ranging;
+import org.apache.tinkerpop.gremlin.process.traversal.step.SideEffectCapable;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.branch.ParallelStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.FoldStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MatchStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.ShortestPathStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.InjectStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ReducingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.tinkerpop.gremlin.util.function.ArrayListSupplier;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * {@code ParallelStrategy} executes the part of a traversal from its {@code V()} or {@code E()} start up to and
+ * including its first reducing barrier, such as {@code count()}, {@code groupCount()} or {@code group()}, on a number
+ * of threads. The elements of the start step are handed in batches to a copy of that part of the traversal on each
+ * thread and the result of each copy is merged with the same reducer that a {@code GraphComputer} merges the results
+ * of its workers with. The strategy only applies to traversals that are executed by the standard engine on a graph
+ * that does not support transactions, as a transaction is bound to a single thread, and it leaves a traversal as it is
+ * if any of the steps in that part of it depend on the order or the number of the traversers that reach them, on side
+ * effects, on lambdas or on the graph being modified.
+ * <p/>
+ * The threads are those of a {@code ForkJoinPool} of a fixed size that the strategy creates for the first traversal
+ * it applies to and shares with all that follow, so an instance of the strategy should be reused rather than created
+ * per traversal. The threads are daemon threads and {@link #close()} shuts the pool down, after which traversals that
+ * are still executing fail and the next traversal the strategy applies to creates a new pool.
+ * <p/>
+ *
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ * @example <pre>
+ * g.withStrategies(ParallelStrategy.instance()).V().out().groupCount().by("name")
+ * g.withStrategies(ParallelStrategy.build().threads(8).batchSize(5000).create()).V().both().both().count()
+ * </pre>
+ */
+public final class ParallelStrategy extends AbstractTraversalStrategy<TraversalStrategy.FinalizationStrategy> implements TraversalStrategy.FinalizationStrategy, AutoCloseable {
+
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+    private static final String THREADS = "threads";
+    private static final String BATCH_SIZE = "batchSize";
+    private static final ParallelStrategy INSTANCE = new ParallelStrategy(defaultThreads(), DEFAULT_BATCH_SIZE);
+
+    private int threads;
+    private int batchSize;
+    private transient ForkJoinPool pool = null;
+
+    private ParallelStrategy() {
+        // for serialization
+    }
+
+    private ParallelStrategy(final int threads, final int batchSize) {
+        if (threads < 1)
+            throw new IllegalArgumentException("The threads must be greater than zero: " + threads);
+        if (batchSize < 1)
+            throw new IllegalArgumentException("The batchSize must be greater than zero: " + batchSize);
+        this.threads = threads;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (!(traversal.getParent() instanceof EmptyStep) || TraversalHelper.onGraphComputer(traversal))
+            return;
+        final Graph graph = traversal.getGraph().orElse(null);
+        if (null == graph || graph.features().graph().supportsTransactions())
+            return;
+
+        final List<Step> steps = traversal.getSteps();
+        if (steps.size() < 2 || !(steps.get(0) instanceof GraphStep) ||
+                TraversalHelper.hasStepOfAssignableClassRecursively(SideEffectCapable.class, traversal))
+            return;
+
+        int barrierIndex = -1;
+        for (int i = 1; i < steps.size() && barrierIndex < 0; i++) {
+            if (steps.get(i) instanceof ReducingBarrierStep)
+                barrierIndex = i;
+        }
+        if (barrierIndex < 0)
+            return;
+        // the reducing barrier is the one barrier that may see all of the traversers as its results are merged
+        for (int i = 1; i <= barrierIndex; i++) {
+            if (!isParallelizable(steps.get(i), i == barrierIndex))
+                return;
+        }
+
+        final ReducingBarrierStep<?, ?> barrierStep = (ReducingBarrierStep<?, ?>) steps.get(barrierIndex);
+        if (barrierStep instanceof FoldStep && !(barrierStep.getSeedSupplier() instanceof ArrayListSupplier))
+            return; // each thread would start from the seed, so fold() is only merged when it collects a list
+
+        final Traversal.Admin<?, ?> parallelTraversal = new DefaultTraversal<>();
+        for (int i = 1; i <= barrierIndex; i++) {
+            final Step<?, ?> step = traversal.getSteps().get(1);
+            traversal.removeStep(step);
+            parallelTraversal.addStep(step);
+        }
+        final ParallelStep<?, ?> parallelStep = new ParallelStep<>(traversal, parallelTraversal, this.getPool(), this.batchSize);
+        TraversalHelper.copyLabels(barrierStep, parallelStep, true);
+        traversal.addStep(1, parallelStep);
+    }
+
+    /**
+     * Determines if the step, and those of its children, give the same result when each of a number of threads
+     * executes them for some of the traversers, which is not the case for steps that depend on the order or the
+     * number of the traversers that reach them, on side effects, on lambdas or on the graph being modified. Barriers
+     * and ranges are allowed where they only see the traversers of a single traverser, as in a local child.
+     */
+    private static boolean isParallelizable(final Step<?, ?> step, final boolean local) {
+        if (!local && ((step instanceof Barrier && !(step instanceof NoOpBarrierStep)) || step instanceof Ranging))
+            return false;
+        if (step instanceof Mutating || step instanceof LambdaHolder || step instanceof InjectStep ||
+                step instanceof MatchStep || step instanceof ShortestPathStep)
+            return false;
+        if (step instanceof TraversalParent) {
+            for (final Traversal.Admin<?, ?> child : ((TraversalParent) step).getGlobalChildren()) {
+                if (!isParallelizable(child, local))
+                    return false;
+            }
+            for (final Traversal.Admin<?, ?> child : ((TraversalParent) step).getLocalChildren()) {
+                if (!isParallelizable(child, true))
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isParallelizable(final Traversal.Admin<?, ?> traversal, final boolean local) {
+        for (final Step<?, ?> step : traversal.getSteps()) {
+            if (!isParallelizable(step, local))
+                return false;
+        }
+        return true;
+    }
+
+    public int getThreads() {
+        return this.threads;
+    }
+
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    /**
+     * Gets the pool that executes the traversals of the strategy, creating it if there is none.
+     */
+    public synchronized ForkJoinPool getPool() {
+        if (null == this.pool || this.pool.isShutdown())
+            this.pool = new ForkJoinPool(this.threads);
+        return this.pool;
+    }
+
+    /**
+     * Shuts down the pool of the strategy, interrupting the threads of any traversals still executing on it.
+     */
+    @Override
+    public synchronized void close() {
+        if (null != this.pool) {
+            this.pool.shutdownNow();
+            this.pool = null;
+        }
+    }
+
+    public static ParallelStrategy create(final Configuration configuration) {
+        return new ParallelStrategy(configuration.getInt(THREADS, defaultThreads()),
+                configuration.getInt(BATCH_SIZE, DEFAULT_BATCH_SIZE));
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+        final Map<String, Object> map = new HashMap<>();
+        map.put(THREADS, this.threads);
+        map.put(BATCH_SIZE, this.batchSize);
+        return new MapConfiguration(map);
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.traversalStrategyString(this);
+    }
+
+    private static int defaultThreads() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    public static ParallelStrategy instance() {
+        return INSTANCE;
+    }
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public final static class Builder {
+
+        private int threads = defaultThreads();
+        private int batchSize = DEFAULT_BATCH_SIZE;
+
+        private Builder() {
+        }
+
+        /**
+         * The number of threads that execute a traversal, which defaults to the number of processors available to
+         * the JVM.
+         */
+        public Builder threads(final int threads) {
+            this.threads = threads;
+            return this;
+        }
+
+        /**
+         * The number of start elements that a thread is given at a time, which defaults to
+         * {@link #DEFAULT_BATCH_SIZE}.
+         */
+        public Builder batchSize(final int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        public ParallelStrategy create() {
+            return new ParallelStrategy(this.threads, this.batchSize);
+        }
+    }
+}
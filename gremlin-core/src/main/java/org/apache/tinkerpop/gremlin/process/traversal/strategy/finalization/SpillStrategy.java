@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.commons.configuration.Configuration;
+import org.apache.commons.configuration.MapConfiguration;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.MemoryBounded;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Spilling;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@code SpillStrategy} limits the number of traversers or entries that each {@link MemoryBounded} barrier of a
+ * traversal holds in memory. Beyond that number, the {@link Spilling} {@code order()} writes its traversers in sorted
+ * runs to files in the spill directory and merges them back, and the {@link Spilling} {@code group()} writes its
+ * groups partitioned by the hash of their keys and reduces them back a partition at a time. The distinct values of
+ * {@code dedup()} have to be held in memory, so they are not spilled and fail the traversal instead, as does
+ * {@code order()} if its traversers carry paths. The strategy only applies to traversals executed by the standard
+ * engine.
+ * <p/>
+ *
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ * @example <pre>
+ * g.withStrategies(SpillStrategy.instance()).V().order().by("name")
+ * g.withStrategies(SpillStrategy.instance()).V().group().by("name").by(count())
+ * g.withStrategies(SpillStrategy.build().maxInMemory(100000).spillDirectory("/data/tmp").create()).V().order().by("name")
+ * </pre>
+ */
+public final class SpillStrategy extends AbstractTraversalStrategy<TraversalStrategy.FinalizationStrategy> implements TraversalStrategy.FinalizationStrategy {
+
+    public static final long DEFAULT_MAX_IN_MEMORY = 1000000L;
+    private static final String MAX_IN_MEMORY = "maxInMemory";
+    private static final String SPILL_DIRECTORY = "spillDirectory";
+    private static final SpillStrategy INSTANCE = new SpillStrategy(DEFAULT_MAX_IN_MEMORY, defaultSpillDirectory());
+
+    private long maxInMemory;
+    private String spillDirectory;
+
+    private SpillStrategy() {
+        // for serialization
+    }
+
+    private SpillStrategy(final long maxInMemory, final String spillDirectory) {
+        if (maxInMemory < 1)
+            throw new IllegalArgumentException("The maxInMemory must be greater than zero: " + maxInMemory);
+        if (null == spillDirectory)
+            throw new IllegalArgumentException("The spillDirectory can not be null");
+        this.maxInMemory = maxInMemory;
+        this.spillDirectory = spillDirectory;
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (TraversalHelper.onGraphComputer(traversal))
+            return;
+
+        final File directory = new File(this.spillDirectory);
+        for (final Step<?, ?> step : traversal.getSteps()) {
+            if (step instanceof MemoryBounded)
+                ((MemoryBounded) step).setMaxInMemory(this.maxInMemory);
+            if (step instanceof Spilling)
+                ((Spilling) step).setSpillDirectory(directory);
+        }
+    }
+
+    public long getMaxInMemory() {
+        return this.maxInMemory;
+    }
+
+    public String getSpillDirectory() {
+        return this.spillDirectory;
+    }
+
+    public static SpillStrategy create(final Configuration configuration) {
+        return new SpillStrategy(configuration.getLong(MAX_IN_MEMORY, DEFAULT_MAX_IN_MEMORY),
+                configuration.getString(SPILL_DIRECTORY, defaultSpillDirectory()));
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+        final Map<String, Object> map = new HashMap<>();
+        map.put(MAX_IN_MEMORY, this.maxInMemory);
+        map.put(SPILL_DIRECTORY, this.spillDirectory);
+        return new MapConfiguration(map);
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.traversalStrategyString(this);
+    }
+
+    private static String defaultSpillDirectory() {
+        return System.getProperty("java.io.tmpdir");
+    }
+
+    public static SpillStrategy instance() {
+        return INSTANCE;
+    }
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public final static class Builder {
+
+        private long maxInMemory = DEFAULT_MAX_IN_MEMORY;
+        private String spillDirectory = defaultSpillDirectory();
+
+        private Builder() {
+        }
+
+        /**
+         * The number of traversers or entries that a barrier may hold in memory, which defaults to
+         * {@link #DEFAULT_MAX_IN_MEMORY}.
+         */
+        public Builder maxInMemory(final long maxInMemory) {
+            this.maxInMemory = maxInMemory;
+            return this;
+        }
+
+        /**
+         * The directory that spilled traversers are written to, which defaults to the {@code java.io.tmpdir} of the
+         * JVM.
+         */
+        public Builder spillDirectory(final String spillDirectory) {
+            this.spillDirectory = spillDirectory;
+            return this;
+        }
+
+        public SpillStrategy create() {
+            return new SpillStrategy(this.maxInMemory, this.spillDirectory);
+        }
+    }
+}
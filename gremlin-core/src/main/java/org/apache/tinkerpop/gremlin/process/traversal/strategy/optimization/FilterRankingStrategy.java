@@ -26,6 +26,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.Scoping;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.AndStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.ClassFilterStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.ConnectiveStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.DedupGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.FilterStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
@@ -37,16 +38,21 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WherePredicate
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WhereTraversalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.SelectivityHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.util.GraphStatistics;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 /**
  * FilterRankingStrategy reorders filter- and order-steps according to their rank. It will also do its best to push
  * step labels as far "right" as possible in order to keep traversers as small and bulkable as possible prior to the
- * absolute need for path-labeling.
+ * absolute need for path-labeling. If the graph offers {@link GraphStatistics}, filters of the same rank and the
+ * children of {@code and()} and {@code or()} are further ordered by their estimated selectivity.
  *
  * @author Daniel Kuppitz (http://gremlin.guru)
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -65,6 +71,10 @@ public final class FilterRankingStrategy extends AbstractTraversalStrategy<Trave
 
     @Override
     public void apply(final Traversal.Admin<?, ?> traversal) {
+        final GraphStatistics statistics = SelectivityHelper.getStatistics(traversal).orElse(null);
+        if (null != statistics)
+            rankConnectiveChildren(traversal, statistics);
+
         boolean modified = true;
         while (modified) {
             modified = false;
@@ -79,7 +89,8 @@ public final class FilterRankingStrategy extends AbstractTraversalStrategy<Trave
                             TraversalHelper.copyLabels(step, nextStep, true);
                             modified = true;
                         }
-                        if (getStepRank(step) > nextRank) {
+                        final int rank = getStepRank(step);
+                        if (rank > nextRank || (rank == nextRank && null != statistics && isMoreSelective(statistics, nextStep, step))) {
                             traversal.removeStep(nextStep);
                             traversal.addStep(i, nextStep);
                             modified = true;
@@ -90,6 +101,34 @@ public final class FilterRankingStrategy extends AbstractTraversalStrategy<Trave
         }
     }
 
+    /**
+     * Orders the children of {@code and()} so that the most selective are evaluated first and those of {@code or()}
+     * so that the least selective are, as either fails or passes the traverser sooner. The children are only
+     * reordered if the selectivity of each can be estimated.
+     */
+    private static void rankConnectiveChildren(final Traversal.Admin<?, ?> traversal, final GraphStatistics statistics) {
+        for (final ConnectiveStep<?> step : TraversalHelper.getStepsOfAssignableClass(ConnectiveStep.class, traversal)) {
+            final Optional<Class<? extends Element>> elementClass = SelectivityHelper.getElementClass(step);
+            if (elementClass.isPresent()) {
+                SelectivityHelper.sortBySelectivity(step.getLocalChildren(),
+                        child -> SelectivityHelper.estimateSelectivity(statistics, elementClass.get(), child),
+                        step instanceof AndStep);
+            }
+        }
+    }
+
+    /**
+     * Determines if a step is expected to filter more elements than another of the same rank that precedes it.
+     */
+    private static boolean isMoreSelective(final GraphStatistics statistics, final Step<?, ?> step, final Step<?, ?> previousStep) {
+        final Optional<Class<? extends Element>> elementClass = SelectivityHelper.getElementClass(previousStep);
+        if (!elementClass.isPresent())
+            return false;
+        final Optional<Double> selectivity = SelectivityHelper.estimateSelectivity(statistics, elementClass.get(), step);
+        final Optional<Double> previousSelectivity = SelectivityHelper.estimateSelectivity(statistics, elementClass.get(), previousStep);
+        return selectivity.isPresent() && previousSelectivity.isPresent() && selectivity.get() < previousSelectivity.get();
+    }
+
     /**
      * Ranks the given step. Steps with lower ranks can be moved in front of steps with higher ranks. 0 means that
      * the step has no rank and thus is not exchangeable with its neighbors.
@@ -41,22 +41,29 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.OrP;
+import org.apache.tinkerpop.gremlin.process.traversal.util.SelectivityHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.util.GraphStatistics;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 /**
  * InlineFilterStrategy analyzes filter-steps with child traversals that themselves are pure filters.
  * If the child traversals are pure filters then the wrapping parent filter is not needed and thus, the
- * children can be "inlined."
+ * children can be "inlined." If the graph offers {@link GraphStatistics}, the {@link HasContainer} instances of a
+ * {@link HasStep} that inlining merged several steps into are ordered by their estimated selectivity.
  * <p/>
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -84,13 +91,15 @@ public final class InlineFilterStrategy extends AbstractTraversalStrategy<Traver
 
     @Override
     public void apply(final Traversal.Admin<?, ?> traversal) {
+        // steps are tracked by identity as the hash code of a HasStep changes with its containers
+        final Set<HasStep<?>> mergedSteps = Collections.newSetFromMap(new IdentityHashMap<>());
         boolean changed = true; // recursively walk child traversals trying to inline them into the current traversal line.
         while (changed) {
             changed = false;
             final Iterator<FilterStep> filterStepIterator = TraversalHelper.getStepsOfAssignableClass(FilterStep.class, traversal).iterator();
             while (!changed && filterStepIterator.hasNext()) {
                 final FilterStep<?> step = filterStepIterator.next();
-                changed = step instanceof HasStep && InlineFilterStrategy.processHasStep((HasStep) step, traversal) ||
+                changed = step instanceof HasStep && InlineFilterStrategy.processHasStep((HasStep) step, traversal, mergedSteps) ||
                         step instanceof TraversalFilterStep && InlineFilterStrategy.processTraversalFilterStep((TraversalFilterStep) step, traversal) ||
                         step instanceof OrStep && InlineFilterStrategy.processOrStep((OrStep) step, traversal) ||
                         step instanceof AndStep && InlineFilterStrategy.processAndStep((AndStep) step, traversal);
@@ -103,12 +112,21 @@ public final class InlineFilterStrategy extends AbstractTraversalStrategy<Traver
                 }
             }
         }
+        if (!mergedSteps.isEmpty()) {
+            SelectivityHelper.getStatistics(traversal).ifPresent(statistics -> {
+                for (final HasStep<?> step : TraversalHelper.getStepsOfClass(HasStep.class, traversal)) {
+                    if (mergedSteps.contains(step))
+                        InlineFilterStrategy.orderHasContainers(step, statistics);
+                }
+            });
+        }
     }
 
     ////////////////////////////
     ///////////////////////////
 
-    private static final boolean processHasStep(final HasStep<?> step, final Traversal.Admin<?, ?> traversal) {
+    private static final boolean processHasStep(final HasStep<?> step, final Traversal.Admin<?, ?> traversal,
+                                                final Set<HasStep<?>> mergedSteps) {
         if (step.getPreviousStep() instanceof HasStep) {
             final HasStep<?> previousStep = (HasStep<?>) step.getPreviousStep();
             for (final HasContainer hasContainer : step.getHasContainers()) {
@@ -116,6 +134,8 @@ public final class InlineFilterStrategy extends AbstractTraversalStrategy<Traver
             }
             TraversalHelper.copyLabels(step, previousStep, false);
             traversal.removeStep(step);
+            mergedSteps.remove(step);
+            mergedSteps.add(previousStep);
             return true;
         } else if (step.getPreviousStep() instanceof VertexStep
                 && ((VertexStep) step.getPreviousStep()).returnsEdge()
@@ -168,6 +188,24 @@ public final class InlineFilterStrategy extends AbstractTraversalStrategy<Traver
             return false;
     }
 
+    /**
+     * Orders the {@link HasContainer} instances of a step that several steps were merged into, so that the most
+     * selective is tested first. They are only reordered if the selectivity of each can be estimated.
+     */
+    private static void orderHasContainers(final HasStep<?> step, final GraphStatistics statistics) {
+        final Optional<Class<? extends Element>> elementClass = SelectivityHelper.getElementClass(step);
+        if (!elementClass.isPresent())
+            return;
+        final List<HasContainer> hasContainers = new ArrayList<>(step.getHasContainers());
+        if (SelectivityHelper.sortBySelectivity(hasContainers,
+                hasContainer -> SelectivityHelper.estimateSelectivity(statistics, elementClass.get(), hasContainer), true)) {
+            for (final HasContainer hasContainer : hasContainers) {
+                step.removeHasContainer(hasContainer);
+                step.addHasContainer(hasContainer);
+            }
+        }
+    }
+
     private static final boolean processTraversalFilterStep(final TraversalFilterStep<?> step, final Traversal.Admin<?, ?> traversal) {
         final Traversal.Admin<?, ?> childTraversal = step.getLocalChildren().get(0);
         if (TraversalHelper.hasAllStepsOfClass(childTraversal, FilterStep.class) &&
@@ -40,6 +40,12 @@ import java.util.HashSet;
 import java.util.Set;
 
 /**
+ * {@code LazyBarrierStrategy} inserts a {@link NoOpBarrierStep} after the flatMap-steps of a traversal, where one or
+ * more flatMap-steps preceded them, so that the traversers they produce are merged into fewer traversers with a bulk
+ * before they are processed by the steps that follow. The barriers start out holding up to {@link #MAX_BARRIER_SIZE}
+ * unique traversers and are adaptive, so that they hold more traversers while that merges many of them and fewer when
+ * it does not, or when the heap is nearly exhausted.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class LazyBarrierStrategy extends AbstractTraversalStrategy<TraversalStrategy.OptimizationStrategy> implements TraversalStrategy.OptimizationStrategy {
@@ -87,7 +93,7 @@ public final class LazyBarrierStrategy extends AbstractTraversalStrategy<Travers
                 if (foundFlatMap && !labeledPath &&
                         !(step.getNextStep() instanceof Barrier) &&
                         !(step.getNextStep() instanceof EmptyStep)) {
-                    final Step noOpBarrierStep = new NoOpBarrierStep<>(traversal, MAX_BARRIER_SIZE);
+                    final Step noOpBarrierStep = new NoOpBarrierStep<>(traversal, MAX_BARRIER_SIZE, true);
                     TraversalHelper.copyLabels(step, noOpBarrierStep, true);
                     TraversalHelper.insertAfterStep(noOpBarrierStep, step, traversal);
                 } else
@@ -30,7 +30,6 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.map.PathStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.SackStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.SelectOneStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.SelectStep;
-import org.apache.tinkerpop.gremlin.process.traversal.step.map.TreeStep;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 
@@ -40,7 +39,15 @@ import java.util.List;
 import java.util.Set;
 
 /**
+ * {@code OrderLimitStrategy} pushes the high range of a {@code limit()} or {@code range()} into the {@code order()}
+ * before it, when only steps that map each traverser to exactly one traverser are in between, so that the order
+ * keeps no more than that number of traversers.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
+ * @example <pre>
+ * __.order().by("name").limit(10)              // order keeps the first 10 traversers
+ * __.order().by("name").select("a").range(5, 15) // order keeps the first 15 traversers
+ * </pre>
  */
 public final class OrderLimitStrategy extends AbstractTraversalStrategy<TraversalStrategy.OptimizationStrategy> implements TraversalStrategy.OptimizationStrategy {
 
@@ -52,17 +59,13 @@ public final class OrderLimitStrategy extends AbstractTraversalStrategy<Traversa
                     PathStep.class,
                     SelectStep.class,
                     SelectOneStep.class,
-                    SackStep.class,
-                    TreeStep.class));
+                    SackStep.class));
 
     private OrderLimitStrategy() {
     }
 
     @Override
     public void apply(final Traversal.Admin<?, ?> traversal) {
-        if (!TraversalHelper.onGraphComputer(traversal))
-            return;
-
         final List<OrderGlobalStep> orders = TraversalHelper.getStepsOfClass(OrderGlobalStep.class, traversal);
         for (final OrderGlobalStep order : orders) {
             RangeGlobalStep range = null;
@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.lambda.LoopTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.lambda.TrueTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Scoping;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.branch.RepeatStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.DedupGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.NotStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.TraversalFilterStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.EdgeVertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.PropertiesStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@code ReachabilityStrategy} looks for a {@code repeat()} that is followed by a {@code dedup()}, with at most
+ * {@code has()} filters in between, which is the usual way to find the vertices reachable from others. When what the
+ * {@code repeat()} does with a traverser depends on nothing but the element it is at, a traverser that comes back to
+ * an element that another traverser has already gone on from can only lead to elements that the {@code dedup()} will
+ * filter, so the {@link RepeatStep} is set to not take it through the repeat traversal again. Each vertex is then
+ * traversed from once, rather than once for each of the paths to it, which on a graph with cycles is the difference
+ * between the {@code repeat()} ending and it going on without end. The strategy is not applied to traversals that use
+ * paths, sacks or labeled objects, as those differ between the traversers that reach an element.
+ *
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ * @example <pre>
+ * __.repeat(out()).emit().dedup()                     // repeat() prunes visited vertices
+ * __.repeat(out("knows")).until(has("age", gt(30))).dedup()  // repeat() prunes visited vertices
+ * __.repeat(both()).emit().times(3).hasLabel("person").dedup()  // repeat() prunes visited vertices
+ * __.repeat(out()).emit().path().dedup()              // will not be modified
+ * __.repeat(out()).emit()                             // will not be modified
+ * </pre>
+ */
+public final class ReachabilityStrategy extends AbstractTraversalStrategy<TraversalStrategy.OptimizationStrategy>
+        implements TraversalStrategy.OptimizationStrategy {
+
+    private static final ReachabilityStrategy INSTANCE = new ReachabilityStrategy();
+    private static final Set<Class<? extends OptimizationStrategy>> PRIORS = new HashSet<>(Arrays.asList(
+            IncidentToAdjacentStrategy.class, RepeatUnrollStrategy.class, ShortestPathStrategy.class));
+    private static final Set<TraverserRequirement> INVALIDATING_REQUIREMENTS = new HashSet<>(Arrays.asList(
+            TraverserRequirement.PATH, TraverserRequirement.LABELED_PATH, TraverserRequirement.SACK));
+
+    private ReachabilityStrategy() {
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (TraversalHelper.onGraphComputer(traversal))
+            return;
+
+        final List<RepeatStep> repeatSteps = TraversalHelper.getStepsOfClass(RepeatStep.class, traversal);
+        if (repeatSteps.isEmpty() || usesPathsOrSacks(TraversalHelper.getRootTraversal(traversal)))
+            return;
+
+        for (final RepeatStep<?> repeatStep : repeatSteps) {
+            if (!repeatStep.isPruneVisited() && isReachability(repeatStep))
+                repeatStep.setPruneVisited(true);
+        }
+    }
+
+    private static boolean usesPathsOrSacks(final Traversal.Admin<?, ?> rootTraversal) {
+        if (null != rootTraversal.getSideEffects().getSackInitialValue() ||
+                TraversalHelper.hasStepOfAssignableClassRecursively(LambdaHolder.class, rootTraversal))
+            return true;
+        for (final Scoping scoping : TraversalHelper.getStepsOfAssignableClassRecursively(Scoping.class, rootTraversal)) {
+            if (!scoping.getScopeKeys().isEmpty())
+                return true;
+        }
+        // the requirements of a parent include those of its children
+        for (final Step<?, ?> step : rootTraversal.getSteps()) {
+            if (!Collections.disjoint(step.getRequirements(), INVALIDATING_REQUIREMENTS))
+                return true;
+        }
+        return false;
+    }
+
+    private static boolean isReachability(final RepeatStep<?> repeatStep) {
+        if (isLabeled(repeatStep))
+            return false;
+
+        // only the distinct elements that come out of the repeat() are wanted
+        Step<?, ?> nextStep = repeatStep.getNextStep();
+        while (nextStep instanceof HasStep && !isLabeled(nextStep)) {
+            nextStep = nextStep.getNextStep();
+        }
+        if (!(nextStep instanceof DedupGlobalStep) || !((DedupGlobalStep<?>) nextStep).getScopeKeys().isEmpty() ||
+                !((DedupGlobalStep<?>) nextStep).getLocalChildren().isEmpty())
+            return false;
+
+        final Traversal.Admin<?, ?> untilTraversal = repeatStep.getUntilTraversal();
+        if (null != untilTraversal && !(untilTraversal instanceof LoopTraversal) && !isElementLocal(untilTraversal))
+            return false;
+        final Traversal.Admin<?, ?> emitTraversal = repeatStep.getEmitTraversal();
+        if (null != emitTraversal && !(emitTraversal instanceof TrueTraversal) && !isElementLocal(emitTraversal))
+            return false;
+
+        final List<Step> repeatSteps = repeatStep.getRepeatTraversal().getSteps();
+        return repeatSteps.size() > 1 && isElementLocal(repeatSteps.subList(0, repeatSteps.size() - 1));
+    }
+
+    /**
+     * Determines if the steps only move to adjacent elements and filter on them, so that what they produce from a
+     * traverser depends on nothing but the element it is at.
+     */
+    private static boolean isElementLocal(final Traversal.Admin<?, ?> traversal) {
+        return !traversal.getSteps().isEmpty() && isElementLocal(traversal.getSteps());
+    }
+
+    private static boolean isElementLocal(final List<Step> steps) {
+        for (final Step<?, ?> step : steps) {
+            if (isLabeled(step))
+                return false;
+            if (step instanceof NotStep || step instanceof TraversalFilterStep) {
+                for (final Traversal.Admin<?, ?> child : ((TraversalParent) step).getLocalChildren()) {
+                    if (!isElementLocal(child))
+                        return false;
+                }
+            } else if (!(step instanceof VertexStep || step instanceof EdgeVertexStep || step instanceof PropertiesStep ||
+                    step instanceof HasStep || step instanceof NoOpBarrierStep))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Determines if the step has labels other than the hidden ones that strategies mark steps with.
+     */
+    private static boolean isLabeled(final Step<?, ?> step) {
+        for (final String label : step.getLabels()) {
+            if (!Graph.Hidden.isHidden(label))
+                return true;
+        }
+        return false;
+    }
+
+    @Override
+    public Set<Class<? extends OptimizationStrategy>> applyPrior() {
+        return PRIORS;
+    }
+
+    public static ReachabilityStrategy instance() {
+        return INSTANCE;
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.computer.traversal.step.map.TraversalVertexProgramStep;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.branch.RepeatStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.FilterStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.PathFilterStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.RangeGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.ShortestPathFilterStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.PathStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.ShortestPathStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code ShortestPathStrategy} looks for a {@code repeat()} that takes simple paths over adjacent vertices until it
+ * reaches a vertex with an identifier or other properties, followed by a {@code limit(1)} with at most a
+ * {@code path()} in between, which is the usual way to find a shortest path. As only one path is wanted, the
+ * {@code repeat()} is replaced by a {@link ShortestPathStep} that searches from both ends and visits each vertex
+ * once, rather than following every simple path. On a graph computer, where a vertex can only reach its adjacent
+ * vertices, a {@link ShortestPathFilterStep} is instead added to the {@code repeat()} so that only the first
+ * traverser to reach each vertex from each start vertex goes on from it, which is done for traversals that start
+ * with {@code V()} so that the path of a traverser begins at its start vertex.
+ *
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ * @example <pre>
+ * __.repeat(both().simplePath()).until(hasId(x)).limit(1).path()            // repeat() is replaced
+ * __.repeat(out("knows").simplePath()).until(has("name", "x")).path().limit(1)  // repeat() is replaced
+ * __.repeat(both().simplePath()).until(hasId(x)).path()                    // will not be modified
+ * __.repeat(both().simplePath()).emit().until(hasId(x)).limit(1)           // will not be modified
+ * </pre>
+ */
+public final class ShortestPathStrategy extends AbstractTraversalStrategy<TraversalStrategy.OptimizationStrategy>
+        implements TraversalStrategy.OptimizationStrategy {
+
+    private static final ShortestPathStrategy INSTANCE = new ShortestPathStrategy();
+
+    private ShortestPathStrategy() {
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        final boolean onGraphComputer = traversal.getParent() instanceof TraversalVertexProgramStep;
+        if (!(traversal.getParent() instanceof EmptyStep) && !onGraphComputer)
+            return;
+
+        for (final RepeatStep<?> repeatStep : TraversalHelper.getStepsOfClass(RepeatStep.class, traversal)) {
+            if (!isShortestPath(repeatStep))
+                continue;
+            final Traversal.Admin<?, ?> repeatTraversal = repeatStep.getRepeatTraversal();
+            if (onGraphComputer) {
+                if (startsAtGraphStep(repeatStep))
+                    TraversalHelper.insertBeforeStep(new ShortestPathFilterStep(repeatTraversal), (Step) repeatTraversal.getEndStep(), repeatTraversal);
+            } else {
+                final VertexStep<?> vertexStep = (VertexStep<?>) repeatTraversal.getStartStep();
+                final HasStep<?> hasStep = (HasStep<?>) repeatStep.getUntilTraversal().getStartStep();
+                final ShortestPathStep shortestPathStep = new ShortestPathStep(traversal, vertexStep.getDirection(),
+                        vertexStep.getEdgeLabels(), new ArrayList<>(hasStep.getHasContainers()));
+                TraversalHelper.copyLabels(repeatStep, shortestPathStep, false);
+                TraversalHelper.replaceStep((Step) repeatStep, shortestPathStep, traversal);
+            }
+        }
+    }
+
+    private static boolean isShortestPath(final RepeatStep<?> repeatStep) {
+        if (null != repeatStep.getEmitTraversal() || null == repeatStep.getUntilTraversal() || repeatStep.untilFirst)
+            return false;
+
+        final List<Step> untilSteps = repeatStep.getUntilTraversal().getSteps();
+        if (untilSteps.size() != 1 || !(untilSteps.get(0) instanceof HasStep) || isLabeled(untilSteps.get(0)))
+            return false;
+
+        final List<Step> repeatSteps = repeatStep.getRepeatTraversal().getSteps();
+        if (repeatSteps.size() != 3 || !(repeatSteps.get(2) instanceof RepeatStep.RepeatEndStep))
+            return false;
+        final Step<?, ?> adjacentStep = repeatSteps.get(0);
+        if (!(adjacentStep instanceof VertexStep) || !((VertexStep<?>) adjacentStep).returnsVertex() || isLabeled(adjacentStep))
+            return false;
+        final Step<?, ?> simplePathStep = repeatSteps.get(1);
+        if (!(simplePathStep instanceof PathFilterStep) || isLabeled(simplePathStep))
+            return false;
+        final PathFilterStep<?> pathFilterStep = (PathFilterStep<?>) simplePathStep;
+        if (!pathFilterStep.isSimple() || null != pathFilterStep.getFromLabel() || null != pathFilterStep.getToLabel() ||
+                !pathFilterStep.getLocalChildren().isEmpty())
+            return false;
+
+        // only the first path found is wanted
+        Step<?, ?> nextStep = repeatStep.getNextStep();
+        if (nextStep instanceof PathStep)
+            nextStep = nextStep.getNextStep();
+        return nextStep instanceof RangeGlobalStep &&
+                0 == ((RangeGlobalStep<?>) nextStep).getLowRange() && 1 == ((RangeGlobalStep<?>) nextStep).getHighRange();
+    }
+
+    /**
+     * Determines if the step has labels other than the hidden ones that strategies mark steps with.
+     */
+    private static boolean isLabeled(final Step<?, ?> step) {
+        for (final String label : step.getLabels()) {
+            if (!Graph.Hidden.isHidden(label))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Determines if the path of a traverser reaching the {@code repeat()} holds only its start vertex, which is what
+     * {@link ShortestPathFilterStep} takes the start vertex from.
+     */
+    private static boolean startsAtGraphStep(final RepeatStep<?> repeatStep) {
+        Step<?, ?> previousStep = repeatStep.getPreviousStep();
+        while (previousStep instanceof FilterStep) {
+            previousStep = previousStep.getPreviousStep();
+        }
+        return previousStep instanceof GraphStep && ((GraphStep<?, ?>) previousStep).returnsVertex() &&
+                previousStep.getPreviousStep() instanceof EmptyStep;
+    }
+
+    public static ShortestPathStrategy instance() {
+        return INSTANCE;
+    }
+}
@@ -37,8 +37,16 @@ public class B_LP_O_P_S_SE_SL_Traverser<T> extends B_O_S_SE_SL_Traverser<T> {
     }
 
     public B_LP_O_P_S_SE_SL_Traverser(final T t, final Step<T, ?> step, final long initialBulk) {
+        this(t, step, initialBulk, ImmutablePath.make());
+    }
+
+    /**
+     * Creates a traverser whose path is extended from the provided empty path, which determines the {@link Path}
+     * implementation that the traverser uses.
+     */
+    public B_LP_O_P_S_SE_SL_Traverser(final T t, final Step<T, ?> step, final long initialBulk, final Path emptyPath) {
         super(t, step, initialBulk);
-        this.path = ImmutablePath.make().extend(t, step.getLabels());
+        this.path = emptyPath.extend(t, step.getLabels());
     }
 
     /////////////////
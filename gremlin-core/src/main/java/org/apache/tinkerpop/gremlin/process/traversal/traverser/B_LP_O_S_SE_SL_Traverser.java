@@ -22,6 +22,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.Path;
 import org.apache.tinkerpop.gremlin.process.traversal.Pop;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.CompactPath;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ImmutablePath;
 import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceFactory;
 
@@ -39,8 +40,16 @@ public class B_LP_O_S_SE_SL_Traverser<T> extends B_O_S_SE_SL_Traverser<T> {
     }
 
     public B_LP_O_S_SE_SL_Traverser(final T t, final Step<T, ?> step, final long initialBulk) {
+        this(t, step, initialBulk, ImmutablePath.make());
+    }
+
+    /**
+     * Creates a traverser whose path is extended from the provided empty path, which determines the {@link Path}
+     * implementation that the traverser uses.
+     */
+    public B_LP_O_S_SE_SL_Traverser(final T t, final Step<T, ?> step, final long initialBulk, final Path emptyPath) {
         super(t, step, initialBulk);
-        this.path = ImmutablePath.make();
+        this.path = emptyPath;
         final Set<String> labels = step.getLabels();
         if (!labels.isEmpty()) this.path = this.path.extend(t, labels);
     }
@@ -107,7 +116,7 @@ public class B_LP_O_S_SE_SL_Traverser<T> extends B_O_S_SE_SL_Traverser<T> {
 
     @Override
     public void dropPath() {
-        this.path = ImmutablePath.make();
+        this.path = this.path instanceof CompactPath ? ((CompactPath) this.path).emptyPath() : ImmutablePath.make();
     }
 
     @Override
@@ -22,6 +22,7 @@ package org.apache.tinkerpop.gremlin.process.traversal.traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.Path;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.CompactPath;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ImmutablePath;
 import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceFactory;
 
@@ -39,8 +40,16 @@ public class LP_O_OB_P_S_SE_SL_Traverser<T> extends O_OB_S_SE_SL_Traverser<T> {
     }
 
     public LP_O_OB_P_S_SE_SL_Traverser(final T t, final Step<T, ?> step) {
+        this(t, step, ImmutablePath.make());
+    }
+
+    /**
+     * Creates a traverser whose path is extended from the provided empty path, which determines the {@link Path}
+     * implementation that the traverser uses.
+     */
+    public LP_O_OB_P_S_SE_SL_Traverser(final T t, final Step<T, ?> step, final Path emptyPath) {
         super(t, step);
-        this.path = ImmutablePath.make().extend(t, step.getLabels());
+        this.path = emptyPath.extend(t, step.getLabels());
     }
 
     /////////////////
@@ -101,7 +110,7 @@ public class LP_O_OB_P_S_SE_SL_Traverser<T> extends O_OB_S_SE_SL_Traverser<T> {
 
     @Override
     public void dropPath() {
-        this.path = ImmutablePath.make();
+        this.path = this.path instanceof CompactPath ? ((CompactPath) this.path).emptyPath() : ImmutablePath.make();
     }
 
     @Override
@@ -39,8 +39,16 @@ public class LP_O_OB_S_SE_SL_Traverser<T> extends O_OB_S_SE_SL_Traverser<T> {
     }
 
     public LP_O_OB_S_SE_SL_Traverser(final T t, final Step<T, ?> step) {
+        this(t, step, ImmutablePath.make());
+    }
+
+    /**
+     * Creates a traverser whose path is extended from the provided empty path, which determines the {@link Path}
+     * implementation that the traverser uses.
+     */
+    public LP_O_OB_S_SE_SL_Traverser(final T t, final Step<T, ?> step, final Path emptyPath) {
         super(t, step);
-        this.path = ImmutablePath.make();
+        this.path = emptyPath;
         final Set<String> labels = step.getLabels();
         if (!labels.isEmpty()) this.path = this.path.extend(t, labels);
     }
@@ -19,9 +19,12 @@
 
 package org.apache.tinkerpop.gremlin.process.traversal.traverser;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.TraverserGenerator;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.CompactPath;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ImmutablePath;
 
 import java.util.EnumSet;
 import java.util.Set;
@@ -40,14 +43,17 @@ public final class LP_O_OB_S_SE_SL_TraverserGenerator implements TraverserGenera
             TraverserRequirement.SINGLE_LOOP);
 
 
-    private static final LP_O_OB_S_SE_SL_TraverserGenerator INSTANCE = new LP_O_OB_S_SE_SL_TraverserGenerator();
+    private static final LP_O_OB_S_SE_SL_TraverserGenerator INSTANCE = new LP_O_OB_S_SE_SL_TraverserGenerator(ImmutablePath.make());
 
-    private LP_O_OB_S_SE_SL_TraverserGenerator() {
+    private final Path emptyPath;
+
+    private LP_O_OB_S_SE_SL_TraverserGenerator(final Path emptyPath) {
+        this.emptyPath = emptyPath;
     }
 
     @Override
     public <S> Traverser.Admin<S> generate(final S start, final Step<S, ?> startStep, final long initialBulk) {
-        return new LP_O_OB_S_SE_SL_Traverser<>(start, startStep);
+        return new LP_O_OB_S_SE_SL_Traverser<>(start, startStep, this.emptyPath);
     }
 
     @Override
@@ -58,4 +64,12 @@ public final class LP_O_OB_S_SE_SL_TraverserGenerator implements TraverserGenera
     public static LP_O_OB_S_SE_SL_TraverserGenerator instance() {
         return INSTANCE;
     }
+
+    /**
+     * Creates a generator of traversers whose paths are a {@link CompactPath}. The paths of the traversers of a
+     * generator share a table of interned labels, so a generator should not outlive the traversal it is created for.
+     */
+    public static LP_O_OB_S_SE_SL_TraverserGenerator compactInstance() {
+        return new LP_O_OB_S_SE_SL_TraverserGenerator(CompactPath.make());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.TraverserGenerator;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.CompactPath;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_LP_O_P_S_SE_SL_TraverserGenerator;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_LP_O_S_SE_SL_TraverserGenerator;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.LP_O_OB_P_S_SE_SL_TraverserGenerator;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.LP_O_OB_S_SE_SL_TraverserGenerator;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserGeneratorFactory;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+
+import java.io.Serializable;
+import java.util.Set;
+
+/**
+ * Chooses the same traversers as {@link DefaultTraverserGeneratorFactory} but those that hold a path have it be a
+ * {@link CompactPath}, with a table of interned labels for each traversal. It is set on a traversal source with
+ * {@link org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource#withTraverserGeneratorFactory(TraverserGeneratorFactory)}.
+ *
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ */
+public final class CompactPathTraverserGeneratorFactory implements TraverserGeneratorFactory, Serializable {
+
+    private static final CompactPathTraverserGeneratorFactory INSTANCE = new CompactPathTraverserGeneratorFactory();
+
+    public static CompactPathTraverserGeneratorFactory instance() {
+        return INSTANCE;
+    }
+
+    private CompactPathTraverserGeneratorFactory() {
+    }
+
+    private Object readResolve() {
+        return INSTANCE;
+    }
+
+    @Override
+    public TraverserGenerator getTraverserGenerator(final Set<TraverserRequirement> requirements) {
+        final TraverserGenerator generator = DefaultTraverserGeneratorFactory.instance().getTraverserGenerator(requirements);
+        if (generator == B_LP_O_S_SE_SL_TraverserGenerator.instance())
+            return B_LP_O_S_SE_SL_TraverserGenerator.compactInstance();
+        else if (generator == B_LP_O_P_S_SE_SL_TraverserGenerator.instance())
+            return B_LP_O_P_S_SE_SL_TraverserGenerator.compactInstance();
+        else if (generator == LP_O_OB_S_SE_SL_TraverserGenerator.instance())
+            return LP_O_OB_S_SE_SL_TraverserGenerator.compactInstance();
+        else if (generator == LP_O_OB_P_S_SE_SL_TraverserGenerator.instance())
+            return LP_O_OB_P_S_SE_SL_TraverserGenerator.compactInstance();
+        else
+            return generator;
+    }
+}
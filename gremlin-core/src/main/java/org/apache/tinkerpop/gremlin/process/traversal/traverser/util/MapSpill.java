@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedFactory;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BinaryOperator;
+
+/**
+ * Writes the entries of maps to temporary files with Gryo, partitioned by the hash of their keys, and reduces them
+ * back one partition at a time, so that a barrier which reduces its traversers to a map can hold fewer entries in
+ * memory than it reduces. Each partition has a single file that every spill appends to, so all the entries of a key
+ * are in the same partition and only one file is read at a time. Keys and values are attached to the graph of the
+ * traversal again as they are read, as are the objects of values that are lists or {@link TraverserSet}s, while the
+ * elements within other values stay detached as they would be on a {@code GraphComputer}.
+ *
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ */
+public final class MapSpill<K, V> implements AutoCloseable {
+
+    public static final int DEFAULT_PARTITIONS = 16;
+
+    private final File directory;
+    private final BinaryOperator<Map<K, V>> reducer;
+    private final Traversal.Admin<?, ?> traversal;
+    private final File[] partitions;
+    private final long[] counts;
+    private Kryo kryo = null;
+
+    /**
+     * Creates a spill with {@link #DEFAULT_PARTITIONS} partitions that reduces the entries of a key with the operator
+     * that the barrier reduces its maps with.
+     */
+    public MapSpill(final File directory, final BinaryOperator<Map<K, V>> reducer, final Traversal.Admin<?, ?> traversal) {
+        this(directory, reducer, traversal, DEFAULT_PARTITIONS);
+    }
+
+    public MapSpill(final File directory, final BinaryOperator<Map<K, V>> reducer, final Traversal.Admin<?, ?> traversal, final int partitions) {
+        if (partitions < 1)
+            throw new IllegalArgumentException("The number of partitions must be greater than zero: " + partitions);
+        this.directory = directory;
+        this.reducer = reducer;
+        this.traversal = traversal;
+        this.partitions = new File[partitions];
+        this.counts = new long[partitions];
+    }
+
+    public int getPartitionCount() {
+        return this.partitions.length;
+    }
+
+    /**
+     * Determines if any entries have been written that have not yet been merged.
+     */
+    public boolean isEmpty() {
+        for (final long count : this.counts) {
+            if (count > 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Appends the entries of the map to the files of their partitions and clears the map.
+     */
+    public void spill(final Map<K, V> map) {
+        final Kryo kryo = this.getKryo();
+        final Output[] outputs = new Output[this.partitions.length];
+        try {
+            for (final Map.Entry<K, V> entry : map.entrySet()) {
+                final int partition = this.partitionOf(entry.getKey());
+                if (null == outputs[partition]) {
+                    if (null == this.partitions[partition])
+                        this.partitions[partition] = File.createTempFile("gremlin-", ".spill", this.directory);
+                    outputs[partition] = new Output(new FileOutputStream(this.partitions[partition], true), TraverserSpill.BUFFER_SIZE);
+                }
+                kryo.writeClassAndObject(outputs[partition], DetachedFactory.detach(entry.getKey(), false));
+                kryo.writeClassAndObject(outputs[partition], TraverserSpill.getOwner(entry.getKey()));
+                kryo.writeClassAndObject(outputs[partition], entry.getValue());
+                this.counts[partition]++;
+            }
+        } catch (final Exception e) {
+            this.close();
+            throw new IllegalStateException("Could not spill entries to " + this.directory + ": " + e.getMessage(), e);
+        } finally {
+            for (final Output output : outputs) {
+                if (null != output) output.close();
+            }
+        }
+        map.clear();
+    }
+
+    /**
+     * Reads the entries of the partition back into a map, reducing those of the same key, and deletes the file of the
+     * partition.
+     */
+    public Map<K, V> merge(final int partition) {
+        Map<K, V> map = new HashMap<>();
+        if (null == this.partitions[partition])
+            return map;
+        final Kryo kryo = this.getKryo();
+        final Graph graph = TraversalHelper.getRootTraversal(this.traversal).getGraph().orElse(EmptyGraph.instance());
+        try (final Input input = new Input(new FileInputStream(this.partitions[partition]), TraverserSpill.BUFFER_SIZE)) {
+            for (long i = 0; i < this.counts[partition]; i++) {
+                K key = (K) kryo.readClassAndObject(input);
+                final Object owner = kryo.readClassAndObject(input);
+                V value = (V) kryo.readClassAndObject(input);
+                if (!(graph instanceof EmptyGraph)) {
+                    key = (K) TraverserSpill.attach(key, owner, graph);
+                    value = (V) this.attachValue(value, graph);
+                }
+                map = this.reducer.apply(map, Collections.singletonMap(key, value));
+            }
+        } catch (final Exception e) {
+            this.close();
+            throw new IllegalStateException("Could not read spilled entries: " + e.getMessage(), e);
+        }
+        this.partitions[partition].delete();
+        this.partitions[partition] = null;
+        this.counts[partition] = 0;
+        return map;
+    }
+
+    /**
+     * Deletes the files of the partitions that have not been merged.
+     */
+    @Override
+    public void close() {
+        for (int i = 0; i < this.partitions.length; i++) {
+            if (null != this.partitions[i]) {
+                this.partitions[i].delete();
+                this.partitions[i] = null;
+            }
+            this.counts[i] = 0;
+        }
+    }
+
+    private int partitionOf(final Object key) {
+        // spread the bits of the hash as HashMap does, since the keys of a partition are put in a HashMap of their own
+        final int hash = Objects.hashCode(key);
+        return Math.floorMod(hash ^ (hash >>> 16), this.partitions.length);
+    }
+
+    private Object attachValue(final Object value, final Graph graph) {
+        if (value instanceof TraverserSet) {
+            for (final Traverser.Admin<Object> traverser : (TraverserSet<Object>) value) {
+                traverser.setSideEffects(this.traversal.getSideEffects());
+                traverser.set(attachElement(traverser.get(), graph));
+            }
+            return value;
+        } else if (value instanceof List) {
+            final ListIterator<Object> objects = ((List<Object>) value).listIterator();
+            while (objects.hasNext()) {
+                objects.set(attachElement(objects.next(), graph));
+            }
+            return value;
+        } else
+            return attachElement(value, graph);
+    }
+
+    /**
+     * Only vertices and edges are attached within values, as the elements of properties are not written with them.
+     */
+    private static Object attachElement(final Object object, final Graph graph) {
+        return object instanceof Vertex || object instanceof Edge ? TraverserSpill.attach(object, null, graph) : object;
+    }
+
+    private Kryo getKryo() {
+        if (null == this.kryo)
+            this.kryo = TraverserSpill.createKryo(this.traversal);
+        return this.kryo;
+    }
+}
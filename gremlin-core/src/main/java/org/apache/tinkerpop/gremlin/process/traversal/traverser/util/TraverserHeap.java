@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * Bounds a {@link TraverserSet} to the traversers that would come first if it were sorted by the comparator and then
+ * limited to a number of traversers, counting each traverser as many times as its bulk. The traversers are held in
+ * a heap that has the last of them on top, so that those that come after it can be rejected with a single comparison
+ * and those that come before it replace it in {@code O(log k)} time. Traversers that compare equally keep the order in
+ * which they were added, as they would with a stable sort.
+ *
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ */
+public final class TraverserHeap<S> {
+
+    private final TraverserSet<S> traverserSet;
+    private final Comparator<Traverser<S>> comparator;
+    private final long limit;
+    private final PriorityQueue<Entry<S>> heap;
+    private long bulk = 0L;
+    private long sequence = 0L;
+
+    /**
+     * Creates a heap that bounds the {@link TraverserSet}, which is trimmed to the limit if it already holds more
+     * traversers than that.
+     */
+    public TraverserHeap(final TraverserSet<S> traverserSet, final Comparator<Traverser<S>> comparator, final long limit) {
+        this.traverserSet = traverserSet;
+        this.comparator = comparator;
+        this.limit = limit;
+        this.heap = new PriorityQueue<>(Math.max(1, (int) Math.min(traverserSet.size(), Math.min(limit, 1024L))) + 1,
+                (a, b) -> {
+                    final int comparison = comparator.compare(b.traverser, a.traverser);
+                    return 0 != comparison ? comparison : Long.compare(b.sequence, a.sequence);
+                });
+        for (final Traverser.Admin<S> traverser : traverserSet) {
+            this.heap.add(new Entry<>(traverser, this.sequence++));
+            this.bulk = this.bulk + traverser.bulk();
+        }
+        this.trim();
+    }
+
+    /**
+     * Adds the traverser to the {@link TraverserSet} if it would come within the limit, merging it with an equal
+     * traverser that is already there.
+     */
+    public void add(final Traverser.Admin<S> traverser) {
+        final Traverser.Admin<S> existing = this.traverserSet.get(traverser);
+        if (null != existing) {
+            existing.merge(traverser);
+        } else {
+            if (this.bulk >= this.limit && !this.heap.isEmpty() && this.comparator.compare(traverser, this.heap.peek().traverser) >= 0)
+                return;
+            this.traverserSet.add(traverser);
+            this.heap.add(new Entry<>(traverser, this.sequence++));
+        }
+        this.bulk = this.bulk + traverser.bulk();
+        this.trim();
+    }
+
+    private void trim() {
+        while (!this.heap.isEmpty() && this.bulk - this.heap.peek().traverser.bulk() >= this.limit) {
+            final Traverser.Admin<S> last = this.heap.poll().traverser;
+            this.traverserSet.remove(last);
+            this.bulk = this.bulk - last.bulk();
+        }
+    }
+
+    private static final class Entry<S> {
+        private final Traverser.Admin<S> traverser;
+        private final long sequence;
+
+        private Entry(final Traverser.Admin<S> traverser, final long sequence) {
+            this.traverser = traverser;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -20,78 +20,113 @@ package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
-import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.io.Serializable;
 import java.util.AbstractSet;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
-import java.util.List;
-import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.Spliterator;
+import java.util.Spliterators;
 
 /**
+ * A set of traversers in insertion order where adding a traverser that is equal to one already in the set merges
+ * the two (i.e. sums their bulk). The traversers are held in an array in the order they were added and located
+ * through an open-addressing table of positions in that array, so that adding, merging and removing traversers
+ * allocates nothing beyond the occasional growth of the arrays.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class TraverserSet<S> extends AbstractSet<Traverser.Admin<S>> implements Set<Traverser.Admin<S>>, Queue<Traverser.Admin<S>>, Serializable {
 
-    private final Map<Traverser.Admin<S>, Traverser.Admin<S>> map = new LinkedHashMap<>();
+    private static final int MINIMUM_CAPACITY = 8;
+    private static final Traverser.Admin[] EMPTY_TRAVERSERS = new Traverser.Admin[0];
+    private static final int[] EMPTY_INTS = new int[0];
+
+    /**
+     * The traversers in insertion order. A removed traverser leaves a {@code null} behind until the array is compacted.
+     */
+    private Traverser.Admin<S>[] traversers = EMPTY_TRAVERSERS;
+
+    /**
+     * The hash code of the traverser at the same position in {@link #traversers}.
+     */
+    private int[] hashes = EMPTY_INTS;
+
+    /**
+     * A linear probing table, twice the length of {@link #traversers}, of positions in {@link #traversers} plus one
+     * so that zero marks a free slot.
+     */
+    private int[] table = EMPTY_INTS;
+
+    private int head = 0;
+    private int tail = 0;
+    private int size = 0;
 
     public TraverserSet() {
 
     }
 
     public TraverserSet(final Traverser.Admin<S> traverser) {
-        this.map.put(traverser, traverser);
+        this.add(traverser);
     }
 
     @Override
     public Iterator<Traverser.Admin<S>> iterator() {
-        return this.map.values().iterator();
+        return new TraverserSetIterator();
     }
 
     public Traverser.Admin<S> get(final Traverser.Admin<S> traverser) {
-        return this.map.get(traverser);
+        final int position = this.positionOf(traverser);
+        return -1 == position ? null : this.traversers[position];
     }
 
     @Override
     public int size() {
-        return this.map.size();
+        return this.size;
     }
 
     public long bulkSize() {
         long bulk = 0L;
-        for (final Traverser.Admin<S> traverser : this.map.values()) {
-            bulk = bulk + traverser.bulk();
+        for (int i = this.head; i < this.tail; i++) {
+            if (null != this.traversers[i])
+                bulk = bulk + this.traversers[i].bulk();
         }
         return bulk;
     }
 
     @Override
     public boolean isEmpty() {
-        return this.map.isEmpty();
+        return 0 == this.size;
     }
 
     @Override
     public boolean contains(final Object traverser) {
-        return this.map.containsKey(traverser);
+        return -1 != this.positionOf(traverser);
     }
 
     @Override
     public boolean add(final Traverser.Admin<S> traverser) {
-        final Traverser.Admin<S> existing = this.map.get(traverser);
-        if (null == existing) {
-            this.map.put(traverser, traverser);
-            return true;
-        } else {
-            existing.merge(traverser);
-            return false;
+        if (this.tail == this.traversers.length)
+            this.ensureCapacity();
+        final int hash = traverser.hashCode();
+        final int mask = this.table.length - 1;
+        int slot = spread(hash) & mask;
+        for (int entry = this.table[slot]; 0 != entry; entry = this.table[slot = (slot + 1) & mask]) {
+            final int position = entry - 1;
+            if (this.hashes[position] == hash && traverser.equals(this.traversers[position])) {
+                this.traversers[position].merge(traverser);
+                return false;
+            }
         }
+        this.traversers[this.tail] = traverser;
+        this.hashes[this.tail] = hash;
+        this.table[slot] = ++this.tail;
+        this.size++;
+        return true;
     }
 
     @Override
@@ -101,63 +136,196 @@ public class TraverserSet<S> extends AbstractSet<Traverser.Admin<S>> implements
 
     @Override
     public Traverser.Admin<S> remove() {  // pop, exception if empty
-        final Iterator<Traverser.Admin<S>> iterator = this.map.values().iterator();
-        if (!iterator.hasNext())
+        if (0 == this.size)
             throw FastNoSuchElementException.instance();
-        final Traverser.Admin<S> next = iterator.next();
-        iterator.remove();
-        return next;
+        final Traverser.Admin<S> traverser = this.traversers[this.head];
+        this.removeAt(this.head);
+        return traverser;
     }
 
     @Override
     public Traverser.Admin<S> poll() {  // pop, null if empty
-        return this.map.isEmpty() ? null : this.remove();
+        return 0 == this.size ? null : this.remove();
     }
 
     @Override
     public Traverser.Admin<S> element() { // peek, exception if empty
-        return this.iterator().next();
+        if (0 == this.size)
+            throw FastNoSuchElementException.instance();
+        return this.traversers[this.head];
     }
 
     @Override
     public Traverser.Admin<S> peek() { // peek, null if empty
-        return this.map.isEmpty() ? null : this.iterator().next();
+        return 0 == this.size ? null : this.traversers[this.head];
     }
 
     @Override
     public boolean remove(final Object traverser) {
-        return this.map.remove(traverser) != null;
+        final int position = this.positionOf(traverser);
+        if (-1 == position)
+            return false;
+        this.removeAt(position);
+        return true;
     }
 
     @Override
     public void clear() {
-        this.map.clear();
+        if (0 == this.tail)
+            return;
+        Arrays.fill(this.traversers, this.head, this.tail, null);
+        Arrays.fill(this.table, 0);
+        this.head = 0;
+        this.tail = 0;
+        this.size = 0;
     }
 
     @Override
     public Spliterator<Traverser.Admin<S>> spliterator() {
-        return this.map.values().spliterator();
-    }
-
-    @Override
-    public String toString() {
-        return this.map.values().toString();
+        return Spliterators.spliterator(this, Spliterator.DISTINCT | Spliterator.ORDERED);
     }
 
     public void sort(final Comparator<Traverser<S>> comparator) {
-        final List<Traverser.Admin<S>> list = new ArrayList<>(this.map.size());
-        IteratorUtils.removeOnNext(this.map.values().iterator()).forEachRemaining(list::add);
-        Collections.sort(list, comparator);
-        this.map.clear();
-        list.forEach(traverser -> this.map.put(traverser, traverser));
+        this.compact(this.traversers.length);
+        Arrays.sort(this.traversers, 0, this.size, comparator);
+        this.reindex(true);
     }
 
     public void shuffle() {
-        final List<Traverser.Admin<S>> list = new ArrayList<>(this.map.size());
-        IteratorUtils.removeOnNext(this.map.values().iterator()).forEachRemaining(list::add);
-        Collections.shuffle(list);
-        this.map.clear();
-        list.forEach(traverser -> this.map.put(traverser, traverser));
+        this.compact(this.traversers.length);
+        Collections.shuffle(Arrays.asList(this.traversers).subList(0, this.size));
+        this.reindex(true);
+    }
+
+    ///////////
+
+    private static int spread(final int hash) {
+        final int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private int positionOf(final Object traverser) {
+        if (0 == this.size || null == traverser)
+            return -1;
+        final int hash = traverser.hashCode();
+        final int mask = this.table.length - 1;
+        int slot = spread(hash) & mask;
+        for (int entry = this.table[slot]; 0 != entry; entry = this.table[slot = (slot + 1) & mask]) {
+            final int position = entry - 1;
+            if (this.hashes[position] == hash && traverser.equals(this.traversers[position]))
+                return position;
+        }
+        return -1;
     }
 
+    private void removeAt(final int position) {
+        final int mask = this.table.length - 1;
+        int slot = spread(this.hashes[position]) & mask;
+        while (this.table[slot] != position + 1) {
+            slot = (slot + 1) & mask;
+        }
+        // shift back the entries that follow in the same cluster so that no probe sequence is broken by a free slot
+        for (int next = (slot + 1) & mask; 0 != this.table[next]; next = (next + 1) & mask) {
+            final int ideal = spread(this.hashes[this.table[next] - 1]) & mask;
+            if (((next - ideal) & mask) >= ((next - slot) & mask)) {
+                this.table[slot] = this.table[next];
+                slot = next;
+            }
+        }
+        this.table[slot] = 0;
+        this.traversers[position] = null;
+        if (0 == --this.size) {
+            this.head = 0;
+            this.tail = 0;
+        } else if (position == this.head) {
+            while (null == this.traversers[this.head]) {
+                this.head++;
+            }
+        }
+    }
+
+    /**
+     * Called when there is no room left to append a traverser, which compacts the traversers if at least half of
+     * the array has been freed by removals and otherwise doubles it.
+     */
+    private void ensureCapacity() {
+        final int capacity = this.traversers.length;
+        this.compact(0 == capacity ? MINIMUM_CAPACITY : this.size <= capacity / 2 ? capacity : capacity * 2);
+        this.reindex(false);
+    }
+
+    /**
+     * Moves the traversers to the front of arrays of the specified capacity, which may be the current arrays.
+     */
+    private void compact(final int capacity) {
+        final Traverser.Admin<S>[] traversers = capacity == this.traversers.length ? this.traversers : new Traverser.Admin[capacity];
+        final int[] hashes = capacity == this.hashes.length ? this.hashes : new int[capacity];
+        int position = 0;
+        for (int i = this.head; i < this.tail; i++) {
+            if (null != this.traversers[i]) {
+                traversers[position] = this.traversers[i];
+                hashes[position] = this.hashes[i];
+                position++;
+            }
+        }
+        if (traversers == this.traversers)
+            Arrays.fill(traversers, position, this.tail, null);
+        this.traversers = traversers;
+        this.hashes = hashes;
+        this.head = 0;
+        this.tail = position;
+    }
+
+    /**
+     * Rebuilds the table for compacted traversers, first recomputing their hash codes if they have been reordered.
+     */
+    private void reindex(final boolean reordered) {
+        if (reordered) {
+            for (int i = 0; i < this.tail; i++) {
+                this.hashes[i] = this.traversers[i].hashCode();
+            }
+        }
+        if (this.table.length == this.traversers.length * 2)
+            Arrays.fill(this.table, 0);
+        else
+            this.table = new int[this.traversers.length * 2];
+        final int mask = this.table.length - 1;
+        for (int i = 0; i < this.tail; i++) {
+            int slot = spread(this.hashes[i]) & mask;
+            while (0 != this.table[slot]) {
+                slot = (slot + 1) & mask;
+            }
+            this.table[slot] = i + 1;
+        }
+    }
+
+    private final class TraverserSetIterator implements Iterator<Traverser.Admin<S>> {
+
+        private int next = head;
+        private int last = -1;
+
+        @Override
+        public boolean hasNext() {
+            while (this.next < tail && null == traversers[this.next]) {
+                this.next++;
+            }
+            return this.next < tail;
+        }
+
+        @Override
+        public Traverser.Admin<S> next() {
+            if (!this.hasNext())
+                throw FastNoSuchElementException.instance();
+            this.last = this.next++;
+            return traversers[this.last];
+        }
+
+        @Override
+        public void remove() {
+            if (-1 == this.last)
+                throw new IllegalStateException();
+            removeAt(this.last);
+            this.last = -1;
+        }
+    }
 }
@@ -0,0 +1,347 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.ProjectedTraverser;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoIo;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoVersion;
+import org.apache.tinkerpop.gremlin.structure.util.Attachable;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedFactory;
+import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceFactory;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Writes sorted runs of traversers to temporary files with Gryo and merges them back in order, so that a barrier can
+ * sort more traversers than it can hold in memory. Graph elements are written detached and are attached to the graph
+ * of the traversal again as they are read, though the objects of a traverser's path are not, so a barrier should
+ * not spill traversers that carry one. Traversers that compare equally are read back in the order of the
+ * runs they were written to, so the merge is stable if each run is. At most a maximum number of runs are merged at
+ * once, as each is read with a buffer of its own, and more runs than that are first merged into fewer, longer ones.
+ *
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ */
+public final class TraverserSpill<S> implements AutoCloseable {
+
+    public static final int DEFAULT_MAX_FAN_IN = 64;
+    static final int BUFFER_SIZE = 65536;
+
+    private final File directory;
+    private final Comparator<Traverser<S>> comparator;
+    private final Traversal.Admin<?, ?> traversal;
+    private final int maxFanIn;
+    private final List<File> runs = new ArrayList<>();
+    private Kryo kryo = null;
+
+    /**
+     * Creates a spill that writes its runs to the directory and attaches the traversers it reads back to the graph and
+     * side-effects of the traversal, merging at most {@link #DEFAULT_MAX_FAN_IN} runs at once.
+     */
+    public TraverserSpill(final File directory, final Comparator<Traverser<S>> comparator, final Traversal.Admin<?, ?> traversal) {
+        this(directory, comparator, traversal, DEFAULT_MAX_FAN_IN);
+    }
+
+    /**
+     * Creates a spill that merges at most the given number of runs at once, which must be at least two.
+     */
+    public TraverserSpill(final File directory, final Comparator<Traverser<S>> comparator, final Traversal.Admin<?, ?> traversal, final int maxFanIn) {
+        if (maxFanIn < 2)
+            throw new IllegalArgumentException("The maxFanIn must be at least 2: " + maxFanIn);
+        this.directory = directory;
+        this.comparator = comparator;
+        this.traversal = traversal;
+        this.maxFanIn = maxFanIn;
+    }
+
+    /**
+     * Gets the number of runs written that have not yet been merged.
+     */
+    public int getRunCount() {
+        return this.runs.size();
+    }
+
+    /**
+     * Writes the traversers, which must already be in order, to a new run. The traversers are detached as they are
+     * written.
+     */
+    public void spill(final Iterator<? extends Traverser.Admin<S>> traversers) {
+        final Kryo kryo = this.getKryo();
+        File file = null;
+        try {
+            file = File.createTempFile("gremlin-", ".spill", this.directory);
+            try (final Output output = new Output(new FileOutputStream(file), BUFFER_SIZE)) {
+                while (traversers.hasNext()) {
+                    final Traverser.Admin<S> traverser = traversers.next();
+                    final Object owner = getOwner(traverser.get());
+                    output.writeBoolean(true);
+                    kryo.writeClassAndObject(output, detach(traverser));
+                    kryo.writeClassAndObject(output, owner);
+                }
+                output.writeBoolean(false);
+            }
+            this.runs.add(file);
+        } catch (final Exception e) {
+            if (null != file) file.delete();
+            throw new IllegalStateException("Could not spill traversers to " + this.directory + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Merges the runs written so far into a single iterator of traversers in order. If there are more runs than may
+     * be merged at once, consecutive runs are merged into new runs first, until few enough are left. Each run is
+     * deleted once it has been read or when the iterator is closed.
+     */
+    public CloseableIterator<Traverser.Admin<S>> merge() {
+        List<File> files = new ArrayList<>(this.runs);
+        this.runs.clear();
+        while (files.size() > this.maxFanIn) {
+            final List<File> merged = new ArrayList<>();
+            try {
+                // runs are merged in the order they were written so that the merge stays stable
+                for (int i = 0; i < files.size(); i = i + this.maxFanIn) {
+                    final List<File> group = files.subList(i, Math.min(i + this.maxFanIn, files.size()));
+                    merged.add(1 == group.size() ? group.get(0) : this.mergeRuns(group));
+                }
+            } catch (final RuntimeException e) {
+                files.forEach(File::delete);
+                merged.forEach(File::delete);
+                throw e;
+            }
+            files = merged;
+        }
+        return new Merger(files, true);
+    }
+
+    /**
+     * Deletes the runs that have not been merged.
+     */
+    @Override
+    public void close() {
+        this.runs.forEach(File::delete);
+        this.runs.clear();
+    }
+
+    /**
+     * Merges the runs into a new run without attaching the traversers read from them, as they are written again.
+     */
+    private File mergeRuns(final List<File> files) {
+        final Kryo kryo = this.getKryo();
+        File file = null;
+        try (final Merger merger = new Merger(files, false)) {
+            file = File.createTempFile("gremlin-", ".spill", this.directory);
+            try (final Output output = new Output(new FileOutputStream(file), BUFFER_SIZE)) {
+                while (merger.hasNext()) {
+                    final Run run = merger.heads.poll();
+                    output.writeBoolean(true);
+                    kryo.writeClassAndObject(output, run.head);
+                    kryo.writeClassAndObject(output, run.owner);
+                    if (run.advance())
+                        merger.heads.add(run);
+                }
+                output.writeBoolean(false);
+            }
+            return file;
+        } catch (final Exception e) {
+            if (null != file) file.delete();
+            throw new IllegalStateException("Could not merge spilled traversers in " + this.directory + ": " + e.getMessage(), e);
+        }
+    }
+
+    private Kryo getKryo() {
+        if (null == this.kryo)
+            this.kryo = createKryo(this.traversal);
+        return this.kryo;
+    }
+
+    static Kryo createKryo(final Traversal.Admin<?, ?> traversal) {
+        // use the graph's Gryo registrations so that identifiers of provider specific types can be written
+        final Graph graph = TraversalHelper.getRootTraversal(traversal).getGraph().orElse(EmptyGraph.instance());
+        final GryoMapper.Builder builder = graph instanceof EmptyGraph ? GryoMapper.build() : graph.io(GryoIo.build()).mapper();
+        return builder.version(GryoVersion.V3_0).create().createMapper();
+    }
+
+    /**
+     * Gryo does not write the element of a property with it, so the elements that are needed to find the property
+     * again are written alongside it.
+     */
+    static Object getOwner(final Object object) {
+        if (object instanceof VertexProperty)
+            return ReferenceFactory.detach(((VertexProperty<?>) object).element());
+        else if (object instanceof Property) {
+            final Element element = ((Property<?>) object).element();
+            return element instanceof VertexProperty ?
+                    Arrays.asList(ReferenceFactory.detach(((VertexProperty<?>) element).element()), ReferenceFactory.detach(element)) :
+                    ReferenceFactory.detach(element);
+        } else
+            return null;
+    }
+
+    static Object attach(final Object object, final Object owner, final Graph graph) {
+        if (owner instanceof Vertex)
+            return getVertexProperty(graph, (Vertex) owner, (VertexProperty<?>) object);
+        else if (owner instanceof Edge)
+            return ((Attachable<Edge>) owner).attach(Attachable.Method.get(graph)).property(((Property<?>) object).key());
+        else if (owner instanceof List) {
+            final List<?> owners = (List<?>) owner;
+            return getVertexProperty(graph, (Vertex) owners.get(0), (VertexProperty<?>) owners.get(1)).property(((Property<?>) object).key());
+        } else
+            return object instanceof Attachable && !(((Attachable) object).get() instanceof Path) ?
+                    ((Attachable<?>) object).attach(Attachable.Method.get(graph)) :
+                    object;
+    }
+
+    private static VertexProperty<?> getVertexProperty(final Graph graph, final Vertex vertex, final VertexProperty<?> vertexProperty) {
+        final Vertex hostVertex = ((Attachable<Vertex>) vertex).attach(Attachable.Method.get(graph));
+        final Iterator<? extends VertexProperty<?>> vertexProperties = hostVertex.properties(vertexProperty.key());
+        while (vertexProperties.hasNext()) {
+            final VertexProperty<?> hostVertexProperty = vertexProperties.next();
+            if (hostVertexProperty.id().equals(vertexProperty.id()))
+                return hostVertexProperty;
+        }
+        throw Attachable.Exceptions.canNotGetAttachableFromHostVertex((Attachable) vertexProperty, hostVertex);
+    }
+
+    private static <S> Traverser.Admin<S> detach(final Traverser.Admin<S> traverser) {
+        if (traverser instanceof ProjectedTraverser) {
+            final List<Object> projections = ((ProjectedTraverser<S, Object>) traverser).getProjections();
+            for (int i = 0; i < projections.size(); i++) {
+                projections.set(i, DetachedFactory.detach(projections.get(i), false));
+            }
+        }
+        // a reference to a property does not know its element and so could not be attached again
+        final S object = traverser.get();
+        traverser.detach();
+        traverser.set(DetachedFactory.detach(object, false));
+        return traverser;
+    }
+
+    private final class Run {
+        private final File file;
+        private final Input input;
+        private final int index;
+        private final boolean attach;
+        private Traverser.Admin<S> head;
+        private Object owner;
+
+        private Run(final File file, final int index, final boolean attach) throws IOException {
+            this.file = file;
+            this.input = new Input(new FileInputStream(file), BUFFER_SIZE);
+            this.index = index;
+            this.attach = attach;
+        }
+
+        /**
+         * Reads the next traverser into the head of the run, closing and deleting the run if there is none.
+         */
+        private boolean advance() {
+            if (this.input.readBoolean()) {
+                this.head = (Traverser.Admin<S>) kryo.readClassAndObject(this.input);
+                this.owner = kryo.readClassAndObject(this.input);
+                this.head.setSideEffects(traversal.getSideEffects());
+                final Graph graph = TraversalHelper.getRootTraversal(traversal).getGraph().orElse(EmptyGraph.instance());
+                if (this.attach && !(graph instanceof EmptyGraph))
+                    this.head.set((S) attach(this.head.get(), this.owner, graph));
+                return true;
+            } else {
+                this.close();
+                return false;
+            }
+        }
+
+        private void close() {
+            this.head = null;
+            this.owner = null;
+            this.input.close();
+            this.file.delete();
+        }
+    }
+
+    private final class Merger implements CloseableIterator<Traverser.Admin<S>> {
+
+        private final List<Run> runs = new ArrayList<>();
+        private final PriorityQueue<Run> heads;
+
+        private Merger(final List<File> files, final boolean attach) {
+            this.heads = new PriorityQueue<>(Math.max(1, files.size()), (a, b) -> {
+                final int comparison = comparator.compare(a.head, b.head);
+                return 0 != comparison ? comparison : Integer.compare(a.index, b.index);
+            });
+            try {
+                for (int i = 0; i < files.size(); i++) {
+                    final Run run = new Run(files.get(i), i, attach);
+                    this.runs.add(run);
+                    if (run.advance())
+                        this.heads.add(run);
+                }
+            } catch (final IOException e) {
+                this.close();
+                files.forEach(File::delete);
+                throw new IllegalStateException("Could not read spilled traversers: " + e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !this.heads.isEmpty();
+        }
+
+        @Override
+        public Traverser.Admin<S> next() {
+            final Run run = this.heads.poll();
+            if (null == run)
+                throw new NoSuchElementException();
+            final Traverser.Admin<S> traverser = run.head;
+            if (run.advance())
+                this.heads.add(run);
+            return traverser;
+        }
+
+        @Override
+        public void close() {
+            this.heads.clear();
+            this.runs.forEach(Run::close);
+        }
+    }
+}
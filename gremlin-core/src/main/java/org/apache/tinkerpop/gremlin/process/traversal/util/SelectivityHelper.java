@@ -0,0 +1,241 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.FilterStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.EdgeOtherVertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.EdgeVertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.GraphStatistics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * Estimates the selectivity of filters, which is the fraction of elements expected to pass them, from the
+ * {@link GraphStatistics} of the graph a traversal is bound to. An estimate is only made where the statistics can
+ * support one, so strategies should leave steps in their given order if any of them can not be estimated.
+ *
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ */
+public final class SelectivityHelper {
+
+    /**
+     * The fraction of the elements with a value for a key that are assumed to pass a predicate that is not an
+     * equality test, such as a range.
+     */
+    private static final double NON_EQUALITY_SELECTIVITY = 1.0d / 3.0d;
+
+    private SelectivityHelper() {
+    }
+
+    /**
+     * Gets the {@link GraphStatistics} of the graph that the root of the traversal is bound to, if it offers any.
+     */
+    public static Optional<GraphStatistics> getStatistics(final Traversal.Admin<?, ?> traversal) {
+        return TraversalHelper.getRootTraversal(traversal).getGraph().flatMap(GraphStatistics::of);
+    }
+
+    /**
+     * Determines the class of the elements that reach the step, looking back past any filters and into the parent of
+     * a child traversal.
+     */
+    public static Optional<Class<? extends Element>> getElementClass(final Step<?, ?> step) {
+        Step<?, ?> previousStep = step.getPreviousStep();
+        while (previousStep instanceof FilterStep) {
+            previousStep = previousStep.getPreviousStep();
+        }
+
+        if (previousStep instanceof GraphStep)
+            return Optional.of(((GraphStep<?, ?>) previousStep).getReturnClass());
+        else if (previousStep instanceof VertexStep)
+            return Optional.of(((VertexStep<?>) previousStep).getReturnClass());
+        else if (previousStep instanceof EdgeVertexStep || previousStep instanceof EdgeOtherVertexStep)
+            return Optional.of(Vertex.class);
+        else if (previousStep instanceof EmptyStep) {
+            // the start of a child of a filter receives the same elements as the filter itself
+            final Step<?, ?> parentStep = step.getTraversal().getParent().asStep();
+            return parentStep instanceof FilterStep ? getElementClass(parentStep) : Optional.empty();
+        } else
+            return Optional.empty();
+    }
+
+    /**
+     * Estimates the fraction of the elements of the specified class that satisfy the {@link HasContainer}.
+     */
+    public static Optional<Double> estimateSelectivity(final GraphStatistics statistics, final Class<? extends Element> elementClass,
+                                                       final HasContainer hasContainer) {
+        final Optional<Long> total = statistics.count(elementClass);
+        if (!total.isPresent() || total.get() <= 0)
+            return Optional.empty();
+        return estimateSelectivity(statistics, elementClass, hasContainer.getKey(), hasContainer.getPredicate(), total.get())
+                .map(selectivity -> Math.max(0.0d, Math.min(1.0d, selectivity)));
+    }
+
+    /**
+     * Estimates the fraction of the elements of the specified class that pass a child traversal, which can only be
+     * done if it consists solely of {@link HasStep} instances.
+     */
+    public static Optional<Double> estimateSelectivity(final GraphStatistics statistics, final Class<? extends Element> elementClass,
+                                                       final Traversal.Admin<?, ?> traversal) {
+        double selectivity = 1.0d;
+        for (final Step<?, ?> step : traversal.getSteps()) {
+            final Optional<Double> estimate = estimateSelectivity(statistics, elementClass, step);
+            if (!estimate.isPresent())
+                return Optional.empty();
+            selectivity = selectivity * estimate.get();
+        }
+        return Optional.of(selectivity);
+    }
+
+    /**
+     * Estimates the fraction of the elements of the specified class that pass a step, which can only be done if it
+     * is a {@link HasStep}.
+     */
+    public static Optional<Double> estimateSelectivity(final GraphStatistics statistics, final Class<? extends Element> elementClass,
+                                                       final Step<?, ?> step) {
+        if (!(step instanceof HasStep))
+            return Optional.empty();
+        double selectivity = 1.0d;
+        for (final HasContainer hasContainer : ((HasStep<?>) step).getHasContainers()) {
+            final Optional<Double> estimate = estimateSelectivity(statistics, elementClass, hasContainer);
+            if (!estimate.isPresent())
+                return Optional.empty();
+            selectivity = selectivity * estimate.get();
+        }
+        return Optional.of(selectivity);
+    }
+
+    /**
+     * Sorts the items in place by their estimated selectivity, from the lowest to the highest if {@code ascending},
+     * as long as every item has an estimate. Items with equal estimates keep their relative order.
+     *
+     * @return {@code true} if the order of the items changed
+     */
+    public static <T> boolean sortBySelectivity(final List<T> items, final Function<T, Optional<Double>> estimator,
+                                                final boolean ascending) {
+        if (items.size() < 2)
+            return false;
+        final List<Double> estimates = new ArrayList<>(items.size());
+        for (final T item : items) {
+            final Optional<Double> estimate = estimator.apply(item);
+            if (!estimate.isPresent())
+                return false;
+            estimates.add(estimate.get());
+        }
+
+        final List<Integer> order = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            order.add(i);
+        }
+        final Comparator<Integer> comparator = Comparator.comparing(estimates::get);
+        order.sort(ascending ? comparator : comparator.reversed());
+
+        boolean changed = false;
+        final List<T> sorted = new ArrayList<>(items.size());
+        for (int i = 0; i < order.size(); i++) {
+            sorted.add(items.get(order.get(i)));
+            changed = changed || order.get(i) != i;
+        }
+        if (changed) {
+            for (int i = 0; i < sorted.size(); i++) {
+                items.set(i, sorted.get(i));
+            }
+        }
+        return changed;
+    }
+
+    private static Optional<Double> estimateSelectivity(final GraphStatistics statistics, final Class<? extends Element> elementClass,
+                                                        final String key, final P<?> predicate, final long total) {
+        if (predicate instanceof AndP || predicate instanceof OrP) {
+            final boolean and = predicate instanceof AndP;
+            double selectivity = and ? 1.0d : 0.0d;
+            for (final P<?> p : ((ConnectiveP<?>) predicate).getPredicates()) {
+                final Optional<Double> estimate = estimateSelectivity(statistics, elementClass, key, p, total);
+                if (!estimate.isPresent())
+                    return Optional.empty();
+                selectivity = and ? selectivity * estimate.get() : selectivity + estimate.get();
+            }
+            return Optional.of(selectivity);
+        }
+
+        final BiPredicate<?, ?> biPredicate = predicate.getBiPredicate();
+        final Object value = predicate.getValue();
+        if (biPredicate == Compare.eq || biPredicate == Compare.neq) {
+            final Optional<Long> equal = countEqual(statistics, elementClass, key, value);
+            return biPredicate == Compare.eq ?
+                    equal.map(count -> (double) count / total) :
+                    equal.flatMap(count -> estimateNotEqual(statistics, elementClass, key, count, total));
+        } else if ((biPredicate == Contains.within || biPredicate == Contains.without) && value instanceof Collection) {
+            long count = 0;
+            for (final Object v : (Collection<?>) value) {
+                final Optional<Long> equal = countEqual(statistics, elementClass, key, v);
+                if (!equal.isPresent())
+                    return Optional.empty();
+                count = count + equal.get();
+            }
+            final long within = count;
+            return biPredicate == Contains.within ?
+                    Optional.of((double) within / total) :
+                    estimateNotEqual(statistics, elementClass, key, within, total);
+        } else if (!key.equals(T.id.getAccessor()) && !key.equals(T.label.getAccessor())) {
+            return statistics.countByKey(elementClass, key).map(count -> NON_EQUALITY_SELECTIVITY * count / total);
+        } else {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Estimates the selectivity of a negation from the number of elements that have a value for the key, as elements
+     * without the key pass neither the predicate nor its negation.
+     */
+    private static Optional<Double> estimateNotEqual(final GraphStatistics statistics, final Class<? extends Element> elementClass,
+                                                  final String key, final long equal, final long total) {
+        final Optional<Long> withKey = key.equals(T.id.getAccessor()) || key.equals(T.label.getAccessor()) ?
+                Optional.of(total) : statistics.countByKey(elementClass, key);
+        return withKey.map(count -> (double) Math.max(0L, count - equal) / total);
+    }
+
+    private static Optional<Long> countEqual(final GraphStatistics statistics, final Class<? extends Element> elementClass,
+                                             final String key, final Object value) {
+        if (key.equals(T.id.getAccessor()))
+            return Optional.of(1L);
+        else if (key.equals(T.label.getAccessor()))
+            return value instanceof String ? statistics.countByLabel(elementClass, (String) value) : Optional.empty();
+        else
+            return statistics.countByValue(elementClass, key, value);
+    }
+}
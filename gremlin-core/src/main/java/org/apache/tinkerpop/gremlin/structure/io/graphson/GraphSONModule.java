@@ -32,6 +32,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalOptionParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.LazyPropertyMap;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.Tree;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.ConnectiveStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.ElementIdStrategy;
@@ -39,6 +40,8 @@ import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.EventS
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.HaltedTraverserStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.PartitionStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SubgraphStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.SpillStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ParallelStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.MatchAlgorithmStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.AdjacentToIncidentStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.FilterRankingStrategy;
@@ -51,7 +54,9 @@ import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.Orde
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.PathProcessorStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.PathRetractionStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.CountStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.ReachabilityStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.RepeatUnrollStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.ShortestPathStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.ComputerVerificationStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.LambdaRestrictionStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.ReadOnlyStrategy;
@@ -157,6 +162,8 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                             PartitionStrategy.class,
                             SubgraphStrategy.class,
                             LazyBarrierStrategy.class,
+                            SpillStrategy.class,
+                            ParallelStrategy.class,
                             MatchAlgorithmStrategy.class,
                             AdjacentToIncidentStrategy.class,
                             FilterRankingStrategy.class,
@@ -169,6 +176,8 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                             PathRetractionStrategy.class,
                             CountStrategy.class,
                             RepeatUnrollStrategy.class,
+                            ShortestPathStrategy.class,
+                            ReachabilityStrategy.class,
                             ComputerVerificationStrategy.class,
                             LambdaRestrictionStrategy.class,
                             ReadOnlyStrategy.class,
@@ -265,6 +274,8 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                     PartitionStrategy.class,
                     SubgraphStrategy.class,
                     LazyBarrierStrategy.class,
+                    SpillStrategy.class,
+                    ParallelStrategy.class,
                     MatchAlgorithmStrategy.class,
                     AdjacentToIncidentStrategy.class,
                     FilterRankingStrategy.class,
@@ -277,6 +288,8 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                     PathRetractionStrategy.class,
                     CountStrategy.class,
                     RepeatUnrollStrategy.class,
+                    ShortestPathStrategy.class,
+                    ReachabilityStrategy.class,
                     ComputerVerificationStrategy.class,
                     LambdaRestrictionStrategy.class,
                     ReadOnlyStrategy.class,
@@ -363,6 +376,8 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                             PartitionStrategy.class,
                             SubgraphStrategy.class,
                             LazyBarrierStrategy.class,
+                            SpillStrategy.class,
+                            ParallelStrategy.class,
                             MatchAlgorithmStrategy.class,
                             AdjacentToIncidentStrategy.class,
                             FilterRankingStrategy.class,
@@ -375,6 +390,8 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                             PathRetractionStrategy.class,
                             CountStrategy.class,
                             RepeatUnrollStrategy.class,
+                            ShortestPathStrategy.class,
+                            ReachabilityStrategy.class,
                             ComputerVerificationStrategy.class,
                             LambdaRestrictionStrategy.class,
                             ReadOnlyStrategy.class,
@@ -471,6 +488,8 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                     PartitionStrategy.class,
                     SubgraphStrategy.class,
                     LazyBarrierStrategy.class,
+                    SpillStrategy.class,
+                    ParallelStrategy.class,
                     MatchAlgorithmStrategy.class,
                     AdjacentToIncidentStrategy.class,
                     FilterRankingStrategy.class,
@@ -483,6 +502,8 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                     PathRetractionStrategy.class,
                     CountStrategy.class,
                     RepeatUnrollStrategy.class,
+                    ShortestPathStrategy.class,
+                    ReachabilityStrategy.class,
                     ComputerVerificationStrategy.class,
                     LambdaRestrictionStrategy.class,
                     ReadOnlyStrategy.class,
@@ -543,6 +564,7 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
 
             // java.util
             addSerializer(Map.Entry.class, new JavaUtilSerializersV1d0.MapEntryJacksonSerializer());
+            addSerializer(LazyPropertyMap.class, new JavaUtilSerializersV1d0.LazyPropertyMapJacksonSerializer());
 
             // java.time
             addSerializer(Duration.class, new JavaTimeSerializersV1d0.DurationJacksonSerializer());
@@ -18,6 +18,7 @@
  */
 package org.apache.tinkerpop.gremlin.structure.io.graphson;
 
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.LazyPropertyMap;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.shaded.jackson.core.JsonGenerator;
 import org.apache.tinkerpop.shaded.jackson.databind.SerializationFeature;
@@ -37,6 +38,29 @@ final class JavaUtilSerializersV1d0 {
 
     private JavaUtilSerializersV1d0() {}
 
+    /**
+     * Writes a {@link LazyPropertyMap} as the {@code HashMap} that it stands in for, so that embedded types name a
+     * class that can be read.
+     */
+    final static class LazyPropertyMapJacksonSerializer extends StdSerializer<LazyPropertyMap> {
+
+        public LazyPropertyMapJacksonSerializer() {
+            super(LazyPropertyMap.class);
+        }
+
+        @Override
+        public void serialize(final LazyPropertyMap map, final JsonGenerator jsonGenerator, final SerializerProvider serializerProvider)
+                throws IOException {
+            serializerProvider.findValueSerializer(HashMap.class, null).serialize(new HashMap<>(map), jsonGenerator, serializerProvider);
+        }
+
+        @Override
+        public void serializeWithType(final LazyPropertyMap map, final JsonGenerator jsonGenerator,
+                                      final SerializerProvider serializerProvider, final TypeSerializer typeSerializer) throws IOException {
+            serializerProvider.findValueSerializer(HashMap.class, null).serializeWithType(new HashMap<>(map), jsonGenerator, serializerProvider, typeSerializer);
+        }
+    }
+
     final static class MapEntryJacksonSerializer extends StdSerializer<Map.Entry> {
 
         public MapEntryJacksonSerializer() {
@@ -20,6 +20,7 @@ package org.apache.tinkerpop.gremlin.structure.io.gryo;
 
 import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.LazyPropertyMap;
 import org.apache.tinkerpop.gremlin.process.traversal.util.ConnectiveP;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Property;
@@ -48,6 +49,7 @@ import org.apache.tinkerpop.shaded.kryo.util.ObjectMap;
 
 import java.net.InetAddress;
 import java.nio.ByteBuffer;
+import java.util.HashMap;
 
 import static org.apache.tinkerpop.shaded.kryo.util.Util.getWrapperClass;
 
@@ -121,6 +123,8 @@ public class GryoClassResolver implements ClassResolver {
             type = InetAddress.class;
         else if (ConnectiveP.class.isAssignableFrom(clazz))
             type = P.class;
+        else if (LazyPropertyMap.class.isAssignableFrom(clazz))
+            type = HashMap.class;
         else
             type = clazz;
 
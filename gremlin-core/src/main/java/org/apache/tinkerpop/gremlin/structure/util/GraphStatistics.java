@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.structure.util;
+
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Statistics about the data in a {@link Graph} that optimization strategies may use to estimate the cost of a
+ * traversal, such as how many elements will pass a filter. A {@link Graph} offers statistics by implementing
+ * {@link Provider}. Each method returns {@code Optional.empty()} when the statistic is not known, which is the default,
+ * so that a provider need only implement those statistics it can supply cheaply. Counts may be estimates, but should
+ * be inexpensive to compute as they are requested each time a traversal is strategized.
+ *
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ */
+public interface GraphStatistics {
+
+    /**
+     * Gets the number of {@link Vertex} or {@link Edge} instances in the graph.
+     */
+    public default Optional<Long> count(final Class<? extends Element> elementClass) {
+        return Optional.empty();
+    }
+
+    /**
+     * Gets the number of {@link Vertex} or {@link Edge} instances in the graph with the specified label.
+     */
+    public default Optional<Long> countByLabel(final Class<? extends Element> elementClass, final String label) {
+        return Optional.empty();
+    }
+
+    /**
+     * Gets the number of {@link Vertex} or {@link Edge} instances in the graph with a value for the specified key.
+     */
+    public default Optional<Long> countByKey(final Class<? extends Element> elementClass, final String key) {
+        return Optional.empty();
+    }
+
+    /**
+     * Gets the number of {@link Vertex} or {@link Edge} instances in the graph with the specified value for the key.
+     */
+    public default Optional<Long> countByValue(final Class<? extends Element> elementClass, final String key, final Object value) {
+        return Optional.empty();
+    }
+
+    /**
+     * Gets the average number of edges with the specified labels, or with any label if none are specified, that a
+     * vertex has in the specified direction.
+     */
+    public default Optional<Double> averageDegree(final Direction direction, final String... edgeLabels) {
+        return Optional.empty();
+    }
+
+    /**
+     * Gets the distribution of the number of edges with the specified label, or with any label if it is {@code null},
+     * that a vertex has in the specified direction. Unlike {@link #averageDegree(Direction, String...)} it shows the
+     * few vertices of a skewed graph whose degree is far above the average.
+     */
+    public default Optional<DegreeDistribution> degreeDistribution(final Direction direction, final String edgeLabel) {
+        return Optional.empty();
+    }
+
+    /**
+     * Gets the statistics of a {@link Graph} if it is a {@link Provider}.
+     */
+    public static Optional<GraphStatistics> of(final Graph graph) {
+        return graph instanceof Provider ? Optional.ofNullable(((Provider) graph).statistics()) : Optional.empty();
+    }
+
+    /**
+     * Implemented by a {@link Graph} that can supply {@link GraphStatistics}.
+     */
+    public interface Provider {
+        public GraphStatistics statistics();
+    }
+
+    /**
+     * The number of vertices by degree, counted in buckets that double in width so that the distribution stays small
+     * for any degree. Bucket {@code 0} holds the vertices without an edge and bucket {@code i} those with a degree from
+     * {@code 2^(i-1)} to {@code 2^i - 1}.
+     */
+    public static final class DegreeDistribution {
+
+        private final long[] counts;
+        private final long vertexCount;
+
+        /**
+         * @param counts the number of vertices in each bucket, where a missing trailing bucket holds no vertices
+         */
+        public DegreeDistribution(final long[] counts) {
+            this.counts = counts.clone();
+            long vertexCount = 0;
+            for (final long count : counts) {
+                if (count < 0)
+                    throw new IllegalArgumentException("The number of vertices in a bucket can not be negative: " + Arrays.toString(counts));
+                vertexCount = vertexCount + count;
+            }
+            this.vertexCount = vertexCount;
+        }
+
+        /**
+         * Gets the bucket that counts a vertex with the specified degree.
+         */
+        public static int bucketOf(final long degree) {
+            return 64 - Long.numberOfLeadingZeros(degree);
+        }
+
+        /**
+         * Gets the largest degree counted in the specified bucket.
+         */
+        public static long maxDegreeOf(final int bucket) {
+            return bucket >= 63 ? Long.MAX_VALUE : (1L << bucket) - 1;
+        }
+
+        /**
+         * Gets the number of vertices in the specified bucket.
+         */
+        public long count(final int bucket) {
+            return bucket < this.counts.length ? this.counts[bucket] : 0L;
+        }
+
+        /**
+         * Gets the number of buckets up to the last one that holds a vertex.
+         */
+        public int buckets() {
+            int buckets = this.counts.length;
+            while (buckets > 0 && 0 == this.counts[buckets - 1]) {
+                buckets--;
+            }
+            return buckets;
+        }
+
+        /**
+         * Gets the number of vertices in the distribution.
+         */
+        public long vertexCount() {
+            return this.vertexCount;
+        }
+
+        /**
+         * Gets an upper bound for the degree of the specified fraction of the vertices, e.g. {@code 0.99} for the
+         * degree that all but the most connected 1% of the vertices stay within.
+         */
+        public long degreeAt(final double fraction) {
+            if (fraction < 0.0d || fraction > 1.0d)
+                throw new IllegalArgumentException("The fraction of vertices must be between 0 and 1: " + fraction);
+            final int buckets = this.buckets();
+            long covered = 0;
+            for (int bucket = 0; bucket < buckets; bucket++) {
+                covered = covered + this.counts[bucket];
+                if (covered >= fraction * this.vertexCount) return maxDegreeOf(bucket);
+            }
+            return 0 == buckets ? 0L : maxDegreeOf(buckets - 1);
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof DegreeDistribution &&
+                    Arrays.equals(Arrays.copyOf(this.counts, this.buckets()),
+                            Arrays.copyOf(((DegreeDistribution) other).counts, ((DegreeDistribution) other).buckets()));
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(Arrays.copyOf(this.counts, this.buckets()));
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(Arrays.copyOf(this.counts, this.buckets()));
+        }
+    }
+}
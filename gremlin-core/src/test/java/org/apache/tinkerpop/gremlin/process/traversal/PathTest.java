@@ -18,12 +18,17 @@
  */
 package org.apache.tinkerpop.gremlin.process.traversal;
 
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.CompactPath;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ImmutablePath;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.MutablePath;
 import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedPath;
 import org.apache.tinkerpop.gremlin.structure.util.reference.ReferencePath;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
@@ -45,7 +50,7 @@ import static org.junit.Assert.fail;
 public class PathTest {
 
     private final static List<Supplier<Path>> PATH_SUPPLIERS =
-            Arrays.asList(MutablePath::make, ImmutablePath::make, DetachedPath::make, ReferencePath::make);
+            Arrays.asList(MutablePath::make, ImmutablePath::make, CompactPath::make, DetachedPath::make, ReferencePath::make);
 
     @Test
     public void shouldHaveStandardSemanticsImplementedCorrectly() {
@@ -501,4 +506,38 @@ public class PathTest {
             assertEquals(1, subPath.labels().get(2).size());
         });
     }
+
+    @Test
+    public void shouldNotShareExtensionsOfACompactPath() throws Exception {
+        final Path path = CompactPath.make().extend("marko", Collections.singleton("a")).extend("stephen", Collections.singleton("b"));
+        final Path pathA = path.extend("matthias", Collections.singleton("c"));
+        final Path pathB = path.extend(Collections.singleton("x")).extend("bob", Collections.singleton("d"));
+        assertEquals(Arrays.asList("marko", "stephen"), path.objects());
+        assertEquals(Arrays.asList("marko", "stephen", "matthias"), pathA.objects());
+        assertEquals(Arrays.asList("marko", "stephen", "bob"), pathB.objects());
+        assertEquals(Collections.singleton("b"), path.labels().get(1));
+        assertEquals(Collections.singleton("b"), pathA.labels().get(1));
+        assertEquals(new HashSet<>(Arrays.asList("b", "x")), pathB.labels().get(1));
+        assertFalse(pathA.hasLabel("x"));
+        assertFalse(pathA.hasLabel("d"));
+        assertEquals("bob", pathB.get("d"));
+        assertNotEquals(pathA, pathB);
+
+        final Path retracted = pathB.retract(Collections.singleton("b"));
+        assertEquals(Arrays.asList("marko", "stephen", "bob"), retracted.objects());
+        assertEquals(Collections.singleton("x"), retracted.labels().get(1));
+        assertFalse(retracted.hasLabel("b"));
+        assertTrue(pathB.hasLabel("b"));
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(pathB);
+        }
+        try (final ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            final Path deserialized = (Path) input.readObject();
+            assertTrue(deserialized instanceof CompactPath);
+            assertEquals(pathB, deserialized);
+            assertEquals(pathB.labels(), deserialized.labels());
+        }
+    }
 }
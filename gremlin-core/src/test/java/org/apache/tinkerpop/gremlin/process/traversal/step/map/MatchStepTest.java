@@ -31,13 +31,17 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WhereTraversal
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_LP_O_P_S_SE_SL_TraverserGenerator;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.EmptyTraverser;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.util.GraphStatistics;
 import org.junit.Test;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.function.Consumer;
 
 import static org.apache.tinkerpop.gremlin.process.traversal.P.eq;
@@ -320,6 +324,51 @@ public class MatchStepTest extends StepTest {
         assertEquals(secondPattern, countMatchAlgorithm.bundles.get(2).traversal);
     }
 
+    @Test
+    public void testStatisticsMatchAlgorithm() {
+        final GraphStatistics statistics = new GraphStatistics() {
+            @Override
+            public Optional<Long> count(final Class<? extends Element> elementClass) {
+                return Optional.of(1000L);
+            }
+
+            @Override
+            public Optional<Long> countByLabel(final Class<? extends Element> elementClass, final String label) {
+                return Optional.of(label.equals("software") ? 100L : 900L);
+            }
+
+            @Override
+            public Optional<Double> averageDegree(final Direction direction, final String... edgeLabels) {
+                return Optional.of(edgeLabels.length == 1 && edgeLabels[0].equals("knows") ? 10.0d : 0.5d);
+            }
+        };
+        // ESTIMATE THE MULTIPLICITY OF A PATTERN FROM THE DEGREES OF ITS EDGES AND THE SELECTIVITY OF ITS FILTERS
+        assertEquals(10.0d, MatchStep.StatisticsMatchAlgorithm.estimateMultiplicity(statistics, as("a").out("knows").as("b").asAdmin()), 0.000001d);
+        assertEquals(0.05d, MatchStep.StatisticsMatchAlgorithm.estimateMultiplicity(statistics, as("a").out("created").hasLabel("software").as("b").asAdmin()), 0.000001d);
+        assertEquals(9.0d, MatchStep.StatisticsMatchAlgorithm.estimateMultiplicity(statistics, as("a").out("knows").hasLabel("person").as("b").asAdmin()), 0.000001d);
+        assertEquals(1.0d, MatchStep.StatisticsMatchAlgorithm.estimateMultiplicity(new GraphStatistics() {}, as("a").out("knows").as("b").asAdmin()), 0.000001d);
+
+        // WITHOUT STATISTICS EVERY PATTERN STARTS WITH A MULTIPLICITY OF ONE THAT MOVES TOWARDS THE OBSERVED COUNTS
+        final Traversal.Admin<?, ?> traversal = __.match(as("a").out().as("b"), as("c").in().as("d")).asAdmin();
+        final MatchStep.StatisticsMatchAlgorithm statisticsMatchAlgorithm = new MatchStep.StatisticsMatchAlgorithm();
+        statisticsMatchAlgorithm.initialize(TraversalEngine.Type.STANDARD, ((MatchStep<?, ?>) traversal.getStartStep()).getGlobalChildren());
+        final Traversal.Admin<Object, Object> firstPattern = ((MatchStep<?, ?>) traversal.getStartStep()).getGlobalChildren().get(0);
+        final Traversal.Admin<Object, Object> secondPattern = ((MatchStep<?, ?>) traversal.getStartStep()).getGlobalChildren().get(1);
+        statisticsMatchAlgorithm.bundles.stream().forEach(bundle -> assertEquals(1.0d, bundle.multiplicity, 0.0d));
+        assertEquals(firstPattern, statisticsMatchAlgorithm.bundles.get(0).traversal);
+        assertEquals(secondPattern, statisticsMatchAlgorithm.bundles.get(1).traversal);
+        for (int i = 0; i < 100; i++) {
+            statisticsMatchAlgorithm.recordStart(EmptyTraverser.instance(), firstPattern);
+            statisticsMatchAlgorithm.recordEnd(EmptyTraverser.instance(), firstPattern);
+            statisticsMatchAlgorithm.recordEnd(EmptyTraverser.instance(), firstPattern);
+            statisticsMatchAlgorithm.recordEnd(EmptyTraverser.instance(), firstPattern);
+        }
+        assertEquals(2.0d, statisticsMatchAlgorithm.getBundle(firstPattern).multiplicity, 0.01d);
+        assertEquals(1.0d, statisticsMatchAlgorithm.getBundle(secondPattern).multiplicity, 0.01d);
+        assertEquals(secondPattern, statisticsMatchAlgorithm.bundles.get(0).traversal);
+        assertEquals(firstPattern, statisticsMatchAlgorithm.bundles.get(1).traversal);
+    }
+
     @Test
     public void testComputerAwareCountMatchAlgorithm() {
         // MAKE SURE OLAP JOBS ARE BIASED TOWARDS STAR GRAPH DATA
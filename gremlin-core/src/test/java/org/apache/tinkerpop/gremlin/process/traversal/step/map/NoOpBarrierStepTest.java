@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.map;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.LazyBarrierStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.util.MutableMetrics;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ */
+public class NoOpBarrierStepTest extends StepTest {
+
+    @Override
+    protected List<Traversal> getTraversals() {
+        return Arrays.asList(__.barrier(), __.barrier(5), __.barrier(10));
+    }
+
+    @Test
+    public void shouldGrowAdaptiveBarrierWhileTraversersAreMerged() {
+        final Traversal.Admin<Integer, Integer> traversal = barrierTraversal(values(1000, 3), 100, true);
+        final NoOpBarrierStep<?> barrier = (NoOpBarrierStep) traversal.getEndStep();
+        assertEquals(100, barrier.getMaxBarrierSize());
+        assertEquals(3000, traversal.toList().size());
+        assertTrue(barrier.getMaxBarrierSize() > 100);
+        assertTrue(barrier.getMaxBarrierSize() <= NoOpBarrierStep.MAX_ADAPTIVE_BARRIER_SIZE);
+    }
+
+    @Test
+    public void shouldShrinkAdaptiveBarrierWhenTraversersAreNotMerged() {
+        final Traversal.Admin<Integer, Integer> traversal = barrierTraversal(values(1000, 1), 400, true);
+        final NoOpBarrierStep<?> barrier = (NoOpBarrierStep) traversal.getEndStep();
+        assertEquals(1000, traversal.toList().size());
+        assertEquals(NoOpBarrierStep.MIN_ADAPTIVE_BARRIER_SIZE, barrier.getMaxBarrierSize());
+    }
+
+    @Test
+    public void shouldNotResizeBarrierThatIsNotAdaptive() {
+        final Traversal.Admin<Integer, Integer> traversal = barrierTraversal(values(1000, 3), 100, false);
+        final NoOpBarrierStep<?> barrier = (NoOpBarrierStep) traversal.getEndStep();
+        assertEquals(3000, traversal.toList().size());
+        assertEquals(100, barrier.getMaxBarrierSize());
+        assertFalse(barrier.isAdaptive());
+    }
+
+    @Test
+    public void shouldAnnotateMetricsWithBarrierSizeAndBulkingRatio() {
+        final Traversal.Admin<Integer, Integer> traversal = barrierTraversal(values(50, 4), 1000, true);
+        final MutableMetrics metrics = new MutableMetrics("barrier", "barrier");
+        ((NoOpBarrierStep) traversal.getEndStep()).setMetrics(metrics);
+        assertEquals(200, traversal.toList().size());
+        assertEquals(1000, metrics.getAnnotation(NoOpBarrierStep.BARRIER_SIZE_KEY));
+        assertEquals(4.0d, (double) metrics.getAnnotation(NoOpBarrierStep.BULKING_RATIO_KEY), 0.0d);
+    }
+
+    @Test
+    public void shouldInsertAdaptiveBarriersWithLazyBarrierStrategy() {
+        final Traversal.Admin<?, ?> traversal = __.out().out().out().asAdmin();
+        traversal.setStrategies(new DefaultTraversalStrategies().addStrategies(LazyBarrierStrategy.instance()));
+        traversal.applyStrategies();
+        final List<NoOpBarrierStep> barriers = TraversalHelper.getStepsOfClass(NoOpBarrierStep.class, traversal);
+        assertEquals(1, barriers.size());
+        assertTrue(barriers.get(0).isAdaptive());
+    }
+
+    /**
+     * Gets each of the numbers below {@code count} the specified number of times in a row.
+     */
+    private static Integer[] values(final int count, final int times) {
+        final List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            for (int j = 0; j < times; j++) {
+                values.add(i);
+            }
+        }
+        return values.toArray(new Integer[values.size()]);
+    }
+
+    private static Traversal.Admin<Integer, Integer> barrierTraversal(final Integer[] values, final int maxBarrierSize,
+                                                                      final boolean adaptive) {
+        final Traversal.Admin<Integer, Integer> traversal = __.inject(values).asAdmin();
+        traversal.addStep(new NoOpBarrierStep<>(traversal, maxBarrierSize, adaptive));
+        traversal.setStrategies(new DefaultTraversalStrategies());
+        traversal.applyStrategies();
+        return traversal;
+    }
+}
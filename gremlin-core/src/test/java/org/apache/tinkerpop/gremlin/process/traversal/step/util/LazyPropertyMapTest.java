@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.PropertyType;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONMapper;
+import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONVersion;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedEdge;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedVertex;
+import org.apache.tinkerpop.shaded.jackson.databind.ObjectMapper;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ */
+public class LazyPropertyMapTest {
+
+    private static final String[] ALL_KEYS = new String[0];
+
+    private final Vertex vertex = new DetachedVertex(1, "person", new HashMap<String, Object>() {{
+        put("name", Collections.singletonList(vertexProperty(10, "marko")));
+        put("location", Arrays.asList(vertexProperty(11, "santa fe"), vertexProperty(12, "brussels")));
+        put("age", Collections.singletonList(vertexProperty(13, 29)));
+    }});
+
+    private final Edge edge = new DetachedEdge(7, "knows", new HashMap<String, Object>() {{
+        put("weight", 0.5d);
+        put("since", 2010);
+    }}, 1, "person", 2, "person");
+
+    @Test
+    public void shouldHoldPropertiesOfElement() {
+        final Map<Object, Object> map = new LazyPropertyMap<>(this.vertex, ALL_KEYS, PropertyType.VALUE, false);
+        assertEquals(Collections.singletonList("marko"), map.get("name"));
+        assertEquals(Arrays.asList("santa fe", "brussels"), map.get("location"));
+        assertNull(map.get("weight"));
+        assertNull(map.get(T.id));
+        assertTrue(map.containsKey("age"));
+        assertFalse(map.containsKey("weight"));
+        assertEquals(3, map.size());
+        assertEquals(valueMap(this.vertex), map);
+        assertEquals(map, valueMap(this.vertex));
+        assertEquals(valueMap(this.vertex).hashCode(), map.hashCode());
+    }
+
+    @Test
+    public void shouldOnlyHoldPropertiesOfKeysAskedFor() {
+        final Map<Object, Object> map = new LazyPropertyMap<>(this.vertex, new String[]{"name", "weight", "name"}, PropertyType.VALUE, false);
+        assertEquals(Collections.singletonList("marko"), map.get("name"));
+        assertNull(map.get("location"));
+        assertFalse(map.containsKey("age"));
+        assertEquals(Collections.singleton("name"), map.keySet());
+    }
+
+    @Test
+    public void shouldHoldTokensAndPropertiesOfEdge() {
+        final Map<Object, Object> map = new LazyPropertyMap<>(this.edge, ALL_KEYS, PropertyType.VALUE, true);
+        assertEquals(0.5d, map.get("weight"));
+        assertEquals(7, map.get(T.id));
+        assertEquals("knows", map.get(T.label));
+        assertNull(map.get(T.key));
+        final Map<Object, Object> expected = new HashMap<>();
+        expected.put("weight", 0.5d);
+        expected.put("since", 2010);
+        expected.put(T.id, 7);
+        expected.put(T.label, "knows");
+        assertEquals(expected, map);
+
+        final Map<Object, Object> propertyMap = new LazyPropertyMap<>(this.edge, new String[]{"since"}, PropertyType.PROPERTY, true);
+        assertEquals(this.edge.property("since"), propertyMap.get("since"));
+        assertEquals(1, propertyMap.size());
+    }
+
+    @Test
+    public void shouldCopyPropertiesWhenModified() {
+        final Map<Object, Object> map = new LazyPropertyMap<>(this.vertex, ALL_KEYS, PropertyType.VALUE, false);
+        map.put("name", Collections.singletonList("marko a. rodriguez"));
+        map.remove("age");
+        assertEquals(Collections.singletonList("marko a. rodriguez"), map.get("name"));
+        assertEquals(2, map.size());
+        assertFalse(map.containsKey("age"));
+        assertEquals("marko", this.vertex.value("name"));
+    }
+
+    @Test
+    public void shouldSerializeAsHashMap() throws Exception {
+        final Map<Object, Object> map = new LazyPropertyMap<>(this.vertex, new String[]{"name", "location"}, PropertyType.VALUE, true);
+        final Map<Object, Object> expected = new HashMap<>(map);
+
+        final Kryo kryo = GryoMapper.build().create().createMapper();
+        final ByteArrayOutputStream gryo = new ByteArrayOutputStream();
+        try (final Output output = new Output(gryo)) {
+            kryo.writeClassAndObject(output, map);
+        }
+        final Object fromGryo = kryo.readClassAndObject(new Input(new ByteArrayInputStream(gryo.toByteArray())));
+        assertEquals(HashMap.class, fromGryo.getClass());
+        assertEquals(expected, fromGryo);
+
+        final ByteArrayOutputStream java = new ByteArrayOutputStream();
+        try (final ObjectOutputStream output = new ObjectOutputStream(java)) {
+            output.writeObject(map);
+        }
+        final Object fromJava = new ObjectInputStream(new ByteArrayInputStream(java.toByteArray())).readObject();
+        assertEquals(HashMap.class, fromJava.getClass());
+        assertEquals(expected, fromJava);
+
+        final ObjectMapper graphson = GraphSONMapper.build().version(GraphSONVersion.V1_0).embedTypes(true).create().createMapper();
+        final Map<Object, Object> valueMap = new LazyPropertyMap<>(this.vertex, ALL_KEYS, PropertyType.VALUE, false);
+        final Object fromGraphSON = graphson.readValue(graphson.writeValueAsString(valueMap), Object.class);
+        assertEquals(HashMap.class, fromGraphSON.getClass());
+        assertEquals(valueMap, fromGraphSON);
+    }
+
+    private static Map<Object, Object> valueMap(final Vertex vertex) {
+        final Map<Object, Object> map = new LinkedHashMap<>();
+        vertex.properties().forEachRemaining(property -> ((List<Object>) map.computeIfAbsent(property.key(), k -> new ArrayList<>())).add(property.value()));
+        return map;
+    }
+
+    private static Map<String, Object> vertexProperty(final Object id, final Object value) {
+        final Map<String, Object> property = new HashMap<>();
+        property.put("id", id);
+        property.put("value", value);
+        return property;
+    }
+}
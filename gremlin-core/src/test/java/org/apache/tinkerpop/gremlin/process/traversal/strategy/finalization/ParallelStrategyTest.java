@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Operator;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.branch.ParallelStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.CountGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GroupCountStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ */
+public class ParallelStrategyTest {
+
+    @Test
+    public void shouldExecuteTraversalUpToFirstReducingBarrierInParallel() {
+        final Traversal.Admin<?, ?> traversal = applyStrategy(__.V().out().as("a").groupCount().as("b").select("b").asAdmin());
+        assertEquals(3, traversal.getSteps().size());
+        assertTrue(traversal.getStartStep() instanceof GraphStep);
+
+        final ParallelStep<?, ?> parallelStep = (ParallelStep<?, ?>) traversal.getSteps().get(1);
+        assertEquals(4, parallelStep.getThreads());
+        assertEquals(100, parallelStep.getBatchSize());
+        assertEquals(Arrays.asList(VertexStep.class, GroupCountStep.class), stepClasses(parallelStep.getParallelTraversal()));
+        assertTrue(parallelStep.getParallelTraversal().getStartStep().getLabels().contains("a"));
+        assertTrue(parallelStep.getLabels().contains("b"));
+        assertTrue(parallelStep.getParallelTraversal().getEndStep().getLabels().isEmpty());
+    }
+
+    @Test
+    public void shouldAllowBarriersAndRangesThatOnlySeeASingleTraverser() {
+        assertParallel(__.V().local(__.out().order().limit(2)).count());
+        assertParallel(__.V().group().by(__.label()).by(__.out().fold()));
+        assertParallel(__.V().where(__.out().count().is(2)).fold());
+        assertParallel(__.V().barrier().out().count());
+    }
+
+    @Test
+    public void shouldNotExecuteTraversalInParallelIfResultDependsOnAllTraversers() {
+        assertNotParallel(__.V().out());
+        assertNotParallel(__.V().out().limit(10).count());
+        assertNotParallel(__.V().dedup().count());
+        assertNotParallel(__.V().order().by("name").fold());
+        assertNotParallel(__.V().union(__.out().count(), __.in().count()).sum());
+        assertNotParallel(__.V().aggregate("x").count());
+        assertNotParallel(__.V().out().count().aggregate("x"));
+        assertNotParallel(__.V().map(t -> t.get()).count());
+        assertNotParallel(__.V().addV().count());
+        assertNotParallel(__.V().values("age").inject(1).count());
+        assertNotParallel(__.V().values("age").fold(0, Operator.sum));
+        assertNotParallel(__.out().count());
+        assertNotParallel(__.V().out().count().profile());
+    }
+
+    @Test
+    public void shouldOnlyExecuteRootTraversalInParallel() {
+        final Traversal.Admin<?, ?> traversal = applyStrategy(__.V().local(__.V().out().count()).asAdmin());
+        assertFalse(TraversalHelper.hasStepOfClass(ParallelStep.class, traversal));
+        assertEquals(CountGlobalStep.class, TraversalHelper.getFirstStepOfAssignableClass(TraversalParent.class, traversal).get().getLocalChildren().get(0).getEndStep().getClass());
+    }
+
+    @Test
+    public void shouldStopWorkersOnceTheExecutionFails() throws Exception {
+        final AtomicInteger processed = new AtomicInteger(0);
+        final Traversal.Admin<Integer, Long> parallelTraversal = __.<Integer>start().map(t -> {
+            try {
+                if (0 == t.get()) {
+                    // fail once the other worker is under way
+                    while (processed.get() < 10) {
+                        Thread.sleep(1);
+                    }
+                    throw new IllegalStateException("The first start can not be processed");
+                }
+                Thread.sleep(1);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            processed.incrementAndGet();
+            return t.get();
+        }).count().asAdmin();
+        final Integer[] starts = new Integer[2000];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = i;
+        }
+        // the first batch fails while the second is still being processed by the other worker
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            final Traversal.Admin<Integer, ?> traversal = __.inject(starts).asAdmin();
+            traversal.addStep(new ParallelStep<>(traversal, parallelTraversal, pool, 1000));
+            traversal.setStrategies(new DefaultTraversalStrategies());
+            try {
+                traversal.next();
+                fail("The failure of a worker should fail the traversal");
+            } catch (final IllegalStateException e) {
+                assertEquals("The first start can not be processed", e.getMessage());
+            }
+
+            Thread.sleep(50);
+            final int stopped = processed.get();
+            Thread.sleep(250);
+            assertEquals(stopped, processed.get());
+            assertTrue(stopped < 1000);
+            // the pool is not shut down by a failed execution and goes on to execute others
+            assertFalse(pool.isShutdown());
+            final Traversal.Admin<Integer, ?> next = __.inject(starts).asAdmin();
+            next.addStep(new ParallelStep<>(next, __.<Integer>start().count().asAdmin(), pool, 100));
+            next.setStrategies(new DefaultTraversalStrategies());
+            assertEquals(2000L, next.next());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldShareThePoolOfTheStrategyUntilItIsClosed() {
+        final ParallelStrategy strategy = ParallelStrategy.build().threads(3).create();
+        final ForkJoinPool pool = parallelStep(strategy, __.V().out().count()).getPool();
+        assertEquals(3, pool.getParallelism());
+        assertSame(pool, parallelStep(strategy, __.V().in().groupCount()).getPool());
+        assertSame(pool, strategy.getPool());
+
+        strategy.close();
+        assertTrue(pool.isShutdown());
+        final ForkJoinPool next = parallelStep(strategy, __.V().out().count()).getPool();
+        assertNotSame(pool, next);
+        assertFalse(next.isShutdown());
+        strategy.close();
+    }
+
+    @Test
+    public void shouldRoundTripConfiguration() {
+        final ParallelStrategy strategy = ParallelStrategy.build().threads(3).batchSize(500).create();
+        assertEquals(3, ParallelStrategy.create(strategy.getConfiguration()).getThreads());
+        assertEquals(500, ParallelStrategy.create(strategy.getConfiguration()).getBatchSize());
+        assertEquals(ParallelStrategy.DEFAULT_BATCH_SIZE, ParallelStrategy.instance().getBatchSize());
+        assertEquals(Runtime.getRuntime().availableProcessors(), ParallelStrategy.instance().getThreads());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowThreadsLessThanOne() {
+        ParallelStrategy.build().threads(0).create();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowBatchSizeLessThanOne() {
+        ParallelStrategy.build().batchSize(0).create();
+    }
+
+    private static void assertParallel(final Traversal<?, ?> traversal) {
+        assertTrue(traversal.toString(), TraversalHelper.hasStepOfClass(ParallelStep.class, applyStrategy(traversal.asAdmin())));
+    }
+
+    private static void assertNotParallel(final Traversal<?, ?> traversal) {
+        assertFalse(traversal.toString(), TraversalHelper.hasStepOfClass(ParallelStep.class, applyStrategy(traversal.asAdmin())));
+    }
+
+    private static List<Class> stepClasses(final Traversal.Admin<?, ?> traversal) {
+        final List<Class> classes = new ArrayList<>();
+        traversal.getSteps().forEach(step -> classes.add(step.getClass()));
+        return classes;
+    }
+
+    private static ParallelStep<?, ?> parallelStep(final ParallelStrategy strategy, final Traversal<?, ?> traversal) {
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(strategy);
+        traversal.asAdmin().setStrategies(strategies);
+        traversal.asAdmin().setGraph(EmptyGraph.instance());
+        traversal.asAdmin().applyStrategies();
+        return TraversalHelper.getFirstStepOfAssignableClass(ParallelStep.class, traversal.asAdmin()).get();
+    }
+
+    private static TraversalStrategies strategies() {
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(ParallelStrategy.build().threads(4).batchSize(100).create());
+        return strategies;
+    }
+
+    private static <S, E> Traversal.Admin<S, E> applyStrategy(final Traversal.Admin<S, E> traversal) {
+        traversal.setStrategies(strategies());
+        traversal.setGraph(EmptyGraph.instance());
+        traversal.applyStrategies();
+        return traversal;
+    }
+}
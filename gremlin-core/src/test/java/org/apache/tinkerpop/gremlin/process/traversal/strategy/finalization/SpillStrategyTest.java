@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.tinkerpop.gremlin.TestHelper;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.MemoryBounded;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Spilling;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GroupStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ */
+public class SpillStrategyTest {
+
+    private final File spillDirectory = TestHelper.makeTestDataPath(SpillStrategyTest.class, "spill");
+
+    @Test
+    public void shouldSetMaxInMemoryOfMemoryBoundedSteps() {
+        final Traversal.Admin<?, ?> traversal = applyStrategy(__.order().dedup().group().by(__.order()).asAdmin(), 10);
+        final List<MemoryBounded> steps = TraversalHelper.getStepsOfAssignableClassRecursively(MemoryBounded.class, traversal);
+        assertEquals(4, steps.size());
+        for (final MemoryBounded step : steps) {
+            assertEquals(10, step.getMaxInMemory());
+        }
+        // order() and group() can spill, the distinct values of dedup() are held in memory
+        assertEquals(3, TraversalHelper.getStepsOfAssignableClassRecursively(Spilling.class, traversal).size());
+    }
+
+    @Test
+    public void shouldSortMoreTraversersThanAllowedInMemory() throws Exception {
+        final Random random = new Random(123456789L);
+        final List<Integer> numbers = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            numbers.add(random.nextInt(300));
+        }
+        final List<Integer> sorted = new ArrayList<>(numbers);
+        Collections.sort(sorted);
+
+        assertEquals(sorted, applyStrategy(__.inject(numbers.toArray(new Integer[numbers.size()])).order().asAdmin(), 64).toList());
+        Collections.reverse(sorted);
+        assertEquals(sorted, applyStrategy(__.inject(numbers.toArray(new Integer[numbers.size()])).order().by(Order.decr).asAdmin(), 7).toList());
+        assertEquals(0, this.spillDirectory.list().length);
+
+        // runs that are not read to the end are deleted when the traversal is closed
+        final Traversal.Admin<Integer, Integer> traversal = applyStrategy(__.inject(numbers.toArray(new Integer[numbers.size()])).order().by(Order.decr).limit(100).asAdmin(), 10);
+        assertEquals(sorted.subList(0, 100), traversal.toList());
+        traversal.close();
+        assertEquals(0, this.spillDirectory.list().length);
+    }
+
+    @Test
+    public void shouldGroupMoreEntriesThanAllowedInMemory() throws Exception {
+        final Random random = new Random(123456789L);
+        final Integer[] numbers = new Integer[1000];
+        for (int i = 0; i < numbers.length; i++) {
+            numbers[i] = random.nextInt(300);
+        }
+
+        assertEquals(__.inject(numbers).group().by().by(__.count()).next(),
+                applyStrategy(__.inject(numbers).group().by().by(__.count()).asAdmin(), 10).next());
+        assertEquals(__.inject(numbers).group().by().next(),
+                applyStrategy(__.inject(numbers).group().by().asAdmin(), 7).next());
+        assertEquals(__.inject(numbers).group().by().by(__.order().by(Order.decr)).next(),
+                applyStrategy(__.inject(numbers).group().by().by(__.order().by(Order.decr)).asAdmin(), 10).next());
+        // the inner group() is the barrier of the value traversal and hands its groups on as a whole
+        assertEquals(__.inject(numbers).group().by(__.constant("all")).by(__.group().by().by(__.count())).next(),
+                applyStrategy(__.inject(numbers).group().by(__.constant("all")).by(__.group().by().by(__.count())).asAdmin(), 10).next());
+        assertEquals(0, this.spillDirectory.list().length);
+
+        // groups that are not read are deleted when the traversal is closed
+        final Traversal.Admin<Integer, Map<Integer, Long>> traversal = applyStrategy(__.inject(numbers).<Integer, Long>group().by().by(__.count()).asAdmin(), 10);
+        ((GroupStep<?, ?, ?>) traversal.getEndStep()).processAllStarts();
+        assertTrue(this.spillDirectory.list().length > 0);
+        traversal.close();
+        assertEquals(0, this.spillDirectory.list().length);
+    }
+
+    @Test
+    public void shouldFailWhenDedupExceedsMaxInMemory() {
+        assertEquals(10L, (long) applyStrategy(__.inject(1, 2, 3, 4, 5, 6, 7, 8, 9, 10).dedup().count().asAdmin(), 10).next());
+        try {
+            applyStrategy(__.inject(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11).dedup().asAdmin(), 10).iterate();
+            fail("dedup() should not hold more than the maxInMemory entries");
+        } catch (IllegalStateException ex) {
+            // expected
+        }
+        // values that were seen already do not add to the entries held
+        assertEquals(10L, (long) applyStrategy(__.inject(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 1, 2, 3).dedup().count().asAdmin(), 10).next());
+    }
+
+    @Test
+    public void shouldRoundTripConfiguration() {
+        final SpillStrategy strategy = SpillStrategy.build().maxInMemory(1000).spillDirectory("/tmp/spill").create();
+        assertEquals(1000, SpillStrategy.create(strategy.getConfiguration()).getMaxInMemory());
+        assertEquals("/tmp/spill", SpillStrategy.create(strategy.getConfiguration()).getSpillDirectory());
+        assertEquals(SpillStrategy.DEFAULT_MAX_IN_MEMORY, SpillStrategy.instance().getMaxInMemory());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowMaxInMemoryLessThanOne() {
+        SpillStrategy.build().maxInMemory(0).create();
+    }
+
+    private <S, E> Traversal.Admin<S, E> applyStrategy(final Traversal.Admin<S, E> traversal, final long maxInMemory) {
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(SpillStrategy.build().maxInMemory(maxInMemory).spillDirectory(this.spillDirectory.getAbsolutePath()).create());
+        traversal.setStrategies(strategies);
+        traversal.applyStrategies();
+        return traversal;
+    }
+}
@@ -24,49 +24,93 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.Tree;
 import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
 import org.apache.tinkerpop.gremlin.process.traversal.util.EmptyTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
 import java.util.Arrays;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-@RunWith(Parameterized.class)
+@RunWith(Enclosed.class)
 public class OrderLimitStrategyTest {
 
-    @Parameterized.Parameter(value = 0)
-    public Traversal traversal;
+    @RunWith(Parameterized.class)
+    public static class ParameterizedTests {
 
-    @Parameterized.Parameter(value = 1)
-    public long limit;
+        @Parameterized.Parameter(value = 0)
+        public Traversal traversal;
 
-    void applyOrderLimitStrategyStrategy(final Traversal traversal) {
-        final TraversalStrategies strategies = new DefaultTraversalStrategies();
-        strategies.addStrategies(OrderLimitStrategy.instance());
-        traversal.asAdmin().setStrategies(strategies);
-        traversal.asAdmin().applyStrategies();
-    }
+        @Parameterized.Parameter(value = 1)
+        public long limit;
+
+        void applyOrderLimitStrategyStrategy(final Traversal traversal) {
+            final TraversalStrategies strategies = new DefaultTraversalStrategies();
+            strategies.addStrategies(OrderLimitStrategy.instance());
+            traversal.asAdmin().setStrategies(strategies);
+            traversal.asAdmin().applyStrategies();
+        }
+
+        @Test
+        public void doTest() {
+            final Traversal.Admin<?, ?> standard = traversal.asAdmin().clone();
+            traversal.asAdmin().setParent(new TraversalVertexProgramStep(EmptyTraversal.instance(), EmptyTraversal.instance())); // trick it
+            applyOrderLimitStrategyStrategy(traversal);
+            assertEquals(limit, TraversalHelper.getFirstStepOfAssignableClass(OrderGlobalStep.class, traversal.asAdmin()).get().getLimit());
+
+            applyOrderLimitStrategyStrategy(standard);
+            assertEquals(limit, TraversalHelper.getFirstStepOfAssignableClass(OrderGlobalStep.class, standard).get().getLimit());
+        }
 
-    @Test
-    public void doTest() {
-        traversal.asAdmin().setParent(new TraversalVertexProgramStep(EmptyTraversal.instance(), EmptyTraversal.instance())); // trick it
-        applyOrderLimitStrategyStrategy(traversal);
-        assertEquals(limit, TraversalHelper.getFirstStepOfAssignableClass(OrderGlobalStep.class, traversal.asAdmin()).get().getLimit());
+        @Parameterized.Parameters(name = "{0}")
+        public static Iterable<Object> generateTestParameters() {
+            return Arrays.asList(new Object[][]{
+                    {__.order().limit(1), 1l},
+                    {__.out().order().range(7, 15), 15l},
+                    {__.order().select("a").limit(7), 7l},
+                    {__.order().out().limit(10), Long.MAX_VALUE},
+                    {__.order().tree().limit(1), Long.MAX_VALUE}});
+        }
     }
 
-    @Parameterized.Parameters(name = "{0}")
-    public static Iterable<Object> generateTestParameters() {
-        return Arrays.asList(new Object[][]{
-                {__.order().limit(1), 1l},
-                {__.out().order().range(7, 15), 15l},
-                {__.order().select("a").limit(7), 7l},
-                {__.order().out().limit(10), Long.MAX_VALUE}});
+    public static class StandardTraversalTests {
+
+        @Test
+        public void shouldBeRegisteredForStandardTraversals() {
+            assertTrue(TraversalStrategies.GlobalCache.getStrategies(Graph.class).toList().contains(OrderLimitStrategy.instance()));
+        }
+
+        @Test
+        public void shouldOnlyKeepLimitedTraversersInOrder() {
+            final Traversal.Admin<Integer, Integer> traversal = __.inject(5, 3, 8, 1, 9, 2, 7).order().limit(2).asAdmin();
+            traversal.setStrategies(TraversalStrategies.GlobalCache.getStrategies(Graph.class));
+            traversal.applyStrategies();
+            final OrderGlobalStep<Integer, ?> order = TraversalHelper.getFirstStepOfAssignableClass(OrderGlobalStep.class, traversal).get();
+            assertEquals(2L, order.getLimit());
+            assertEquals(2L, order.nextBarrier().bulkSize());
+
+            final Traversal.Admin<Integer, Integer> results = __.inject(5, 3, 8, 1, 9, 2, 7).order().limit(2).asAdmin();
+            results.setStrategies(TraversalStrategies.GlobalCache.getStrategies(Graph.class));
+            assertEquals(Arrays.asList(1, 2), results.toList());
+        }
+
+        @Test
+        public void shouldNotLimitOrderBeforeTree() {
+            final Traversal.Admin<Integer, Tree> traversal = __.inject(3, 1, 2).order().tree().limit(1).asAdmin();
+            traversal.setStrategies(TraversalStrategies.GlobalCache.getStrategies(Graph.class));
+            final Tree tree = traversal.next();
+            assertEquals(3, tree.size());
+            assertTrue(tree.keySet().containsAll(Arrays.asList(1, 2, 3)));
+        }
     }
 }
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.branch.RepeatStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.both;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.outE;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ */
+@RunWith(Parameterized.class)
+public class ReachabilityStrategyTest {
+
+    @Parameterized.Parameter(value = 0)
+    public Traversal original;
+
+    @Parameterized.Parameter(value = 1)
+    public Traversal optimized;
+
+    @Test
+    public void doTest() {
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(ReachabilityStrategy.instance());
+        this.original.asAdmin().setStrategies(strategies);
+        this.original.asAdmin().applyStrategies();
+        assertEquals(this.optimized, this.original);
+    }
+
+    private static final Function<Traverser<Vertex>, Vertex> IDENTITY = Traverser::get;
+
+    private static <S, E> GraphTraversal<S, E> pruned(final GraphTraversal<S, E> traversal) {
+        TraversalHelper.getStepsOfAssignableClassRecursively(RepeatStep.class, traversal.asAdmin()).forEach(r -> r.setPruneVisited(true));
+        return traversal;
+    }
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Iterable<Object[]> generateTestParameters() {
+        return Arrays.asList(new Object[][]{
+                {__.repeat(out()).emit().dedup(), pruned(__.repeat(out()).emit().dedup())},
+                {__.<Vertex>emit().repeat(out()).dedup(), pruned(__.<Vertex>emit().repeat(out()).dedup())},
+                {__.repeat(out("knows")).until(__.has("age", P.gt(30))).dedup(), pruned(__.repeat(out("knows")).until(__.has("age", P.gt(30))).dedup())},
+                {__.repeat(out()).until(__.not(out())).dedup(), pruned(__.repeat(out()).until(__.not(out())).dedup())},
+                {__.repeat(both()).emit().times(3).hasLabel("person").dedup(), pruned(__.repeat(both()).emit().times(3).hasLabel("person").dedup())},
+                {__.repeat(outE("knows").has("weight", 1.0d).inV()).emit(__.has("name")).dedup().count(), pruned(__.repeat(outE("knows").has("weight", 1.0d).inV()).emit(__.has("name")).dedup().count())},
+                {__.out().repeat(out()).emit().dedup().as("a"), pruned(__.out().repeat(out()).emit().dedup().as("a"))},
+                {__.local(__.repeat(out()).emit().dedup()), pruned(__.local(__.repeat(out()).emit().dedup()))},
+                //
+                {__.repeat(out()).emit(), __.repeat(out()).emit()},
+                {__.repeat(out()).emit().limit(10).dedup(), __.repeat(out()).emit().limit(10).dedup()},
+                {__.repeat(out()).emit().path().dedup(), __.repeat(out()).emit().path().dedup()},
+                {__.repeat(out()).emit().dedup().path(), __.repeat(out()).emit().dedup().path()},
+                {__.repeat(out()).emit().dedup().by("name"), __.repeat(out()).emit().dedup().by("name")},
+                {__.repeat(out().simplePath()).emit().dedup(), __.repeat(out().simplePath()).emit().dedup()},
+                {__.repeat(out().as("a")).emit().dedup(), __.repeat(out().as("a")).emit().dedup()},
+                {__.repeat(out()).as("a").emit().dedup(), __.repeat(out()).as("a").emit().dedup()},
+                {__.repeat(out()).until(__.loops().is(3)).dedup(), __.repeat(out()).until(__.loops().is(3)).dedup()},
+                {__.repeat(out().sack()).emit().dedup(), __.repeat(out().sack()).emit().dedup()},
+                {__.<Vertex>as("a").repeat(out()).emit().dedup().select("a"), __.<Vertex>as("a").repeat(out()).emit().dedup().select("a")},
+                {__.repeat(out()).emit().dedup().map(IDENTITY), __.repeat(out()).emit().dedup().map(IDENTITY)},
+        });
+    }
+}
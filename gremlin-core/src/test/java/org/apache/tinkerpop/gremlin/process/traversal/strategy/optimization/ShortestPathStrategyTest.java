@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.ShortestPathStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.both;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.hasId;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ */
+@RunWith(Parameterized.class)
+public class ShortestPathStrategyTest {
+
+    @Parameterized.Parameter(value = 0)
+    public Traversal original;
+
+    @Parameterized.Parameter(value = 1)
+    public Traversal optimized;
+
+    @Test
+    public void doTest() {
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(ShortestPathStrategy.instance());
+        this.original.asAdmin().setStrategies(strategies);
+        this.original.asAdmin().applyStrategies();
+        assertEquals(this.optimized, this.original);
+    }
+
+    private static GraphTraversal<Vertex, Vertex> shortestPath(final GraphTraversal<Vertex, Vertex> traversal, final Direction direction,
+                                                               final List<HasContainer> hasContainers, final String... edgeLabels) {
+        traversal.asAdmin().addStep(new ShortestPathStep(traversal.asAdmin(), direction, edgeLabels, hasContainers));
+        return traversal;
+    }
+
+    private static List<HasContainer> id(final P<?> predicate) {
+        return Collections.singletonList(new HasContainer(T.id.getAccessor(), predicate));
+    }
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Iterable<Object[]> generateTestParameters() {
+        return Arrays.asList(new Object[][]{
+                {__.repeat(both().simplePath()).until(hasId(5)).limit(1).path(), shortestPath(__.start(), Direction.BOTH, id(P.eq(5))).limit(1).path()},
+                {__.repeat(both().simplePath()).until(hasId(5)).path().limit(1), shortestPath(__.start(), Direction.BOTH, id(P.eq(5))).path().limit(1)},
+                {__.repeat(out("knows", "created").simplePath()).until(hasId(5, 6)).limit(1), shortestPath(__.start(), Direction.OUT, id(P.within(Arrays.asList(5, 6))), "knows", "created").limit(1)},
+                {__.repeat(out().simplePath()).until(__.has("name", "josh")).limit(1), shortestPath(__.start(), Direction.OUT, Collections.singletonList(new HasContainer("name", P.eq("josh")))).limit(1)},
+                {__.out().repeat(out().simplePath()).until(hasId(5)).as("a").limit(1), shortestPath(__.out(), Direction.OUT, id(P.eq(5))).as("a").limit(1)},
+                //
+                {__.repeat(both().simplePath()).until(hasId(5)).path(), __.repeat(both().simplePath()).until(hasId(5)).path()},
+                {__.repeat(both().simplePath()).until(hasId(5)).limit(2), __.repeat(both().simplePath()).until(hasId(5)).limit(2)},
+                {__.repeat(both().simplePath()).emit().until(hasId(5)).limit(1), __.repeat(both().simplePath()).emit().until(hasId(5)).limit(1)},
+                {__.<Vertex>until(hasId(5)).repeat(both().simplePath()).limit(1), __.<Vertex>until(hasId(5)).repeat(both().simplePath()).limit(1)},
+                {__.repeat(both()).until(hasId(5)).limit(1), __.repeat(both()).until(hasId(5)).limit(1)},
+                {__.repeat(both().simplePath().as("a")).until(hasId(5)).limit(1), __.repeat(both().simplePath().as("a")).until(hasId(5)).limit(1)},
+                {__.repeat(both().simplePath().by("name")).until(hasId(5)).limit(1), __.repeat(both().simplePath().by("name")).until(hasId(5)).limit(1)},
+                {__.repeat(__.bothE().otherV().simplePath()).until(hasId(5)).limit(1), __.repeat(__.bothE().otherV().simplePath()).until(hasId(5)).limit(1)},
+                {__.repeat(both().simplePath()).until(hasId(5).out()).limit(1), __.repeat(both().simplePath()).until(hasId(5).out()).limit(1)},
+                {__.repeat(both().simplePath()).times(3).limit(1), __.repeat(both().simplePath()).times(3).limit(1)},
+                {__.local(__.repeat(both().simplePath()).until(hasId(5)).limit(1)), __.local(__.repeat(both().simplePath()).until(hasId(5)).limit(1))},
+        });
+    }
+}
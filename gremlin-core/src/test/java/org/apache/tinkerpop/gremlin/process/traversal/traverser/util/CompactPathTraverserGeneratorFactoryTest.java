@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.Pop;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.CompactPath;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.TraverserGeneratorFactoryStrategy;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.apache.tinkerpop.gremlin.util.Serializer;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.P.neq;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ */
+public class CompactPathTraverserGeneratorFactoryTest {
+
+    private final GraphTraversalSource g = EmptyGraph.instance().traversal();
+    private final GraphTraversalSource compact = g.withTraverserGeneratorFactory(CompactPathTraverserGeneratorFactory.instance());
+
+    @Test
+    public void shouldNotChangeTheSourceItIsSetFrom() {
+        assertFalse(g.getStrategies().getStrategy(TraverserGeneratorFactoryStrategy.class).isPresent());
+        assertSame(DefaultTraverserGeneratorFactory.instance(), TraverserGeneratorFactoryStrategy.getTraverserGeneratorFactory(g.getStrategies()));
+        assertSame(CompactPathTraverserGeneratorFactory.instance(), TraverserGeneratorFactoryStrategy.getTraverserGeneratorFactory(compact.getStrategies()));
+        assertSame(DefaultTraverserGeneratorFactory.instance(), TraverserGeneratorFactoryStrategy.getTraverserGeneratorFactory(
+                TraversalStrategies.GlobalCache.getStrategies(EmptyGraph.class)));
+    }
+
+    @Test
+    public void shouldHaveCompactPaths() {
+        assertPaths(s -> s.inject(1, 2, 3).as("a").map(t -> t.get() * 10).as("b").path());
+        assertPaths(s -> s.withBulk(false).inject(1, 2, 3).as("a").map(t -> t.get() * 10).as("b").path());
+        assertPaths(s -> s.inject(1, 2, 3).as("a").map(t -> t.get() * 10).as("b", "c").map(t -> t.get() + 1).as("a").path());
+
+        final List<Path> paths = compact.inject(1, 2).as("a").map(t -> t.get() * 10).as("b").path().toList();
+        for (final Path path : paths) {
+            assertTrue(path instanceof CompactPath);
+            assertTrue(path.hasLabel("a"));
+            assertTrue(path.hasLabel("b"));
+            assertFalse(path.hasLabel("c"));
+        }
+    }
+
+    @Test
+    public void shouldSelectFromCompactPaths() {
+        assertResults(s -> s.inject(1, 2, 3).as("a").map(t -> t.get() * 10).as("b").select("a", "b"));
+        assertResults(s -> s.withBulk(false).inject(1, 2, 3).as("a").map(t -> t.get() * 10).as("b").select("a", "b"));
+        assertResults(s -> s.inject(1, 2, 3).as("a").map(t -> t.get() * 10).as("a").select(Pop.all, "a"));
+        assertResults(s -> s.inject(1, 2, 3).as("a").map(t -> t.get() * 10).as("a").select(Pop.first, "a"));
+        assertResults(s -> s.inject(1, 2, 3).as("a").map(t -> t.get() * 10).as("b").where("a", neq("b")).select("a"));
+    }
+
+    @Test
+    public void shouldInternLabelsForEachTraversal() {
+        // more labels are used across these traversals than can be interned in a single table
+        for (int i = 0; i < 100; i++) {
+            final List<Path> paths = compact.inject(i).as("a" + i).map(t -> t.get() + 1).as("b" + i).path().toList();
+            assertEquals(1, paths.size());
+            assertTrue(paths.get(0) instanceof CompactPath);
+            assertEquals(i + 1, (int) paths.get(0).get("b" + i));
+        }
+    }
+
+    @Test
+    public void shouldKeepTheFactoryWhenSerialized() throws Exception {
+        final TraversalStrategies strategies = (TraversalStrategies) Serializer.deserializeObject(Serializer.serializeObject(compact.getStrategies()));
+        assertSame(CompactPathTraverserGeneratorFactory.instance(), TraverserGeneratorFactoryStrategy.getTraverserGeneratorFactory(strategies));
+    }
+
+    private <E> void assertPaths(final Function<GraphTraversalSource, GraphTraversal<Integer, E>> traversal) {
+        final List<E> paths = traversal.apply(compact).toList();
+        for (final E path : paths) {
+            assertTrue(path instanceof CompactPath);
+        }
+        assertEquals(traversal.apply(g).toList(), paths);
+    }
+
+    private <E> void assertResults(final Function<GraphTraversalSource, GraphTraversal<Integer, E>> traversal) {
+        assertEquals(traversal.apply(g).toList(), traversal.apply(compact).toList());
+    }
+}
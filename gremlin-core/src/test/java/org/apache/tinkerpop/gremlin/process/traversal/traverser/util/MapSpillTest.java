@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import org.apache.tinkerpop.gremlin.TestHelper;
+import org.apache.tinkerpop.gremlin.process.traversal.Operator;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GroupStep;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.BinaryOperator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ */
+public class MapSpillTest {
+
+    private final File spillDirectory = TestHelper.makeTestDataPath(MapSpillTest.class, "spill");
+
+    @Test
+    public void shouldReduceTheEntriesOfAKeyAcrossSpills() {
+        final Random random = new Random(123456789L);
+        final Map<Integer, Long> expected = new HashMap<>();
+        final MapSpill<Integer, Long> spill = new MapSpill<>(this.spillDirectory, new GroupStep.GroupBiOperator<>((BinaryOperator) Operator.sum), __.inject().asAdmin(), 4);
+        for (int round = 0; round < 10; round++) {
+            final Map<Integer, Long> map = new HashMap<>();
+            for (int i = 0; i < 100; i++) {
+                final int key = random.nextInt(300);
+                map.merge(key, 1L, Long::sum);
+                expected.merge(key, 1L, Long::sum);
+            }
+            spill.spill(map);
+            assertTrue(map.isEmpty());
+        }
+        assertEquals(4, this.spillDirectory.list().length);
+
+        final Map<Integer, Long> actual = new HashMap<>();
+        for (int i = 0; i < spill.getPartitionCount(); i++) {
+            final Map<Integer, Long> partition = spill.merge(i);
+            // every key is in one partition only
+            partition.keySet().forEach(key -> assertTrue(!actual.containsKey(key)));
+            actual.putAll(partition);
+        }
+        assertEquals(expected, actual);
+        assertTrue(spill.isEmpty());
+        assertEquals(0, this.spillDirectory.list().length);
+    }
+
+    @Test
+    public void shouldDeletePartitionsWhenClosedBeforeBeingRead() {
+        final MapSpill<Integer, Long> spill = new MapSpill<>(this.spillDirectory, new GroupStep.GroupBiOperator<>((BinaryOperator) Operator.sum), __.inject().asAdmin());
+        final Map<Integer, Long> map = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.put(i, 1L);
+        }
+        spill.spill(map);
+        spill.merge(0);
+        spill.close();
+        assertTrue(spill.isEmpty());
+        assertEquals(0, this.spillDirectory.list().length);
+    }
+}
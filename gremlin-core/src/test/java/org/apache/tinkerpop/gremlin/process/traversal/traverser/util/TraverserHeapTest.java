@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_O_Traverser;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ */
+public class TraverserHeapTest {
+
+    // compares on the tens so that traversers of different values can compare equally
+    private static final Comparator<Traverser<Integer>> COMPARATOR = Comparator.comparing(t -> t.get() / 10);
+
+    @Test
+    public void shouldKeepTheFirstTraversersInOrder() {
+        final Random random = new Random(123456789L);
+        for (int round = 0; round < 200; round++) {
+            final long limit = random.nextInt(20);
+            final List<Traverser.Admin<Integer>> traversers = new ArrayList<>();
+            for (int i = 0; i < random.nextInt(500); i++) {
+                traversers.add(new B_O_Traverser<>(random.nextInt(200), 1 + random.nextInt(3)));
+            }
+
+            final TraverserSet<Integer> expected = new TraverserSet<>();
+            final TraverserSet<Integer> actual = new TraverserSet<>();
+            final TraverserHeap<Integer> heap = new TraverserHeap<>(actual, COMPARATOR, limit);
+            for (final Traverser.Admin<Integer> traverser : traversers) {
+                expected.add(traverser.split());
+                heap.add(traverser.split());
+            }
+            expected.sort(COMPARATOR);
+            actual.sort(COMPARATOR);
+
+            assertTrue(actual.size() <= limit);
+            assertEquals(unroll(expected, limit), unroll(actual, limit));
+        }
+    }
+
+    @Test
+    public void shouldTrimExistingTraversers() {
+        final TraverserSet<Integer> traverserSet = new TraverserSet<>();
+        for (int i = 0; i < 100; i++) {
+            traverserSet.add(new B_O_Traverser<>(99 - i, 1L));
+        }
+        final TraverserHeap<Integer> heap = new TraverserHeap<>(traverserSet, Comparator.comparing(Traverser::get), 3);
+        assertEquals(3, traverserSet.size());
+        heap.add(new B_O_Traverser<>(1, 5L));
+        assertEquals(2, traverserSet.size());
+        traverserSet.sort(Comparator.comparing(Traverser::get));
+        assertEquals(0, traverserSet.remove().get().intValue());
+        assertEquals(1, traverserSet.remove().get().intValue());
+    }
+
+    private static List<Integer> unroll(final TraverserSet<Integer> traverserSet, final long limit) {
+        final List<Integer> list = new ArrayList<>();
+        for (final Traverser.Admin<Integer> traverser : traverserSet) {
+            for (long i = 0; i < traverser.bulk() && list.size() < limit; i++) {
+                list.add(traverser.get());
+            }
+        }
+        return list;
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_O_Traverser;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ */
+public class TraverserSetTest {
+
+    @Test
+    public void shouldMergeEqualTraversers() {
+        final TraverserSet<String> traverserSet = new TraverserSet<>();
+        assertTrue(traverserSet.add(new B_O_Traverser<>("a", 1L)));
+        assertTrue(traverserSet.add(new B_O_Traverser<>("b", 2L)));
+        assertFalse(traverserSet.add(new B_O_Traverser<>("a", 3L)));
+        assertEquals(2, traverserSet.size());
+        assertEquals(6L, traverserSet.bulkSize());
+        assertEquals(4L, traverserSet.get(new B_O_Traverser<>("a", 1L)).bulk());
+        assertTrue(traverserSet.contains(new B_O_Traverser<>("b", 1L)));
+        assertFalse(traverserSet.contains(new B_O_Traverser<>("c", 1L)));
+        assertFalse(traverserSet.contains("a"));
+    }
+
+    @Test
+    public void shouldPollInInsertionOrder() {
+        final TraverserSet<Integer> traverserSet = new TraverserSet<>();
+        assertNull(traverserSet.poll());
+        assertNull(traverserSet.peek());
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 100; i++) {
+                traverserSet.add(new B_O_Traverser<>(i, 1L));
+            }
+            for (int i = 0; i < 100; i++) {
+                assertEquals(i, traverserSet.peek().get().intValue());
+                assertEquals(i, traverserSet.remove().get().intValue());
+            }
+            assertTrue(traverserSet.isEmpty());
+        }
+        try {
+            traverserSet.remove();
+            fail("Should not be able to remove from an empty TraverserSet");
+        } catch (NoSuchElementException ex) {
+            // expected
+        }
+    }
+
+    @Test
+    public void shouldRemoveTraversersWithCollidingHashCodes() {
+        // "Aa" and "BB" have the same hash code
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        final TraverserSet<String> traverserSet = new TraverserSet<>();
+        final List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            traverserSet.add(new B_O_Traverser<>("Aa" + i, 1L));
+            traverserSet.add(new B_O_Traverser<>("BB" + i, 1L));
+            expected.add("BB" + i);
+        }
+        for (int i = 0; i < 50; i++) {
+            assertTrue(traverserSet.remove(new B_O_Traverser<>("Aa" + i, 1L)));
+            assertFalse(traverserSet.remove(new B_O_Traverser<>("Aa" + i, 1L)));
+        }
+        assertEquals(50, traverserSet.size());
+        for (int i = 0; i < 50; i++) {
+            assertTrue(traverserSet.contains(new B_O_Traverser<>("BB" + i, 1L)));
+            assertFalse(traverserSet.add(new B_O_Traverser<>("BB" + i, 1L)));
+        }
+        assertEquals(100L, traverserSet.bulkSize());
+        // appending past the end of the array compacts the traversers that are left
+        for (int i = 50; i < 200; i++) {
+            traverserSet.add(new B_O_Traverser<>("BB" + i, 1L));
+            expected.add("BB" + i);
+        }
+        assertEquals(expected, values(traverserSet));
+    }
+
+    @Test
+    public void shouldRemoveWithIterator() {
+        final TraverserSet<Integer> traverserSet = new TraverserSet<>();
+        for (int i = 0; i < 10; i++) {
+            traverserSet.add(new B_O_Traverser<>(i, 1L));
+        }
+        final Iterator<Traverser.Admin<Integer>> iterator = traverserSet.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().get() % 2 == 0)
+                iterator.remove();
+        }
+        assertEquals(Arrays.asList(1, 3, 5, 7, 9), values(traverserSet));
+        assertFalse(traverserSet.contains(new B_O_Traverser<>(4, 1L)));
+        traverserSet.clear();
+        assertTrue(traverserSet.isEmpty());
+        assertFalse(traverserSet.iterator().hasNext());
+        traverserSet.add(new B_O_Traverser<>(4, 1L));
+        assertEquals(Arrays.asList(4), values(traverserSet));
+    }
+
+    @Test
+    public void shouldSortAndShuffle() {
+        final TraverserSet<Integer> traverserSet = new TraverserSet<>();
+        for (int i = 0; i < 20; i++) {
+            traverserSet.add(new B_O_Traverser<>(i, 1L));
+        }
+        traverserSet.remove(new B_O_Traverser<>(0, 1L));
+        traverserSet.sort(Comparator.comparing(t -> -t.get()));
+        assertEquals(19, traverserSet.size());
+        assertEquals(19, traverserSet.peek().get().intValue());
+        assertEquals(1, values(traverserSet).get(18).intValue());
+        traverserSet.shuffle();
+        traverserSet.sort(Comparator.comparing(Traverser::get));
+        for (int i = 1; i < 20; i++) {
+            assertTrue(traverserSet.contains(new B_O_Traverser<>(i, 1L)));
+            assertEquals(i, traverserSet.remove().get().intValue());
+        }
+    }
+
+    private static <S> List<S> values(final TraverserSet<S> traverserSet) {
+        final List<S> values = new ArrayList<>();
+        traverserSet.forEach(traverser -> values.add(traverser.get()));
+        return values;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import org.apache.tinkerpop.gremlin.TestHelper;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_O_Traverser;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ */
+public class TraverserSpillTest {
+
+    // compares on the tens so that traversers of different values can compare equally
+    private static final Comparator<Traverser<Integer>> COMPARATOR = Comparator.comparing(t -> t.get() / 10);
+
+    private final File spillDirectory = TestHelper.makeTestDataPath(TraverserSpillTest.class, "spill");
+
+    @Test
+    public void shouldMergeMoreRunsThanTheMaxFanInStably() {
+        final Random random = new Random(123456789L);
+        for (final int maxFanIn : new int[]{2, 3, 64}) {
+            final List<Integer> expected = new ArrayList<>();
+            final TraverserSpill<Integer> spill = new TraverserSpill<>(this.spillDirectory, COMPARATOR, __.inject().asAdmin(), maxFanIn);
+            for (int run = 0; run < 23; run++) {
+                final List<Traverser.Admin<Integer>> traversers = new ArrayList<>();
+                for (int i = 0; i < random.nextInt(50); i++) {
+                    traversers.add(new B_O_Traverser<>(random.nextInt(200), 1L));
+                }
+                traversers.sort(COMPARATOR);
+                traversers.forEach(t -> expected.add(t.get()));
+                spill.spill(traversers.iterator());
+            }
+            assertEquals(23, spill.getRunCount());
+            // a stable sort of the traversers in the order they were spilled is what the merge should give back
+            expected.sort(Comparator.comparing(i -> i / 10));
+
+            final List<Integer> actual = new ArrayList<>();
+            try (final CloseableIterator<Traverser.Admin<Integer>> merged = spill.merge()) {
+                merged.forEachRemaining(t -> actual.add(t.get()));
+            }
+            assertEquals(expected, actual);
+            assertEquals(0, spill.getRunCount());
+            assertEquals(0, this.spillDirectory.list().length);
+        }
+    }
+
+    @Test
+    public void shouldDeleteRunsWhenClosedBeforeBeingRead() {
+        final TraverserSpill<Integer> spill = new TraverserSpill<>(this.spillDirectory, COMPARATOR, __.inject().asAdmin(), 2);
+        for (int run = 0; run < 5; run++) {
+            final List<Traverser.Admin<Integer>> traversers = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                traversers.add(new B_O_Traverser<>(run * 10 + i, 1L));
+            }
+            spill.spill(traversers.iterator());
+        }
+        final CloseableIterator<Traverser.Admin<Integer>> merged = spill.merge();
+        assertEquals(0, merged.next().get().intValue());
+        merged.close();
+        spill.close();
+        assertEquals(0, this.spillDirectory.list().length);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowMaxFanInLessThanTwo() {
+        new TraverserSpill<>(this.spillDirectory, COMPARATOR, __.inject().asAdmin(), 1);
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.apache.tinkerpop.gremlin.util.function.Lambda;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ */
+public class BytecodeHelperTest {
+
+    private final GraphTraversalSource g = EmptyGraph.instance().traversal();
+
+    @Test
+    public void shouldDetermineIfTraversalIsReadOnly() {
+        assertTrue(BytecodeHelper.isReadOnly(g.V().out("knows").values("name").asAdmin().getBytecode()));
+        assertTrue(BytecodeHelper.isReadOnly(g.V().where(__.out().count().is(2)).group().by("name").asAdmin().getBytecode()));
+        assertTrue(BytecodeHelper.isReadOnly(g.withSideEffect("x", 1).V().aggregate("a").cap("a").asAdmin().getBytecode()));
+    }
+
+    @Test
+    public void shouldDetermineIfTraversalChangesGraph() {
+        assertFalse(BytecodeHelper.isReadOnly(g.addV("person").asAdmin().getBytecode()));
+        assertFalse(BytecodeHelper.isReadOnly(g.V().property("name", "marko").asAdmin().getBytecode()));
+        assertFalse(BytecodeHelper.isReadOnly(g.V().outE().drop().asAdmin().getBytecode()));
+        assertFalse(BytecodeHelper.isReadOnly(g.V().local(__.addE("knows").to(__.V(1))).asAdmin().getBytecode()));
+        assertFalse(BytecodeHelper.isReadOnly(g.V().map(Lambda.function("it.get()")).asAdmin().getBytecode()));
+    }
+}
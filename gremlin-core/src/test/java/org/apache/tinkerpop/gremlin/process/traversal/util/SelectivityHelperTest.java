@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.AndStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.GraphStatistics;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ */
+public class SelectivityHelperTest {
+
+    private static final GraphStatistics STATISTICS = new GraphStatistics() {
+        @Override
+        public Optional<Long> count(final Class<? extends Element> elementClass) {
+            return Optional.of(1000L);
+        }
+
+        @Override
+        public Optional<Long> countByLabel(final Class<? extends Element> elementClass, final String label) {
+            return Optional.of(label.equals("person") ? 800L : 200L);
+        }
+
+        @Override
+        public Optional<Long> countByKey(final Class<? extends Element> elementClass, final String key) {
+            if (key.equals("age"))
+                return Optional.of(600L);
+            else if (key.equals("country"))
+                return Optional.of(800L);
+            else
+                return Optional.empty();
+        }
+
+        @Override
+        public Optional<Long> countByValue(final Class<? extends Element> elementClass, final String key, final Object value) {
+            if (key.equals("country"))
+                return Optional.of(value.equals("US") ? 500L : 10L);
+            else if (key.equals("email"))
+                return Optional.of(1L);
+            else
+                return Optional.empty();
+        }
+    };
+
+    @Test
+    public void shouldEstimateEqualityFromCounts() {
+        assertEquals(0.5d, estimate(new HasContainer("country", P.eq("US"))), 0.0d);
+        assertEquals(0.001d, estimate(new HasContainer("email", P.eq("x@example.com"))), 0.0d);
+        assertEquals(0.8d, estimate(new HasContainer(T.label.getAccessor(), P.eq("person"))), 0.0d);
+        assertEquals(0.001d, estimate(new HasContainer(T.id.getAccessor(), P.eq(1))), 0.0d);
+    }
+
+    @Test
+    public void shouldEstimateNegationsAndCollections() {
+        // elements without the key pass neither eq() nor neq()
+        assertEquals(0.3d, estimate(new HasContainer("country", P.neq("US"))), 0.000001d);
+        assertEquals(0.51d, estimate(new HasContainer("country", P.within("US", "CA"))), 0.000001d);
+        assertEquals(0.29d, estimate(new HasContainer("country", P.without("US", "CA"))), 0.000001d);
+        assertEquals(0.4029d, estimate(new HasContainer("country", P.eq("US").or(P.eq("CA")).and(P.neq("MX")))), 0.000001d);
+        assertEquals(0.2d, estimate(new HasContainer(T.label.getAccessor(), P.neq("person"))), 0.000001d);
+        assertFalse(SelectivityHelper.estimateSelectivity(STATISTICS, Vertex.class, new HasContainer("email", P.neq("x@example.com"))).isPresent());
+    }
+
+    @Test
+    public void shouldEstimateRangesFromKeyCounts() {
+        assertEquals(0.2d, estimate(new HasContainer("age", P.gt(30))), 0.000001d);
+        assertFalse(SelectivityHelper.estimateSelectivity(STATISTICS, Vertex.class, new HasContainer("name", P.gt("m"))).isPresent());
+    }
+
+    @Test
+    public void shouldNotEstimateWithoutStatistics() {
+        assertFalse(SelectivityHelper.estimateSelectivity(STATISTICS, Vertex.class, new HasContainer("name", P.eq("marko"))).isPresent());
+        assertFalse(SelectivityHelper.estimateSelectivity(new GraphStatistics() {}, Vertex.class, new HasContainer("country", P.eq("US"))).isPresent());
+    }
+
+    @Test
+    public void shouldEstimateChildTraversalsOfHasSteps() {
+        assertEquals(0.0005d, SelectivityHelper.estimateSelectivity(STATISTICS, Vertex.class,
+                __.has("country", "US").has("email", "x@example.com").asAdmin()).get(), 0.000001d);
+        assertFalse(SelectivityHelper.estimateSelectivity(STATISTICS, Vertex.class,
+                __.has("country", "US").out().asAdmin()).isPresent());
+    }
+
+    @Test
+    public void shouldSortOnlyIfAllItemsAreEstimated() {
+        final List<String> items = new ArrayList<>(Arrays.asList("c", "a", "b"));
+        assertTrue(SelectivityHelper.sortBySelectivity(items, item -> Optional.of(item.equals("c") ? 0.3d : 0.1d), true));
+        assertEquals(Arrays.asList("a", "b", "c"), items);
+        assertFalse(SelectivityHelper.sortBySelectivity(items, item -> Optional.of(0.5d), true));
+        assertTrue(SelectivityHelper.sortBySelectivity(items, item -> Optional.of(item.equals("c") ? 0.3d : 0.1d), false));
+        assertEquals(Arrays.asList("c", "a", "b"), items);
+        assertFalse(SelectivityHelper.sortBySelectivity(items, item -> item.equals("a") ? Optional.empty() : Optional.of(0.1d), true));
+        assertEquals(Arrays.asList("c", "a", "b"), items);
+    }
+
+    @Test
+    public void shouldDetermineElementClassFromPrecedingSteps() {
+        final Traversal.Admin<?, ?> traversal = __.outE().has("weight", 1.0d).inV().has("name", "marko").and(__.has("age", 29)).asAdmin();
+        assertEquals(Edge.class, SelectivityHelper.getElementClass(traversal.getSteps().get(1)).get());
+        assertEquals(Vertex.class, SelectivityHelper.getElementClass(traversal.getSteps().get(3)).get());
+        final Traversal.Admin<?, ?> child = ((AndStep<?>) traversal.getSteps().get(4)).getLocalChildren().get(0);
+        assertEquals(Vertex.class, SelectivityHelper.getElementClass(child.getStartStep()).get());
+        assertFalse(SelectivityHelper.getElementClass(__.has("name", "marko").asAdmin().getStartStep()).isPresent());
+    }
+
+    private static double estimate(final HasContainer hasContainer) {
+        return SelectivityHelper.estimateSelectivity(STATISTICS, Vertex.class, hasContainer).get();
+    }
+}
@@ -23,6 +23,7 @@ import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
 import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.util.BytecodeHelper;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.slf4j.Logger;
@@ -38,6 +39,7 @@ import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicReference;
@@ -297,6 +299,61 @@ public abstract class Client {
         if (!initialized)
             init();
 
+        final long hedgeDelay = cluster.connectionPoolSettings().hedgeDelay;
+        return hedgeDelay > 0 && isHedgeable(msg) ? submitHedged(msg, hedgeDelay) : submitToConnection(msg);
+    }
+
+    /**
+     * Determines if the request may be sent to another host when the one it was sent to is slow to respond, which
+     * is not the case by default.
+     */
+    protected boolean isHedgeable(final RequestMessage msg) {
+        return false;
+    }
+
+    /**
+     * Submits a request and, if its host has not started to respond within the delay, submits it again to another
+     * host. The returned future completes with the {@link ResultSet} of the host that starts to respond first and
+     * the results of the other are read and thrown away.
+     */
+    private CompletableFuture<ResultSet> submitHedged(final RequestMessage msg, final long hedgeDelay) {
+        final CompletableFuture<ResultSet> first = new CompletableFuture<>();
+        submitToConnection(msg).thenAccept(primary -> {
+            final ScheduledFuture<?> hedge = cluster.executor().schedule(() -> {
+                if (first.isDone()) return;
+                final Optional<Host> other = IteratorUtils.stream(cluster.loadBalancingStrategy().select(msg))
+                        .filter(host -> !host.equals(primary.getHost())).findFirst();
+                if (!other.isPresent()) return;
+
+                logger.debug("No response to {} from {} after {}ms - also submitting it to {}", msg, primary.getHost(), hedgeDelay, other.get());
+                try {
+                    submitToConnection(RequestMessage.from(msg).overrideRequestId(UUID.randomUUID())
+                            .addArg(Tokens.ARGS_HOST, other.get()).create())
+                            .thenAccept(hedged -> takeFirstResponse(hedged, first));
+                } catch (Exception ex) {
+                    // the request that was already submitted may still get its response
+                    logger.debug(String.format("Could not submit %s to %s", msg, other.get()), ex);
+                }
+            }, hedgeDelay, TimeUnit.MILLISECONDS);
+
+            primary.respondedAsync().thenRun(() -> hedge.cancel(false));
+            takeFirstResponse(primary, first);
+        }).exceptionally(t -> {
+            first.completeExceptionally(t);
+            return null;
+        });
+        return first;
+    }
+
+    private void takeFirstResponse(final ResultSet resultSet, final CompletableFuture<ResultSet> first) {
+        resultSet.respondedAsync().thenRunAsync(() -> {
+            // the response of the other host started first so this one is only read to the end to free up its
+            // connection
+            if (!first.complete(resultSet)) resultSet.all();
+        }, cluster.executor());
+    }
+
+    CompletableFuture<ResultSet> submitToConnection(final RequestMessage msg) {
         final CompletableFuture<ResultSet> future = new CompletableFuture<>();
         Connection connection = null;
         try {
@@ -477,6 +534,17 @@ public abstract class Client {
             return new AliasClusteredClient(this, aliases, settings);
         }
 
+        /**
+         * A traversal that only reads the graph may be sent to another host when the {@link Cluster} is configured
+         * with a {@link Cluster.Builder#hedgeDelay(long)}, as long as it was not meant for a particular host.
+         */
+        @Override
+        protected boolean isHedgeable(final RequestMessage msg) {
+            final Object gremlin = msg.getArgs().get(Tokens.ARGS_GREMLIN);
+            return msg.getOp().equals(Tokens.OPS_BYTECODE) && gremlin instanceof Bytecode &&
+                    !msg.optionalArgs(Tokens.ARGS_HOST).isPresent() && BytecodeHelper.isReadOnly((Bytecode) gremlin);
+        }
+
         /**
          * Uses a {@link LoadBalancingStrategy} to choose the best {@link Host} and then selects the best connection
          * from that host's connection pool.
@@ -616,6 +684,14 @@ public abstract class Client {
             if (close.isDone()) throw new IllegalStateException("Client is closed");
         }
 
+        /**
+         * Delegates to the underlying {@link org.apache.tinkerpop.gremlin.driver.Client.ClusteredClient}.
+         */
+        @Override
+        protected boolean isHedgeable(final RequestMessage msg) {
+            return client.isHedgeable(msg);
+        }
+
         /**
          * Delegates to the underlying {@link org.apache.tinkerpop.gremlin.driver.Client.ClusteredClient}.
          */
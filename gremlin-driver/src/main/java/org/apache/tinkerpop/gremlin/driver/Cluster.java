@@ -177,6 +177,8 @@ public final class Cluster {
                 .reconnectInterval(settings.connectionPool.reconnectInterval)
                 .reconnectIntialDelay(settings.connectionPool.reconnectInitialDelay)
                 .resultIterationBatchSize(settings.connectionPool.resultIterationBatchSize)
+                .resultCredits(settings.connectionPool.resultCredits)
+                .hedgeDelay(settings.connectionPool.hedgeDelay)
                 .channelizer(settings.connectionPool.channelizer)
                 .maxContentLength(settings.connectionPool.maxContentLength)
                 .maxWaitForConnection(settings.connectionPool.maxWaitForConnection)
@@ -351,6 +353,20 @@ public final class Cluster {
         return manager.connectionPoolSettings.resultIterationBatchSize;
     }
 
+    /**
+     * Gets the number of results the server may send for a request ahead of those that were read.
+     */
+    public int getResultCredits() {
+        return manager.connectionPoolSettings.resultCredits;
+    }
+
+    /**
+     * Gets the time in milliseconds to wait for a response to a read-only traversal before it is sent to another host.
+     */
+    public long getHedgeDelay() {
+        return manager.connectionPoolSettings.hedgeDelay;
+    }
+
     /**
      * Gets the maximum amount of time to wait for a connection to be borrowed from the connection pool.
      */
@@ -492,6 +508,8 @@ public final class Cluster {
         private int reconnectInitialDelay = Connection.RECONNECT_INITIAL_DELAY;
         private int reconnectInterval = Connection.RECONNECT_INTERVAL;
         private int resultIterationBatchSize = Connection.RESULT_ITERATION_BATCH_SIZE;
+        private int resultCredits = Connection.RESULT_CREDITS;
+        private long hedgeDelay = Connection.HEDGE_DELAY;
         private long keepAliveInterval = Connection.KEEP_ALIVE_INTERVAL;
         private String channelizer = Channelizer.WebSocketChannelizer.class.getName();
         private boolean enableSsl = false;
@@ -691,6 +709,28 @@ public final class Cluster {
             return this;
         }
 
+        /**
+         * The number of results the server may send for a request ahead of those that were read from its
+         * {@link ResultSet}, which lets many requests share a connection without a large result holding up the
+         * others. The default is 0, which leaves the server to send results as fast as the connection allows. A value
+         * above 0 requires a Gremlin Server of the same version as the driver or later, as older servers answer the
+         * credits that the client sends back with an error that fails the request.
+         */
+        public Builder resultCredits(final int credits) {
+            this.resultCredits = credits;
+            return this;
+        }
+
+        /**
+         * The amount of time in milliseconds to wait for a host to start responding to a traversal that only reads
+         * the graph before the traversal is also sent to another host, where the response that starts first is the
+         * one that is used. The default is 0, which never sends a request to more than one host.
+         */
+        public Builder hedgeDelay(final long hedgeDelay) {
+            this.hedgeDelay = hedgeDelay;
+            return this;
+        }
+
         /**
          * The maximum amount of time to wait for a connection to be borrowed from the connection pool.
          */
@@ -896,6 +936,8 @@ public final class Cluster {
             connectionPoolSettings.reconnectInitialDelay = builder.reconnectInitialDelay;
             connectionPoolSettings.reconnectInterval = builder.reconnectInterval;
             connectionPoolSettings.resultIterationBatchSize = builder.resultIterationBatchSize;
+            connectionPoolSettings.resultCredits = builder.resultCredits;
+            connectionPoolSettings.hedgeDelay = builder.hedgeDelay;
             connectionPoolSettings.enableSsl = builder.enableSsl;
             connectionPoolSettings.trustCertChainFile = builder.trustCertChainFile;
             connectionPoolSettings.keyCertChainFile = builder.keyCertChainFile;
@@ -959,6 +1001,12 @@ public final class Cluster {
             if (builder.resultIterationBatchSize < 1)
                 throw new IllegalArgumentException("resultIterationBatchSize must be greater than zero");
 
+            if (builder.resultCredits < 0)
+                throw new IllegalArgumentException("resultCredits must be greater than or equal to zero");
+
+            if (builder.hedgeDelay < 0)
+                throw new IllegalArgumentException("hedgeDelay must be greater than or equal to zero");
+
             if (builder.nioPoolSize < 1)
                 throw new IllegalArgumentException("nioPoolSize must be greater than zero");
 
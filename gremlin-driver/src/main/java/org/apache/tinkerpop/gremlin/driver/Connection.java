@@ -72,6 +72,8 @@ final class Connection {
     public static final int RECONNECT_INITIAL_DELAY = 1000;
     public static final int RECONNECT_INTERVAL = 1000;
     public static final int RESULT_ITERATION_BATCH_SIZE = 64;
+    public static final int RESULT_CREDITS = 0;
+    public static final long HEDGE_DELAY = 0;
     public static final long KEEP_ALIVE_INTERVAL = 1800000;
 
     /**
@@ -159,6 +161,17 @@ final class Connection {
         return pending;
     }
 
+    /**
+     * Tells the server that it may send more results for a request, as that many of the results it already sent were
+     * read from its {@link ResultQueue}. There is no response to the message.
+     */
+    private void grantCredits(final UUID requestId, final int credits) {
+        if (!pending.containsKey(requestId) || !channel.isActive()) return;
+        channel.writeAndFlush(RequestMessage.build(Tokens.OPS_CREDIT)
+                .overrideRequestId(requestId)
+                .addArg(Tokens.ARGS_CREDITS, credits).create());
+    }
+
     public synchronized CompletableFuture<Void> closeAsync() {
         if (isClosing()) return closeFuture.get();
 
@@ -201,6 +214,10 @@ final class Connection {
         // the promise so that the client knows that that it can start checking for results.
         final Connection thisConnection = this;
 
+        // the host counts the request as in flight until its response is complete, which is when its latency is taken
+        final long start = System.nanoTime();
+        pool.host.requestSent();
+
         final ChannelPromise requestPromise = channel.newPromise()
                 .addListener(f -> {
                     if (!f.isSuccess()) {
@@ -208,10 +225,12 @@ final class Connection {
                             logger.debug(String.format("Write on connection %s failed", thisConnection.getConnectionInfo()), f.cause());
                         thisConnection.isDead = true;
                         thisConnection.returnToPool();
+                        pool.host.requestFailed();
                         cluster.executor().submit(() -> future.completeExceptionally(f.cause()));
                     } else {
                         final LinkedBlockingQueue<Result> resultLinkedBlockingQueue = new LinkedBlockingQueue<>();
                         final CompletableFuture<Void> readCompleted = new CompletableFuture<>();
+                        readCompleted.whenComplete((v, t) -> pool.host.responseCompleted(System.nanoTime() - start));
 
                         // the callback for when the read was successful, meaning that ResultQueue.markComplete()
                         // was called
@@ -248,13 +267,20 @@ final class Connection {
                             return null;
                         });
 
-                        final ResultQueue handler = new ResultQueue(resultLinkedBlockingQueue, readCompleted);
+                        final int resultCredits = pool.settings().resultCredits;
+                        final ResultQueue handler = new ResultQueue(resultLinkedBlockingQueue, readCompleted, resultCredits,
+                                credits -> thisConnection.grantCredits(requestMessage.getRequestId(), credits));
                         pending.put(requestMessage.getRequestId(), handler);
                         cluster.executor().submit(() -> future.complete(
                                 new ResultSet(handler, cluster.executor(), readCompleted, requestMessage, pool.host)));
                     }
                 });
-        channel.writeAndFlush(requestMessage, requestPromise);
+        // with credits the server only sends as many results as the client has room for, so that a large result
+        // can't hold up the results of the other requests that share the connection
+        final int resultCredits = pool.settings().resultCredits;
+        channel.writeAndFlush(resultCredits > 0 ?
+                RequestMessage.from(requestMessage).addArg(Tokens.ARGS_CREDITS, resultCredits).create() : requestMessage,
+                requestPromise);
 
         // try to keep the connection alive if the channel allows such things - websockets will
         if (channelizer.supportsKeepAlive() && keepAliveInterval > 0) {
@@ -26,22 +26,40 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
 /**
- * Identifies a server within the {@link Cluster} at a specific address.
+ * Identifies a server within the {@link Cluster} at a specific address. The host keeps track of the requests that are
+ * in flight to it and of how long it takes to respond to them, which a {@link LoadBalancingStrategy} can use to steer
+ * requests away from a server that is overloaded or paused.
  *
  * @author Stephen Mallette (http://stephen.genoprime.com)
  */
 public final class Host {
     private static final Logger logger = LoggerFactory.getLogger(Host.class);
+
+    /**
+     * The weight that a response is given in the average latency if it is quicker than the average.
+     */
+    private static final double LATENCY_WEIGHT = 0.3;
+
+    /**
+     * The time in nanoseconds over which the average latency decays to about a third of its value without responses.
+     */
+    private static final double LATENCY_DECAY = TimeUnit.SECONDS.toNanos(10);
+
     private final InetSocketAddress address;
     private final URI hostUri;
     private volatile boolean isAvailable;
     private final Cluster cluster;
     private final String hostLabel;
 
+    private final AtomicInteger inFlight = new AtomicInteger(0);
+    private double latency = 0;
+    private long latencyUpdated = System.nanoTime();
+
     final AtomicReference<Boolean> retryInProgress = new AtomicReference<>(Boolean.FALSE);
     ScheduledFuture<?> retryThread = null;
 
@@ -64,6 +82,39 @@ public final class Host {
         return isAvailable;
     }
 
+    /**
+     * Gets the number of requests that were sent to the host and are waiting for the end of their response.
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Gets the moving average of the time in milliseconds that the host took to complete its responses. The average
+     * rises at once to a response that took longer, eases toward a response that was quicker and decays toward zero
+     * while no responses arrive, so that a host that was slow is tried again once it had time to recover. It is zero
+     * until the host completed its first response.
+     */
+    public synchronized double getLatency() {
+        return latency * Math.exp(-(System.nanoTime() - latencyUpdated) / LATENCY_DECAY);
+    }
+
+    void requestSent() {
+        inFlight.incrementAndGet();
+    }
+
+    void requestFailed() {
+        inFlight.decrementAndGet();
+    }
+
+    synchronized void responseCompleted(final long latencyNanos) {
+        inFlight.decrementAndGet();
+        final double current = getLatency();
+        final double responseLatency = latencyNanos / 1000000d;
+        latency = responseLatency > current ? responseLatency : current + LATENCY_WEIGHT * (responseLatency - current);
+        latencyUpdated = System.nanoTime();
+    }
+
     void makeAvailable() {
         isAvailable = true;
     }
@@ -26,6 +26,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -116,4 +117,99 @@ public interface LoadBalancingStrategy extends Host.Listener {
             onUnavailable(host);
         }
     }
+
+    /**
+     * A strategy that picks two of the available hosts at random and sends the {@link RequestMessage} to the one of
+     * the two with the lower cost, as determined by the implementation, which keeps all requests from piling onto the
+     * host that currently looks best while still steering them away from one that is struggling. The other host of the
+     * two is next in line, followed by the rest of the hosts.
+     */
+    public static abstract class PowerOfTwoChoices implements LoadBalancingStrategy {
+
+        private final CopyOnWriteArrayList<Host> availableHosts = new CopyOnWriteArrayList<>();
+
+        /**
+         * Gets the cost of sending a request to the host, where the host with the lower cost is chosen. Hosts of the
+         * same cost are told apart by the number of requests in flight to them.
+         */
+        protected abstract double cost(final Host host);
+
+        @Override
+        public void initialize(final Cluster cluster, final Collection<Host> hosts) {
+            this.availableHosts.addAll(hosts);
+        }
+
+        @Override
+        public Iterator<Host> select(final RequestMessage msg) {
+            final List<Host> hosts = new ArrayList<>();
+
+            // a host could be marked as dead in which case we dont need to send messages to it - just skip it for
+            // now. it might come back online later
+            availableHosts.iterator().forEachRemaining(host -> {
+                if (host.isAvailable()) hosts.add(host);
+            });
+
+            if (hosts.size() > 1) {
+                final Random random = ThreadLocalRandom.current();
+                final int first = random.nextInt(hosts.size());
+                final int second = (first + 1 + random.nextInt(hosts.size() - 1)) % hosts.size();
+                final Host a = hosts.get(first);
+                final Host b = hosts.get(second);
+                final double costOfA = cost(a);
+                final double costOfB = cost(b);
+                final boolean preferA = costOfA < costOfB || (costOfA == costOfB && a.getInFlight() <= b.getInFlight());
+
+                hosts.remove(a);
+                hosts.remove(b);
+                hosts.add(0, preferA ? b : a);
+                hosts.add(0, preferA ? a : b);
+            }
+
+            return hosts.iterator();
+        }
+
+        @Override
+        public void onAvailable(final Host host) {
+            this.availableHosts.addIfAbsent(host);
+        }
+
+        @Override
+        public void onUnavailable(final Host host) {
+            this.availableHosts.remove(host);
+        }
+
+        @Override
+        public void onNew(final Host host) {
+            onAvailable(host);
+        }
+
+        @Override
+        public void onRemove(final Host host) {
+            onUnavailable(host);
+        }
+    }
+
+    /**
+     * A strategy that prefers the host with the fewest requests in flight, so that a host that is slow to respond
+     * is given fewer requests as they build up on it.
+     */
+    public static class LeastInFlight extends PowerOfTwoChoices {
+        @Override
+        protected double cost(final Host host) {
+            return host.getInFlight();
+        }
+    }
+
+    /**
+     * A strategy that prefers the host with the lowest {@link Host#getLatency() average latency}, multiplied by the
+     * number of requests that would be in flight to it, so that requests quickly move away from a host that
+     * starts to take longer to respond, as it would during a long garbage collection pause, and return to it once
+     * its latency has come back down.
+     */
+    public static class LeastLatency extends PowerOfTwoChoices {
+        @Override
+        protected double cost(final Host host) {
+            return host.getLatency() * (host.getInFlight() + 1);
+        }
+    }
 }
@@ -36,10 +36,16 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
 
 /**
  * A queue of incoming {@link Result} objects.  The queue is updated by the {@link Handler.GremlinResponseHandler}
  * until a response terminator is identified.
+ * <p/>
+ * When the request was sent with credits, the server only sends that many results ahead of those that were read, so
+ * the queue hands the credits for the results that are read back to the server by way of a callback, once they add up
+ * to half of the credits. Results that are waited on with {@link #await(int)} or {@link #awaitAll()} are credited as
+ * they arrive, as the server would otherwise stop before there are enough of them.
  *
  * @author Stephen Mallette (http://stephen.genoprime.com)
  */
@@ -54,11 +60,40 @@ final class ResultQueue {
 
     private final CompletableFuture<Void> readComplete;
 
+    private final CompletableFuture<Void> responded = new CompletableFuture<>();
+
     private final Queue<Pair<CompletableFuture<List<Result>>,Integer>> waiting = new ConcurrentLinkedQueue<>();
 
+    private final int credits;
+
+    private final IntConsumer creditor;
+
+    private volatile boolean allAwaited = false;
+
+    /**
+     * The number of results in the queue that were already credited as they were waited on.
+     */
+    private int creditedInQueue = 0;
+
+    /**
+     * The number of results that were credited but not yet handed to the {@link #creditor}.
+     */
+    private int uncredited = 0;
+
     public ResultQueue(final LinkedBlockingQueue<Result> resultLinkedBlockingQueue, final CompletableFuture<Void> readComplete) {
+        this(resultLinkedBlockingQueue, readComplete, 0, credits -> {});
+    }
+
+    /**
+     * Creates a queue for a request that was sent with the specified number of credits, where the {@code creditor}
+     * is given the credits to send back to the server as the results are read.
+     */
+    public ResultQueue(final LinkedBlockingQueue<Result> resultLinkedBlockingQueue, final CompletableFuture<Void> readComplete,
+                       final int credits, final IntConsumer creditor) {
         this.resultLinkedBlockingQueue = resultLinkedBlockingQueue;
         this.readComplete = readComplete;
+        this.credits = credits;
+        this.creditor = creditor;
     }
 
     /**
@@ -68,7 +103,9 @@ final class ResultQueue {
      */
     public void add(final Result result) {
         this.resultLinkedBlockingQueue.offer(result);
+        this.responded.complete(null);
         tryDrainNextWaiting(false);
+        if (allAwaited || !waiting.isEmpty()) creditQueued();
     }
 
     /**
@@ -140,6 +177,7 @@ final class ResultQueue {
         waiting.add(Pair.with(result, items));
 
         tryDrainNextWaiting(false);
+        if (!waiting.isEmpty()) creditQueued();
 
         return result;
     }
@@ -158,9 +196,27 @@ final class ResultQueue {
         return readComplete.isDone();
     }
 
+    /**
+     * Gets a future that completes once the first result, the end of the response or an error arrives.
+     */
+    CompletableFuture<Void> responded() {
+        return responded;
+    }
+
     void drainTo(final Collection<Result> collection) {
         if (error.get() != null) throw new RuntimeException(error.get());
-        resultLinkedBlockingQueue.drainTo(collection);
+        synchronized (this) {
+            creditTaken(resultLinkedBlockingQueue.drainTo(collection));
+        }
+    }
+
+    /**
+     * Signals that all of the results are waited on before any of them are read, so that they are credited as they
+     * arrive.
+     */
+    void awaitAll() {
+        allAwaited = true;
+        creditQueued();
     }
 
     void markComplete() {
@@ -170,6 +226,7 @@ final class ResultQueue {
             add(new Result(aggregatedResult));
 
         this.readComplete.complete(null);
+        this.responded.complete(null);
 
         this.drainAllWaiting();
     }
@@ -177,6 +234,7 @@ final class ResultQueue {
     void markError(final Throwable throwable) {
         error.set(throwable);
         this.readComplete.completeExceptionally(throwable);
+        this.responded.complete(null);
         this.drainAllWaiting();
     }
 
@@ -191,7 +249,7 @@ final class ResultQueue {
             final int items = nextWaiting.getValue1();
             final CompletableFuture<List<Result>> future = nextWaiting.getValue0();
             final List<Result> results = new ArrayList<>(items);
-            resultLinkedBlockingQueue.drainTo(results, items);
+            creditTaken(resultLinkedBlockingQueue.drainTo(results, items));
 
             // it's important to check for error here because a future may have already been queued in "waiting" prior
             // to the first response back from the server. if that happens, any "waiting" futures should be completed
@@ -205,6 +263,37 @@ final class ResultQueue {
         }
     }
 
+    /**
+     * Credits the results that were taken from the queue, other than those that were credited as they arrived.
+     */
+    private synchronized void creditTaken(final int taken) {
+        if (credits < 1) return;
+        final int alreadyCredited = Math.min(taken, creditedInQueue);
+        creditedInQueue -= alreadyCredited;
+        credit(taken - alreadyCredited);
+    }
+
+    /**
+     * Credits the results in the queue that were not credited yet.
+     */
+    private synchronized void creditQueued() {
+        if (credits < 1) return;
+        final int queued = resultLinkedBlockingQueue.size();
+        if (queued > creditedInQueue) {
+            credit(queued - creditedInQueue);
+            creditedInQueue = queued;
+        }
+    }
+
+    private void credit(final int results) {
+        if (results < 1 || readComplete.isDone()) return;
+        uncredited += results;
+        if (uncredited >= Math.max(1, credits / 2)) {
+            creditor.accept(uncredited);
+            uncredited = 0;
+        }
+    }
+
     /**
      * Completes all remaining futures.
      */
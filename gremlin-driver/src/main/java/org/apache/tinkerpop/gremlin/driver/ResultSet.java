@@ -80,6 +80,14 @@ public final class ResultSet implements Iterable<Result> {
         return readCompleted.isDone();
     }
 
+    /**
+     * Returns a future that will complete when the server has started to respond, with a result, an error or the end
+     * of a response that has no results.
+     */
+    CompletableFuture<Void> respondedAsync() {
+        return resultQueue.responded();
+    }
+
     /**
      * Returns a future that will complete when all items have been returned from the server.
      */
@@ -127,6 +135,7 @@ public final class ResultSet implements Iterable<Result> {
      * {@link Iterator} or {@link Stream} options, as the results will be held in memory at once.
      */
     public CompletableFuture<List<Result>> all() {
+        resultQueue.awaitAll();
         return readCompleted.thenApplyAsync(it -> {
             final List<Result> list = new ArrayList<>();
             resultQueue.drainTo(list);
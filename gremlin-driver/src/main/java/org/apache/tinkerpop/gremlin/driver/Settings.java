@@ -205,6 +205,12 @@ final class Settings {
             if (connectionPoolConf.containsKey("resultIterationBatchSize"))
                 cpSettings.resultIterationBatchSize = connectionPoolConf.getInt("resultIterationBatchSize");
 
+            if (connectionPoolConf.containsKey("resultCredits"))
+                cpSettings.resultCredits = connectionPoolConf.getInt("resultCredits");
+
+            if (connectionPoolConf.containsKey("hedgeDelay"))
+                cpSettings.hedgeDelay = connectionPoolConf.getLong("hedgeDelay");
+
             if (connectionPoolConf.containsKey("keepAliveInterval"))
                 cpSettings.keepAliveInterval = connectionPoolConf.getLong("keepAliveInterval");
 
@@ -320,6 +326,23 @@ final class Settings {
          */
         public int resultIterationBatchSize = Connection.RESULT_ITERATION_BATCH_SIZE;
 
+        /**
+         * The number of results that the server may send for a request ahead of those that were read from its
+         * {@link ResultSet}, which the client tops up as it reads them. This keeps a large result from holding up the
+         * results of the other requests on the same connection, so that many requests can share a connection. The
+         * default value is 0, which means the server sends results as fast as the connection allows. A value above 0
+         * requires a Gremlin Server of the same version as the driver or later, as older servers answer the credits
+         * that the client sends back with an error that fails the request.
+         */
+        public int resultCredits = Connection.RESULT_CREDITS;
+
+        /**
+         * The amount of time in milliseconds to wait for a host to start responding to a traversal that only reads the
+         * graph before the traversal is also sent to another host, where the response that starts first is the one
+         * that is used. The default value is 0, which means that requests are never sent to more than one host.
+         */
+        public long hedgeDelay = Connection.HEDGE_DELAY;
+
         /**
          * The constructor for the channel that connects to the server. This value should be the fully qualified
          * class name of a Gremlin Driver {@link Channelizer} implementation.  By default this value is set to
@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.driver;
+
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ */
+public class ClientTest {
+
+    private static final long HEDGE_DELAY = 200;
+
+    private final RequestMessage msg = RequestMessage.build(Tokens.OPS_EVAL).add(Tokens.ARGS_GREMLIN, "1+1").create();
+    private Cluster cluster;
+    private Host primary;
+    private Host hedge;
+    private HedgingClient client;
+
+    @Before
+    public void setup() {
+        final FixedOrder strategy = new FixedOrder();
+        cluster = Cluster.build().hedgeDelay(HEDGE_DELAY).loadBalancingStrategy(strategy).create();
+        primary = new Host(new InetSocketAddress("localhost", 8182), cluster);
+        hedge = new Host(new InetSocketAddress("localhost", 8183), cluster);
+        strategy.hosts = Arrays.asList(primary, hedge);
+        client = new HedgingClient(cluster, primary);
+    }
+
+    @After
+    public void tearDown() {
+        cluster.close();
+    }
+
+    @Test
+    public void shouldTakeTheResponseOfTheHedgeWhenThePrimaryIsSlow() throws Exception {
+        // the primary host never responds while the hedge responds as soon as it is sent the request
+        client.respondOnSubmit(hedge);
+
+        final ResultSet resultSet = client.submitAsync(msg).get(5, TimeUnit.SECONDS);
+        assertSame(hedge, resultSet.getHost());
+        assertEquals(2, resultSet.one().getInt());
+
+        assertEquals(2, client.submitted.size());
+        final RequestMessage hedged = client.submitted.get(1);
+        assertNotEquals(msg.getRequestId(), hedged.getRequestId());
+        assertSame(hedge, hedged.getArgs().get(Tokens.ARGS_HOST));
+
+        // the primary is read to the end once it responds so that its connection is freed up
+        final ResultQueue slow = client.queues.get(primary);
+        slow.add(new Result(2));
+        slow.markComplete();
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (!slow.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(slow.isEmpty());
+    }
+
+    @Test
+    public void shouldCancelTheHedgeWhenThePrimaryRespondsInTime() throws Exception {
+        client.respondOnSubmit(primary);
+
+        final ResultSet resultSet = client.submitAsync(msg).get(5, TimeUnit.SECONDS);
+        assertSame(primary, resultSet.getHost());
+        assertEquals(2, resultSet.one().getInt());
+
+        // give the hedge time to have been sent had it not been cancelled
+        Thread.sleep(HEDGE_DELAY * 3);
+        assertEquals(1, client.submitted.size());
+        assertFalse(client.queues.containsKey(hedge));
+    }
+
+    /**
+     * A {@link Client} that answers requests from a {@link ResultQueue} per host rather than sending them to a server.
+     */
+    private static class HedgingClient extends Client {
+        private final Host primary;
+        private final List<Host> responsive = new CopyOnWriteArrayList<>();
+        final List<RequestMessage> submitted = new CopyOnWriteArrayList<>();
+        final Map<Host, ResultQueue> queues = new ConcurrentHashMap<>();
+
+        HedgingClient(final Cluster cluster, final Host primary) {
+            super(cluster, Client.Settings.build().create());
+            this.primary = primary;
+        }
+
+        void respondOnSubmit(final Host host) {
+            responsive.add(host);
+        }
+
+        @Override
+        CompletableFuture<ResultSet> submitToConnection(final RequestMessage msg) {
+            submitted.add(msg);
+            final Host host = msg.<Host>optionalArgs(Tokens.ARGS_HOST).orElse(primary);
+            final CompletableFuture<Void> completed = new CompletableFuture<>();
+            final ResultQueue queue = new ResultQueue(new LinkedBlockingQueue<>(), completed);
+            queues.put(host, queue);
+            if (responsive.contains(host)) {
+                queue.add(new Result(2));
+                queue.markComplete();
+            }
+            return CompletableFuture.completedFuture(new ResultSet(queue, cluster.executor(), completed, msg, host));
+        }
+
+        @Override
+        protected boolean isHedgeable(final RequestMessage msg) {
+            return true;
+        }
+
+        @Override
+        protected void initializeImplementation() {
+            // nothing to connect to
+        }
+
+        @Override
+        protected Connection chooseConnection(final RequestMessage msg) {
+            throw new UnsupportedOperationException("Requests are answered by the client itself");
+        }
+
+        @Override
+        public CompletableFuture<Void> closeAsync() {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public boolean isClosing() {
+            return false;
+        }
+    }
+
+    /**
+     * Selects the hosts in the order they were given.
+     */
+    private static class FixedOrder implements LoadBalancingStrategy {
+        private volatile List<Host> hosts;
+
+        @Override
+        public void initialize(final Cluster cluster, final Collection<Host> hosts) {
+            // the hosts are set by the test
+        }
+
+        @Override
+        public Iterator<Host> select(final RequestMessage msg) {
+            return hosts.iterator();
+        }
+
+        @Override
+        public void onAvailable(final Host host) {
+        }
+
+        @Override
+        public void onUnavailable(final Host host) {
+        }
+
+        @Override
+        public void onNew(final Host host) {
+        }
+
+        @Override
+        public void onRemove(final Host host) {
+        }
+    }
+}
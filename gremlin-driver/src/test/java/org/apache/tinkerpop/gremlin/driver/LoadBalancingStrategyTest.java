@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.driver;
+
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ */
+public class LoadBalancingStrategyTest {
+
+    private final RequestMessage msg = RequestMessage.build(Tokens.OPS_EVAL).create();
+    private Cluster cluster;
+    private Host busy;
+    private Host idle;
+
+    @Before
+    public void setup() {
+        cluster = Cluster.open();
+        busy = new Host(new InetSocketAddress("localhost", 8182), cluster);
+        idle = new Host(new InetSocketAddress("localhost", 8183), cluster);
+        busy.makeAvailable();
+        idle.makeAvailable();
+    }
+
+    @After
+    public void tearDown() {
+        cluster.close();
+    }
+
+    @Test
+    public void shouldSelectHostWithLeastInFlight() {
+        busy.requestSent();
+        busy.requestSent();
+        idle.requestSent();
+
+        final LoadBalancingStrategy strategy = new LoadBalancingStrategy.LeastInFlight();
+        strategy.initialize(cluster, Arrays.asList(busy, idle));
+        for (int ix = 0; ix < 100; ix++) {
+            assertEquals(Arrays.asList(idle, busy), IteratorUtils.list(strategy.select(msg)));
+        }
+    }
+
+    @Test
+    public void shouldSelectHostWithLeastLatency() {
+        busy.requestSent();
+        busy.responseCompleted(TimeUnit.MILLISECONDS.toNanos(500));
+        idle.requestSent();
+        idle.responseCompleted(TimeUnit.MILLISECONDS.toNanos(5));
+
+        final LoadBalancingStrategy strategy = new LoadBalancingStrategy.LeastLatency();
+        strategy.initialize(cluster, Arrays.asList(busy, idle));
+        for (int ix = 0; ix < 100; ix++) {
+            assertEquals(Arrays.asList(idle, busy), IteratorUtils.list(strategy.select(msg)));
+        }
+    }
+
+    @Test
+    public void shouldSelectAllAvailableHosts() {
+        final Host other = new Host(new InetSocketAddress("localhost", 8184), cluster);
+        other.makeAvailable();
+        final Host down = new Host(new InetSocketAddress("localhost", 8185), cluster);
+
+        final LoadBalancingStrategy strategy = new LoadBalancingStrategy.LeastInFlight();
+        strategy.initialize(cluster, Arrays.asList(busy, idle, other, down));
+        for (int ix = 0; ix < 100; ix++) {
+            final List<Host> selected = IteratorUtils.list(strategy.select(msg));
+            assertEquals(3, selected.size());
+            assertEquals(new HashSet<>(Arrays.asList(busy, idle, other)), new HashSet<>(selected));
+        }
+    }
+
+    @Test
+    public void shouldRaiseLatencyAtOnceAndLowerItGradually() {
+        busy.requestSent();
+        busy.responseCompleted(TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(100d, busy.getLatency(), 1d);
+
+        busy.requestSent();
+        busy.responseCompleted(TimeUnit.MILLISECONDS.toNanos(10));
+        assertEquals(73d, busy.getLatency(), 1d);
+
+        busy.requestSent();
+        busy.responseCompleted(TimeUnit.MILLISECONDS.toNanos(1000));
+        assertEquals(1000d, busy.getLatency(), 5d);
+        assertEquals(0, busy.getInFlight());
+    }
+}
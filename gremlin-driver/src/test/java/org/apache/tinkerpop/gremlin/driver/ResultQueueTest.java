@@ -24,6 +24,8 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.util.BulkSet;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -31,6 +33,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -67,6 +70,47 @@ public class ResultQueueTest extends AbstractResultQueueTest {
         }
     }
 
+    @Test
+    public void shouldGrantCreditsAsResultsAreRead() throws Exception {
+        final List<Integer> granted = new ArrayList<>();
+        final ResultQueue creditedQueue = new ResultQueue(new LinkedBlockingQueue<>(), readCompleted, 10, granted::add);
+        for (int ix = 0; ix < 10; ix++) {
+            creditedQueue.add(new Result("test-" + ix));
+        }
+        assertThat(granted.isEmpty(), is(true));
+
+        assertEquals(4, creditedQueue.await(4).get().size());
+        assertThat(granted.isEmpty(), is(true));
+        assertEquals(1, creditedQueue.await(1).get().size());
+        assertEquals(Collections.singletonList(5), granted);
+
+        final List<Result> rest = new ArrayList<>();
+        creditedQueue.drainTo(rest);
+        assertEquals(5, rest.size());
+        assertEquals(Arrays.asList(5, 5), granted);
+    }
+
+    @Test
+    public void shouldGrantCreditsForResultsAsTheyArriveWhenMoreAreAwaitedThanCredited() throws Exception {
+        final List<Integer> granted = new ArrayList<>();
+        final ResultQueue creditedQueue = new ResultQueue(new LinkedBlockingQueue<>(), readCompleted, 4, granted::add);
+        creditedQueue.add(new Result("test-0"));
+
+        final CompletableFuture<List<Result>> future = creditedQueue.await(6);
+        for (int ix = 1; ix < 6; ix++) {
+            creditedQueue.add(new Result("test-" + ix));
+        }
+        assertEquals(6, future.get().size());
+        assertEquals(Arrays.asList(2, 2, 2), granted);
+
+        // results that were credited as they arrived are not credited again as they are read
+        creditedQueue.awaitAll();
+        creditedQueue.add(new Result("test-6"));
+        creditedQueue.add(new Result("test-7"));
+        creditedQueue.drainTo(new ArrayList<>());
+        assertEquals(Arrays.asList(2, 2, 2, 2), granted);
+    }
+
     @Test
     public void shouldBeEmptyThenNotEmpty() {
         assertThat(resultQueue.isEmpty(), is(true));
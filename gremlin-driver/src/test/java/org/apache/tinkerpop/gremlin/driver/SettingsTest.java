@@ -57,6 +57,8 @@ public class SettingsTest {
         conf.setProperty("connectionPool.reconnectInterval", 900);
         conf.setProperty("connectionPool.reconnectInitialDelay", 1000);
         conf.setProperty("connectionPool.resultIterationBatchSize", 1100);
+        conf.setProperty("connectionPool.resultCredits", 512);
+        conf.setProperty("connectionPool.hedgeDelay", 250);
         conf.setProperty("connectionPool.channelizer", "channelizer0");
 
         final Settings settings = Settings.from(conf);
@@ -83,6 +85,8 @@ public class SettingsTest {
         assertEquals(900, settings.connectionPool.reconnectInterval);
         assertEquals(1000, settings.connectionPool.reconnectInitialDelay);
         assertEquals(1100, settings.connectionPool.resultIterationBatchSize);
+        assertEquals(512, settings.connectionPool.resultCredits);
+        assertEquals(250, settings.connectionPool.hedgeDelay);
         assertEquals("channelizer0", settings.connectionPool.channelizer);
     }
 }
@@ -93,6 +93,24 @@ class VertexProgramStrategy(TraversalStrategy):
 # FINALIZATION STRATEGIES #
 ###########################
 
+class SpillStrategy(TraversalStrategy):
+    def __init__(self, max_in_memory=None, spill_directory=None):
+        TraversalStrategy.__init__(self)
+        if max_in_memory is not None:
+            self.configuration["maxInMemory"] = max_in_memory
+        if spill_directory is not None:
+            self.configuration["spillDirectory"] = spill_directory
+
+
+class ParallelStrategy(TraversalStrategy):
+    def __init__(self, threads=None, batch_size=None):
+        TraversalStrategy.__init__(self)
+        if threads is not None:
+            self.configuration["threads"] = threads
+        if batch_size is not None:
+            self.configuration["batchSize"] = batch_size
+
+
 class MatchAlgorithmStrategy(TraversalStrategy):
     def __init__(self, match_algorithm=None):
         TraversalStrategy.__init__(self)
@@ -164,6 +182,16 @@ class RepeatUnrollStrategy(TraversalStrategy):
         TraversalStrategy.__init__(self)
 
 
+class ShortestPathStrategy(TraversalStrategy):
+    def __init__(self):
+        TraversalStrategy.__init__(self)
+
+
+class ReachabilityStrategy(TraversalStrategy):
+    def __init__(self):
+        TraversalStrategy.__init__(self)
+
+
 class GraphFilterStrategy(TraversalStrategy):
     def __init__(self):
         TraversalStrategy.__init__(self)
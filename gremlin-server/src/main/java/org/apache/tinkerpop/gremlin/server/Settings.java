@@ -118,6 +118,13 @@ public class Settings {
      */
     public int resultIterationBatchSize = 64;
 
+    /**
+     * When greater than zero, the number of items in a particular resultset that are batched together is adjusted as
+     * they are serialized so that each batch comes close to this number of bytes, with the
+     * {@link #resultIterationBatchSize} as the size of the first batch.
+     */
+    public int resultIterationFrameSize = 0;
+
     /**
      * The maximum length of the initial line (e.g. {@code "GET / HTTP/1.0"}) processed in a request, which essentially
      * controls the maximum length of the submitted URI. This setting ties to the Netty {@code HttpRequestDecoder}.
@@ -18,6 +18,7 @@
  */
 package org.apache.tinkerpop.gremlin.server.handler;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.util.ReferenceCounted;
 
 /**
@@ -37,6 +38,15 @@ public class Frame {
         return msg;
     }
 
+    /**
+     * The number of bytes of a {@code ByteBuf} or the number of characters of a {@code String} held by the frame.
+     */
+    public int size() {
+        if (msg instanceof ByteBuf)
+            return ((ByteBuf) msg).readableBytes();
+        return msg instanceof String ? ((String) msg).length() : 0;
+    }
+
     /**
      * If the object contained in the frame is {@code ReferenceCounted} then it may need to be released or else
      * Netty will generate warnings that counted resources are leaking.
@@ -83,4 +83,22 @@ public class OpExecutorHandler extends SimpleChannelInboundHandler<Pair<RequestM
             ReferenceCountUtil.release(objects);
         }
     }
+
+    /**
+     * Wakes up the threads that are waiting to write results to the channel once the client has caught up.
+     */
+    @Override
+    public void channelWritabilityChanged(final ChannelHandlerContext ctx) throws Exception {
+        WritabilityMonitor.signal(ctx.channel());
+        super.channelWritabilityChanged(ctx);
+    }
+
+    /**
+     * Wakes up the threads that are waiting to write results to the channel so that they stop writing to it.
+     */
+    @Override
+    public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+        WritabilityMonitor.signal(ctx.channel());
+        super.channelInactive(ctx);
+    }
 }
@@ -18,6 +18,7 @@
  */
 package org.apache.tinkerpop.gremlin.server.handler;
 
+import org.apache.tinkerpop.gremlin.driver.Tokens;
 import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
@@ -63,6 +64,14 @@ public class OpSelectorHandler extends MessageToMessageDecoder<RequestMessage> {
     @Override
     protected void decode(final ChannelHandlerContext ctx, final RequestMessage msg,
                           final List<Object> objects) throws Exception {
+        // credits are granted right here on the io thread as the request they are for may be waiting on them in a
+        // worker. they have no response of their own.
+        if (msg.getOp().equals(Tokens.OPS_CREDIT)) {
+            msg.optionalArgs(Tokens.ARGS_CREDITS).ifPresent(credits ->
+                    WritabilityMonitor.of(ctx.channel()).grantCredits(msg.getRequestId(), ((Number) credits).longValue()));
+            return;
+        }
+
         final Context gremlinServerContext = new Context(msg, ctx, settings,
                 graphManager, gremlinExecutor, this.scheduledExecutorService);
         try {
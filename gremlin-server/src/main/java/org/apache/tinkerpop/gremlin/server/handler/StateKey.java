@@ -54,4 +54,9 @@ public class StateKey {
      * The key for the current request.
      */
     public static final AttributeKey<RequestMessage> REQUEST_MESSAGE = AttributeKey.valueOf("request");
+
+    /**
+     * The key for the {@link WritabilityMonitor} that response writers wait on when the channel is not writable.
+     */
+    public static final AttributeKey<WritabilityMonitor> WRITABILITY = AttributeKey.valueOf("writability");
 }
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.handler;
+
+import io.netty.channel.Channel;
+import org.apache.tinkerpop.gremlin.driver.Tokens;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lets the thread that writes a response to a {@code Channel} wait for the channel to become writable again once the
+ * {@code writeBufferHighWaterMark} is exceeded, rather than polling it. The thread is woken by the
+ * {@link OpExecutorHandler} when Netty fires a writability change for the channel or the channel is closed. There is
+ * one monitor per channel, which is held as the {@link StateKey#WRITABILITY} attribute of the channel.
+ * <p/>
+ * The monitor also keeps the credits of the requests on the channel that were sent with a
+ * {@link Tokens#ARGS_CREDITS} argument. Such a request only has results written while it has credits left, and its
+ * credits are topped up by {@link Tokens#OPS_CREDIT} messages that the client sends as it reads the results, so that
+ * a large result does not fill the connection ahead of the results of the other requests that share it.
+ *
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ */
+public final class WritabilityMonitor {
+
+    private final Channel channel;
+    private final Map<UUID, Long> credits = new HashMap<>();
+
+    private WritabilityMonitor(final Channel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Gets the monitor of the channel, creating it if the channel does not have one yet.
+     */
+    public static WritabilityMonitor of(final Channel channel) {
+        final WritabilityMonitor monitor = channel.attr(StateKey.WRITABILITY).get();
+        if (monitor != null) return monitor;
+
+        final WritabilityMonitor created = new WritabilityMonitor(channel);
+        final WritabilityMonitor existing = channel.attr(StateKey.WRITABILITY).setIfAbsent(created);
+        return null == existing ? created : existing;
+    }
+
+    /**
+     * Wakes up the threads waiting on the monitor of the channel, if it has one.
+     */
+    static void signal(final Channel channel) {
+        final WritabilityMonitor monitor = channel.attr(StateKey.WRITABILITY).get();
+        if (monitor != null) monitor.signal();
+    }
+
+    private synchronized void signal() {
+        notifyAll();
+    }
+
+    /**
+     * Starts counting the credits of a request, which may be written as many results as it has credits.
+     */
+    public synchronized void openCredits(final UUID requestId, final long credits) {
+        this.credits.put(requestId, credits);
+    }
+
+    /**
+     * Stops counting the credits of a request once its response is written or abandoned.
+     */
+    public synchronized void closeCredits(final UUID requestId) {
+        this.credits.remove(requestId);
+    }
+
+    /**
+     * Adds to the credits of a request and wakes up the thread that may be waiting on them. Credits for a request
+     * that is not counted, as it did not ask for them or has already completed, are ignored.
+     */
+    public synchronized void grantCredits(final UUID requestId, final long credits) {
+        final Long remaining = this.credits.get(requestId);
+        if (null == remaining) return;
+        this.credits.put(requestId, remaining + credits);
+        notifyAll();
+    }
+
+    /**
+     * Takes the results that were written for a request from its credits.
+     */
+    public synchronized void useCredits(final UUID requestId, final int results) {
+        this.credits.computeIfPresent(requestId, (k, remaining) -> remaining - results);
+    }
+
+    /**
+     * Caps the number of results to write for a request in its next frame at the credits it has left, where they are
+     * counted. A request with no credits left is capped at a single result, which is held until it is granted more.
+     */
+    public synchronized int capBatchSize(final UUID requestId, final int batchSize) {
+        final Long remaining = this.credits.get(requestId);
+        return null == remaining ? batchSize : (int) Math.max(1L, Math.min(batchSize, remaining));
+    }
+
+    /**
+     * Determines if the channel is writable and, where the credits of the request are counted, whether it has any
+     * credits left.
+     */
+    public synchronized boolean isWritable(final UUID requestId) {
+        return channel.isWritable() && credits.getOrDefault(requestId, 1L) > 0;
+    }
+
+    /**
+     * Waits for the channel to become writable for the request, for it to be closed or for the timeout to pass,
+     * whichever comes first, and returns {@code true} if the channel is writable for the request.
+     */
+    public synchronized boolean awaitWritable(final UUID requestId, final long timeout, final TimeUnit unit) throws InterruptedException {
+        final long timeoutNanos = unit.toNanos(timeout);
+        final long start = System.nanoTime();
+        while (!isWritable(requestId) && channel.isActive()) {
+            final long remaining = timeoutNanos - (System.nanoTime() - start);
+            if (remaining <= 0) break;
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        return isWritable(requestId);
+    }
+}
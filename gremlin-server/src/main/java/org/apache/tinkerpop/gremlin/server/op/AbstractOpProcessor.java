@@ -32,6 +32,7 @@ import org.apache.tinkerpop.gremlin.server.OpProcessor;
 import org.apache.tinkerpop.gremlin.server.Settings;
 import org.apache.tinkerpop.gremlin.server.handler.Frame;
 import org.apache.tinkerpop.gremlin.server.handler.StateKey;
+import org.apache.tinkerpop.gremlin.server.handler.WritabilityMonitor;
 import org.apache.tinkerpop.gremlin.server.util.ExceptionHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -74,22 +75,50 @@ public abstract class AbstractOpProcessor implements OpProcessor {
      * @throws TimeoutException if the time taken to serialize the entire result set exceeds the allowable time.
      */
     protected void handleIterator(final Context context, final Iterator itty) throws TimeoutException, InterruptedException {
-        final ChannelHandlerContext ctx = context.getChannelHandlerContext();
         final RequestMessage msg = context.getRequestMessage();
         final Settings settings = context.getSettings();
-        final MessageSerializer serializer = ctx.channel().attr(StateKey.SERIALIZER).get();
-        final boolean useBinary = ctx.channel().attr(StateKey.USE_BINARY).get();
-        boolean warnOnce = false;
 
         // sessionless requests are always transaction managed, but in-session requests are configurable.
         final boolean managedTransactionsForRequest = manageTransactions ?
                 true : (Boolean) msg.getArgs().getOrDefault(Tokens.ARGS_MANAGE_TRANSACTION, false);
 
+        handleIterator(context, itty,
+                () -> {
+                    if (managedTransactionsForRequest)
+                        attemptCommit(msg, context.getGraphManager(), settings.strictTransactionManagement);
+                },
+                () -> {
+                    if (managedTransactionsForRequest)
+                        attemptRollback(msg, context.getGraphManager(), settings.strictTransactionManagement);
+                });
+    }
+
+    /**
+     * Iterates a result set back to the client as {@link #handleIterator(Context, Iterator)} does, sizing the batches
+     * with a {@link ResultBatchSizer} and holding back while the channel is not writable or the request has no
+     * credits left, but leaves it to the caller to decide what happens to the transaction once the results are all
+     * written or once writing them fails.
+     *
+     * @param context The Gremlin Server {@link Context} object containing settings, request message, etc.
+     * @param itty The result to iterator
+     * @param onSuccess called once the entire result has been serialized, before the final frame is written
+     * @param onFailure called if serialization fails or the channel is closed before the result is written
+     * @throws TimeoutException if the time taken to serialize the entire result set exceeds the allowable time.
+     */
+    protected void handleIterator(final Context context, final Iterator itty, final Runnable onSuccess,
+                                  final Runnable onFailure) throws TimeoutException, InterruptedException {
+        final ChannelHandlerContext ctx = context.getChannelHandlerContext();
+        final RequestMessage msg = context.getRequestMessage();
+        final Settings settings = context.getSettings();
+        final MessageSerializer serializer = ctx.channel().attr(StateKey.SERIALIZER).get();
+        final boolean useBinary = ctx.channel().attr(StateKey.USE_BINARY).get();
+        boolean warnOnce = false;
+
         // we have an empty iterator - happens on stuff like: g.V().iterate()
         if (!itty.hasNext()) {
-            // as there is nothing left to iterate if we are transaction managed then we should execute a
-            // commit here before we send back a NO_CONTENT which implies success
-            if (managedTransactionsForRequest) attemptCommit(msg, context.getGraphManager(), settings.strictTransactionManagement);
+            // as there is nothing left to iterate the request succeeded, so a transaction can be committed here
+            // before we send back a NO_CONTENT which implies success
+            onSuccess.run();
             ctx.writeAndFlush(ResponseMessage.build(msg)
                     .code(ResponseStatusCode.NO_CONTENT)
                     .create());
@@ -100,124 +129,161 @@ public abstract class AbstractOpProcessor implements OpProcessor {
         final StopWatch stopWatch = new StopWatch();
         stopWatch.start();
 
-        // the batch size can be overridden by the request
-        final int resultIterationBatchSize = (Integer) msg.optionalArgs(Tokens.ARGS_BATCH_SIZE)
-                .orElse(settings.resultIterationBatchSize);
-        List<Object> aggregate = new ArrayList<>(resultIterationBatchSize);
+        // the batch size can be overridden by the request and adjusted to the size of the frames as they are written
+        final ResultBatchSizer batchSizer = new ResultBatchSizer(context);
+        List<Object> aggregate = new ArrayList<>(batchSizer.getBatchSize());
 
         // use an external control to manage the loop as opposed to just checking hasNext() in the while.  this
         // prevent situations where auto transactions create a new transaction after calls to commit() withing
         // the loop on calls to hasNext().
         boolean hasMore = itty.hasNext();
 
-        while (hasMore) {
-            if (Thread.interrupted()) throw new InterruptedException();
-
-            // check if an implementation needs to force flush the aggregated results before the iteration batch
-            // size is reached.
-            final boolean forceFlush = isForceFlushed(ctx, msg, itty);
-
-            // have to check the aggregate size because it is possible that the channel is not writeable (below)
-            // so iterating next() if the message is not written and flushed would bump the aggregate size beyond
-            // the expected resultIterationBatchSize.  Total serialization time for the response remains in
-            // effect so if the client is "slow" it may simply timeout.
-            //
-            // there is a need to check hasNext() on the iterator because if the channel is not writeable the
-            // previous pass through the while loop will have next()'d the iterator and if it is "done" then a
-            // NoSuchElementException will raise its head. also need a check to ensure that this iteration doesn't
-            // require a forced flush which can be forced by sub-classes.
-            //
-            // this could be placed inside the isWriteable() portion of the if-then below but it seems better to
-            // allow iteration to continue into a batch if that is possible rather than just doing nothing at all
-            // while waiting for the client to catch up
-            if (aggregate.size() < resultIterationBatchSize && itty.hasNext() && !forceFlush) aggregate.add(itty.next());
-
-            // send back a page of results if batch size is met or if it's the end of the results being iterated.
-            // also check writeability of the channel to prevent OOME for slow clients.
-            if (ctx.channel().isWritable()) {
-                if (forceFlush || aggregate.size() == resultIterationBatchSize || !itty.hasNext()) {
-                    final ResponseStatusCode code = itty.hasNext() ? ResponseStatusCode.PARTIAL_CONTENT : ResponseStatusCode.SUCCESS;
-
-                    // serialize here because in sessionless requests the serialization must occur in the same
-                    // thread as the eval.  as eval occurs in the GremlinExecutor there's no way to get back to the
-                    // thread that processed the eval of the script so, we have to push serialization down into that
-                    Frame frame = null;
-                    try {
-                        frame = makeFrame(ctx, msg, serializer, useBinary, aggregate, code, generateMetaData(ctx, msg, code, itty));
-                    } catch (Exception ex) {
-                        // a frame may use a Bytebuf which is a countable release - if it does not get written
-                        // downstream it needs to be released here
-                        if (frame != null) frame.tryRelease();
-
-                        // exception is handled in makeFrame() - serialization error gets written back to driver
-                        // at that point
-                        if (managedTransactionsForRequest) attemptRollback(msg, context.getGraphManager(), settings.strictTransactionManagement);
-                        break;
-                    }
+        // a request that asked for credits is only written as many results as the client has made room for
+        final WritabilityMonitor monitor = WritabilityMonitor.of(ctx.channel());
+        msg.optionalArgs(Tokens.ARGS_CREDITS).ifPresent(credits -> monitor.openCredits(msg.getRequestId(), ((Number) credits).longValue()));
 
-                    // track whether there is anything left in the iterator because it needs to be accessed after
-                    // the transaction could be closed - in that case a call to hasNext() could open a new transaction
-                    // unintentionally
-                    final boolean moreInIterator = itty.hasNext();
-
-                    try {
-                        // only need to reset the aggregation list if there's more stuff to write
-                        if (moreInIterator)
-                            aggregate = new ArrayList<>(resultIterationBatchSize);
-                        else {
-                            // iteration and serialization are both complete which means this finished successfully. note that
-                            // errors internal to script eval or timeout will rollback given GremlinServer's global configurations.
-                            // local errors will get rolledback below because the exceptions aren't thrown in those cases to be
-                            // caught by the GremlinExecutor for global rollback logic. this only needs to be committed if
-                            // there are no more items to iterate and serialization is complete
-                            if (managedTransactionsForRequest)
-                                attemptCommit(msg, context.getGraphManager(), settings.strictTransactionManagement);
-
-                            // exit the result iteration loop as there are no more results left.  using this external control
-                            // because of the above commit.  some graphs may open a new transaction on the call to
-                            // hasNext()
-                            hasMore = false;
+        try {
+            while (hasMore) {
+                if (Thread.interrupted()) throw new InterruptedException();
+
+                // check if an implementation needs to force flush the aggregated results before the iteration batch
+                // size is reached.
+                final boolean forceFlush = isForceFlushed(ctx, msg, itty);
+
+                // a request whose credits are counted is not written more results than it has credits for, so the
+                // batch is cut short when it has fewer credits left than the batch size
+                final int batchSize = monitor.capBatchSize(msg.getRequestId(), batchSizer.getBatchSize());
+
+                // have to check the aggregate size because it is possible that the channel is not writeable (below)
+                // so iterating next() if the message is not written and flushed would bump the aggregate size beyond
+                // the expected resultIterationBatchSize.  Total serialization time for the response remains in
+                // effect so if the client is "slow" it may simply timeout.
+                //
+                // there is a need to check hasNext() on the iterator because if the channel is not writeable the
+                // previous pass through the while loop will have next()'d the iterator and if it is "done" then a
+                // NoSuchElementException will raise its head. also need a check to ensure that this iteration doesn't
+                // require a forced flush which can be forced by sub-classes.
+                //
+                // this could be placed inside the isWriteable() portion of the if-then below but it seems better to
+                // allow iteration to continue into a batch if that is possible rather than just doing nothing at all
+                // while waiting for the client to catch up
+                if (aggregate.size() < batchSize && itty.hasNext() && !forceFlush) aggregate.add(itty.next());
+
+                // send back a page of results if batch size is met or if it's the end of the results being iterated.
+                // also check writeability of the channel to prevent OOME for slow clients.
+                if (monitor.isWritable(msg.getRequestId())) {
+                    if (forceFlush || aggregate.size() >= batchSize || !itty.hasNext()) {
+                        final ResponseStatusCode code = itty.hasNext() ? ResponseStatusCode.PARTIAL_CONTENT : ResponseStatusCode.SUCCESS;
+
+                        // serialize here because in sessionless requests the serialization must occur in the same
+                        // thread as the eval.  as eval occurs in the GremlinExecutor there's no way to get back to the
+                        // thread that processed the eval of the script so, we have to push serialization down into that
+                        Frame frame = null;
+                        try {
+                            frame = makeFrame(ctx, msg, serializer, useBinary, aggregate, code, generateMetaData(ctx, msg, code, itty));
+                        } catch (Exception ex) {
+                            // a frame may use a Bytebuf which is a countable release - if it does not get written
+                            // downstream it needs to be released here
+                            if (frame != null) frame.tryRelease();
+
+                            // exception is handled in makeFrame() - serialization error gets written back to driver
+                            // at that point
+                            onFailure.run();
+                            break;
                         }
-                    } catch (Exception ex) {
-                        // a frame may use a Bytebuf which is a countable release - if it does not get written
-                        // downstream it needs to be released here
-                        if (frame != null) frame.tryRelease();
-                        throw ex;
-                    }
 
-                    if (!moreInIterator) iterateComplete(ctx, msg, itty);
+                        batchSizer.recordFrame(aggregate.size(), frame.size());
+                        monitor.useCredits(msg.getRequestId(), aggregate.size());
+
+                        // track whether there is anything left in the iterator because it needs to be accessed after
+                        // the transaction could be closed - in that case a call to hasNext() could open a new transaction
+                        // unintentionally
+                        final boolean moreInIterator = itty.hasNext();
+
+                        try {
+                            // only need to reset the aggregation list if there's more stuff to write
+                            if (moreInIterator)
+                                aggregate = new ArrayList<>(batchSizer.getBatchSize());
+                            else {
+                                // iteration and serialization are both complete which means this finished successfully. note that
+                                // errors internal to script eval or timeout will rollback given GremlinServer's global configurations.
+                                // local errors will get rolledback below because the exceptions aren't thrown in those cases to be
+                                // caught by the GremlinExecutor for global rollback logic. this only needs to be committed if
+                                // there are no more items to iterate and serialization is complete
+                                onSuccess.run();
+
+                                // exit the result iteration loop as there are no more results left.  using this external control
+                                // because of the above commit.  some graphs may open a new transaction on the call to
+                                // hasNext()
+                                hasMore = false;
+                            }
+                        } catch (Exception ex) {
+                            // a frame may use a Bytebuf which is a countable release - if it does not get written
+                            // downstream it needs to be released here
+                            if (frame != null) frame.tryRelease();
+                            throw ex;
+                        }
 
-                    // the flush is called after the commit has potentially occurred.  in this way, if a commit was
-                    // required then it will be 100% complete before the client receives it. the "frame" at this point
-                    // should have completely detached objects from the transaction (i.e. serialization has occurred)
-                    // so a new one should not be opened on the flush down the netty pipeline
-                    ctx.writeAndFlush(frame);
-                }
-            } else {
-                // don't keep triggering this warning over and over again for the same request
-                if (!warnOnce) {
-                    logger.warn("Pausing response writing as writeBufferHighWaterMark exceeded on {} - writing will continue once client has caught up", msg);
-                    warnOnce = true;
+                        if (!moreInIterator) iterateComplete(ctx, msg, itty);
+
+                        // the flush is called after the commit has potentially occurred.  in this way, if a commit was
+                        // required then it will be 100% complete before the client receives it. the "frame" at this point
+                        // should have completely detached objects from the transaction (i.e. serialization has occurred)
+                        // so a new one should not be opened on the flush down the netty pipeline
+                        ctx.writeAndFlush(frame);
+                    }
+                } else if (forceFlush || aggregate.size() >= batchSize || !itty.hasNext()) {
+                    // don't keep triggering this warning over and over again for the same request
+                    if (!warnOnce) {
+                        if (ctx.channel().isWritable())
+                            logger.debug("Pausing response writing as the client has no credits left for {} - writing will continue once client grants more", msg);
+                        else
+                            logger.warn("Pausing response writing as writeBufferHighWaterMark exceeded on {} - writing will continue once client has caught up", msg);
+                        warnOnce = true;
+                    }
+
+                    // a frame is ready to be written but the client is lagging so hold here until netty signals that it
+                    // has caught up. this isn't blocking the IO thread - just a worker. if the client went away in the
+                    // meantime then there is no one left to write the rest of the results to
+                    if (!awaitWritable(ctx, msg, settings, stopWatch)) {
+                        logger.warn("Stopped writing the response to {} as the channel was closed", msg);
+                        onFailure.run();
+                        break;
+                    }
                 }
 
-                // since the client is lagging we can hold here for a period of time for the client to catch up.
-                // this isn't blocking the IO thread - just a worker.
-                TimeUnit.MILLISECONDS.sleep(10);
-            }
+                stopWatch.split();
+                if (settings.serializedResponseTimeout > 0 && stopWatch.getSplitTime() > settings.serializedResponseTimeout) {
+                    final String timeoutMsg = String.format("Serialization of the entire response exceeded the 'serializeResponseTimeout' setting %s",
+                            warnOnce ? "[Gremlin Server paused writes to client as messages were not being consumed quickly enough]" : "");
+                    throw new TimeoutException(timeoutMsg.trim());
+                }
 
-            stopWatch.split();
-            if (settings.serializedResponseTimeout > 0 && stopWatch.getSplitTime() > settings.serializedResponseTimeout) {
-                final String timeoutMsg = String.format("Serialization of the entire response exceeded the 'serializeResponseTimeout' setting %s",
-                        warnOnce ? "[Gremlin Server paused writes to client as messages were not being consumed quickly enough]" : "");
-                throw new TimeoutException(timeoutMsg.trim());
+                stopWatch.unsplit();
             }
-
-            stopWatch.unsplit();
+        } finally {
+            monitor.closeCredits(msg.getRequestId());
         }
 
         stopWatch.stop();
     }
 
+    /**
+     * Waits for the channel to become writable again after the {@link Settings#writeBufferHighWaterMark} was
+     * exceeded, which Netty signals once the client has read enough of what was written to it, or for the client to
+     * grant more credits to a request that asked for them, for no longer than what is left of the
+     * {@link Settings#serializedResponseTimeout}.
+     *
+     * @return {@code false} if the channel was closed before it became writable
+     */
+    protected static boolean awaitWritable(final ChannelHandlerContext ctx, final RequestMessage msg,
+                                           final Settings settings, final StopWatch stopWatch) throws InterruptedException {
+        final long timeout = settings.serializedResponseTimeout > 0 ?
+                Math.max(1, settings.serializedResponseTimeout - stopWatch.getTime()) : Long.MAX_VALUE;
+        WritabilityMonitor.of(ctx.channel()).awaitWritable(msg.getRequestId(), timeout, TimeUnit.MILLISECONDS);
+        return ctx.channel().isActive();
+    }
+
     /**
      * Called when iteration within {@link #handleIterator(Context, Iterator)} is on its final pass and the final
      * frame is about to be sent back to the client. This method only gets called on successful iteration of the
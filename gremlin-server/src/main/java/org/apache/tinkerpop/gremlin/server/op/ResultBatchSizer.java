@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.op;
+
+import com.codahale.metrics.Histogram;
+import org.apache.tinkerpop.gremlin.driver.Tokens;
+import org.apache.tinkerpop.gremlin.server.Context;
+import org.apache.tinkerpop.gremlin.server.GremlinServer;
+import org.apache.tinkerpop.gremlin.server.Settings;
+import org.apache.tinkerpop.gremlin.server.util.MetricManager;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * Determines the number of results that are aggregated into each frame of a response. The batch size is the
+ * {@link Settings#resultIterationBatchSize}, or the batch size given by the request, unless the
+ * {@link Settings#resultIterationFrameSize} is set. In that case the batch size only applies to the first frame and
+ * is then adjusted after each frame from the number of bytes that each result took up when serialized, so that the
+ * frames come close to that size whether the results are large subgraphs or small scalars. The batch size of each
+ * frame is reported to the {@code op.batch-size} histogram.
+ *
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ */
+public final class ResultBatchSizer {
+    private static final Histogram batchSizeHistogram = MetricManager.INSTANCE.getHistogram(name(GremlinServer.class, "op", "batch-size"));
+
+    private final int frameSize;
+    private int batchSize;
+    private double bytesPerResult = 0d;
+
+    public ResultBatchSizer(final Context context) {
+        final Settings settings = context.getSettings();
+        this.batchSize = (Integer) context.getRequestMessage().optionalArgs(Tokens.ARGS_BATCH_SIZE)
+                .orElse(settings.resultIterationBatchSize);
+        this.frameSize = settings.resultIterationFrameSize;
+    }
+
+    /**
+     * The number of results to aggregate into the next frame.
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Records a frame of the response that holds the specified number of results and serialized to the specified
+     * number of bytes, and adjusts the batch size of the next frame to it.
+     */
+    public void recordFrame(final int results, final int bytes) {
+        batchSizeHistogram.update(results);
+        if (frameSize <= 0 || results == 0) return;
+
+        // average the size of a result with that of the frames before so that a few large results in an otherwise
+        // small result set don't swing the batch size back and forth
+        final double frameBytesPerResult = Math.max(1d, (double) bytes / results);
+        bytesPerResult = bytesPerResult == 0d ? frameBytesPerResult : (bytesPerResult + frameBytesPerResult) / 2;
+        batchSize = (int) Math.max(1, frameSize / bytesPerResult);
+    }
+}
@@ -24,7 +24,6 @@ import org.apache.tinkerpop.gremlin.server.Context;
 import org.apache.tinkerpop.gremlin.server.GraphManager;
 import org.apache.tinkerpop.gremlin.server.Settings;
 import org.apache.tinkerpop.gremlin.server.util.MetricManager;
-import org.apache.tinkerpop.gremlin.server.util.ThreadFactoryUtil;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,19 +32,18 @@ import javax.script.Bindings;
 import javax.script.SimpleBindings;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Defines a "session" for the {@link SessionOpProcessor} which preserves state between requests made to Gremlin
- * Server. Since transactions are bound to a single thread the "session" maintains its own thread to process Gremlin
- * statements so that each request can be executed within it to preserve the transaction state from one request to
- * the next.
+ * Server. The requests of a "session" are executed one at a time by a {@link SessionExecutor} on threads shared by
+ * all sessions. Since transactions are bound to a single thread the "session" holds on to the thread that it
+ * executed a request on for as long as a transaction is open, so that the following requests are executed within it
+ * to preserve the transaction state from one request to the next.
  *
  * @author Stephen Mallette (http://stephen.genoprime.com)
  */
@@ -69,13 +67,11 @@ public class Session {
      */
     private final GremlinExecutor gremlinExecutor;
 
-    private final ThreadFactory threadFactoryWorker = ThreadFactoryUtil.create("session-%d");
-
     /**
-     * By binding the session to run ScriptEngine evaluations in a specific thread, each request will respect
-     * the ThreadLocal nature of Graph implementations.
+     * By holding on to the thread that ScriptEngine evaluations run in while a transaction is open, each request will
+     * respect the ThreadLocal nature of Graph implementations.
      */
-    private final ExecutorService executor = Executors.newSingleThreadExecutor(threadFactoryWorker);
+    private final SessionExecutor executor;
 
     private final ConcurrentHashMap<String, Session> sessions;
 
@@ -87,6 +83,7 @@ public class Session {
         this.graphManager = context.getGraphManager();
         this.scheduledExecutorService = context.getScheduledExecutorService();
         this.sessions = sessions;
+        this.executor = new SessionExecutor(SessionOpProcessor.sessionThreadPool, this::hasOpenTransaction);
 
         final Settings.ProcessorSettings processorSettings = this.settings.optionalProcessor(SessionOpProcessor.class).
                 orElse(SessionOpProcessor.DEFAULT_SETTINGS);
@@ -112,6 +109,20 @@ public class Session {
         return executor;
     }
 
+    /**
+     * The number of requests of the session that are waiting to be executed.
+     */
+    public int getQueueSize() {
+        return executor.getQueueSize();
+    }
+
+    /**
+     * Determines if the session holds on to a thread because it has a transaction open.
+     */
+    public boolean isHoldingThread() {
+        return executor.isHoldingThread();
+    }
+
     public String getSessionId() {
         return session;
     }
@@ -198,6 +209,19 @@ public class Session {
         logger.info("Session {} closed", session);
     }
 
+    /**
+     * Determines if a transaction is open on any of the graphs, which is called by the {@link SessionExecutor} on the
+     * thread that it just executed a request in.
+     */
+    private boolean hasOpenTransaction() {
+        for (final String graphName : graphManager.getGraphNames()) {
+            final Graph g = graphManager.getGraph(graphName);
+            if (g.features().graph().supportsTransactions() && g.tx().isOpen())
+                return true;
+        }
+        return false;
+    }
+
     private GremlinExecutor.Builder initializeGremlinExecutor() {
         final GremlinExecutor.Builder gremlinExecutorBuilder = GremlinExecutor.build()
                 .scriptEvaluationTimeout(settings.scriptEvaluationTimeout)
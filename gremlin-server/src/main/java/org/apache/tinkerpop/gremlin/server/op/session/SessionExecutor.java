@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.op.session;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Executes the requests of a {@link Session} one at a time and in the order that they were submitted on the threads
+ * of a pool that is shared by all sessions, so that a session only takes up a thread while it has requests to
+ * execute rather than for as long as it is open. As transactions are bound to the thread that they were opened on,
+ * the session is asked after each request if it needs to keep its thread, which it does while it has a transaction
+ * open. The thread then waits for the next request of the session instead of going back to the pool and is only
+ * released once the transaction is closed or the executor is shut down.
+ *
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ */
+public final class SessionExecutor extends AbstractExecutorService {
+    private static final Logger logger = LoggerFactory.getLogger(SessionExecutor.class);
+
+    private final Executor pool;
+    private final BooleanSupplier holdThread;
+    private final Deque<Runnable> tasks = new ArrayDeque<>();
+
+    /**
+     * Whether a thread of the pool is executing the tasks of the session or waiting for them while it is held.
+     */
+    private boolean scheduled = false;
+    private boolean held = false;
+    private boolean shutdown = false;
+    private Thread runner = null;
+
+    /**
+     * Creates an executor that runs on the threads of the {@code pool}, which must not queue the tasks that it is
+     * given as a task may keep a thread for as long as the {@code holdThread} check returns {@code true} on it.
+     */
+    public SessionExecutor(final Executor pool, final BooleanSupplier holdThread) {
+        this.pool = pool;
+        this.holdThread = holdThread;
+    }
+
+    @Override
+    public void execute(final Runnable task) {
+        synchronized (tasks) {
+            if (shutdown) throw new RejectedExecutionException("The session is no longer accepting requests");
+            tasks.add(task);
+            if (scheduled) {
+                tasks.notifyAll();
+                return;
+            }
+            scheduled = true;
+        }
+
+        try {
+            pool.execute(this::executeTasks);
+        } catch (RejectedExecutionException ree) {
+            synchronized (tasks) {
+                scheduled = false;
+                tasks.remove(task);
+                tasks.notifyAll();
+            }
+            throw ree;
+        }
+    }
+
+    /**
+     * The number of tasks that are waiting to be executed.
+     */
+    public int getQueueSize() {
+        synchronized (tasks) {
+            return tasks.size();
+        }
+    }
+
+    /**
+     * Determines if the executor holds on to a thread of the pool while it waits for tasks to execute.
+     */
+    public boolean isHoldingThread() {
+        synchronized (tasks) {
+            return held;
+        }
+    }
+
+    private void executeTasks() {
+        while (true) {
+            final Runnable task;
+            synchronized (tasks) {
+                while (tasks.isEmpty()) {
+                    if (!held || shutdown) {
+                        held = false;
+                        scheduled = false;
+                        tasks.notifyAll();
+                        return;
+                    }
+
+                    try {
+                        tasks.wait();
+                    } catch (InterruptedException ie) {
+                        // shutdownNow() interrupts the thread and the loop then finds the executor shut down
+                    }
+                }
+                task = tasks.remove();
+                runner = Thread.currentThread();
+            }
+
+            try {
+                task.run();
+            } catch (Exception ex) {
+                logger.warn("A task of a session failed to execute", ex);
+            } finally {
+                synchronized (tasks) {
+                    runner = null;
+                }
+            }
+
+            // clear an interrupt that was meant for the task (e.g. from a timeout) so that it doesn't carry over to
+            // the next one
+            Thread.interrupted();
+            final boolean hold = holdThread();
+            synchronized (tasks) {
+                held = hold;
+            }
+        }
+    }
+
+    private boolean holdThread() {
+        try {
+            return holdThread.getAsBoolean();
+        } catch (Exception ex) {
+            // keep the thread if it can't be determined as releasing it could lose the state bound to it
+            logger.warn("Could not determine if the session needs to keep its thread", ex);
+            return true;
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        synchronized (tasks) {
+            shutdown = true;
+            tasks.notifyAll();
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        synchronized (tasks) {
+            shutdown = true;
+            final List<Runnable> notExecuted = new ArrayList<>(tasks);
+            tasks.clear();
+            if (runner != null) runner.interrupt();
+            tasks.notifyAll();
+            return notExecuted;
+        }
+    }
+
+    @Override
+    public boolean isShutdown() {
+        synchronized (tasks) {
+            return shutdown;
+        }
+    }
+
+    @Override
+    public boolean isTerminated() {
+        synchronized (tasks) {
+            return shutdown && !scheduled;
+        }
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (tasks) {
+            while (!(shutdown && !scheduled)) {
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) return false;
+                TimeUnit.NANOSECONDS.timedWait(tasks, remaining);
+            }
+            return true;
+        }
+    }
+}
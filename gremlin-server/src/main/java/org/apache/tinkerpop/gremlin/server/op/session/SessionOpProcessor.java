@@ -30,6 +30,7 @@ import org.apache.tinkerpop.gremlin.server.handler.StateKey;
 import org.apache.tinkerpop.gremlin.server.op.AbstractEvalOpProcessor;
 import org.apache.tinkerpop.gremlin.server.op.OpProcessorException;
 import org.apache.tinkerpop.gremlin.server.util.MetricManager;
+import org.apache.tinkerpop.gremlin.server.util.ThreadFactoryUtil;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.util.function.ThrowingConsumer;
 import org.slf4j.Logger;
@@ -40,6 +41,10 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -61,8 +66,27 @@ public class SessionOpProcessor extends AbstractEvalOpProcessor {
      */
     protected static ConcurrentHashMap<String, Session> sessions = new ConcurrentHashMap<>();
 
+    /**
+     * Default maximum number of threads that the requests of all sessions are executed in.
+     */
+    public static final int DEFAULT_MAX_SESSION_THREADS = 1024;
+
+    /**
+     * The threads that the requests of all sessions are executed in. A session takes a thread to execute its requests
+     * and gives it back once it has none left to execute, unless it has a transaction open, so threads are only
+     * created for the sessions that are executing requests or holding transactions at the same time and are ended
+     * after they have been idle for a minute. Requests that would need more than the maximum number of threads are
+     * rejected. The pool is shut down when the processor is closed and created again if it is then initialized.
+     */
+    static volatile ThreadPoolExecutor sessionThreadPool = createSessionThreadPool(DEFAULT_MAX_SESSION_THREADS);
+
     static {
         MetricManager.INSTANCE.getGuage(sessions::size, name(GremlinServer.class, "sessions"));
+        MetricManager.INSTANCE.getGuage(() -> sessionThreadPool.getPoolSize(), name(GremlinServer.class, "sessions", "threads"));
+        MetricManager.INSTANCE.getGuage(() -> sessions.values().stream().filter(Session::isHoldingThread).count(),
+                name(GremlinServer.class, "sessions", "held-threads"));
+        MetricManager.INSTANCE.getGuage(() -> sessions.values().stream().mapToLong(Session::getQueueSize).sum(),
+                name(GremlinServer.class, "sessions", "queued"));
     }
 
     /**
@@ -76,6 +100,11 @@ public class SessionOpProcessor extends AbstractEvalOpProcessor {
      */
     public static final String CONFIG_PER_GRAPH_CLOSE_TIMEOUT = "perGraphCloseTimeout";
 
+    /**
+     * Configuration setting for the maximum number of threads that the requests of all sessions are executed in.
+     */
+    public static final String CONFIG_MAX_SESSION_THREADS = "maxSessionThreads";
+
     /**
      * Default timeout for a session is eight hours.
      */
@@ -94,6 +123,7 @@ public class SessionOpProcessor extends AbstractEvalOpProcessor {
         DEFAULT_SETTINGS.config = new HashMap<String, Object>() {{
             put(CONFIG_SESSION_TIMEOUT, DEFAULT_SESSION_TIMEOUT);
             put(CONFIG_PER_GRAPH_CLOSE_TIMEOUT, DEFAULT_PER_GRAPH_CLOSE_TIMEOUT);
+            put(CONFIG_MAX_SESSION_THREADS, DEFAULT_MAX_SESSION_THREADS);
             put(CONFIG_MAX_PARAMETERS, DEFAULT_MAX_PARAMETERS);
         }};
     }
@@ -109,8 +139,29 @@ public class SessionOpProcessor extends AbstractEvalOpProcessor {
 
     @Override
     public void init(final Settings settings) {
-        this.maxParameters = (int) settings.optionalProcessor(SessionOpProcessor.class).orElse(DEFAULT_SETTINGS).config.
-                getOrDefault(CONFIG_MAX_PARAMETERS, DEFAULT_MAX_PARAMETERS);
+        final Map<String, Object> config = settings.optionalProcessor(SessionOpProcessor.class).orElse(DEFAULT_SETTINGS).config;
+        this.maxParameters = (int) config.getOrDefault(CONFIG_MAX_PARAMETERS, DEFAULT_MAX_PARAMETERS);
+
+        final int maxSessionThreads = (int) config.getOrDefault(CONFIG_MAX_SESSION_THREADS, DEFAULT_MAX_SESSION_THREADS);
+        if (maxSessionThreads < 1)
+            throw new IllegalArgumentException(String.format("The %s setting must be greater than zero: %s", CONFIG_MAX_SESSION_THREADS, maxSessionThreads));
+        synchronized (SessionOpProcessor.class) {
+            if (sessionThreadPool.isShutdown())
+                sessionThreadPool = createSessionThreadPool(maxSessionThreads);
+            else
+                sessionThreadPool.setMaximumPoolSize(maxSessionThreads);
+        }
+    }
+
+    private static ThreadPoolExecutor createSessionThreadPool(final int maxSessionThreads) {
+        return new ThreadPoolExecutor(0, maxSessionThreads, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                ThreadFactoryUtil.createDaemon("session-%d"), (task, pool) -> {
+                    if (pool.isShutdown())
+                        throw new RejectedExecutionException("Sessions are no longer accepting requests as the server is shutting down");
+                    throw new RejectedExecutionException(String.format(
+                            "All %s threads for sessions are in use - try again later or raise the %s setting",
+                            pool.getMaximumPoolSize(), CONFIG_MAX_SESSION_THREADS));
+                });
     }
 
     /**
@@ -168,6 +219,11 @@ public class SessionOpProcessor extends AbstractEvalOpProcessor {
     @Override
     public void close() throws Exception {
        sessions.values().forEach(session -> session.manualKill(false));
+
+       // the sessions have been killed so the threads finish rolling back their transactions and then end
+       synchronized (SessionOpProcessor.class) {
+           sessionThreadPool.shutdown();
+       }
     }
 
     protected void evalOp(final Context context) throws OpProcessorException {
@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.handler;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ */
+public class WritabilityMonitorTest {
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private EmbeddedChannel channel;
+    private WritabilityMonitor monitor;
+
+    @Before
+    public void setUp() {
+        channel = new EmbeddedChannel();
+        monitor = WritabilityMonitor.of(channel);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+        channel.close();
+    }
+
+    @Test
+    public void shouldHoldOneMonitorPerChannel() {
+        assertSame(monitor, WritabilityMonitor.of(channel));
+    }
+
+    @Test
+    public void shouldNotWaitIfWritable() throws Exception {
+        assertTrue(monitor.awaitWritable(UUID.randomUUID(), 30, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldWaitUntilSignalled() throws Exception {
+        final UUID requestId = UUID.randomUUID();
+        monitor.openCredits(requestId, 0);
+
+        final Future<Boolean> writable = executor.submit(() -> monitor.awaitWritable(requestId, 30, TimeUnit.SECONDS));
+        awaitWaiter(writable);
+
+        // opening the credits again does not wake the waiter, so only the signal lets it see them
+        monitor.openCredits(requestId, 1);
+        WritabilityMonitor.signal(channel);
+
+        assertTrue(writable.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldStopWaitingWhenSignalledThatTheChannelClosed() throws Exception {
+        final UUID requestId = UUID.randomUUID();
+        monitor.openCredits(requestId, 0);
+
+        final Future<Boolean> writable = executor.submit(() -> monitor.awaitWritable(requestId, 30, TimeUnit.SECONDS));
+        awaitWaiter(writable);
+
+        channel.close();
+        WritabilityMonitor.signal(channel);
+
+        assertFalse(writable.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldStopWaitingOnTimeout() throws Exception {
+        final UUID requestId = UUID.randomUUID();
+        monitor.openCredits(requestId, 0);
+
+        final long start = System.nanoTime();
+        assertFalse(monitor.awaitWritable(requestId, 100, TimeUnit.MILLISECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 100);
+    }
+
+    @Test
+    public void shouldNotCapTheBatchOfARequestWithoutCredits() {
+        final UUID requestId = UUID.randomUUID();
+        assertEquals(64, monitor.capBatchSize(requestId, 64));
+        monitor.useCredits(requestId, 64);
+        assertTrue(monitor.isWritable(requestId));
+    }
+
+    @Test
+    public void shouldCapTheBatchAtTheCreditsLeft() {
+        final UUID requestId = UUID.randomUUID();
+        monitor.openCredits(requestId, 100);
+        assertEquals(64, monitor.capBatchSize(requestId, 64));
+
+        monitor.useCredits(requestId, 64);
+        assertEquals(36, monitor.capBatchSize(requestId, 64));
+        assertTrue(monitor.isWritable(requestId));
+    }
+
+    @Test
+    public void shouldNotBeWritableOnceCreditsAreUsedUp() {
+        final UUID requestId = UUID.randomUUID();
+        monitor.openCredits(requestId, 10);
+        monitor.useCredits(requestId, 10);
+
+        assertFalse(monitor.isWritable(requestId));
+        assertEquals(1, monitor.capBatchSize(requestId, 64));
+        assertTrue(monitor.isWritable(UUID.randomUUID()));
+    }
+
+    @Test
+    public void shouldBeWritableOnceGrantedMoreCredits() throws Exception {
+        final UUID requestId = UUID.randomUUID();
+        monitor.openCredits(requestId, 10);
+        monitor.useCredits(requestId, 10);
+
+        final Future<Boolean> writable = executor.submit(() -> monitor.awaitWritable(requestId, 30, TimeUnit.SECONDS));
+        awaitWaiter(writable);
+        monitor.grantCredits(requestId, 20);
+
+        assertTrue(writable.get(5, TimeUnit.SECONDS));
+        assertEquals(20, monitor.capBatchSize(requestId, 64));
+    }
+
+    @Test
+    public void shouldIgnoreCreditsForUnknownRequests() {
+        final UUID requestId = UUID.randomUUID();
+        monitor.grantCredits(requestId, 10);
+        monitor.useCredits(requestId, 64);
+        assertEquals(64, monitor.capBatchSize(requestId, 64));
+        assertTrue(monitor.isWritable(requestId));
+    }
+
+    @Test
+    public void shouldIgnoreCreditsForClosedRequests() {
+        final UUID requestId = UUID.randomUUID();
+        monitor.openCredits(requestId, 0);
+        monitor.closeCredits(requestId);
+        monitor.grantCredits(requestId, 10);
+
+        assertEquals(64, monitor.capBatchSize(requestId, 64));
+        assertTrue(monitor.isWritable(requestId));
+    }
+
+    /**
+     * Gives the waiting thread time to start waiting on the monitor.
+     */
+    private void awaitWaiter(final Future<Boolean> writable) throws InterruptedException {
+        Thread.sleep(200);
+        synchronized (monitor) {
+            assertFalse(writable.isDone());
+        }
+    }
+}
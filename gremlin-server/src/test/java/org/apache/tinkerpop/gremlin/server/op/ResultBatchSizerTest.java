@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.op;
+
+import org.apache.tinkerpop.gremlin.driver.Tokens;
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.server.Context;
+import org.apache.tinkerpop.gremlin.server.Settings;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ */
+public class ResultBatchSizerTest {
+
+    @Test
+    public void shouldUseTheBatchSizeOfTheSettings() {
+        final ResultBatchSizer sizer = createSizer(64, 0, RequestMessage.build(Tokens.OPS_EVAL).create());
+        assertEquals(64, sizer.getBatchSize());
+    }
+
+    @Test
+    public void shouldUseTheBatchSizeOfTheRequest() {
+        final ResultBatchSizer sizer = createSizer(64, 0, RequestMessage.build(Tokens.OPS_EVAL)
+                .addArg(Tokens.ARGS_BATCH_SIZE, 16).create());
+        assertEquals(16, sizer.getBatchSize());
+    }
+
+    @Test
+    public void shouldKeepTheBatchSizeWithoutAFrameSize() {
+        final ResultBatchSizer sizer = createSizer(64, 0, RequestMessage.build(Tokens.OPS_EVAL).create());
+        sizer.recordFrame(64, 6_400_000);
+        assertEquals(64, sizer.getBatchSize());
+    }
+
+    @Test
+    public void shouldShrinkTheBatchForLargeResults() {
+        final ResultBatchSizer sizer = createSizer(64, 1000, RequestMessage.build(Tokens.OPS_EVAL).create());
+        sizer.recordFrame(64, 6400);
+        assertEquals(10, sizer.getBatchSize());
+    }
+
+    @Test
+    public void shouldGrowTheBatchForSmallResults() {
+        final ResultBatchSizer sizer = createSizer(64, 1000, RequestMessage.build(Tokens.OPS_EVAL).create());
+        sizer.recordFrame(64, 640);
+        assertEquals(100, sizer.getBatchSize());
+    }
+
+    @Test
+    public void shouldAverageTheSizeOfTheResultsOverTheFrames() {
+        final ResultBatchSizer sizer = createSizer(64, 1000, RequestMessage.build(Tokens.OPS_EVAL).create());
+        sizer.recordFrame(64, 640);
+        sizer.recordFrame(100, 19_000);
+        assertEquals(10, sizer.getBatchSize());
+    }
+
+    @Test
+    public void shouldNotShrinkTheBatchBelowOne() {
+        final ResultBatchSizer sizer = createSizer(64, 1000, RequestMessage.build(Tokens.OPS_EVAL).create());
+        sizer.recordFrame(1, 1_000_000);
+        assertEquals(1, sizer.getBatchSize());
+    }
+
+    @Test
+    public void shouldIgnoreEmptyFrames() {
+        final ResultBatchSizer sizer = createSizer(64, 1000, RequestMessage.build(Tokens.OPS_EVAL).create());
+        sizer.recordFrame(0, 100);
+        assertEquals(64, sizer.getBatchSize());
+    }
+
+    private static ResultBatchSizer createSizer(final int batchSize, final int frameSize, final RequestMessage msg) {
+        final Settings settings = new Settings();
+        settings.resultIterationBatchSize = batchSize;
+        settings.resultIterationFrameSize = frameSize;
+        return new ResultBatchSizer(new Context(msg, null, settings, null, null, null));
+    }
+}
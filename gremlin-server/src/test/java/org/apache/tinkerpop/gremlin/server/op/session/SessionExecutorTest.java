@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.op.session;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ */
+public class SessionExecutorTest {
+
+    private final ExecutorService pool = Executors.newCachedThreadPool();
+
+    @After
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void shouldExecuteTasksOneAtATimeInOrder() throws Exception {
+        final SessionExecutor executor = new SessionExecutor(pool, () -> false);
+        final List<Integer> executed = new ArrayList<>();
+        final AtomicInteger running = new AtomicInteger(0);
+        final AtomicBoolean overlapped = new AtomicBoolean(false);
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            final int task = i;
+            futures.add(executor.submit(() -> {
+                if (running.incrementAndGet() > 1) overlapped.set(true);
+                executed.add(task);
+                running.decrementAndGet();
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertFalse(overlapped.get());
+        assertEquals(IntStream.range(0, 1000).boxed().collect(Collectors.toList()), executed);
+        assertEquals(0, executor.getQueueSize());
+        assertFalse(executor.isHoldingThread());
+    }
+
+    @Test
+    public void shouldHoldThreadWhileAskedTo() throws Exception {
+        final AtomicBoolean hold = new AtomicBoolean(true);
+        final SessionExecutor executor = new SessionExecutor(pool, hold::get);
+        final Thread first = executor.submit(Thread::currentThread).get(10, TimeUnit.SECONDS);
+        assertHoldingThread(executor, true);
+
+        // tasks from another session run on another thread of the pool in the meantime
+        final SessionExecutor other = new SessionExecutor(pool, () -> false);
+        assertFalse(first == other.submit(Thread::currentThread).get(10, TimeUnit.SECONDS));
+
+        assertSame(first, executor.submit(Thread::currentThread).get(10, TimeUnit.SECONDS));
+        hold.set(false);
+        assertSame(first, executor.submit(Thread::currentThread).get(10, TimeUnit.SECONDS));
+        assertHoldingThread(executor, false);
+    }
+
+    @Test
+    public void shouldReleaseHeldThreadOnShutdownNow() throws Exception {
+        final SessionExecutor executor = new SessionExecutor(pool, () -> true);
+        executor.submit(() -> {}).get(10, TimeUnit.SECONDS);
+        assertHoldingThread(executor, true);
+        assertFalse(executor.isTerminated());
+
+        executor.shutdownNow();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertFalse(executor.isHoldingThread());
+    }
+
+    @Test
+    public void shouldInterruptRunningTaskAndDropQueuedTasksOnShutdownNow() throws Exception {
+        final SessionExecutor executor = new SessionExecutor(pool, () -> false);
+        final CountDownLatch started = new CountDownLatch(1);
+        final AtomicBoolean interrupted = new AtomicBoolean(false);
+        executor.submit(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(30000);
+            } catch (InterruptedException ie) {
+                interrupted.set(true);
+            }
+        });
+        executor.submit(() -> {});
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        assertEquals(1, executor.getQueueSize());
+
+        assertEquals(1, executor.shutdownNow().size());
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertTrue(interrupted.get());
+    }
+
+    @Test
+    public void shouldRejectTasksWhenAllThreadsOfABoundedPoolAreHeld() throws Exception {
+        final ThreadPoolExecutor boundedPool = new ThreadPoolExecutor(0, 1, 60L, TimeUnit.SECONDS, new SynchronousQueue<>());
+        try {
+            final AtomicBoolean hold = new AtomicBoolean(true);
+            final SessionExecutor executor = new SessionExecutor(boundedPool, hold::get);
+            executor.submit(() -> {}).get(10, TimeUnit.SECONDS);
+            assertHoldingThread(executor, true);
+
+            final SessionExecutor other = new SessionExecutor(boundedPool, () -> false);
+            try {
+                other.submit(() -> {});
+                fail("The only thread of the pool is held so the task should be rejected");
+            } catch (RejectedExecutionException ree) {
+                // expected
+            }
+            assertEquals(0, other.getQueueSize());
+
+            // once the thread is given back the other session can take it
+            hold.set(false);
+            executor.submit(() -> {}).get(10, TimeUnit.SECONDS);
+            assertHoldingThread(executor, false);
+            submitOnceAccepted(other).get(10, TimeUnit.SECONDS);
+        } finally {
+            boundedPool.shutdownNow();
+        }
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void shouldRejectTasksAfterShutdown() {
+        final SessionExecutor executor = new SessionExecutor(pool, () -> false);
+        executor.shutdown();
+        executor.execute(() -> {});
+    }
+
+    /**
+     * A thread of the pool only takes a new task a little after the task it ran has returned, so retry for a bit.
+     */
+    private static Future<?> submitOnceAccepted(final SessionExecutor executor) throws Exception {
+        final long deadline = System.currentTimeMillis() + 10000;
+        while (true) {
+            try {
+                return executor.submit(() -> {});
+            } catch (RejectedExecutionException ree) {
+                if (System.currentTimeMillis() > deadline) throw ree;
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    /**
+     * The executor decides if it holds its thread after the future of a task is complete, so wait a bit for it.
+     */
+    private static void assertHoldingThread(final SessionExecutor executor, final boolean holding) throws Exception {
+        final long deadline = System.currentTimeMillis() + 10000;
+        while (executor.isHoldingThread() != holding && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(holding, executor.isHoldingThread());
+    }
+}
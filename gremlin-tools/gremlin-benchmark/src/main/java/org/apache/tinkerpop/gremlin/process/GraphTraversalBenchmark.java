@@ -86,6 +86,21 @@ public class GraphTraversalBenchmark extends AbstractGraphBenchmark {
         return g.V().label().groupCount().toList();
     }
 
+    @Benchmark
+    public List<Vertex> g_V_out_out_dedup() throws Exception {
+        return g.V().out().out().dedup().toList();
+    }
+
+    @Benchmark
+    public List<Vertex> g_V_out_barrier_out_barrier() throws Exception {
+        return g.V().out().barrier().out().barrier().toList();
+    }
+
+    @Benchmark
+    public List<Map<Object, Long>> g_V_out_out_groupCount() throws Exception {
+        return g.V().out().out().groupCount().toList();
+    }
+
     @Benchmark
     public List<Object> g_V_match_selectXbX_valuesXnameX() throws Exception {
         return g.V().match(
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process;
+
+import org.apache.tinkerpop.benchmark.util.AbstractGraphBenchmark;
+import org.apache.tinkerpop.gremlin.LoadGraphWith;
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.CompactPathTraverserGeneratorFactory;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.DefaultTraverserGeneratorFactory;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.P.neq;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
+
+/**
+ * Compares the {@link org.apache.tinkerpop.gremlin.process.traversal.step.util.ImmutablePath} that traversers hold by
+ * default with the {@link org.apache.tinkerpop.gremlin.process.traversal.step.util.CompactPath} that they hold when
+ * created by the {@link CompactPathTraverserGeneratorFactory}, for traversals that require paths.
+ *
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ */
+@LoadGraphWith(LoadGraphWith.GraphData.GRATEFUL)
+public class PathBenchmark extends AbstractGraphBenchmark {
+
+    @Param({"immutable", "compact"})
+    public String pathType;
+
+    @Setup
+    @Override
+    public void prepare() throws IOException {
+        super.prepare();
+        g = g.withTraverserGeneratorFactory(pathType.equals("compact") ?
+                CompactPathTraverserGeneratorFactory.instance() :
+                DefaultTraverserGeneratorFactory.instance());
+    }
+
+    @Benchmark
+    public List<Path> g_V_out_out_path() throws Exception {
+        return g.V().out().out().path().toList();
+    }
+
+    @Benchmark
+    public List<Path> g_V_repeatXout_simplePathX_timesX2X_path() throws Exception {
+        return g.V().repeat(out().simplePath()).times(2).path().toList();
+    }
+
+    @Benchmark
+    public List<Map<String, Vertex>> g_V_asXaX_out_asXbX_out_asXcX_selectXa_b_cX() throws Exception {
+        return g.V().as("a").out().as("b").out().as("c").<Vertex>select("a", "b", "c").toList();
+    }
+
+    @Benchmark
+    public Long g_V_asXaX_out_out_whereXneqXaXX_count() throws Exception {
+        return g.V().as("a").out().out().where(neq("a")).count().next();
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process;
+
+import org.apache.tinkerpop.benchmark.util.AbstractBenchmarkBase;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_O_Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * Measures {@link TraverserSet} directly for the patterns in which steps use it: collecting mostly distinct
+ * traversers as {@code dedup()} does, merging many equal traversers as a barrier or {@code groupCount()} does, and
+ * being filled and drained as a queue as {@code ExpandableStepIterator} does.
+ *
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ */
+@State(Scope.Thread)
+public class TraverserSetBenchmark extends AbstractBenchmarkBase {
+
+    private static final int TRAVERSERS = 10000;
+
+    @Param({"10", "1000", "10000"})
+    public int distinctObjects;
+
+    private Traverser.Admin<Integer>[] traversers;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void prepare() {
+        final Random random = new Random(123456789L);
+        traversers = new Traverser.Admin[TRAVERSERS];
+        for (int ix = 0; ix < TRAVERSERS; ix++) {
+            traversers[ix] = new B_O_Traverser<>(random.nextInt(distinctObjects), 1L);
+        }
+    }
+
+    @Benchmark
+    public TraverserSet<Integer> addAndMerge() {
+        final TraverserSet<Integer> traverserSet = new TraverserSet<>();
+        for (final Traverser.Admin<Integer> traverser : traversers) {
+            traverserSet.add(traverser.split());
+        }
+        return traverserSet;
+    }
+
+    @Benchmark
+    public long addAndPoll() {
+        final TraverserSet<Integer> traverserSet = new TraverserSet<>();
+        long bulk = 0L;
+        for (int ix = 0; ix < TRAVERSERS; ix++) {
+            traverserSet.add(traversers[ix].split());
+            if (ix % 10 == 9) {
+                while (!traverserSet.isEmpty()) {
+                    bulk = bulk + traverserSet.remove().bulk();
+                }
+            }
+        }
+        return bulk;
+    }
+
+    @Benchmark
+    public long addAndIterate() {
+        final TraverserSet<Integer> traverserSet = new TraverserSet<>();
+        for (final Traverser.Admin<Integer> traverser : traversers) {
+            traverserSet.add(traverser.split());
+        }
+        long bulk = 0L;
+        for (final Traverser.Admin<Integer> traverser : traverserSet) {
+            bulk = bulk + traverser.bulk();
+        }
+        return bulk;
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph;
+
+import org.apache.commons.configuration.BaseConfiguration;
+import org.apache.commons.configuration.Configuration;
+import org.apache.tinkerpop.benchmark.util.AbstractBenchmarkBase;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.profile.Profiler;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the {@link TinkerGraph.AdjacencyStorage} options over a randomly generated graph. Traversal throughput is
+ * measured by the benchmarks themselves and the heap that the loaded graph retains is reported next to each of them
+ * as the {@code ·retained.bytes.per.edge} secondary result by the {@link TinkerGraphRetainedHeapProfiler}.
+ */
+@State(Scope.Thread)
+public class TinkerGraphAdjacencyBenchmark extends AbstractBenchmarkBase {
+
+    private static final int VERTICES = 100000;
+    private static final int EDGES_PER_VERTEX = 10;
+    private static final String[] LABELS = new String[]{"knows", "created", "likes"};
+
+    @Param({"HASH", "COMPACT"})
+    public String adjacencyStorage;
+
+    private TinkerGraph graph;
+    private GraphTraversalSource g;
+
+    @Setup
+    public void prepare() {
+        final long before = usedHeapAfterGc();
+        graph = TinkerGraph.open(configuration(adjacencyStorage));
+        loadRandomGraph(graph);
+        TinkerGraphRetainedHeapProfiler.retainedBytesPerEdge =
+                (double) (usedHeapAfterGc() - before) / (VERTICES * EDGES_PER_VERTEX);
+        g = graph.traversal();
+    }
+
+    @TearDown
+    public void cleanup() {
+        graph.close();
+    }
+
+    @Benchmark
+    public long g_V_outE_count() {
+        return g.V().outE().count().next();
+    }
+
+    @Benchmark
+    public long g_V_out_out_count() {
+        return g.V().out().out().count().next();
+    }
+
+    @Benchmark
+    public long g_V_outXknowsX_inXlikesX_count() {
+        return g.V().out("knows").in("likes").count().next();
+    }
+
+    @Benchmark
+    public TinkerGraph loadGraph() {
+        final TinkerGraph loaded = TinkerGraph.open(configuration(adjacencyStorage));
+        loadRandomGraph(loaded);
+        return loaded;
+    }
+
+    @Override
+    protected List<Class<? extends Profiler>> getProfilers() {
+        return Collections.singletonList(TinkerGraphRetainedHeapProfiler.class);
+    }
+
+    private static Configuration configuration(final String adjacencyStorage) {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_ADJACENCY_STORAGE, adjacencyStorage);
+        return conf;
+    }
+
+    private static void loadRandomGraph(final TinkerGraph graph) {
+        final Random random = new Random(123456789L);
+        final Vertex[] vertices = new Vertex[VERTICES];
+        for (int ix = 0; ix < VERTICES; ix++) {
+            vertices[ix] = graph.addVertex();
+        }
+        for (int ix = 0; ix < VERTICES; ix++) {
+            for (int iy = 0; iy < EDGES_PER_VERTEX; iy++) {
+                vertices[ix].addEdge(LABELS[random.nextInt(LABELS.length)], vertices[random.nextInt(VERTICES)]);
+            }
+        }
+    }
+
+    private static long usedHeapAfterGc() {
+        final Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        // a single System.gc() is only a hint, so collect until the used heap stops shrinking
+        for (int ix = 0; ix < 10; ix++) {
+            System.gc();
+            final long current = runtime.totalMemory() - runtime.freeMemory();
+            if (current >= used) break;
+            used = current;
+        }
+        return used;
+    }
+}
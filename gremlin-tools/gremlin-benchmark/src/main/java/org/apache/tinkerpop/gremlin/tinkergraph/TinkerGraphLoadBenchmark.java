@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph;
+
+import org.apache.commons.configuration.BaseConfiguration;
+import org.apache.commons.configuration.Configuration;
+import org.apache.tinkerpop.benchmark.util.AbstractBenchmarkBase;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time to open a {@link TinkerGraph} from its {@code graphLocation} as the number of threads used to
+ * load a {@code gryo-chunked} file grows, with the single-threaded {@code gryo} format as the baseline for which the
+ * number of threads has no effect.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TinkerGraphLoadBenchmark extends AbstractBenchmarkBase {
+
+    private static final int VERTICES = 100000;
+    private static final int EDGES_PER_VERTEX = 10;
+    private static final String[] LABELS = new String[]{"knows", "created", "likes"};
+
+    @Param({"gryo", "gryo-chunked"})
+    public String graphFormat;
+
+    @Param({"1", "2", "4", "8"})
+    public int graphLoadThreads;
+
+    private File graphLocation;
+
+    @Setup
+    public void prepare() throws IOException {
+        graphLocation = File.createTempFile("tinkergraph-load", ".kryo");
+        graphLocation.delete();
+        final TinkerGraph graph = TinkerGraph.open(configuration());
+        loadRandomGraph(graph);
+        graph.close();
+    }
+
+    @TearDown
+    public void cleanup() {
+        graphLocation.delete();
+    }
+
+    @Benchmark
+    public TinkerGraph openGraph() {
+        // the graph is not closed as that would write it back to the graphLocation
+        return TinkerGraph.open(configuration());
+    }
+
+    private Configuration configuration() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, graphFormat);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation.getAbsolutePath());
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOAD_THREADS, graphLoadThreads);
+        return conf;
+    }
+
+    private static void loadRandomGraph(final TinkerGraph graph) {
+        final Random random = new Random(123456789L);
+        final Vertex[] vertices = new Vertex[VERTICES];
+        for (int ix = 0; ix < VERTICES; ix++) {
+            vertices[ix] = graph.addVertex("name", "v" + ix, "age", random.nextInt(100));
+        }
+        for (int ix = 0; ix < VERTICES; ix++) {
+            for (int iy = 0; iy < EDGES_PER_VERTEX; iy++) {
+                vertices[ix].addEdge(LABELS[random.nextInt(LABELS.length)], vertices[random.nextInt(VERTICES)],
+                        "weight", random.nextDouble());
+            }
+        }
+    }
+}
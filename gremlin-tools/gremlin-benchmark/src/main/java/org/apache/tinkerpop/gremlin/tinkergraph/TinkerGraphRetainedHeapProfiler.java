@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph;
+
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.profile.ProfilerResult;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Reports the heap retained per edge by the graph that {@link TinkerGraphAdjacencyBenchmark} loaded in the forked
+ * JVM, so that the footprint of each {@link TinkerGraph.AdjacencyStorage} is published next to its throughput.
+ *
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ */
+public class TinkerGraphRetainedHeapProfiler implements InternalProfiler {
+
+    /**
+     * The heap retained by the last graph that the benchmark loaded in this JVM, divided by its number of edges.
+     */
+    static volatile double retainedBytesPerEdge = Double.NaN;
+
+    @Override
+    public String getDescription() {
+        return "Heap retained per edge by the graph of TinkerGraphAdjacencyBenchmark";
+    }
+
+    @Override
+    public void beforeIteration(final BenchmarkParams benchmarkParams, final IterationParams iterationParams) {
+    }
+
+    @Override
+    public Collection<? extends Result> afterIteration(final BenchmarkParams benchmarkParams,
+                                                       final IterationParams iterationParams,
+                                                       final IterationResult result) {
+        return Double.isNaN(retainedBytesPerEdge) ?
+                Collections.<Result>emptyList() :
+                Collections.singletonList(new ProfilerResult("·retained.bytes.per.edge", retainedBytesPerEdge,
+                        "B/edge", AggregationPolicy.AVG));
+    }
+}
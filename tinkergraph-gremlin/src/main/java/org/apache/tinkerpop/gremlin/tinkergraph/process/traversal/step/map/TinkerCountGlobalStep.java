@@ -1,48 +1,73 @@
 /*
- *  Licensed to the Apache Software Foundation (ASF) under one
- *  or more contributor license agreements.  See the NOTICE file
- *  distributed with this work for additional information
- *  regarding copyright ownership.  The ASF licenses this file
- *  to you under the Apache License, Version 2.0 (the
- *  "License"); you may not use this file except in compliance
- *  with the License.  You may obtain a copy of the License at
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
  *
- *  http://www.apache.org/licenses/LICENSE-2.0
+ * http://www.apache.org/licenses/LICENSE-2.0
  *
- *  Unless required by applicable law or agreed to in writing,
- *  software distributed under the License is distributed on an
- *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
- *  KIND, either express or implied.  See the License for the
- *  specific language governing permissions and limitations
- *  under the License.
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
  */
-
 package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.map;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
 import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 
 /**
+ * Counts the vertices or edges of the graph that satisfy the {@link HasContainer} instances, if any, without
+ * producing a traverser for each of them. A count of all elements is the size of the graph, a count by label comes
+ * from the {@link org.apache.tinkerpop.gremlin.structure.util.GraphStatistics} of the graph and a count by the value
+ * of an indexed key from its index, which is also used to find the elements to test when there are other containers
+ * as well.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class TinkerCountGlobalStep<S extends Element> extends AbstractStep<S, Long> {
 
     private final Class<S> elementClass;
+    private final List<HasContainer> hasContainers;
     private boolean done = false;
 
     public TinkerCountGlobalStep(final Traversal.Admin traversal, final Class<S> elementClass) {
+        this(traversal, elementClass, Collections.emptyList());
+    }
+
+    public TinkerCountGlobalStep(final Traversal.Admin traversal, final Class<S> elementClass, final List<HasContainer> hasContainers) {
         super(traversal);
         this.elementClass = elementClass;
+        this.hasContainers = Collections.unmodifiableList(new ArrayList<>(hasContainers));
+    }
+
+    public List<HasContainer> getHasContainers() {
+        return this.hasContainers;
     }
 
     @Override
@@ -50,22 +75,80 @@ public final class TinkerCountGlobalStep<S extends Element> extends AbstractStep
         if (!this.done) {
             this.done = true;
             final TinkerGraph graph = (TinkerGraph) this.getTraversal().getGraph().get();
-            return this.getTraversal().getTraverserGenerator().generate(Vertex.class.isAssignableFrom(this.elementClass) ?
-                            (long) TinkerHelper.getVertices(graph).size() :
-                            (long) TinkerHelper.getEdges(graph).size(),
-                    (Step) this, 1L);
+            return this.getTraversal().getTraverserGenerator().generate(this.count(graph), (Step) this, 1L);
         } else
             throw FastNoSuchElementException.instance();
     }
 
+    private long count(final TinkerGraph graph) {
+        final boolean vertices = Vertex.class.isAssignableFrom(this.elementClass);
+        if (this.hasContainers.isEmpty())
+            return vertices ? TinkerHelper.getVertices(graph).size() : TinkerHelper.getEdges(graph).size();
+
+        if (this.hasContainers.size() == 1 && isLabelContainer(this.hasContainers.get(0))) {
+            final Object labels = this.hasContainers.get(0).getValue();
+            long count = 0;
+            for (final Object label : labels instanceof Collection ? new HashSet<>((Collection<?>) labels) : Collections.singleton(labels)) {
+                count += graph.statistics().countByLabel(this.elementClass, (String) label).orElse(0L);
+            }
+            return count;
+        }
+
+        final HasContainer indexedContainer = this.getIndexedContainer(graph);
+        if (null != indexedContainer && this.hasContainers.size() == 1)
+            return graph.statistics().countByValue(this.elementClass, indexedContainer.getKey(), indexedContainer.getValue()).get();
+
+        // the index, if there is one, narrows the elements that the containers are tested against
+        final Iterator<? extends Element> elements;
+        if (null != indexedContainer)
+            elements = vertices ?
+                    TinkerHelper.queryVertexIndex(graph, indexedContainer.getKey(), indexedContainer.getValue()) :
+                    TinkerHelper.queryEdgeIndex(graph, indexedContainer.getKey(), indexedContainer.getValue());
+        else
+            elements = vertices ?
+                    TinkerHelper.getVertices(graph).values().iterator() :
+                    TinkerHelper.getEdges(graph).values().iterator();
+        long count = 0;
+        while (elements.hasNext()) {
+            if (HasContainer.testAll(elements.next(), this.hasContainers))
+                count++;
+        }
+        return count;
+    }
+
+    private HasContainer getIndexedContainer(final TinkerGraph graph) {
+        for (final HasContainer hasContainer : this.hasContainers) {
+            if (hasContainer.getBiPredicate() == Compare.eq &&
+                    graph.getIndexedKeys(this.elementClass).contains(hasContainer.getKey()))
+                return hasContainer;
+        }
+        return null;
+    }
+
+    /**
+     * Determines if the container filters on labels alone, which is with {@code eq} or {@code within}, so that the
+     * number of elements it allows is the sum of the number of elements with each label.
+     */
+    public static boolean isLabelContainer(final HasContainer hasContainer) {
+        if (!hasContainer.getKey().equals(T.label.getAccessor()))
+            return false;
+        final Object value = hasContainer.getValue();
+        if (hasContainer.getBiPredicate() == Compare.eq)
+            return value instanceof String;
+        return hasContainer.getBiPredicate() == Contains.within && value instanceof Collection &&
+                ((Collection<?>) value).stream().allMatch(label -> label instanceof String);
+    }
+
     @Override
     public String toString() {
-        return StringFactory.stepString(this, this.elementClass.getSimpleName().toLowerCase());
+        return this.hasContainers.isEmpty() ?
+                StringFactory.stepString(this, this.elementClass.getSimpleName().toLowerCase()) :
+                StringFactory.stepString(this, this.elementClass.getSimpleName().toLowerCase(), this.hasContainers);
     }
 
     @Override
     public int hashCode() {
-        return super.hashCode() ^ this.elementClass.hashCode();
+        return super.hashCode() ^ this.elementClass.hashCode() ^ this.hasContainers.hashCode();
     }
 
     @Override
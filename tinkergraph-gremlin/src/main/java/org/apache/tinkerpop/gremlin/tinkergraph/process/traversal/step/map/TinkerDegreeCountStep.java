@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.map;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Counts the edges, or adjacent vertices, of the vertices with the specified ids from the size of their adjacency as
+ * in {@code g.V(id).outE("knows").count()}, rather than producing a traverser for each edge.
+ *
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ */
+public final class TinkerDegreeCountStep<S> extends AbstractStep<S, Long> {
+
+    private final Object[] ids;
+    private final Direction direction;
+    private final String[] edgeLabels;
+    private boolean done = false;
+
+    public TinkerDegreeCountStep(final Traversal.Admin traversal, final Object[] ids, final Direction direction,
+                                 final String... edgeLabels) {
+        super(traversal);
+        this.ids = ids;
+        this.direction = direction;
+        this.edgeLabels = edgeLabels;
+    }
+
+    public Object[] getIds() {
+        return this.ids;
+    }
+
+    public Direction getDirection() {
+        return this.direction;
+    }
+
+    public String[] getEdgeLabels() {
+        return this.edgeLabels;
+    }
+
+    @Override
+    protected Traverser.Admin<Long> processNextStart() throws NoSuchElementException {
+        if (!this.done) {
+            this.done = true;
+            final TinkerGraph graph = (TinkerGraph) this.getTraversal().getGraph().get();
+            long degree = 0;
+            final Iterator<Vertex> vertices = graph.vertices(this.ids);
+            while (vertices.hasNext()) {
+                degree += TinkerHelper.getDegree((TinkerVertex) vertices.next(), this.direction, this.edgeLabels);
+            }
+            return this.getTraversal().getTraverserGenerator().generate(degree, (Step) this, 1L);
+        } else
+            throw FastNoSuchElementException.instance();
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, Arrays.asList(this.ids), this.direction, Arrays.asList(this.edgeLabels));
+    }
+
+    @Override
+    public int hashCode() {
+        int result = super.hashCode() ^ this.direction.hashCode();
+        for (final Object id : this.ids) {
+            result ^= id.hashCode();
+        }
+        for (final String edgeLabel : this.edgeLabels) {
+            result ^= edgeLabel.hashCode();
+        }
+        return result;
+    }
+
+    @Override
+    public void reset() {
+        this.done = false;
+    }
+}
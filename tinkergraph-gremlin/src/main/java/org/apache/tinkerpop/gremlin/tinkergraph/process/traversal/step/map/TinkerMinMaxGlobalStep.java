@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.map;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Operator;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Computes the minimum or maximum of the values that the vertices or edges of the graph have for a key, as in
+ * {@code g.V().values("age").max()}, from the distinct values held by the index of the key rather than from a
+ * traverser for each value. The values are reduced with the same {@link Operator} and from the same seed as
+ * {@code min()} and {@code max()}, so that the result, including its type, is the same. Should the key not be
+ * indexed when the step is executed, the values are read from the elements of the graph instead.
+ *
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ */
+public final class TinkerMinMaxGlobalStep<S extends Element, E extends Number> extends AbstractStep<S, E> {
+
+    private final Class<S> elementClass;
+    private final String propertyKey;
+    private final Operator operator;
+    private final E seed;
+    private boolean done = false;
+
+    public TinkerMinMaxGlobalStep(final Traversal.Admin traversal, final Class<S> elementClass, final String propertyKey,
+                                  final Operator operator, final E seed) {
+        super(traversal);
+        if (operator != Operator.min && operator != Operator.max)
+            throw new IllegalArgumentException("The operator must be either min or max: " + operator);
+        this.elementClass = elementClass;
+        this.propertyKey = propertyKey;
+        this.operator = operator;
+        this.seed = seed;
+    }
+
+    public String getPropertyKey() {
+        return this.propertyKey;
+    }
+
+    public Operator getOperator() {
+        return this.operator;
+    }
+
+    @Override
+    protected Traverser.Admin<E> processNextStart() throws NoSuchElementException {
+        if (!this.done) {
+            this.done = true;
+            final TinkerGraph graph = (TinkerGraph) this.getTraversal().getGraph().get();
+            final Set<Object> values = TinkerHelper.getIndexedValues(graph, this.elementClass, this.propertyKey);
+            Object result = this.seed;
+            if (null != values) {
+                for (final Object value : values) {
+                    result = this.operator.apply(result, value);
+                }
+            } else {
+                final Collection<? extends Element> elements = Vertex.class.isAssignableFrom(this.elementClass) ?
+                        TinkerHelper.getVertices(graph).values() : TinkerHelper.getEdges(graph).values();
+                for (final Element element : elements) {
+                    final Iterator<? extends Property<Object>> properties = element.properties(this.propertyKey);
+                    while (properties.hasNext()) {
+                        result = this.operator.apply(result, properties.next().value());
+                    }
+                }
+            }
+            return this.getTraversal().getTraverserGenerator().generate((E) result, (Step) this, 1L);
+        } else
+            throw FastNoSuchElementException.instance();
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, this.elementClass.getSimpleName().toLowerCase(), this.propertyKey, this.operator);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode() ^ this.elementClass.hashCode() ^ this.propertyKey.hashCode() ^ this.operator.hashCode();
+    }
+
+    @Override
+    public void reset() {
+        this.done = false;
+    }
+}
@@ -19,26 +19,33 @@
 package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.sideEffect;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.util.AndP;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerEdge;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.function.BiPredicate;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -47,6 +54,9 @@ import java.util.stream.Collectors;
 public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E> implements HasContainerHolder {
 
     private final List<HasContainer> hasContainers = new ArrayList<>();
+    private String orderKey = null;
+    private boolean orderDescending = false;
+    private long orderLimit = -1;
 
     public TinkerGraphStep(final GraphStep<S, E> originalGraphStep) {
         super(originalGraphStep.getTraversal(), originalGraphStep.getReturnClass(), originalGraphStep.isStartStep(), originalGraphStep.getIds());
@@ -61,38 +71,206 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
 
     private Iterator<? extends Edge> edges() {
         final TinkerGraph graph = (TinkerGraph) this.getTraversal().getGraph().get();
-        final HasContainer indexedContainer = getIndexKey(Edge.class);
         // ids are present, filter on them first
         if (this.ids != null && this.ids.length > 0)
             return this.iteratorList(graph.edges(this.ids));
-        else
-            return null == indexedContainer ?
-                    this.iteratorList(graph.edges()) :
-                    TinkerHelper.queryEdgeIndex(graph, indexedContainer.getKey(), indexedContainer.getPredicate().getValue()).stream()
-                            .filter(edge -> HasContainer.testAll(edge, this.hasContainers))
-                            .collect(Collectors.<Edge>toList()).iterator();
+
+        final Iterator<TinkerEdge> indexed = this.indexIterator(graph, Edge.class);
+        if (null != indexed)
+            return this.indexIteratorFilter(indexed);
+        else {
+            final Iterator<Edge> sorted = this.sortedIndexIterator(graph, Edge.class);
+            return null == sorted ? this.iteratorList(graph.edges()) : sorted;
+        }
     }
 
     private Iterator<? extends Vertex> vertices() {
         final TinkerGraph graph = (TinkerGraph) this.getTraversal().getGraph().get();
-        final HasContainer indexedContainer = getIndexKey(Vertex.class);
         // ids are present, filter on them first
         if (this.ids != null && this.ids.length > 0)
             return this.iteratorList(graph.vertices(this.ids));
-        else
-            return null == indexedContainer ?
-                    this.iteratorList(graph.vertices()) :
-                    IteratorUtils.filter(TinkerHelper.queryVertexIndex(graph, indexedContainer.getKey(), indexedContainer.getPredicate().getValue()).iterator(),
-                            vertex -> HasContainer.testAll(vertex, this.hasContainers));
+
+        final Iterator<TinkerVertex> indexed = this.indexIterator(graph, Vertex.class);
+        if (null != indexed)
+            return this.indexIteratorFilter(indexed);
+        else {
+            final Iterator<Vertex> sorted = this.sortedIndexIterator(graph, Vertex.class);
+            return null == sorted ? this.iteratorList(graph.vertices()) : sorted;
+        }
+    }
+
+    /**
+     * Looks up the elements that satisfy the equality {@link HasContainer}s through the composite index covering the
+     * most of them or, failing that, through the index of a single key. Returns {@code null} if neither can be used.
+     */
+    private <T extends Element> Iterator<T> indexIterator(final TinkerGraph graph, final Class<? extends Element> indexedClass) {
+        final List<String> compositeKeys = this.getCompositeIndexKeys(graph, indexedClass);
+        if (null != compositeKeys) {
+            final List<Object> values = new ArrayList<>(compositeKeys.size());
+            for (final String key : compositeKeys) {
+                values.add(this.getEqualityContainer(key).getValue());
+            }
+            return (Iterator<T>) (Vertex.class.isAssignableFrom(indexedClass) ?
+                    TinkerHelper.queryVertexCompositeIndex(graph, compositeKeys, values) :
+                    TinkerHelper.queryEdgeCompositeIndex(graph, compositeKeys, values));
+        }
+
+        final HasContainer indexedContainer = getIndexKey(indexedClass);
+        if (null == indexedContainer)
+            return null;
+        return (Iterator<T>) (Vertex.class.isAssignableFrom(indexedClass) ?
+                TinkerHelper.queryVertexIndex(graph, indexedContainer.getKey(), indexedContainer.getPredicate().getValue()) :
+                TinkerHelper.queryEdgeIndex(graph, indexedContainer.getKey(), indexedContainer.getPredicate().getValue()));
     }
 
+    /**
+     * Filters the elements of an index lazily, unless the traversal can modify the graph in which case they are
+     * copied first as the index may otherwise grow with the elements the traversal itself adds.
+     */
+    private <T extends Element> Iterator<T> indexIteratorFilter(final Iterator<T> iterator) {
+        return TraversalHelper.hasStepOfAssignableClassRecursively(Mutating.class, TraversalHelper.getRootTraversal(this.getTraversal())) ?
+                this.iteratorList(iterator) :
+                IteratorUtils.filter(iterator, element -> HasContainer.testAll(element, this.hasContainers));
+    }
+
+    /**
+     * Gets the equality {@link HasContainer} on an indexed key that matches the fewest elements.
+     */
     private HasContainer getIndexKey(final Class<? extends Element> indexedClass) {
-        final Set<String> indexedKeys = ((TinkerGraph) this.getTraversal().getGraph().get()).getIndexedKeys(indexedClass);
+        final TinkerGraph graph = (TinkerGraph) this.getTraversal().getGraph().get();
+        final Set<String> indexedKeys = graph.getIndexedKeys(indexedClass);
+
+        HasContainer best = null;
+        long bestCount = Long.MAX_VALUE;
+        for (final HasContainer hasContainer : this.hasContainers) {
+            if (hasContainer.getPredicate().getBiPredicate() == Compare.eq && indexedKeys.contains(hasContainer.getKey())) {
+                final long count = graph.statistics().countByValue(indexedClass, hasContainer.getKey(), hasContainer.getValue()).orElse(Long.MAX_VALUE);
+                if (null == best || count < bestCount) {
+                    best = hasContainer;
+                    bestCount = count;
+                }
+            }
+        }
+        return best;
+    }
+
+    private List<String> getCompositeIndexKeys(final TinkerGraph graph, final Class<? extends Element> indexedClass) {
+        final Set<List<String>> compositeKeys = graph.getCompositeIndexedKeys(indexedClass);
+        if (compositeKeys.isEmpty())
+            return null;
+
+        List<String> best = null;
+        for (final List<String> keys : compositeKeys) {
+            if ((null == best || keys.size() > best.size()) && keys.stream().allMatch(key -> null != this.getEqualityContainer(key)))
+                best = keys;
+        }
+        return best;
+    }
+
+    private HasContainer getEqualityContainer(final String key) {
+        for (final HasContainer hasContainer : this.hasContainers) {
+            if (hasContainer.getBiPredicate() == Compare.eq && key.equals(hasContainer.getKey()))
+                return hasContainer;
+        }
+        return null;
+    }
+
+    /**
+     * Uses a {@link TinkerGraph.IndexType#SORTED} index to find the elements that satisfy range predicates on the
+     * indexed key, or to produce elements in the order requested by {@link #setOrderLimit(String, Order, long)}.
+     * Returns {@code null} if no sorted index can be used.
+     */
+    private <E extends Element> Iterator<E> sortedIndexIterator(final TinkerGraph graph, final Class<E> elementClass) {
+        final Set<String> sortedKeys = graph.getSortedIndexedKeys(elementClass);
+        if (sortedKeys.isEmpty())
+            return null;
 
-        final Iterator<HasContainer> itty = IteratorUtils.filter(hasContainers.iterator(),
-                c -> c.getPredicate().getBiPredicate() == Compare.eq && indexedKeys.contains(c.getKey()));
-        return itty.hasNext() ? itty.next() : null;
+        String key = null;
+        if (null != this.orderKey && sortedKeys.contains(this.orderKey))
+            key = this.orderKey;
+        else {
+            for (final HasContainer hasContainer : this.hasContainers) {
+                if (isRangeContainer(hasContainer) && sortedKeys.contains(hasContainer.getKey())) {
+                    key = hasContainer.getKey();
+                    break;
+                }
+            }
+        }
+        if (null == key)
+            return null;
+
+        Object from = null, to = null;
+        boolean fromInclusive = true, toInclusive = true, bounded = false;
+        for (final HasContainer hasContainer : this.hasContainers) {
+            if (!key.equals(hasContainer.getKey()) || !isRangeContainer(hasContainer))
+                continue;
+            final BiPredicate<?, ?> biPredicate = hasContainer.getBiPredicate();
+            final Object value = hasContainer.getValue();
+            if (!TinkerHelper.isSortedIndexValue(value))
+                continue;
+            if (biPredicate == Compare.gt || biPredicate == Compare.gte || biPredicate == Compare.eq) {
+                final int comparison = null == from ? 1 : TinkerHelper.compareSortedIndexValues(value, from);
+                final boolean inclusive = biPredicate != Compare.gt;
+                if (comparison > 0) {
+                    from = value;
+                    fromInclusive = inclusive;
+                } else if (comparison == 0)
+                    fromInclusive = fromInclusive && inclusive;
+            }
+            if (biPredicate == Compare.lt || biPredicate == Compare.lte || biPredicate == Compare.eq) {
+                final int comparison = null == to ? -1 : TinkerHelper.compareSortedIndexValues(value, to);
+                final boolean inclusive = biPredicate != Compare.lt;
+                if (comparison < 0) {
+                    to = value;
+                    toInclusive = inclusive;
+                } else if (comparison == 0)
+                    toInclusive = toInclusive && inclusive;
+            }
+            bounded = true;
+        }
+
+        // without a bound on the key, elements that do not have the key would be skipped by the index, so ordering
+        // through it is only possible when every element has the key indexed
+        final boolean ordered = key.equals(this.orderKey);
+        if (!bounded && !(ordered && TinkerHelper.isSortedIndexComplete(graph, elementClass, key)))
+            return null;
+
+        final boolean descending = ordered && this.orderDescending;
+        final Collection<? extends Set<? extends Element>> sets = Vertex.class.isAssignableFrom(elementClass) ?
+                TinkerHelper.queryVertexIndex(graph, key, from, fromInclusive, to, toInclusive, descending) :
+                TinkerHelper.queryEdgeIndex(graph, key, from, fromInclusive, to, toInclusive, descending);
+
+        // a vertex with multiple values for the key may appear in more than one set
+        final Set<Element> seen = Vertex.class.isAssignableFrom(elementClass) ? new HashSet<>() : null;
+        final List<E> list = new ArrayList<>();
+        for (final Set<? extends Element> set : sets) {
+            for (final Element element : set) {
+                if ((null == seen || seen.add(element)) && HasContainer.testAll(element, this.hasContainers))
+                    list.add((E) element);
+            }
+            // all elements that tie with the last one kept are included so that order() can decide among them
+            if (ordered && this.orderLimit >= 0 && list.size() >= this.orderLimit)
+                break;
+        }
+        return list.iterator();
+    }
+
+    private static boolean isRangeContainer(final HasContainer hasContainer) {
+        final BiPredicate<?, ?> biPredicate = hasContainer.getBiPredicate();
+        return biPredicate == Compare.eq || biPredicate == Compare.gt || biPredicate == Compare.gte ||
+                biPredicate == Compare.lt || biPredicate == Compare.lte;
+    }
 
+    /**
+     * Informs this step that its elements are ordered by the value of the specified key and that only the first
+     * {@code limit} of them are required, so that a {@link TinkerGraph.IndexType#SORTED} index on that key may be
+     * used to avoid iterating all elements. The step may still produce more elements than the limit and does not
+     * guarantee their order, so the ordering and limiting steps that follow it must remain in place.
+     */
+    public void setOrderLimit(final String key, final Order order, final long limit) {
+        this.orderKey = key;
+        this.orderDescending = order == Order.decr;
+        this.orderLimit = limit;
     }
 
     @Override
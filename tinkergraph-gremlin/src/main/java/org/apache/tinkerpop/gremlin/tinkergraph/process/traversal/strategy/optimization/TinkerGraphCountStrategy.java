@@ -19,37 +19,53 @@
 
 package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.CountGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.MapStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.AggregateStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.IdentityStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.SideEffectStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.CollectingBarrierStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.map.TinkerCountGlobalStep;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.map.TinkerDegreeCountStep;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 /**
  * This strategy will do a direct {@link org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper#getVertices}
  * size call if the traversal is a count of the vertices and edges of the graph or a one-to-one map chain thereof.
+ * Counts of the elements with a label, or with the value of an indexed key, are read from the label counts of the
+ * graph and from its indices, while counts of the edges or adjacent vertices of the vertices with some ids are read
+ * from the size of their adjacency. In all cases the elements are counted without producing a traverser for each.
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  * @example <pre>
- * g.V().count()               // is replaced by TinkerCountGlobalStep
- * g.V().map(out()).count()    // is replaced by TinkerCountGlobalStep
- * g.E().label().count()       // is replaced by TinkerCountGlobalStep
+ * g.V().count()                       // is replaced by TinkerCountGlobalStep
+ * g.V().map(out()).count()            // is replaced by TinkerCountGlobalStep
+ * g.E().label().count()               // is replaced by TinkerCountGlobalStep
+ * g.V().hasLabel("person").count()    // is replaced by TinkerCountGlobalStep
+ * g.V().has("name","marko").count()   // is replaced by TinkerCountGlobalStep if "name" is indexed
+ * g.V(1).outE("knows").count()        // is replaced by TinkerDegreeCountStep
  * </pre>
  */
 public final class TinkerGraphCountStrategy extends AbstractTraversalStrategy<TraversalStrategy.ProviderOptimizationStrategy> implements TraversalStrategy.ProviderOptimizationStrategy {
@@ -66,10 +82,25 @@ public final class TinkerGraphCountStrategy extends AbstractTraversalStrategy<Tr
         final List<Step> steps = traversal.getSteps();
         if (steps.size() < 2 ||
                 !(steps.get(0) instanceof GraphStep) ||
-                0 != ((GraphStep) steps.get(0)).getIds().length ||
                 !(steps.get(steps.size() - 1) instanceof CountGlobalStep))
             return;
-        for (int i = 1; i < steps.size() - 1; i++) {
+        final GraphStep<?, ?> graphStep = (GraphStep<?, ?>) steps.get(0);
+        final List<HasContainer> hasContainers = new ArrayList<>();
+        VertexStep<?> vertexStep = null;
+        int i = 1;
+        if (0 == graphStep.getIds().length) {
+            while (steps.get(i) instanceof HasStep) {
+                hasContainers.addAll(((HasStep<?>) steps.get(i)).getHasContainers());
+                i++;
+            }
+            if (!hasContainers.isEmpty() && !isCountable(traversal, graphStep.getReturnClass(), hasContainers))
+                return;
+        } else if (graphStep.returnsVertex() && steps.get(i) instanceof VertexStep) {
+            vertexStep = (VertexStep<?>) steps.get(i);
+            i++;
+        } else
+            return;
+        for (; i < steps.size() - 1; i++) {
             final Step current = steps.get(i);
             if (!(current instanceof MapStep ||
                     current instanceof IdentityStep ||
@@ -79,9 +110,38 @@ public final class TinkerGraphCountStrategy extends AbstractTraversalStrategy<Tr
                             TraversalHelper.anyStepRecursively(s -> (s instanceof SideEffectStep || s instanceof AggregateStep), (TraversalParent) current)))
                 return;
         }
-        final Class<? extends Element> elementClass = ((GraphStep<?, ?>) steps.get(0)).getReturnClass();
+        final Class<? extends Element> elementClass = graphStep.getReturnClass();
         TraversalHelper.removeAllSteps(traversal);
-        traversal.addStep(new TinkerCountGlobalStep<>(traversal, elementClass));
+        traversal.addStep(null == vertexStep ?
+                new TinkerCountGlobalStep<>(traversal, elementClass, hasContainers) :
+                new TinkerDegreeCountStep<>(traversal, graphStep.getIds(), vertexStep.getDirection(), vertexStep.getEdgeLabels()));
+    }
+
+    /**
+     * Determines if the elements that satisfy the containers can be counted without a scan of the graph, which is
+     * the case for a single filter on labels and for any filter on the exact value of an indexed key. Filters that
+     * match a composite index are left to {@link TinkerGraphStepStrategy}, as the composite index finds fewer
+     * elements to test.
+     */
+    private static boolean isCountable(final Traversal.Admin<?, ?> traversal, final Class<? extends Element> elementClass,
+                                       final List<HasContainer> hasContainers) {
+        if (hasContainers.size() == 1 && TinkerCountGlobalStep.isLabelContainer(hasContainers.get(0)))
+            return true;
+        final Optional<Graph> graph = traversal.getGraph();
+        if (!graph.isPresent() || !(graph.get() instanceof TinkerGraph))
+            return false;
+
+        final Set<String> equalityKeys = new HashSet<>();
+        for (final HasContainer hasContainer : hasContainers) {
+            if (hasContainer.getBiPredicate() == Compare.eq)
+                equalityKeys.add(hasContainer.getKey());
+        }
+        for (final List<String> compositeKeys : ((TinkerGraph) graph.get()).getCompositeIndexedKeys(elementClass)) {
+            if (equalityKeys.containsAll(compositeKeys))
+                return false;
+        }
+        equalityKeys.retainAll(((TinkerGraph) graph.get()).getIndexedKeys(elementClass));
+        return !equalityKeys.isEmpty();
     }
 
     @Override
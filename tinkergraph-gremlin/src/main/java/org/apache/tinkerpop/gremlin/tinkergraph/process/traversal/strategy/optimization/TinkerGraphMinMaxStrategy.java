@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Operator;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MaxGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MinGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.PropertiesStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ReducingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.PropertyType;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.map.TinkerMinMaxGlobalStep;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * This strategy computes the minimum or maximum of the values of an indexed key for all of the vertices or edges of
+ * the graph from the distinct values held by its index, rather than from a traverser for each element.
+ *
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ * @example <pre>
+ * g.V().values("age").max()       // is replaced by TinkerMinMaxGlobalStep if "age" is indexed
+ * g.E().values("weight").min()    // is replaced by TinkerMinMaxGlobalStep if "weight" is indexed
+ * </pre>
+ */
+public final class TinkerGraphMinMaxStrategy extends AbstractTraversalStrategy<TraversalStrategy.ProviderOptimizationStrategy> implements TraversalStrategy.ProviderOptimizationStrategy {
+
+    private static final TinkerGraphMinMaxStrategy INSTANCE = new TinkerGraphMinMaxStrategy();
+
+    private TinkerGraphMinMaxStrategy() {
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (!(traversal.getParent() instanceof EmptyStep) || TraversalHelper.onGraphComputer(traversal))
+            return;
+        final Graph graph = traversal.getGraph().orElse(null);
+        if (!(graph instanceof TinkerGraph))
+            return;
+        final List<Step> steps = traversal.getSteps();
+        if (steps.size() < 3 ||
+                !(steps.get(0) instanceof GraphStep) ||
+                0 != ((GraphStep) steps.get(0)).getIds().length ||
+                !(steps.get(1) instanceof PropertiesStep) ||
+                !(steps.get(steps.size() - 1) instanceof MinGlobalStep || steps.get(steps.size() - 1) instanceof MaxGlobalStep))
+            return;
+        for (int i = 2; i < steps.size() - 1; i++) {
+            if (!(steps.get(i) instanceof NoOpBarrierStep))
+                return;
+        }
+
+        final Class<? extends Element> elementClass = ((GraphStep<?, ?>) steps.get(0)).getReturnClass();
+        final PropertiesStep<?> propertiesStep = (PropertiesStep<?>) steps.get(1);
+        if (propertiesStep.getReturnType() != PropertyType.VALUE || propertiesStep.getPropertyKeys().length != 1 ||
+                !((TinkerGraph) graph).getIndexedKeys(elementClass).contains(propertiesStep.getPropertyKeys()[0]))
+            return;
+
+        final ReducingBarrierStep<Number, Number> reducingStep = (ReducingBarrierStep<Number, Number>) steps.get(steps.size() - 1);
+        final Operator operator = reducingStep instanceof MinGlobalStep ? Operator.min : Operator.max;
+        TraversalHelper.removeAllSteps(traversal);
+        traversal.addStep(new TinkerMinMaxGlobalStep<>(traversal, elementClass, propertiesStep.getPropertyKeys()[0],
+                operator, reducingStep.getSeedSupplier().get()));
+    }
+
+    @Override
+    public Set<Class<? extends ProviderOptimizationStrategy>> applyPost() {
+        return Collections.singleton(TinkerGraphStepStrategy.class);
+    }
+
+    public static TinkerGraphMinMaxStrategy instance() {
+        return INSTANCE;
+    }
+}
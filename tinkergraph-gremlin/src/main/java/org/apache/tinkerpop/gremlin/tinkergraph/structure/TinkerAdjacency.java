@@ -0,0 +1,224 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * The edges incident to a {@link TinkerVertex} in one direction, grouped by edge label. The implementation used is
+ * selected by {@link TinkerGraph#GREMLIN_TINKERGRAPH_ADJACENCY_STORAGE}.
+ *
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ */
+abstract class TinkerAdjacency {
+
+    /**
+     * Add an edge under the specified label.
+     */
+    abstract void add(final String label, final Edge edge);
+
+    /**
+     * Remove an edge from the specified label.
+     */
+    abstract void remove(final String label, final Edge edge);
+
+    /**
+     * Pass each edge with one of the specified labels (or all edges if no labels are given) to the consumer.
+     */
+    abstract void forEach(final String[] labels, final Consumer<Edge> consumer);
+
+    /**
+     * Count the edges with one of the specified labels (or all edges if no labels are given).
+     */
+    abstract long count(final String[] labels);
+
+    /**
+     * The original adjacency representation which keeps a {@code HashSet} of edges per label.
+     */
+    static final class HashAdjacency extends TinkerAdjacency {
+
+        private final Map<String, Set<Edge>> edges = new HashMap<>();
+
+        @Override
+        void add(final String label, final Edge edge) {
+            Set<Edge> set = this.edges.get(label);
+            if (null == set) {
+                set = new HashSet<>();
+                this.edges.put(label, set);
+            }
+            set.add(edge);
+        }
+
+        @Override
+        void remove(final String label, final Edge edge) {
+            final Set<Edge> set = this.edges.get(label);
+            if (null != set)
+                set.remove(edge);
+        }
+
+        @Override
+        void forEach(final String[] labels, final Consumer<Edge> consumer) {
+            if (labels.length == 0)
+                this.edges.values().forEach(set -> set.forEach(consumer));
+            else {
+                for (final String label : labels) {
+                    final Set<Edge> set = this.edges.get(label);
+                    if (null != set) set.forEach(consumer);
+                }
+            }
+        }
+
+        @Override
+        long count(final String[] labels) {
+            long count = 0;
+            if (labels.length == 0)
+                for (final Set<Edge> set : this.edges.values()) {
+                    count += set.size();
+                }
+            else {
+                for (final String label : labels) {
+                    final Set<Edge> set = this.edges.get(label);
+                    if (null != set) count += set.size();
+                }
+            }
+            return count;
+        }
+    }
+
+    /**
+     * A compact adjacency representation which keeps one growable {@code Edge[]} per (interned) label rather than a
+     * {@code HashSet}, so that each edge costs a single array slot instead of a hash table entry. Edges are appended
+     * in insertion order and removal is a linear scan over the edges of that label, starting from the most recently
+     * added edge.
+     */
+    static final class CompactAdjacency extends TinkerAdjacency {
+
+        private static final String[] EMPTY_LABELS = new String[0];
+        private static final Edge[][] EMPTY_EDGES = new Edge[0][];
+        private static final int[] EMPTY_SIZES = new int[0];
+
+        private String[] labels = EMPTY_LABELS;
+        private Edge[][] edges = EMPTY_EDGES;
+        private int[] sizes = EMPTY_SIZES;
+
+        @Override
+        void add(final String label, final Edge edge) {
+            int i = this.indexOf(label);
+            if (i < 0) {
+                i = this.labels.length;
+                this.labels = Arrays.copyOf(this.labels, i + 1);
+                this.edges = Arrays.copyOf(this.edges, i + 1);
+                this.sizes = Arrays.copyOf(this.sizes, i + 1);
+                this.labels[i] = label;
+                this.edges[i] = new Edge[1];
+            } else if (this.sizes[i] == this.edges[i].length) {
+                this.edges[i] = Arrays.copyOf(this.edges[i], this.sizes[i] + (this.sizes[i] >> 1) + 1);
+            }
+            this.edges[i][this.sizes[i]++] = edge;
+        }
+
+        @Override
+        void remove(final String label, final Edge edge) {
+            final int i = this.indexOf(label);
+            if (i < 0) return;
+            final Edge[] array = this.edges[i];
+            for (int j = this.sizes[i] - 1; j >= 0; j--) {
+                if (array[j] == edge || array[j].equals(edge)) {
+                    final int last = --this.sizes[i];
+                    System.arraycopy(array, j + 1, array, j, last - j);
+                    array[last] = null;
+                    break;
+                }
+            }
+            if (0 == this.sizes[i]) this.removeLabel(i);
+        }
+
+        @Override
+        void forEach(final String[] labels, final Consumer<Edge> consumer) {
+            if (labels.length == 0) {
+                for (int i = 0; i < this.labels.length; i++) {
+                    forEach(i, consumer);
+                }
+            } else {
+                for (final String label : labels) {
+                    final int i = this.indexOf(label);
+                    if (i >= 0) forEach(i, consumer);
+                }
+            }
+        }
+
+        @Override
+        long count(final String[] labels) {
+            long count = 0;
+            if (labels.length == 0) {
+                for (final int size : this.sizes) {
+                    count += size;
+                }
+            } else {
+                for (final String label : labels) {
+                    final int i = this.indexOf(label);
+                    if (i >= 0) count += this.sizes[i];
+                }
+            }
+            return count;
+        }
+
+        private void forEach(final int i, final Consumer<Edge> consumer) {
+            final Edge[] array = this.edges[i];
+            final int size = this.sizes[i];
+            for (int j = 0; j < size; j++) {
+                consumer.accept(array[j]);
+            }
+        }
+
+        private int indexOf(final String label) {
+            // labels are interned by the graph so an identity check usually succeeds before equals() is needed
+            for (int i = 0; i < this.labels.length; i++) {
+                if (this.labels[i] == label) return i;
+            }
+            for (int i = 0; i < this.labels.length; i++) {
+                if (this.labels[i].equals(label)) return i;
+            }
+            return -1;
+        }
+
+        private void removeLabel(final int i) {
+            final int last = this.labels.length - 1;
+            final String[] newLabels = new String[last];
+            final Edge[][] newEdges = new Edge[last][];
+            final int[] newSizes = new int[last];
+            System.arraycopy(this.labels, 0, newLabels, 0, i);
+            System.arraycopy(this.labels, i + 1, newLabels, i, last - i);
+            System.arraycopy(this.edges, 0, newEdges, 0, i);
+            System.arraycopy(this.edges, i + 1, newEdges, i, last - i);
+            System.arraycopy(this.sizes, 0, newSizes, 0, i);
+            System.arraycopy(this.sizes, i + 1, newSizes, i, last - i);
+            this.labels = newLabels;
+            this.edges = newEdges;
+            this.sizes = newSizes;
+        }
+    }
+}
@@ -0,0 +1,345 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.io.IoCore;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reads and writes the {@code gryo-chunked} graph format, a Gryo encoding of the graph split into chunks that can
+ * be decoded independently of one another. The file holds the vertex chunks, then the edge chunks and finally an
+ * index of the offset, length and element count of each chunk:
+ * <pre>
+ * [vertex chunk]* [edge chunk]* [vertex chunk count][edge chunk count]([offset][length][count])* [index offset][magic]
+ * </pre>
+ * A vertex is written with its label and its properties along with their meta-properties and an edge with its label,
+ * the ids of its vertices and its properties. On read, the file is memory-mapped a chunk at a time and the chunks are
+ * decoded by a pool of threads - first all the vertex chunks and then all the edge chunks, so that every vertex exists
+ * before the edges that reference it are added.
+ *
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ */
+final class TinkerChunkedGryo {
+
+    static final String FORMAT = "gryo-chunked";
+
+    private static final int MAGIC = 0x54474331;
+    private static final int CHUNK_ELEMENTS = 16384;
+    private static final int CHUNK_BYTES = 8 * 1024 * 1024;
+    private static final int FOOTER_BYTES = 12;
+
+    private TinkerChunkedGryo() {
+    }
+
+    /**
+     * Writes the graph to the stream. The graph may be changed by other threads while it is written with
+     * {@link TinkerGraph#GREMLIN_TINKERGRAPH_CONCURRENT_WRITES} enabled, in which case an edge may be written without
+     * one of its vertices.
+     */
+    static void write(final TinkerGraph graph, final OutputStream outputStream) throws IOException {
+        final Kryo kryo = createKryo(graph);
+        final Output output = new Output(64 * 1024, -1);
+        final ChunkWriter chunks = new ChunkWriter(outputStream, output);
+
+        for (final Vertex vertex : graph.vertices.values()) {
+            kryo.writeClassAndObject(output, vertex.id());
+            output.writeString(vertex.label());
+            final List<VertexProperty<Object>> vertexProperties = new ArrayList<>();
+            vertex.properties().forEachRemaining(vertexProperties::add);
+            output.writeInt(vertexProperties.size(), true);
+            for (final VertexProperty<Object> vertexProperty : vertexProperties) {
+                kryo.writeClassAndObject(output, vertexProperty.id());
+                output.writeString(vertexProperty.key());
+                kryo.writeClassAndObject(output, vertexProperty.value());
+                writeProperties(kryo, output, vertexProperty.properties());
+            }
+            chunks.elementWritten();
+        }
+        final int vertexChunks = chunks.finishChunk();
+
+        for (final Edge edge : graph.edges.values()) {
+            kryo.writeClassAndObject(output, edge.id());
+            output.writeString(edge.label());
+            kryo.writeClassAndObject(output, edge.outVertex().id());
+            kryo.writeClassAndObject(output, edge.inVertex().id());
+            writeProperties(kryo, output, edge.properties());
+            chunks.elementWritten();
+        }
+        final int edgeChunks = chunks.finishChunk() - vertexChunks;
+
+        chunks.writeIndex(vertexChunks, edgeChunks);
+    }
+
+    /**
+     * Reads the graph from the file into an empty graph, decoding its chunks with the specified number of threads.
+     *
+     * @param skipDanglingEdges if {@code true} an edge with a vertex that is not in the file is ignored rather than
+     *                          causing the read to fail
+     */
+    static void read(final TinkerGraph graph, final Path file, final int threads, final boolean skipDanglingEdges) throws Exception {
+        try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size < FOOTER_BYTES)
+                throw new IOException(String.format("%s is not in the %s format", file, FORMAT));
+
+            final ByteBuffer footer = channel.map(FileChannel.MapMode.READ_ONLY, size - FOOTER_BYTES, FOOTER_BYTES);
+            final long indexOffset = footer.getLong();
+            if (footer.getInt() != MAGIC || indexOffset < 0 || indexOffset > size - FOOTER_BYTES)
+                throw new IOException(String.format("%s is not in the %s format", file, FORMAT));
+
+            final ByteBuffer index = channel.map(FileChannel.MapMode.READ_ONLY, indexOffset, size - FOOTER_BYTES - indexOffset);
+            final Chunk[] vertexChunks = new Chunk[index.getInt()];
+            final Chunk[] edgeChunks = new Chunk[index.getInt()];
+            for (int i = 0; i < vertexChunks.length; i++) {
+                vertexChunks[i] = new Chunk(index.getLong(), index.getInt(), index.getInt());
+            }
+            for (int i = 0; i < edgeChunks.length; i++) {
+                edgeChunks[i] = new Chunk(index.getLong(), index.getInt(), index.getInt());
+            }
+
+            final TinkerLocks adjacencyLocks = threads > 1 ? new TinkerLocks(threads * 16) : TinkerLocks.NONE;
+            final ExecutorService executor = threads > 1 ? Executors.newFixedThreadPool(threads, r -> {
+                final Thread thread = new Thread(r, "tinkergraph-load");
+                thread.setDaemon(true);
+                return thread;
+            }) : null;
+            try {
+                decode(executor, threads, vertexChunks, (kryo, input, count) -> {
+                    for (int i = 0; i < count; i++) {
+                        readVertex(graph, kryo, input);
+                    }
+                }, graph, channel);
+                decode(executor, threads, edgeChunks, (kryo, input, count) -> {
+                    for (int i = 0; i < count; i++) {
+                        readEdge(graph, kryo, input, adjacencyLocks, skipDanglingEdges);
+                    }
+                }, graph, channel);
+            } finally {
+                if (null != executor) executor.shutdownNow();
+            }
+        }
+    }
+
+    private static void decode(final ExecutorService executor, final int threads, final Chunk[] chunks,
+                               final ChunkDecoder decoder, final TinkerGraph graph, final FileChannel channel) throws Exception {
+        final AtomicInteger nextChunk = new AtomicInteger(0);
+        final Callable<Void> worker = () -> {
+            // kryo is not thread-safe so each worker takes chunks from the shared counter with its own instance
+            final Kryo kryo = createKryo(graph);
+            byte[] bytes = new byte[0];
+            int i;
+            while ((i = nextChunk.getAndIncrement()) < chunks.length) {
+                final Chunk chunk = chunks[i];
+                // kryo writes to the buffer it reads strings from, so the read-only mapping is copied to the heap
+                final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, chunk.offset, chunk.length);
+                if (bytes.length < chunk.length) bytes = new byte[chunk.length];
+                buffer.get(bytes, 0, chunk.length);
+                decoder.decode(kryo, new Input(bytes, 0, chunk.length), chunk.count);
+            }
+            return null;
+        };
+
+        if (null == executor || chunks.length <= 1) {
+            worker.call();
+            return;
+        }
+
+        final List<Future<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < Math.min(threads, chunks.length); i++) {
+            futures.add(executor.submit(worker));
+        }
+        try {
+            for (final Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException ee) {
+            futures.forEach(f -> f.cancel(true));
+            throw ee.getCause() instanceof Exception ? (Exception) ee.getCause() : ee;
+        }
+    }
+
+    private static void readVertex(final TinkerGraph graph, final Kryo kryo, final Input input) {
+        final Object id = kryo.readClassAndObject(input);
+        final String label = input.readString();
+        final Vertex vertex = graph.addVertex(T.id, id, T.label, label);
+        final int vertexProperties = input.readInt(true);
+        for (int i = 0; i < vertexProperties; i++) {
+            final Object vertexPropertyId = kryo.readClassAndObject(input);
+            final String key = input.readString();
+            final Object value = kryo.readClassAndObject(input);
+            final VertexProperty<Object> vertexProperty = vertex.property(VertexProperty.Cardinality.list, key, value, T.id, vertexPropertyId);
+            final int properties = input.readInt(true);
+            for (int j = 0; j < properties; j++) {
+                vertexProperty.property(input.readString(), kryo.readClassAndObject(input));
+            }
+        }
+    }
+
+    private static void readEdge(final TinkerGraph graph, final Kryo kryo, final Input input,
+                                 final TinkerLocks adjacencyLocks, final boolean skipDanglingEdges) {
+        final Object id = graph.edgeIdManager.convert(kryo.readClassAndObject(input));
+        final String label = graph.internLabel(input.readString());
+        final Object outVertexId = kryo.readClassAndObject(input);
+        final Object inVertexId = kryo.readClassAndObject(input);
+        final TinkerVertex outVertex = (TinkerVertex) graph.vertices.get(graph.vertexIdManager.convert(outVertexId));
+        final TinkerVertex inVertex = (TinkerVertex) graph.vertices.get(graph.vertexIdManager.convert(inVertexId));
+        if (null == outVertex || null == inVertex) {
+            if (!skipDanglingEdges)
+                throw new IllegalStateException(String.format("Could not find vertex %s of edge %s",
+                        null == outVertex ? outVertexId : inVertexId, id));
+            // the properties still have to be read past to get to the next edge
+            final int properties = input.readInt(true);
+            for (int i = 0; i < properties; i++) {
+                input.readString();
+                kryo.readClassAndObject(input);
+            }
+            return;
+        }
+
+        // the edge is added directly rather than through Vertex.addEdge() as that would lock with the locks of the
+        // graph which are only present if it was configured for concurrent writes
+        final TinkerEdge edge = new TinkerEdge(id, outVertex, label, inVertex);
+        if (null != graph.edges.putIfAbsent(id, edge))
+            throw Graph.Exceptions.edgeWithIdAlreadyExists(id);
+        graph.statistics.elementAdded(edge);
+        adjacencyLocks.lock(outVertex, inVertex);
+        try {
+            TinkerHelper.addOutEdge(outVertex, label, edge);
+            TinkerHelper.addInEdge(inVertex, label, edge);
+        } finally {
+            adjacencyLocks.unlock(outVertex, inVertex);
+        }
+
+        final int properties = input.readInt(true);
+        for (int i = 0; i < properties; i++) {
+            edge.property(input.readString(), kryo.readClassAndObject(input));
+        }
+    }
+
+    private static void writeProperties(final Kryo kryo, final Output output, final Iterator<? extends Property<Object>> properties) {
+        final List<Property<Object>> list = new ArrayList<>();
+        properties.forEachRemaining(list::add);
+        output.writeInt(list.size(), true);
+        for (final Property<Object> property : list) {
+            output.writeString(property.key());
+            kryo.writeClassAndObject(output, property.value());
+        }
+    }
+
+    private static Kryo createKryo(final TinkerGraph graph) {
+        return ((GryoMapper) graph.io(IoCore.gryo()).mapper().create()).createMapper();
+    }
+
+    @FunctionalInterface
+    private interface ChunkDecoder {
+        void decode(final Kryo kryo, final Input input, final int count);
+    }
+
+    private static final class Chunk {
+        private final long offset;
+        private final int length;
+        private final int count;
+
+        private Chunk(final long offset, final int length, final int count) {
+            this.offset = offset;
+            this.length = length;
+            this.count = count;
+        }
+    }
+
+    /**
+     * Writes the elements held by the {@link Output} to the stream as a chunk once enough of them have accumulated
+     * and keeps track of the chunks for the index.
+     */
+    private static final class ChunkWriter {
+        private final OutputStream outputStream;
+        private final Output output;
+        private final List<Chunk> chunks = new ArrayList<>();
+        private long offset = 0;
+        private int count = 0;
+
+        private ChunkWriter(final OutputStream outputStream, final Output output) {
+            this.outputStream = outputStream;
+            this.output = output;
+        }
+
+        private void elementWritten() throws IOException {
+            if (++this.count >= CHUNK_ELEMENTS || this.output.position() >= CHUNK_BYTES)
+                this.finishChunk();
+        }
+
+        /**
+         * Writes out the current chunk if it holds any elements.
+         *
+         * @return the number of chunks written so far
+         */
+        private int finishChunk() throws IOException {
+            if (this.count > 0) {
+                final int length = this.output.position();
+                this.outputStream.write(this.output.getBuffer(), 0, length);
+                this.chunks.add(new Chunk(this.offset, length, this.count));
+                this.offset = this.offset + length;
+                this.count = 0;
+                this.output.clear();
+            }
+            return this.chunks.size();
+        }
+
+        private void writeIndex(final int vertexChunks, final int edgeChunks) throws IOException {
+            final ByteBuffer index = ByteBuffer.allocate(8 + this.chunks.size() * 16 + FOOTER_BYTES);
+            index.putInt(vertexChunks);
+            index.putInt(edgeChunks);
+            for (final Chunk chunk : this.chunks) {
+                index.putLong(chunk.offset);
+                index.putInt(chunk.length);
+                index.putInt(chunk.count);
+            }
+            index.putLong(this.offset);
+            index.putInt(MAGIC);
+            this.outputStream.write(index.array(), 0, index.position());
+            this.outputStream.flush();
+        }
+    }
+}
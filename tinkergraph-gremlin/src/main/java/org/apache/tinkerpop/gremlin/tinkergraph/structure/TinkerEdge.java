@@ -29,7 +29,6 @@ import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
@@ -55,45 +54,59 @@ public final class TinkerEdge extends TinkerElement implements Edge {
     public <V> Property<V> property(final String key, final V value) {
         if (this.removed) throw elementAlreadyRemoved(Edge.class, id);
         ElementHelper.validateProperty(key, value);
-        final Property oldProperty = super.property(key);
-        final Property<V> newProperty = new TinkerProperty<>(this, key, value);
-        if (null == this.properties) this.properties = new HashMap<>();
-        this.properties.put(key, newProperty);
-        TinkerHelper.autoUpdateIndex(this, key, value, oldProperty.isPresent() ? oldProperty.value() : null);
-        return newProperty;
+        final TinkerGraph graph = (TinkerGraph) this.graph();
+        graph.locks.lock((TinkerVertex) this.outVertex);
+        try {
+            if (this.removed) throw elementAlreadyRemoved(Edge.class, id);
+            final Property oldProperty = super.property(key);
+            final Property<V> newProperty = new TinkerProperty<>(this, key, value);
+            if (null != graph.log) graph.log.addEdgeProperty(this, key, value);
+            if (null == this.properties) this.properties = TinkerHelper.createPropertyMap(graph);
+            this.properties.put(key, newProperty);
+            TinkerHelper.autoUpdateIndex(this, key, value, oldProperty.isPresent() ? oldProperty.value() : null);
+            return newProperty;
+        } finally {
+            graph.locks.unlock((TinkerVertex) this.outVertex);
+        }
 
     }
 
     @Override
     public <V> Property<V> property(final String key) {
-        return null == this.properties ? Property.<V>empty() : this.properties.getOrDefault(key, Property.<V>empty());
+        final Map<String, Property> properties = this.properties;
+        return null == properties ? Property.<V>empty() : properties.getOrDefault(key, Property.<V>empty());
     }
 
     @Override
     public Set<String> keys() {
-        return null == this.properties ? Collections.emptySet() : this.properties.keySet();
+        final Map<String, Property> properties = this.properties;
+        return null == properties ? Collections.emptySet() : properties.keySet();
     }
 
     @Override
     public void remove() {
         final TinkerVertex outVertex = (TinkerVertex) this.outVertex;
         final TinkerVertex inVertex = (TinkerVertex) this.inVertex;
-
-        if (null != outVertex && null != outVertex.outEdges) {
-            final Set<Edge> edges = outVertex.outEdges.get(this.label());
-            if (null != edges)
-                edges.remove(this);
+        final TinkerGraph graph = (TinkerGraph) this.graph();
+
+        graph.locks.lock(outVertex, inVertex);
+        try {
+            // another thread may have removed the edge already
+            if (this.removed && graph.locks.isEnabled()) return;
+            if (null != graph.log) graph.log.removeEdge(this);
+
+            if (null != outVertex && null != outVertex.outEdges)
+                outVertex.outEdges.remove(this.label(), this);
+            if (null != inVertex && null != inVertex.inEdges)
+                inVertex.inEdges.remove(this.label(), this);
+
+            TinkerHelper.removeElementIndex(this);
+            if (null != graph.edges.remove(this.id())) graph.statistics.elementRemoved(this);
+            this.properties = null;
+            this.removed = true;
+        } finally {
+            graph.locks.unlock(outVertex, inVertex);
         }
-        if (null != inVertex && null != inVertex.inEdges) {
-            final Set<Edge> edges = inVertex.inEdges.get(this.label());
-            if (null != edges)
-                edges.remove(this);
-        }
-
-        TinkerHelper.removeElementIndex(this);
-        ((TinkerGraph) this.graph()).edges.remove(this.id());
-        this.properties = null;
-        this.removed = true;
     }
 
     @Override
@@ -132,11 +145,12 @@ public final class TinkerEdge extends TinkerElement implements Edge {
 
     @Override
     public <V> Iterator<Property<V>> properties(final String... propertyKeys) {
-        if (null == this.properties) return Collections.emptyIterator();
+        final Map<String, Property> properties = this.properties;
+        if (null == properties) return Collections.emptyIterator();
         if (propertyKeys.length == 1) {
-            final Property<V> property = this.properties.get(propertyKeys[0]);
+            final Property<V> property = properties.get(propertyKeys[0]);
             return null == property ? Collections.emptyIterator() : IteratorUtils.of(property);
         } else
-            return (Iterator) this.properties.entrySet().stream().filter(entry -> ElementHelper.keyExists(entry.getKey(), propertyKeys)).map(entry -> entry.getValue()).collect(Collectors.toList()).iterator();
+            return (Iterator) properties.entrySet().stream().filter(entry -> ElementHelper.keyExists(entry.getKey(), propertyKeys)).map(entry -> entry.getValue()).collect(Collectors.toList()).iterator();
     }
 }
@@ -22,24 +22,37 @@ import org.apache.commons.configuration.BaseConfiguration;
 import org.apache.commons.configuration.Configuration;
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Transaction;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
 import org.apache.tinkerpop.gremlin.structure.io.Io;
 import org.apache.tinkerpop.gremlin.structure.io.IoCore;
+import org.apache.tinkerpop.gremlin.structure.util.Attachable;
 import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
 import org.apache.tinkerpop.gremlin.structure.util.GraphFactory;
+import org.apache.tinkerpop.gremlin.structure.util.GraphStatistics;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputer;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputerView;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization.TinkerGraphCountStrategy;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization.TinkerGraphMinMaxStrategy;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization.TinkerGraphStepStrategy;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
@@ -63,12 +76,13 @@ import java.util.stream.Stream;
 @Graph.OptIn(Graph.OptIn.SUITE_STRUCTURE_INTEGRATE)
 @Graph.OptIn(Graph.OptIn.SUITE_PROCESS_STANDARD)
 @Graph.OptIn(Graph.OptIn.SUITE_PROCESS_COMPUTER)
-public final class TinkerGraph implements Graph {
+public final class TinkerGraph implements Graph, GraphStatistics.Provider {
 
     static {
         TraversalStrategies.GlobalCache.registerStrategies(TinkerGraph.class, TraversalStrategies.GlobalCache.getStrategies(Graph.class).clone().addStrategies(
                 TinkerGraphStepStrategy.instance(),
-                TinkerGraphCountStrategy.instance()));
+                TinkerGraphCountStrategy.instance(),
+                TinkerGraphMinMaxStrategy.instance()));
     }
 
     private static final Configuration EMPTY_CONFIGURATION = new BaseConfiguration() {{
@@ -112,6 +126,13 @@ public final class TinkerGraph implements Graph {
     public static final String GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY = "gremlin.tinkergraph.defaultVertexPropertyCardinality";
     public static final String GREMLIN_TINKERGRAPH_GRAPH_LOCATION = "gremlin.tinkergraph.graphLocation";
     public static final String GREMLIN_TINKERGRAPH_GRAPH_FORMAT = "gremlin.tinkergraph.graphFormat";
+    public static final String GREMLIN_TINKERGRAPH_ADJACENCY_STORAGE = "gremlin.tinkergraph.adjacencyStorage";
+    public static final String GREMLIN_TINKERGRAPH_CONCURRENT_WRITES = "gremlin.tinkergraph.concurrentWrites";
+    public static final String GREMLIN_TINKERGRAPH_LOCK_STRIPES = "gremlin.tinkergraph.lockStripes";
+    public static final String GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG = "gremlin.tinkergraph.writeAheadLog";
+    public static final String GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG_SYNC = "gremlin.tinkergraph.writeAheadLogSync";
+    public static final String GREMLIN_TINKERGRAPH_SNAPSHOT_THRESHOLD = "gremlin.tinkergraph.snapshotThreshold";
+    public static final String GREMLIN_TINKERGRAPH_GRAPH_LOAD_THREADS = "gremlin.tinkergraph.graphLoadThreads";
 
     private final TinkerGraphFeatures features = new TinkerGraphFeatures();
 
@@ -128,10 +149,16 @@ public final class TinkerGraph implements Graph {
     protected final IdManager<?> edgeIdManager;
     protected final IdManager<?> vertexPropertyIdManager;
     protected final VertexProperty.Cardinality defaultVertexPropertyCardinality;
+    protected final AdjacencyStorage adjacencyStorage;
+    protected final TinkerLocks locks;
+    protected TinkerWriteAheadLog log = null;
+    protected final TinkerStatistics statistics = new TinkerStatistics(this);
+    private final Map<String, String> edgeLabels = new ConcurrentHashMap<>();
 
     private final Configuration configuration;
     private final String graphLocation;
     private final String graphFormat;
+    private final int graphLoadThreads;
 
     /**
      * An empty private constructor that initializes {@link TinkerGraph}.
@@ -143,15 +170,43 @@ public final class TinkerGraph implements Graph {
         vertexPropertyIdManager = selectIdManager(configuration, GREMLIN_TINKERGRAPH_VERTEX_PROPERTY_ID_MANAGER, VertexProperty.class);
         defaultVertexPropertyCardinality = VertexProperty.Cardinality.valueOf(
                 configuration.getString(GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY, VertexProperty.Cardinality.single.name()));
+        adjacencyStorage = AdjacencyStorage.valueOf(
+                configuration.getString(GREMLIN_TINKERGRAPH_ADJACENCY_STORAGE, AdjacencyStorage.HASH.name()));
+        // the write-ahead log needs the locks to exclude mutations while it starts a snapshot on another thread
+        locks = configuration.getBoolean(GREMLIN_TINKERGRAPH_CONCURRENT_WRITES, false) ||
+                configuration.getBoolean(GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, false) ?
+                new TinkerLocks(configuration.getInt(GREMLIN_TINKERGRAPH_LOCK_STRIPES, Runtime.getRuntime().availableProcessors() * 16)) :
+                TinkerLocks.NONE;
 
         graphLocation = configuration.getString(GREMLIN_TINKERGRAPH_GRAPH_LOCATION, null);
         graphFormat = configuration.getString(GREMLIN_TINKERGRAPH_GRAPH_FORMAT, null);
+        graphLoadThreads = configuration.getInt(GREMLIN_TINKERGRAPH_GRAPH_LOAD_THREADS, Runtime.getRuntime().availableProcessors());
 
         if ((graphLocation != null && null == graphFormat) || (null == graphLocation && graphFormat != null))
             throw new IllegalStateException(String.format("The %s and %s must both be specified if either is present",
                     GREMLIN_TINKERGRAPH_GRAPH_LOCATION, GREMLIN_TINKERGRAPH_GRAPH_FORMAT));
 
-        if (graphLocation != null) loadGraph();
+        final boolean writeAheadLog = configuration.getBoolean(GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, false);
+        if (writeAheadLog) {
+            if (null == graphLocation)
+                throw new IllegalStateException(String.format("The %s and %s must be specified if %s is enabled",
+                        GREMLIN_TINKERGRAPH_GRAPH_LOCATION, GREMLIN_TINKERGRAPH_GRAPH_FORMAT, GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG));
+            if (!toleratesDanglingEdges())
+                throw new IllegalStateException(String.format("The %s must be gryo, gryo-chunked or graphson if %s is enabled",
+                        GREMLIN_TINKERGRAPH_GRAPH_FORMAT, GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG));
+        }
+
+        if (graphLocation != null) loadGraph(writeAheadLog);
+
+        if (writeAheadLog) {
+            try {
+                log = TinkerWriteAheadLog.open(this, graphLocation,
+                        configuration.getLong(GREMLIN_TINKERGRAPH_SNAPSHOT_THRESHOLD, 100000L),
+                        configuration.getBoolean(GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG_SYNC, false));
+            } catch (Exception ex) {
+                throw new RuntimeException(String.format("Could not replay the write-ahead log of the graph at %s", graphLocation), ex);
+            }
+        }
     }
 
     /**
@@ -198,8 +253,18 @@ public final class TinkerGraph implements Graph {
             idValue = vertexIdManager.getNextId(this);
         }
 
-        final Vertex vertex = new TinkerVertex(idValue, label, this);
-        this.vertices.put(vertex.id(), vertex);
+        final TinkerVertex vertex = new TinkerVertex(idValue, label, this);
+        this.locks.lock(vertex);
+        try {
+            // another thread may have taken the id since it was checked - any such thread holds the same lock
+            if (this.vertices.containsKey(vertex.id()))
+                throw Exceptions.vertexWithIdAlreadyExists(idValue);
+            if (null != this.log) this.log.addVertex(vertex);
+            this.vertices.put(vertex.id(), vertex);
+            this.statistics.elementAdded(vertex);
+        } finally {
+            this.locks.unlock(vertex);
+        }
 
         ElementHelper.attachProperties(vertex, VertexProperty.Cardinality.list, keyValues);
         return vertex;
@@ -239,14 +304,25 @@ public final class TinkerGraph implements Graph {
         this.edges.clear();
         this.variables = null;
         this.currentId.set(-1L);
+        this.edgeLabels.clear();
+        this.statistics.clear();
         this.vertexIndex = null;
         this.edgeIndex = null;
         this.graphComputerView = null;
+        if (null != this.log) this.log.reset();
     }
 
+    /**
+     * Closes the graph. The graph is written to the {@link #GREMLIN_TINKERGRAPH_GRAPH_LOCATION} if one is configured.
+     * If {@link #GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG} is enabled the log is closed first, so that the graph can no
+     * longer be changed, and is deleted once the graph is written.
+     */
     @Override
     public void close() {
-        if (graphLocation != null) saveGraph();
+        if (null != log)
+            log.close();
+        else if (graphLocation != null)
+            saveGraph();
     }
 
     @Override
@@ -259,6 +335,15 @@ public final class TinkerGraph implements Graph {
         return configuration;
     }
 
+    /**
+     * Gets the {@link GraphStatistics} that optimization strategies use to estimate the number of elements that pass
+     * a filter, which are kept from element labels and {@link TinkerIndex} counts.
+     */
+    @Override
+    public GraphStatistics statistics() {
+        return statistics;
+    }
+
     @Override
     public Iterator<Vertex> vertices(final Object... vertexIds) {
         return createElementIterator(Vertex.class, vertices, vertexIdManager, vertexIds);
@@ -269,19 +354,26 @@ public final class TinkerGraph implements Graph {
         return createElementIterator(Edge.class, edges, edgeIdManager, edgeIds);
     }
 
-    private void loadGraph() {
+    /**
+     * Returns a canonical instance of an edge label when using {@link AdjacencyStorage#COMPACT} so that edges and
+     * adjacency lists share a single {@code String} per label.
+     */
+    String internLabel(final String label) {
+        if (adjacencyStorage != AdjacencyStorage.COMPACT) return label;
+        final String interned = edgeLabels.putIfAbsent(label, label);
+        return null == interned ? label : interned;
+    }
+
+    private void loadGraph(final boolean skipDanglingEdges) {
         final File f = new File(graphLocation);
         if (f.exists() && f.isFile()) {
             try {
-                if (graphFormat.equals("graphml")) {
-                    io(IoCore.graphml()).readGraph(graphLocation);
-                } else if (graphFormat.equals("graphson")) {
-                    io(IoCore.graphson()).readGraph(graphLocation);
-                } else if (graphFormat.equals("gryo")) {
-                    io(IoCore.gryo()).readGraph(graphLocation);
-                } else {
-                    io(IoCore.createIoBuilder(graphFormat)).readGraph(graphLocation);
-                }
+                if (isChunkedGryoFormat())
+                    TinkerChunkedGryo.read(this, f.toPath(), graphLoadThreads, skipDanglingEdges);
+                else if (skipDanglingEdges)
+                    loadSnapshot();
+                else
+                    io(graphFormatIo()).readGraph(graphLocation);
             } catch (Exception ex) {
                 throw new RuntimeException(String.format("Could not load graph at %s with %s", graphLocation, graphFormat), ex);
             }
@@ -302,20 +394,107 @@ public final class TinkerGraph implements Graph {
         }
 
         try {
-            if (graphFormat.equals("graphml")) {
-                io(IoCore.graphml()).writeGraph(graphLocation);
-            } else if (graphFormat.equals("graphson")) {
-                io(IoCore.graphson()).writeGraph(graphLocation);
-            } else if (graphFormat.equals("gryo")) {
-                io(IoCore.gryo()).writeGraph(graphLocation);
+            if (isChunkedGryoFormat()) {
+                try (final OutputStream out = new BufferedOutputStream(new FileOutputStream(f))) {
+                    TinkerChunkedGryo.write(this, out);
+                }
             } else {
-                io(IoCore.createIoBuilder(graphFormat)).writeGraph(graphLocation);
+                io(graphFormatIo()).writeGraph(graphLocation);
             }
         } catch (Exception ex) {
             throw new RuntimeException(String.format("Could not save graph at %s with %s", graphLocation, graphFormat), ex);
         }
     }
 
+    /**
+     * Reads a snapshot written by {@link #writeSnapshot()} while the graph was being changed by other threads, in
+     * which case an edge may have been written without one of its vertices. Such edges are skipped as they, along
+     * with the vertex, are restored from the {@link TinkerWriteAheadLog} that follows the snapshot.
+     */
+    private void loadSnapshot() throws Exception {
+        final List<Vertex> starVertices = new ArrayList<>();
+        try (final InputStream in = new FileInputStream(graphLocation)) {
+            final Io<?, ?, ?> io = io(graphFormatIo());
+            IteratorUtils.iterate(io.reader().create().readVertices(in, attachable -> {
+                starVertices.add(attachable.get());
+                return attachable.attach(Attachable.Method.create(this));
+            }, null, null));
+        }
+
+        for (final Vertex starVertex : starVertices) {
+            starVertex.edges(Direction.IN).forEachRemaining(e -> {
+                final Vertex outVertex = this.vertices.get(vertexIdManager.convert(e.outVertex().id()));
+                final Vertex inVertex = this.vertices.get(vertexIdManager.convert(e.inVertex().id()));
+                if (null == outVertex || null == inVertex) return;
+                final Edge edge = outVertex.addEdge(e.label(), inVertex, T.id, e.id());
+                e.properties().forEachRemaining(p -> edge.property(p.key(), p.value()));
+            });
+        }
+    }
+
+    private boolean toleratesDanglingEdges() {
+        return graphFormat.equals("gryo") || graphFormat.equals("graphson") || isChunkedGryoFormat();
+    }
+
+    private boolean isChunkedGryoFormat() {
+        return graphFormat.equals(TinkerChunkedGryo.FORMAT);
+    }
+
+    /**
+     * Writes the graph to the {@link #GREMLIN_TINKERGRAPH_GRAPH_LOCATION} by way of a temporary file that replaces
+     * the existing one only once it is completely written, so that a failure part way through leaves the previous
+     * snapshot intact.
+     */
+    void writeSnapshot() throws Exception {
+        final File f = new File(graphLocation);
+        final File snapshot = new File(graphLocation + ".snapshot");
+        try (final FileOutputStream out = new FileOutputStream(snapshot)) {
+            if (isChunkedGryoFormat()) {
+                TinkerChunkedGryo.write(this, new BufferedOutputStream(out));
+            } else {
+                final Io<?, ?, ?> io = io(graphFormatIo());
+                io.writer().create().writeGraph(out, this);
+            }
+            out.getFD().sync();
+        }
+        Files.move(snapshot.toPath(), f.toPath(), StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Sets the id generated next by the default {@link IdManager} implementations beyond any numeric id in use by
+     * a vertex, edge or vertex property, as vertex property ids are otherwise not checked for uniqueness.
+     */
+    void advanceCurrentId() {
+        long max = this.currentId.get();
+        for (final Vertex vertex : this.vertices.values()) {
+            max = Math.max(max, numericId(vertex.id()));
+            final Iterator<VertexProperty<Object>> properties = vertex.properties();
+            while (properties.hasNext()) {
+                max = Math.max(max, numericId(properties.next().id()));
+            }
+        }
+        for (final Edge edge : this.edges.values()) {
+            max = Math.max(max, numericId(edge.id()));
+        }
+        this.currentId.set(max);
+    }
+
+    private static long numericId(final Object id) {
+        return id instanceof Number ? ((Number) id).longValue() : -1L;
+    }
+
+    private Io.Builder<? extends Io> graphFormatIo() throws Exception {
+        if (graphFormat.equals("graphml")) {
+            return IoCore.graphml();
+        } else if (graphFormat.equals("graphson")) {
+            return IoCore.graphson();
+        } else if (graphFormat.equals("gryo")) {
+            return IoCore.gryo();
+        } else {
+            return IoCore.createIoBuilder(graphFormat);
+        }
+    }
+
     private <T extends Element> Iterator<T> createElementIterator(final Class<T> clazz, final Map<Object, T> elements,
                                                                   final IdManager idManager,
                                                                   final Object... ids) {
@@ -491,17 +670,39 @@ public final class TinkerGraph implements Graph {
      * @param <E>          The type of the element class
      */
     public <E extends Element> void createIndex(final String key, final Class<E> elementClass) {
+        createIndex(key, elementClass, IndexType.EXACT);
+    }
+
+    /**
+     * Create an index of the specified {@link IndexType} for said element class ({@link Vertex} or {@link Edge}) and
+     * said property key. Whenever an element has the specified key mutated, the index is updated. When the index is
+     * created, all existing elements are indexed to ensure that they are captured by the index. Creating a
+     * {@link IndexType#SORTED} index for a key that already has an {@link IndexType#EXACT} index upgrades it.
+     *
+     * @param key          the property key to index
+     * @param elementClass the element class to index
+     * @param indexType    the type of index to create
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createIndex(final String key, final Class<E> elementClass, final IndexType indexType) {
         if (Vertex.class.isAssignableFrom(elementClass)) {
             if (null == this.vertexIndex) this.vertexIndex = new TinkerIndex<>(this, TinkerVertex.class);
-            this.vertexIndex.createKeyIndex(key);
+            createIndex(this.vertexIndex, key, indexType);
         } else if (Edge.class.isAssignableFrom(elementClass)) {
             if (null == this.edgeIndex) this.edgeIndex = new TinkerIndex<>(this, TinkerEdge.class);
-            this.edgeIndex.createKeyIndex(key);
+            createIndex(this.edgeIndex, key, indexType);
         } else {
             throw new IllegalArgumentException("Class is not indexable: " + elementClass);
         }
     }
 
+    private static void createIndex(final TinkerIndex<?> index, final String key, final IndexType indexType) {
+        if (indexType == IndexType.SORTED)
+            index.createSortedKeyIndex(key);
+        else
+            index.createKeyIndex(key);
+    }
+
     /**
      * Drop the index for the specified element class ({@link Vertex} or {@link Edge}) and key.
      *
@@ -536,6 +737,98 @@ public final class TinkerGraph implements Graph {
         }
     }
 
+    /**
+     * Return the keys currently being indexed with a {@link IndexType#SORTED} index for said element class
+     * ({@link Vertex} or {@link Edge}).
+     *
+     * @param elementClass the element class to get the sorted indexed keys for
+     * @param <E>          The type of the element class
+     * @return the set of keys currently being indexed with a sorted index
+     */
+    public <E extends Element> Set<String> getSortedIndexedKeys(final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            return null == this.vertexIndex ? Collections.emptySet() : this.vertexIndex.getSortedIndexedKeys();
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            return null == this.edgeIndex ? Collections.emptySet() : this.edgeIndex.getSortedIndexedKeys();
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Create a composite index over several keys for either {@link Vertex} or {@link Edge}. A composite index answers
+     * traversals that filter on equality for all of its keys (e.g. {@code g.V().has("name","marko").has("age",29)})
+     * with a single lookup rather than by filtering the elements found for just one of the keys. An element is only
+     * held by the index when it has a value for every key.
+     *
+     * @param elementClass the element class to index
+     * @param keys         the property keys to index together, in the order their values are combined
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createCompositeIndex(final Class<E> elementClass, final String... keys) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            if (null == this.vertexIndex) this.vertexIndex = new TinkerIndex<>(this, TinkerVertex.class);
+            this.vertexIndex.createCompositeIndex(Arrays.asList(keys));
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            if (null == this.edgeIndex) this.edgeIndex = new TinkerIndex<>(this, TinkerEdge.class);
+            this.edgeIndex.createCompositeIndex(Arrays.asList(keys));
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Drop the composite index for the specified element class ({@link Vertex} or {@link Edge}) and keys.
+     *
+     * @param elementClass the element class of the index to drop
+     * @param keys         the property keys of the index in the order they were given when it was created
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void dropCompositeIndex(final Class<E> elementClass, final String... keys) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            if (null != this.vertexIndex) this.vertexIndex.dropCompositeIndex(Arrays.asList(keys));
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            if (null != this.edgeIndex) this.edgeIndex.dropCompositeIndex(Arrays.asList(keys));
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Return the lists of keys currently held by composite indices for said element class ({@link Vertex} or
+     * {@link Edge}).
+     *
+     * @param elementClass the element class to get the composite indexed keys for
+     * @param <E>          The type of the element class
+     * @return the set of key lists currently being indexed together
+     */
+    public <E extends Element> Set<List<String>> getCompositeIndexedKeys(final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            return null == this.vertexIndex ? Collections.emptySet() : this.vertexIndex.getCompositeIndexedKeys();
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            return null == this.edgeIndex ? Collections.emptySet() : this.edgeIndex.getCompositeIndexedKeys();
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * The types of index that can be created with {@link #createIndex(String, Class, IndexType)}.
+     */
+    public enum IndexType {
+        /**
+         * Supports lookups of elements that have a property value equal to a given value.
+         */
+        EXACT,
+
+        /**
+         * Supports everything an {@link #EXACT} index does as well as lookups of elements with property values
+         * that fall within a range (e.g. {@code has("age", gt(30))}) and ordered iteration of elements by property
+         * value for {@code order().by(key).limit(n)}.
+         */
+        SORTED
+    }
+
     /**
      * Construct an {@link TinkerGraph.IdManager} from the TinkerGraph {@code Configuration}.
      */
@@ -578,6 +871,37 @@ public final class TinkerGraph implements Graph {
         boolean allow(final Object id);
     }
 
+    /**
+     * The ways in which a {@link TinkerVertex} can store its incident edges, as configured by
+     * {@link #GREMLIN_TINKERGRAPH_ADJACENCY_STORAGE}.
+     */
+    public enum AdjacencyStorage {
+        /**
+         * Keeps a {@code HashSet} of edges per edge label. This is the default and represents the way
+         * {@link TinkerGraph} has always worked.
+         */
+        HASH {
+            @Override
+            TinkerAdjacency create() {
+                return new TinkerAdjacency.HashAdjacency();
+            }
+        },
+
+        /**
+         * Keeps an array of edges per interned edge label, which takes a fraction of the memory per edge that
+         * {@link #HASH} does. Removing an edge is linear in the number of edges with its label on the vertex, so this
+         * option is best suited to graphs that are mostly read or appended to.
+         */
+        COMPACT {
+            @Override
+            TinkerAdjacency create() {
+                return new TinkerAdjacency.CompactAdjacency();
+            }
+        };
+
+        abstract TinkerAdjacency create();
+    }
+
     /**
      * A default set of {@link IdManager} implementations for common identifier types.
      */
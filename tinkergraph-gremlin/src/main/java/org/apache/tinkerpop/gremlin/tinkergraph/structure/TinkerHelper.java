@@ -22,6 +22,7 @@ import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
 import org.apache.tinkerpop.gremlin.process.computer.VertexComputeKey;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
@@ -29,15 +30,15 @@ import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputerView;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Stream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -61,41 +62,124 @@ public final class TinkerHelper {
             idValue = graph.edgeIdManager.getNextId(graph);
         }
 
-        edge = new TinkerEdge(idValue, outVertex, label, inVertex);
-        ElementHelper.attachProperties(edge, keyValues);
-        graph.edges.put(edge.id(), edge);
-        TinkerHelper.addOutEdge(outVertex, label, edge);
-        TinkerHelper.addInEdge(inVertex, label, edge);
+        final String edgeLabel = graph.internLabel(label);
+        graph.locks.lock(outVertex, inVertex);
+        try {
+            // a vertex may have been removed by another thread since the edge was requested
+            if (graph.locks.isEnabled() && (outVertex.removed || inVertex.removed))
+                throw TinkerElement.elementAlreadyRemoved(Vertex.class, outVertex.removed ? outVertex.id : inVertex.id);
+            edge = new TinkerEdge(idValue, outVertex, edgeLabel, inVertex);
+            // another thread may have taken the id since it was checked
+            if (null != graph.edges.putIfAbsent(edge.id(), edge))
+                throw Graph.Exceptions.edgeWithIdAlreadyExists(idValue);
+            if (null != graph.log) {
+                try {
+                    graph.log.addEdge((TinkerEdge) edge);
+                } catch (RuntimeException re) {
+                    graph.edges.remove(edge.id());
+                    throw re;
+                }
+            }
+            graph.statistics.elementAdded((TinkerEdge) edge);
+            TinkerHelper.addOutEdge(outVertex, edgeLabel, edge);
+            TinkerHelper.addInEdge(inVertex, edgeLabel, edge);
+            ElementHelper.attachProperties(edge, keyValues);
+        } finally {
+            graph.locks.unlock(outVertex, inVertex);
+        }
         return edge;
 
     }
 
     protected static void addOutEdge(final TinkerVertex vertex, final String label, final Edge edge) {
-        if (null == vertex.outEdges) vertex.outEdges = new HashMap<>();
-        Set<Edge> edges = vertex.outEdges.get(label);
-        if (null == edges) {
-            edges = new HashSet<>();
-            vertex.outEdges.put(label, edges);
-        }
-        edges.add(edge);
+        if (null == vertex.outEdges) vertex.outEdges = vertex.graph.adjacencyStorage.create();
+        vertex.outEdges.add(label, edge);
     }
 
     protected static void addInEdge(final TinkerVertex vertex, final String label, final Edge edge) {
-        if (null == vertex.inEdges) vertex.inEdges = new HashMap<>();
-        Set<Edge> edges = vertex.inEdges.get(label);
-        if (null == edges) {
-            edges = new HashSet<>();
-            vertex.inEdges.put(label, edges);
-        }
-        edges.add(edge);
+        if (null == vertex.inEdges) vertex.inEdges = vertex.graph.adjacencyStorage.create();
+        vertex.inEdges.add(label, edge);
+    }
+
+    public static Iterator<TinkerVertex> queryVertexIndex(final TinkerGraph graph, final String key, final Object value) {
+        return null == graph.vertexIndex ? Collections.emptyIterator() : graph.vertexIndex.get(key, value);
+    }
+
+    public static Iterator<TinkerEdge> queryEdgeIndex(final TinkerGraph graph, final String key, final Object value) {
+        return null == graph.edgeIndex ? Collections.emptyIterator() : graph.edgeIndex.get(key, value);
+    }
+
+    /**
+     * Gets the vertices having the values for the keys of a composite index, where the values are in the same order
+     * as the keys.
+     */
+    public static Iterator<TinkerVertex> queryVertexCompositeIndex(final TinkerGraph graph, final List<String> keys, final List<Object> values) {
+        return null == graph.vertexIndex ? Collections.emptyIterator() : graph.vertexIndex.getComposite(keys, values);
+    }
+
+    /**
+     * Gets the edges having the values for the keys of a composite index, where the values are in the same order
+     * as the keys.
+     */
+    public static Iterator<TinkerEdge> queryEdgeCompositeIndex(final TinkerGraph graph, final List<String> keys, final List<Object> values) {
+        return null == graph.edgeIndex ? Collections.emptyIterator() : graph.edgeIndex.getComposite(keys, values);
+    }
+
+    /**
+     * Gets the sets of vertices, in the order of their values, whose values for a key with a
+     * {@link TinkerGraph.IndexType#SORTED} index fall within the specified bounds.
+     */
+    public static Collection<? extends Set<? extends Vertex>> queryVertexIndex(final TinkerGraph graph, final String key,
+                                                                               final Object from, final boolean fromInclusive,
+                                                                               final Object to, final boolean toInclusive,
+                                                                               final boolean descending) {
+        return null == graph.vertexIndex ? Collections.emptyList() : graph.vertexIndex.getRange(key, from, fromInclusive, to, toInclusive, descending);
+    }
+
+    /**
+     * Gets the sets of edges, in the order of their values, whose values for a key with a
+     * {@link TinkerGraph.IndexType#SORTED} index fall within the specified bounds.
+     */
+    public static Collection<? extends Set<? extends Edge>> queryEdgeIndex(final TinkerGraph graph, final String key,
+                                                                           final Object from, final boolean fromInclusive,
+                                                                           final Object to, final boolean toInclusive,
+                                                                           final boolean descending) {
+        return null == graph.edgeIndex ? Collections.emptyList() : graph.edgeIndex.getRange(key, from, fromInclusive, to, toInclusive, descending);
+    }
+
+    /**
+     * Gets the distinct values that the elements of the specified class have for an indexed key, or {@code null} if
+     * the key is not indexed. The values are not copied.
+     */
+    public static Set<Object> getIndexedValues(final TinkerGraph graph, final Class<? extends Element> elementClass, final String key) {
+        final TinkerIndex<?> index = Vertex.class.isAssignableFrom(elementClass) ? graph.vertexIndex : graph.edgeIndex;
+        return null == index || !index.getIndexedKeys().contains(key) ? null : index.getValues(key);
+    }
+
+    /**
+     * Determines if every element of the specified class has a value for the key held by its
+     * {@link TinkerGraph.IndexType#SORTED} index.
+     */
+    public static boolean isSortedIndexComplete(final TinkerGraph graph, final Class<? extends Element> elementClass, final String key) {
+        final TinkerIndex<?> index = Vertex.class.isAssignableFrom(elementClass) ? graph.vertexIndex : graph.edgeIndex;
+        if (null == index) return false;
+        final long count = index.countSorted(key);
+        return count >= 0 && count >= (Vertex.class.isAssignableFrom(elementClass) ? graph.vertices.size() : graph.edges.size());
     }
 
-    public static List<TinkerVertex> queryVertexIndex(final TinkerGraph graph, final String key, final Object value) {
-        return null == graph.vertexIndex ? Collections.emptyList() : graph.vertexIndex.get(key, value);
+    /**
+     * Determines if a value can be held by a {@link TinkerGraph.IndexType#SORTED} index.
+     */
+    public static boolean isSortedIndexValue(final Object value) {
+        return TinkerIndex.isSortable(value);
     }
 
-    public static List<TinkerEdge> queryEdgeIndex(final TinkerGraph graph, final String key, final Object value) {
-        return null == graph.edgeIndex ? Collections.emptyList() : graph.edgeIndex.get(key, value);
+    /**
+     * Compares two values in the order used by a {@link TinkerGraph.IndexType#SORTED} index. Both values must satisfy
+     * {@link #isSortedIndexValue(Object)}.
+     */
+    public static int compareSortedIndexValues(final Object first, final Object second) {
+        return TinkerIndex.SORTED_INDEX_COMPARATOR.compare(first, second);
     }
 
     public static boolean inComputerMode(final TinkerGraph graph) {
@@ -156,54 +240,78 @@ public final class TinkerHelper {
 
     public static Iterator<TinkerEdge> getEdges(final TinkerVertex vertex, final Direction direction, final String... edgeLabels) {
         final List<Edge> edges = new ArrayList<>();
-        if (direction.equals(Direction.OUT) || direction.equals(Direction.BOTH)) {
-            if (vertex.outEdges != null) {
-                if (edgeLabels.length == 0)
-                    vertex.outEdges.values().forEach(edges::addAll);
-                else if (edgeLabels.length == 1)
-                    edges.addAll(vertex.outEdges.getOrDefault(edgeLabels[0], Collections.emptySet()));
-                else
-                    Stream.of(edgeLabels).map(vertex.outEdges::get).filter(Objects::nonNull).forEach(edges::addAll);
+        vertex.graph.locks.lock(vertex);
+        try {
+            if (direction.equals(Direction.OUT) || direction.equals(Direction.BOTH)) {
+                if (vertex.outEdges != null)
+                    vertex.outEdges.forEach(edgeLabels, edges::add);
             }
-        }
-        if (direction.equals(Direction.IN) || direction.equals(Direction.BOTH)) {
-            if (vertex.inEdges != null) {
-                if (edgeLabels.length == 0)
-                    vertex.inEdges.values().forEach(edges::addAll);
-                else if (edgeLabels.length == 1)
-                    edges.addAll(vertex.inEdges.getOrDefault(edgeLabels[0], Collections.emptySet()));
-                else
-                    Stream.of(edgeLabels).map(vertex.inEdges::get).filter(Objects::nonNull).forEach(edges::addAll);
+            if (direction.equals(Direction.IN) || direction.equals(Direction.BOTH)) {
+                if (vertex.inEdges != null)
+                    vertex.inEdges.forEach(edgeLabels, edges::add);
             }
+        } finally {
+            vertex.graph.locks.unlock(vertex);
         }
         return (Iterator) edges.iterator();
     }
 
+    /**
+     * Gets the number of edges of the vertex in the direction with one of the labels (or with any label if none are
+     * given) from the size of its adjacency, without iterating the edges.
+     */
+    public static long getDegree(final TinkerVertex vertex, final Direction direction, final String... edgeLabels) {
+        long degree = 0;
+        vertex.graph.locks.lock(vertex);
+        try {
+            if (direction.equals(Direction.OUT) || direction.equals(Direction.BOTH)) {
+                if (vertex.outEdges != null)
+                    degree += vertex.outEdges.count(edgeLabels);
+            }
+            if (direction.equals(Direction.IN) || direction.equals(Direction.BOTH)) {
+                if (vertex.inEdges != null)
+                    degree += vertex.inEdges.count(edgeLabels);
+            }
+        } finally {
+            vertex.graph.locks.unlock(vertex);
+        }
+        return degree;
+    }
+
     public static Iterator<TinkerVertex> getVertices(final TinkerVertex vertex, final Direction direction, final String... edgeLabels) {
         final List<Vertex> vertices = new ArrayList<>();
-        if (direction.equals(Direction.OUT) || direction.equals(Direction.BOTH)) {
-            if (vertex.outEdges != null) {
-                if (edgeLabels.length == 0)
-                    vertex.outEdges.values().forEach(set -> set.forEach(edge -> vertices.add(((TinkerEdge) edge).inVertex)));
-                else if (edgeLabels.length == 1)
-                    vertex.outEdges.getOrDefault(edgeLabels[0], Collections.emptySet()).forEach(edge -> vertices.add(((TinkerEdge) edge).inVertex));
-                else
-                    Stream.of(edgeLabels).map(vertex.outEdges::get).filter(Objects::nonNull).flatMap(Set::stream).forEach(edge -> vertices.add(((TinkerEdge) edge).inVertex));
+        vertex.graph.locks.lock(vertex);
+        try {
+            if (direction.equals(Direction.OUT) || direction.equals(Direction.BOTH)) {
+                if (vertex.outEdges != null)
+                    vertex.outEdges.forEach(edgeLabels, edge -> vertices.add(((TinkerEdge) edge).inVertex));
             }
-        }
-        if (direction.equals(Direction.IN) || direction.equals(Direction.BOTH)) {
-            if (vertex.inEdges != null) {
-                if (edgeLabels.length == 0)
-                    vertex.inEdges.values().forEach(set -> set.forEach(edge -> vertices.add(((TinkerEdge) edge).outVertex)));
-                else if (edgeLabels.length == 1)
-                    vertex.inEdges.getOrDefault(edgeLabels[0], Collections.emptySet()).forEach(edge -> vertices.add(((TinkerEdge) edge).outVertex));
-                else
-                    Stream.of(edgeLabels).map(vertex.inEdges::get).filter(Objects::nonNull).flatMap(Set::stream).forEach(edge -> vertices.add(((TinkerEdge) edge).outVertex));
+            if (direction.equals(Direction.IN) || direction.equals(Direction.BOTH)) {
+                if (vertex.inEdges != null)
+                    vertex.inEdges.forEach(edgeLabels, edge -> vertices.add(((TinkerEdge) edge).outVertex));
             }
+        } finally {
+            vertex.graph.locks.unlock(vertex);
         }
         return (Iterator) vertices.iterator();
     }
 
+    /**
+     * Creates the map that holds the properties of an element, which must tolerate concurrent reads and writes
+     * when {@link TinkerGraph#GREMLIN_TINKERGRAPH_CONCURRENT_WRITES} is enabled.
+     */
+    protected static <V> Map<String, V> createPropertyMap(final TinkerGraph graph) {
+        return graph.locks.isEnabled() ? new ConcurrentHashMap<>() : new HashMap<>();
+    }
+
+    /**
+     * Creates the list that holds the properties of a vertex for a key, which must tolerate concurrent reads and
+     * writes when {@link TinkerGraph#GREMLIN_TINKERGRAPH_CONCURRENT_WRITES} is enabled.
+     */
+    protected static List<VertexProperty> createPropertyList(final TinkerGraph graph) {
+        return graph.locks.isEnabled() ? new CopyOnWriteArrayList<>() : new ArrayList<>();
+    }
+
     public static Map<Object, Vertex> getVertices(final TinkerGraph graph) {
         return graph.vertices;
     }
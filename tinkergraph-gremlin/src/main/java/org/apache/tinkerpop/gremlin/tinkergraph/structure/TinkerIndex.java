@@ -23,22 +23,39 @@ import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 final class TinkerIndex<T extends Element> {
 
+    /**
+     * Orders the values held by a sorted index. {@code Number} values sort before all other values and are compared
+     * to one another by magnitude regardless of their class, in the same manner as
+     * {@link org.apache.tinkerpop.gremlin.process.traversal.Compare}. Other values are compared with
+     * {@link Comparable#compareTo(Object)} when they share a class and are otherwise grouped by class name.
+     */
+    static final Comparator<Object> SORTED_INDEX_COMPARATOR = TinkerIndex::compareSortable;
+
     protected Map<String, Map<Object, Set<T>>> index = new ConcurrentHashMap<>();
+    protected Map<String, ConcurrentSkipListMap<Object, Set<T>>> sortedIndex = new ConcurrentHashMap<>();
     protected final Class<T> indexClass;
-    private final Set<String> indexedKeys = new HashSet<>();
+    private final Set<String> indexedKeys = ConcurrentHashMap.newKeySet();
+    private final Map<String, Map<T, Integer>> sortedElements = new ConcurrentHashMap<>();
+    private final Map<List<String>, CompositeIndex<T>> compositeIndex = new ConcurrentHashMap<>();
     private final TinkerGraph graph;
 
     public TinkerIndex(final TinkerGraph graph, final Class<T> indexClass) {
@@ -47,33 +64,104 @@ final class TinkerIndex<T extends Element> {
     }
 
     protected void put(final String key, final Object value, final T element) {
-        Map<Object, Set<T>> keyMap = this.index.get(key);
-        if (keyMap == null) {
-            keyMap = new ConcurrentHashMap<>();
-            this.index.put(key, keyMap);
-        }
-        Set<T> objects = keyMap.get(value);
-        if (null == objects) {
-            objects = new HashSet<>();
-            keyMap.put(value, objects);
+        addToSet(this.index.computeIfAbsent(key, k -> new ConcurrentHashMap<>()), value, element);
+
+        if (this.sortedIndex.containsKey(key) && isSortable(value))
+            this.putSorted(key, value, element);
+    }
+
+    private void putSorted(final String key, final Object value, final T element) {
+        final ConcurrentSkipListMap<Object, Set<T>> keyMap = this.sortedIndex.get(key);
+        // the skip list can not update a value atomically so writers to it are serialized
+        synchronized (keyMap) {
+            Set<T> objects = keyMap.get(value);
+            if (null == objects) {
+                objects = ConcurrentHashMap.newKeySet();
+                keyMap.put(value, objects);
+            }
+            if (objects.add(element))
+                this.sortedElements.get(key).merge(element, 1, Integer::sum);
         }
-        objects.add(element);
+    }
 
+    private void releaseSorted(final String key, final T element) {
+        this.sortedElements.get(key).computeIfPresent(element, (e, count) -> count == 1 ? null : count - 1);
     }
 
-    public List<T> get(final String key, final Object value) {
+    /**
+     * Gets the elements with the value for the key. The elements are not copied, so the iterator reflects
+     * modifications made to the index while it is being consumed without failing.
+     */
+    public Iterator<T> get(final String key, final Object value) {
         final Map<Object, Set<T>> keyMap = this.index.get(key);
         if (null == keyMap) {
-            return Collections.emptyList();
+            return Collections.emptyIterator();
         } else {
             Set<T> set = keyMap.get(value);
             if (null == set)
-                return Collections.emptyList();
+                return Collections.emptyIterator();
             else
-                return new ArrayList<>(set);
+                return set.iterator();
         }
     }
 
+    /**
+     * Gets the elements with the values for the keys of a composite index, where the values are in the same order
+     * as the keys were when the index was created. The elements are not copied.
+     */
+    public Iterator<T> getComposite(final List<String> keys, final List<Object> values) {
+        final CompositeIndex<T> compositeIndex = this.compositeIndex.get(keys);
+        if (null == compositeIndex) {
+            return Collections.emptyIterator();
+        } else {
+            final Set<T> set = compositeIndex.index.get(values);
+            return null == set ? Collections.emptyIterator() : set.iterator();
+        }
+    }
+
+    /**
+     * Gets the sets of elements whose values for a sorted key fall within the specified bounds, in the order of
+     * their values. A {@code null} bound leaves that end of the range open.
+     */
+    public Collection<Set<T>> getRange(final String key, final Object from, final boolean fromInclusive,
+                                       final Object to, final boolean toInclusive, final boolean descending) {
+        final ConcurrentSkipListMap<Object, Set<T>> keyMap = this.sortedIndex.get(key);
+        if (null == keyMap)
+            return Collections.emptyList();
+
+        if (null != from && null != to) {
+            final int comparison = SORTED_INDEX_COMPARATOR.compare(from, to);
+            if (comparison > 0 || (comparison == 0 && !(fromInclusive && toInclusive)))
+                return Collections.emptyList();
+        }
+
+        NavigableMap<Object, Set<T>> range = keyMap;
+        if (null != from && null != to)
+            range = keyMap.subMap(from, fromInclusive, to, toInclusive);
+        else if (null != from)
+            range = keyMap.tailMap(from, fromInclusive);
+        else if (null != to)
+            range = keyMap.headMap(to, toInclusive);
+        return descending ? range.descendingMap().values() : range.values();
+    }
+
+    /**
+     * Gets the number of distinct elements held by the sorted index for the key or {@code -1} if the key does not
+     * have a sorted index. An element with several values for the key is only counted once.
+     */
+    public long countSorted(final String key) {
+        final Map<T, Integer> elements = this.sortedElements.get(key);
+        return null == elements ? -1 : elements.size();
+    }
+
+    /**
+     * Gets the distinct values held by the index for the key. The values are not copied.
+     */
+    public Set<Object> getValues(final String key) {
+        final Map<Object, Set<T>> keyMap = this.index.get(key);
+        return null == keyMap ? Collections.emptySet() : keyMap.keySet();
+    }
+
     public long count(final String key, final Object value) {
         final Map<Object, Set<T>> keyMap = this.index.get(key);
         if (null == keyMap) {
@@ -89,24 +177,54 @@ final class TinkerIndex<T extends Element> {
 
     public void remove(final String key, final Object value, final T element) {
         final Map<Object, Set<T>> keyMap = this.index.get(key);
-        if (null != keyMap) {
-            Set<T> objects = keyMap.get(value);
-            if (null != objects) {
-                objects.remove(element);
-                if (objects.size() == 0) {
-                    keyMap.remove(value);
+        if (null != keyMap)
+            removeFromSet(keyMap, value, element);
+
+        this.updateComposites(key, element);
+
+        final ConcurrentSkipListMap<Object, Set<T>> sortedKeyMap = this.sortedIndex.get(key);
+        if (null != sortedKeyMap && isSortable(value)) {
+            synchronized (sortedKeyMap) {
+                final Set<T> objects = sortedKeyMap.get(value);
+                if (null != objects) {
+                    if (objects.remove(element))
+                        this.releaseSorted(key, element);
+                    if (objects.size() == 0) {
+                        sortedKeyMap.remove(value);
+                    }
                 }
             }
         }
     }
 
+    /**
+     * Removes the element from the index of every key. The values that no longer have any elements are removed as
+     * well, so that the values held by the index are those of the elements in the graph.
+     */
     public void removeElement(final T element) {
         if (this.indexClass.isAssignableFrom(element.getClass())) {
             for (Map<Object, Set<T>> map : index.values()) {
-                for (Set<T> set : map.values()) {
-                    set.remove(element);
+                for (Map.Entry<Object, Set<T>> entry : map.entrySet()) {
+                    if (entry.getValue().contains(element))
+                        removeFromSet(map, entry.getKey(), element);
+                }
+            }
+            for (Map.Entry<String, ConcurrentSkipListMap<Object, Set<T>>> entry : sortedIndex.entrySet()) {
+                final ConcurrentSkipListMap<Object, Set<T>> keyMap = entry.getValue();
+                synchronized (keyMap) {
+                    final Iterator<Set<T>> sets = keyMap.values().iterator();
+                    while (sets.hasNext()) {
+                        final Set<T> set = sets.next();
+                        if (set.remove(element)) {
+                            this.releaseSorted(entry.getKey(), element);
+                            if (set.isEmpty()) sets.remove();
+                        }
+                    }
                 }
             }
+            for (CompositeIndex<T> compositeIndex : this.compositeIndex.values()) {
+                compositeIndex.removeElement(element);
+            }
         }
     }
 
@@ -116,6 +234,15 @@ final class TinkerIndex<T extends Element> {
                 this.remove(key, oldValue, element);
             this.put(key, newValue, element);
         }
+        this.updateComposites(key, element);
+    }
+
+    private void updateComposites(final String key, final T element) {
+        if (this.compositeIndex.isEmpty()) return;
+        for (final CompositeIndex<T> compositeIndex : this.compositeIndex.values()) {
+            if (compositeIndex.keys.contains(key))
+                compositeIndex.update(element);
+        }
     }
 
     public void autoRemove(final String key, final Object oldValue, final T element) {
@@ -141,14 +268,189 @@ final class TinkerIndex<T extends Element> {
                 .forEach(a -> this.put(key, ((Property) a[0]).value(), (T) a[1]));
     }
 
+    /**
+     * Creates an index for the key which, in addition to exact lookups, can be used to find elements whose values
+     * fall within a range or to iterate elements in the order of their values.
+     */
+    public void createSortedKeyIndex(final String key) {
+        this.createKeyIndex(key);
+        if (this.sortedIndex.containsKey(key))
+            return;
+
+        this.sortedElements.put(key, new ConcurrentHashMap<>());
+        this.sortedIndex.put(key, new ConcurrentSkipListMap<>(SORTED_INDEX_COMPARATOR));
+        for (final Map.Entry<Object, Set<T>> entry : this.index.getOrDefault(key, Collections.emptyMap()).entrySet()) {
+            if (isSortable(entry.getKey())) {
+                for (final T element : entry.getValue()) {
+                    this.putSorted(key, entry.getKey(), element);
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates an index over the combination of values of several keys so that elements having a value for each of
+     * them can be found with a single lookup.
+     */
+    public void createCompositeIndex(final List<String> keys) {
+        if (keys.size() < 2)
+            throw new IllegalArgumentException("A composite index requires at least two keys");
+        for (final String key : keys) {
+            if (null == key)
+                throw Graph.Exceptions.argumentCanNotBeNull("key");
+            if (key.isEmpty())
+                throw new IllegalArgumentException("The key for the index cannot be an empty string");
+        }
+
+        if (this.compositeIndex.containsKey(keys))
+            return;
+        final CompositeIndex<T> compositeIndex = new CompositeIndex<>(keys);
+        (Vertex.class.isAssignableFrom(this.indexClass) ?
+                this.graph.vertices.values().<T>stream() :
+                this.graph.edges.values().<T>stream()).forEach(e -> compositeIndex.update((T) e));
+        this.compositeIndex.put(compositeIndex.keys, compositeIndex);
+    }
+
+    public void dropCompositeIndex(final List<String> keys) {
+        final CompositeIndex<T> compositeIndex = this.compositeIndex.remove(keys);
+        if (null != compositeIndex)
+            compositeIndex.index.clear();
+    }
+
+    public Set<List<String>> getCompositeIndexedKeys() {
+        return this.compositeIndex.keySet();
+    }
+
     public void dropKeyIndex(final String key) {
         if (this.index.containsKey(key))
             this.index.remove(key).clear();
+        if (this.sortedIndex.containsKey(key))
+            this.sortedIndex.remove(key).clear();
 
+        this.sortedElements.remove(key);
         this.indexedKeys.remove(key);
     }
 
     public Set<String> getIndexedKeys() {
         return this.indexedKeys;
     }
+
+    public Set<String> getSortedIndexedKeys() {
+        return this.sortedIndex.keySet();
+    }
+
+    /**
+     * Determines if a value can be held by a sorted index.
+     */
+    static boolean isSortable(final Object value) {
+        return value instanceof Comparable;
+    }
+
+    private static int compareSortable(final Object first, final Object second) {
+        final boolean firstIsNumber = first instanceof Number;
+        final boolean secondIsNumber = second instanceof Number;
+        if (firstIsNumber && secondIsNumber) {
+            if (first.getClass().equals(second.getClass()))
+                return ((Comparable) first).compareTo(second);
+            final Number a = (Number) first;
+            final Number b = (Number) second;
+            return isFinite(a) && isFinite(b) ?
+                    new BigDecimal(a.toString()).compareTo(new BigDecimal(b.toString())) :
+                    Double.compare(a.doubleValue(), b.doubleValue());
+        } else if (firstIsNumber) {
+            return -1;
+        } else if (secondIsNumber) {
+            return 1;
+        } else if (first.getClass().equals(second.getClass())) {
+            return ((Comparable) first).compareTo(second);
+        } else {
+            return first.getClass().getName().compareTo(second.getClass().getName());
+        }
+    }
+
+    private static boolean isFinite(final Number number) {
+        return !(number instanceof Double || number instanceof Float) ||
+                !(Double.isNaN(number.doubleValue()) || Double.isInfinite(number.doubleValue()));
+    }
+
+    /**
+     * Adds the element to the set for the value, creating the set if needed. The update is atomic for a
+     * {@code ConcurrentHashMap} so that a concurrent {@link #removeFromSet(Map, Object, Element)} can not discard
+     * the set after the element was added to it.
+     */
+    private static <K, T> void addToSet(final Map<K, Set<T>> map, final K value, final T element) {
+        map.compute(value, (k, objects) -> {
+            final Set<T> set = null == objects ? ConcurrentHashMap.newKeySet() : objects;
+            set.add(element);
+            return set;
+        });
+    }
+
+    /**
+     * Removes the element from the set for the value, removing the set as well once it is empty.
+     */
+    private static <K, T> void removeFromSet(final Map<K, Set<T>> map, final K value, final T element) {
+        map.computeIfPresent(value, (k, objects) -> {
+            objects.remove(element);
+            return objects.isEmpty() ? null : objects;
+        });
+    }
+
+    /**
+     * Maps each combination of values for a fixed list of keys to the elements having those values. The combinations
+     * indexed for each element are remembered so that they can be removed without scanning the index when the
+     * element changes.
+     */
+    private static final class CompositeIndex<T extends Element> {
+        private final List<String> keys;
+        private final Map<List<Object>, Set<T>> index = new ConcurrentHashMap<>();
+        private final Map<T, List<List<Object>>> elementValues = new ConcurrentHashMap<>();
+
+        private CompositeIndex(final List<String> keys) {
+            this.keys = Collections.unmodifiableList(new ArrayList<>(keys));
+        }
+
+        private void update(final T element) {
+            this.removeElement(element);
+            final List<List<Object>> combinations = this.combinations(element);
+            if (combinations.isEmpty()) return;
+            for (final List<Object> values : combinations) {
+                addToSet(this.index, values, element);
+            }
+            this.elementValues.put(element, combinations);
+        }
+
+        private void removeElement(final T element) {
+            final List<List<Object>> combinations = this.elementValues.remove(element);
+            if (null == combinations) return;
+            for (final List<Object> values : combinations) {
+                removeFromSet(this.index, values, element);
+            }
+        }
+
+        /**
+         * Gets every combination of values the element has for the keys, which is usually just one, but vertices
+         * may have multiple values per key.
+         */
+        private List<List<Object>> combinations(final T element) {
+            List<List<Object>> combinations = Collections.singletonList(Collections.emptyList());
+            for (final String key : this.keys) {
+                final Set<Object> values = new LinkedHashSet<>();
+                element.properties(key).forEachRemaining(p -> values.add(p.value()));
+                if (values.isEmpty()) return Collections.emptyList();
+
+                final List<List<Object>> extended = new ArrayList<>(combinations.size() * values.size());
+                for (final List<Object> combination : combinations) {
+                    for (final Object value : values) {
+                        final List<Object> list = new ArrayList<>(combination.size() + 1);
+                        list.addAll(combination);
+                        list.add(value);
+                        extended.add(list);
+                    }
+                }
+                combinations = extended;
+            }
+            return combinations;
+        }
+    }
 }
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Striped locks that guard the mutable state of {@link TinkerVertex} instances (their properties and adjacency) and
+ * of the edges and vertex properties that belong to them. A vertex is mapped to a stripe by the hash of its id, so
+ * that writes to different vertices rarely contend. The locks are only taken when
+ * {@link TinkerGraph#GREMLIN_TINKERGRAPH_CONCURRENT_WRITES} or {@link TinkerGraph#GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG}
+ * is enabled - otherwise {@link #NONE} is used and locking is a no-op.
+ *
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ */
+final class TinkerLocks {
+
+    static final TinkerLocks NONE = new TinkerLocks();
+
+    private final ReentrantLock[] locks;
+    private final int mask;
+
+    private TinkerLocks() {
+        this.locks = null;
+        this.mask = 0;
+    }
+
+    /**
+     * Creates the locks with at least the specified number of stripes, rounded up to a power of two.
+     */
+    TinkerLocks(final int stripes) {
+        if (stripes < 1)
+            throw new IllegalArgumentException("The number of lock stripes must be greater than zero");
+        final int size = Integer.highestOneBit(stripes) == stripes ? stripes : Integer.highestOneBit(stripes) << 1;
+        this.locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            this.locks[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    boolean isEnabled() {
+        return null != this.locks;
+    }
+
+    void lock(final TinkerVertex vertex) {
+        if (null != this.locks) this.locks[stripe(vertex)].lock();
+    }
+
+    void unlock(final TinkerVertex vertex) {
+        if (null != this.locks) this.locks[stripe(vertex)].unlock();
+    }
+
+    /**
+     * Locks the stripes of two vertices, always in the same order so that threads locking the same pair of stripes
+     * can not deadlock.
+     */
+    void lock(final TinkerVertex first, final TinkerVertex second) {
+        if (null == this.locks) return;
+        final int a = stripe(first);
+        final int b = stripe(second);
+        this.locks[Math.min(a, b)].lock();
+        if (a != b) this.locks[Math.max(a, b)].lock();
+    }
+
+    void unlock(final TinkerVertex first, final TinkerVertex second) {
+        if (null == this.locks) return;
+        final int a = stripe(first);
+        final int b = stripe(second);
+        if (a != b) this.locks[Math.max(a, b)].unlock();
+        this.locks[Math.min(a, b)].unlock();
+    }
+
+    /**
+     * Locks every stripe, in stripe order, so that no vertex can be changed until {@link #unlockAll()} is called.
+     */
+    void lockAll() {
+        if (null == this.locks) return;
+        for (final ReentrantLock lock : this.locks) {
+            lock.lock();
+        }
+    }
+
+    void unlockAll() {
+        if (null == this.locks) return;
+        for (int i = this.locks.length - 1; i >= 0; i--) {
+            this.locks[i].unlock();
+        }
+    }
+
+    private int stripe(final TinkerVertex vertex) {
+        final int h = vertex.id().hashCode();
+        return (h ^ (h >>> 16)) & this.mask;
+    }
+}
@@ -76,11 +76,21 @@ public final class TinkerProperty<V> implements Property<V> {
 
     @Override
     public void remove() {
-        if (this.element instanceof Edge) {
-            ((TinkerEdge) this.element).properties.remove(this.key);
-            TinkerHelper.removeIndex((TinkerEdge) this.element, this.key, this.value);
-        } else {
-            ((TinkerVertexProperty) this.element).properties.remove(this.key);
+        final TinkerVertex vertex = (TinkerVertex) (this.element instanceof Edge ?
+                ((Edge) this.element).outVertex() : ((TinkerVertexProperty) this.element).element());
+        vertex.graph.locks.lock(vertex);
+        try {
+            if (this.element instanceof Edge) {
+                if (null != vertex.graph.log) vertex.graph.log.removeEdgeProperty((TinkerEdge) this.element, this.key);
+                ((TinkerEdge) this.element).properties.remove(this.key);
+                TinkerHelper.removeIndex((TinkerEdge) this.element, this.key, this.value);
+            } else {
+                if (null != vertex.graph.log && !TinkerHelper.inComputerMode(vertex.graph))
+                    vertex.graph.log.removeMetaProperty((TinkerVertexProperty) this.element, this.key);
+                ((TinkerVertexProperty) this.element).properties.remove(this.key);
+            }
+        } finally {
+            vertex.graph.locks.unlock(vertex);
         }
     }
 }
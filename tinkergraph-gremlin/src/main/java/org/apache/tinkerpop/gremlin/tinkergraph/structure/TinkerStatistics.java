@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.GraphStatistics;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@link GraphStatistics} of a {@link TinkerGraph}. Element counts come from the graph and the number of elements
+ * per label is kept as elements are added and removed, while counts by key and value are only known for keys with a
+ * {@link TinkerIndex} - counts by value from any index and counts by key from a {@link TinkerGraph.IndexType#SORTED}
+ * index. Degree distributions are computed from the adjacency of every vertex when first requested and are reused
+ * until the number of elements added and removed since exceeds a tenth of the graph.
+ *
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ */
+final class TinkerStatistics implements GraphStatistics {
+
+    private final TinkerGraph graph;
+    private final Map<String, LongAdder> vertexLabelCounts = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> edgeLabelCounts = new ConcurrentHashMap<>();
+    private final Map<String, CachedDegreeDistribution> degreeDistributions = new ConcurrentHashMap<>();
+    private final LongAdder changes = new LongAdder();
+
+    TinkerStatistics(final TinkerGraph graph) {
+        this.graph = graph;
+    }
+
+    void elementAdded(final TinkerElement element) {
+        labelCounts(element.getClass()).computeIfAbsent(element.label, k -> new LongAdder()).increment();
+        this.changes.increment();
+    }
+
+    void elementRemoved(final TinkerElement element) {
+        final LongAdder count = labelCounts(element.getClass()).get(element.label);
+        if (null != count) count.decrement();
+        this.changes.increment();
+    }
+
+    void clear() {
+        this.vertexLabelCounts.clear();
+        this.edgeLabelCounts.clear();
+        this.degreeDistributions.clear();
+    }
+
+    @Override
+    public Optional<Long> count(final Class<? extends Element> elementClass) {
+        return Optional.of((long) (isVertex(elementClass) ? this.graph.vertices.size() : this.graph.edges.size()));
+    }
+
+    @Override
+    public Optional<Long> countByLabel(final Class<? extends Element> elementClass, final String label) {
+        final LongAdder count = labelCounts(elementClass).get(label);
+        return Optional.of(null == count ? 0L : Math.max(0L, count.sum()));
+    }
+
+    @Override
+    public Optional<Long> countByKey(final Class<? extends Element> elementClass, final String key) {
+        final TinkerIndex<?> index = isVertex(elementClass) ? this.graph.vertexIndex : this.graph.edgeIndex;
+        if (null == index) return Optional.empty();
+        final long count = index.countSorted(key);
+        return count < 0 ? Optional.empty() : Optional.of(count);
+    }
+
+    @Override
+    public Optional<Long> countByValue(final Class<? extends Element> elementClass, final String key, final Object value) {
+        final TinkerIndex<?> index = isVertex(elementClass) ? this.graph.vertexIndex : this.graph.edgeIndex;
+        if (null == index || !index.getIndexedKeys().contains(key)) return Optional.empty();
+        return Optional.of(index.count(key, value));
+    }
+
+    @Override
+    public Optional<Double> averageDegree(final Direction direction, final String... edgeLabels) {
+        final long vertices = this.graph.vertices.size();
+        if (0 == vertices) return Optional.empty();
+        long edges = 0;
+        if (0 == edgeLabels.length) {
+            edges = this.graph.edges.size();
+        } else {
+            for (final String label : edgeLabels) {
+                edges = edges + countByLabel(TinkerEdge.class, label).get();
+            }
+        }
+        return Optional.of((direction == Direction.BOTH ? 2.0d : 1.0d) * edges / vertices);
+    }
+
+    @Override
+    public Optional<DegreeDistribution> degreeDistribution(final Direction direction, final String edgeLabel) {
+        final String key = null == edgeLabel ? direction.name() : direction.name() + ":" + edgeLabel;
+        final long changes = this.changes.sum();
+        CachedDegreeDistribution cached = this.degreeDistributions.get(key);
+        if (null == cached || changes - cached.changes > cached.elements / 10) {
+            final long elements = this.graph.vertices.size() + this.graph.edges.size();
+            cached = new CachedDegreeDistribution(computeDegreeDistribution(direction, edgeLabel), changes, elements);
+            this.degreeDistributions.put(key, cached);
+        }
+        return Optional.of(cached.distribution);
+    }
+
+    private DegreeDistribution computeDegreeDistribution(final Direction direction, final String edgeLabel) {
+        final String[] edgeLabels = null == edgeLabel ? new String[0] : new String[]{edgeLabel};
+        long[] counts = new long[1];
+        for (final Vertex vertex : this.graph.vertices.values()) {
+            final int bucket = DegreeDistribution.bucketOf(TinkerHelper.getDegree((TinkerVertex) vertex, direction, edgeLabels));
+            if (bucket >= counts.length) counts = Arrays.copyOf(counts, bucket + 1);
+            counts[bucket]++;
+        }
+        return new DegreeDistribution(counts);
+    }
+
+    private Map<String, LongAdder> labelCounts(final Class<?> elementClass) {
+        return isVertex(elementClass) ? this.vertexLabelCounts : this.edgeLabelCounts;
+    }
+
+    private static boolean isVertex(final Class<?> elementClass) {
+        return Vertex.class.isAssignableFrom(elementClass);
+    }
+
+    private static final class CachedDegreeDistribution {
+        private final DegreeDistribution distribution;
+        private final long changes;
+        private final long elements;
+
+        private CachedDegreeDistribution(final DegreeDistribution distribution, final long changes, final long elements) {
+            this.distribution = distribution;
+            this.changes = changes;
+            this.elements = elements;
+        }
+    }
+}
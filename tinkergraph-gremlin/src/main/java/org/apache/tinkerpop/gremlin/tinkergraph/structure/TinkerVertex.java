@@ -29,7 +29,6 @@ import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -43,9 +42,9 @@ import java.util.stream.Collectors;
 public final class TinkerVertex extends TinkerElement implements Vertex {
 
     protected Map<String, List<VertexProperty>> properties;
-    protected Map<String, Set<Edge>> outEdges;
-    protected Map<String, Set<Edge>> inEdges;
-    private final TinkerGraph graph;
+    protected TinkerAdjacency outEdges;
+    protected TinkerAdjacency inEdges;
+    protected final TinkerGraph graph;
 
     protected TinkerVertex(final Object id, final String label, final TinkerGraph graph) {
         super(id, label);
@@ -69,8 +68,9 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
             else
                 throw Vertex.Exceptions.multiplePropertiesExistForProvidedKey(key);
         } else {
-            if (this.properties != null && this.properties.containsKey(key)) {
-                final List<VertexProperty> list = (List) this.properties.get(key);
+            final Map<String, List<VertexProperty>> properties = this.properties;
+            if (properties != null && properties.containsKey(key)) {
+                final List<VertexProperty> list = (List) properties.get(key);
                 if (list.size() > 1)
                     throw Vertex.Exceptions.multiplePropertiesExistForProvidedKey(key);
                 else
@@ -85,28 +85,35 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
         if (this.removed) throw elementAlreadyRemoved(Vertex.class, id);
         ElementHelper.legalPropertyKeyValueArray(keyValues);
         ElementHelper.validateProperty(key, value);
-        final Optional<Object> optionalId = ElementHelper.getIdValue(keyValues);
-        final Optional<VertexProperty<V>> optionalVertexProperty = ElementHelper.stageVertexProperty(this, cardinality, key, value, keyValues);
-        if (optionalVertexProperty.isPresent()) return optionalVertexProperty.get();
-
-        if (TinkerHelper.inComputerMode(this.graph)) {
-            final VertexProperty<V> vertexProperty = (VertexProperty<V>) this.graph.graphComputerView.addProperty(this, key, value);
-            ElementHelper.attachProperties(vertexProperty, keyValues);
-            return vertexProperty;
-        } else {
-            final Object idValue = optionalId.isPresent() ?
-                    graph.vertexPropertyIdManager.convert(optionalId.get()) :
-                    graph.vertexPropertyIdManager.getNextId(graph);
-
-            final VertexProperty<V> vertexProperty = new TinkerVertexProperty<V>(idValue, this, key, value);
-
-            if (null == this.properties) this.properties = new HashMap<>();
-            final List<VertexProperty> list = this.properties.getOrDefault(key, new ArrayList<>());
-            list.add(vertexProperty);
-            this.properties.put(key, list);
-            TinkerHelper.autoUpdateIndex(this, key, value, null);
-            ElementHelper.attachProperties(vertexProperty, keyValues);
-            return vertexProperty;
+        this.graph.locks.lock(this);
+        try {
+            if (this.removed) throw elementAlreadyRemoved(Vertex.class, id);
+            final Optional<Object> optionalId = ElementHelper.getIdValue(keyValues);
+            final Optional<VertexProperty<V>> optionalVertexProperty = ElementHelper.stageVertexProperty(this, cardinality, key, value, keyValues);
+            if (optionalVertexProperty.isPresent()) return optionalVertexProperty.get();
+
+            if (TinkerHelper.inComputerMode(this.graph)) {
+                final VertexProperty<V> vertexProperty = (VertexProperty<V>) this.graph.graphComputerView.addProperty(this, key, value);
+                ElementHelper.attachProperties(vertexProperty, keyValues);
+                return vertexProperty;
+            } else {
+                final Object idValue = optionalId.isPresent() ?
+                        graph.vertexPropertyIdManager.convert(optionalId.get()) :
+                        graph.vertexPropertyIdManager.getNextId(graph);
+
+                final VertexProperty<V> vertexProperty = new TinkerVertexProperty<V>(idValue, this, key, value);
+                if (null != this.graph.log) this.graph.log.addVertexProperty((TinkerVertexProperty<V>) vertexProperty);
+
+                if (null == this.properties) this.properties = TinkerHelper.createPropertyMap(this.graph);
+                final List<VertexProperty> list = this.properties.getOrDefault(key, TinkerHelper.createPropertyList(this.graph));
+                list.add(vertexProperty);
+                this.properties.put(key, list);
+                TinkerHelper.autoUpdateIndex(this, key, value, null);
+                ElementHelper.attachProperties(vertexProperty, keyValues);
+                return vertexProperty;
+            }
+        } finally {
+            this.graph.locks.unlock(this);
         }
     }
 
@@ -127,13 +134,36 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
 
     @Override
     public void remove() {
-        final List<Edge> edges = new ArrayList<>();
-        this.edges(Direction.BOTH).forEachRemaining(edges::add);
-        edges.stream().filter(edge -> !((TinkerEdge) edge).removed).forEach(Edge::remove);
-        this.properties = null;
-        TinkerHelper.removeElementIndex(this);
-        this.graph.vertices.remove(this.id);
-        this.removed = true;
+        // mark the vertex removed first so that other threads can no longer add edges or properties to it
+        this.graph.locks.lock(this);
+        try {
+            this.removed = true;
+        } finally {
+            this.graph.locks.unlock(this);
+        }
+
+        try {
+            final List<Edge> edges = new ArrayList<>();
+            this.edges(Direction.BOTH).forEachRemaining(edges::add);
+            // remove in reverse order so that adjacency lists which scan from their most recent edge find each edge first
+            for (int i = edges.size() - 1; i >= 0; i--) {
+                final Edge edge = edges.get(i);
+                if (!((TinkerEdge) edge).removed) edge.remove();
+            }
+            this.graph.locks.lock(this);
+            try {
+                if (null != this.graph.log) this.graph.log.removeVertex(this);
+                this.properties = null;
+                TinkerHelper.removeElementIndex(this);
+                if (null != this.graph.vertices.remove(this.id)) this.graph.statistics.elementRemoved(this);
+            } finally {
+                this.graph.locks.unlock(this);
+            }
+        } catch (RuntimeException re) {
+            // the removal could not be logged so the vertex stays in the graph
+            if (this.graph.vertices.containsKey(this.id)) this.removed = false;
+            throw re;
+        }
     }
 
     @Override
@@ -166,18 +196,19 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
         if (TinkerHelper.inComputerMode((TinkerGraph) graph()))
             return (Iterator) ((TinkerGraph) graph()).graphComputerView.getProperties(TinkerVertex.this).stream().filter(p -> ElementHelper.keyExists(p.key(), propertyKeys)).iterator();
         else {
-            if (null == this.properties) return Collections.emptyIterator();
+            final Map<String, List<VertexProperty>> properties = this.properties;
+            if (null == properties) return Collections.emptyIterator();
             if (propertyKeys.length == 1) {
-                final List<VertexProperty> properties = this.properties.getOrDefault(propertyKeys[0], Collections.emptyList());
-                if (properties.size() == 1) {
-                    return IteratorUtils.of(properties.get(0));
-                } else if (properties.isEmpty()) {
+                final List<VertexProperty> list = properties.getOrDefault(propertyKeys[0], Collections.emptyList());
+                if (list.size() == 1) {
+                    return IteratorUtils.of(list.get(0));
+                } else if (list.isEmpty()) {
                     return Collections.emptyIterator();
                 } else {
-                    return (Iterator) new ArrayList<>(properties).iterator();
+                    return (Iterator) new ArrayList<>(list).iterator();
                 }
             } else
-                return (Iterator) this.properties.entrySet().stream().filter(entry -> ElementHelper.keyExists(entry.getKey(), propertyKeys)).flatMap(entry -> entry.getValue().stream()).collect(Collectors.toList()).iterator();
+                return (Iterator) properties.entrySet().stream().filter(entry -> ElementHelper.keyExists(entry.getKey(), propertyKeys)).flatMap(entry -> entry.getValue().stream()).collect(Collectors.toList()).iterator();
         }
     }
 }
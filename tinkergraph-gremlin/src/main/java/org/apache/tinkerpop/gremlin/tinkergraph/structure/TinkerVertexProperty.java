@@ -29,7 +29,6 @@ import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComp
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
@@ -117,10 +116,17 @@ public class TinkerVertexProperty<V> extends TinkerElement implements VertexProp
     @Override
     public <U> Property<U> property(final String key, final U value) {
         if (this.removed) throw elementAlreadyRemoved(VertexProperty.class, id);
-        final Property<U> property = new TinkerProperty<>(this, key, value);
-        if (this.properties == null) this.properties = new HashMap<>();
-        this.properties.put(key, property);
-        return property;
+        this.vertex.graph.locks.lock(this.vertex);
+        try {
+            final Property<U> property = new TinkerProperty<>(this, key, value);
+            if (null != this.vertex.graph.log && !TinkerHelper.inComputerMode(this.vertex.graph))
+                this.vertex.graph.log.addMetaProperty(this, key, value);
+            if (this.properties == null) this.properties = TinkerHelper.createPropertyMap(this.vertex.graph);
+            this.properties.put(key, property);
+            return property;
+        } finally {
+            this.vertex.graph.locks.unlock(this.vertex);
+        }
     }
 
     @Override
@@ -130,20 +136,26 @@ public class TinkerVertexProperty<V> extends TinkerElement implements VertexProp
 
     @Override
     public void remove() {
-        if (null != this.vertex.properties && this.vertex.properties.containsKey(this.key)) {
-            this.vertex.properties.get(this.key).remove(this);
-            if (this.vertex.properties.get(this.key).size() == 0) {
-                this.vertex.properties.remove(this.key);
-                TinkerHelper.removeIndex(this.vertex, this.key, this.value);
+        this.vertex.graph.locks.lock(this.vertex);
+        try {
+            if (null != this.vertex.properties && this.vertex.properties.containsKey(this.key)) {
+                if (null != this.vertex.graph.log) this.vertex.graph.log.removeVertexProperty(this);
+                this.vertex.properties.get(this.key).remove(this);
+                if (this.vertex.properties.get(this.key).size() == 0) {
+                    this.vertex.properties.remove(this.key);
+                    TinkerHelper.removeIndex(this.vertex, this.key, this.value);
+                }
+                final AtomicBoolean delete = new AtomicBoolean(true);
+                this.vertex.properties(this.key).forEachRemaining(property -> {
+                    if (property.value().equals(this.value))
+                        delete.set(false);
+                });
+                if (delete.get()) TinkerHelper.removeIndex(this.vertex, this.key, this.value);
+                this.properties = null;
+                this.removed = true;
             }
-            final AtomicBoolean delete = new AtomicBoolean(true);
-            this.vertex.properties(this.key).forEachRemaining(property -> {
-                if (property.value().equals(this.value))
-                    delete.set(false);
-            });
-            if (delete.get()) TinkerHelper.removeIndex(this.vertex, this.key, this.value);
-            this.properties = null;
-            this.removed = true;
+        } finally {
+            this.vertex.graph.locks.unlock(this.vertex);
         }
     }
 
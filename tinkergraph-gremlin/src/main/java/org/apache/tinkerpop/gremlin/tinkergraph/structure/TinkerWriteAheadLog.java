@@ -0,0 +1,503 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.io.IoCore;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+
+/**
+ * Persists the mutations made to a {@link TinkerGraph} as they happen, so that the graph can be restored from its
+ * last snapshot (the file at {@link TinkerGraph#GREMLIN_TINKERGRAPH_GRAPH_LOCATION}) plus the mutations logged since.
+ * Once {@link TinkerGraph#GREMLIN_TINKERGRAPH_SNAPSHOT_THRESHOLD} mutations are logged, a new snapshot is written and
+ * the log is discarded.
+ * <p/>
+ * Each record is appended before its mutation is applied to the graph and while the {@link TinkerLocks} of the
+ * mutated vertices are held, so a mutation whose record could not be appended is never applied and the caller gets
+ * the error. Once an append fails, every following mutation is refused in the same way, as the log may end with a
+ * partial record. The graph therefore uses locks whenever the log is enabled, even without
+ * {@link TinkerGraph#GREMLIN_TINKERGRAPH_CONCURRENT_WRITES}.
+ * <p/>
+ * A snapshot is written by a background thread so that the mutation reaching the threshold does not wait for it. It
+ * begins by taking all of the locks to move the current log aside (to the {@code .log.1} file) and start a new one,
+ * so every record in the previous log has been applied, then writes the graph and finally deletes the previous log.
+ * If an earlier snapshot failed, the previous log still holds the only durable copy of its records, so it is kept and
+ * the current log is not moved aside until a snapshot has succeeded and the previous log could be deleted.
+ * As the graph continues to change while it is written, the snapshot may contain mutations that are also in the new
+ * log. Records are therefore replayed idempotently - an element that already exists is not added again and one that
+ * does not exist is not removed. Closing the log writes a final snapshot once mutations can no longer be logged.
+ * <p/>
+ * Records are written as a length, a CRC32 checksum and the Gryo serialized mutation. A record that was only partly
+ * written when the process died is detected by its length or checksum and truncated from the log on recovery.
+ *
+ * @author TinkerPop Community (http://tinkerpop.apache.org)
+ */
+final class TinkerWriteAheadLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(TinkerWriteAheadLog.class);
+
+    private static final byte ADD_VERTEX = 1;
+    private static final byte REMOVE_VERTEX = 2;
+    private static final byte ADD_EDGE = 3;
+    private static final byte REMOVE_EDGE = 4;
+    private static final byte ADD_VERTEX_PROPERTY = 5;
+    private static final byte REMOVE_VERTEX_PROPERTY = 6;
+    private static final byte ADD_META_PROPERTY = 7;
+    private static final byte REMOVE_META_PROPERTY = 8;
+    private static final byte ADD_EDGE_PROPERTY = 9;
+    private static final byte REMOVE_EDGE_PROPERTY = 10;
+
+    private final TinkerGraph graph;
+    private final File logFile;
+    private final File previousLogFile;
+    private final long snapshotThreshold;
+    private final boolean sync;
+    private final Kryo kryo;
+    private final Output output = new Output(4096, -1);
+    private final CRC32 crc = new CRC32();
+    private final AtomicBoolean snapshotting = new AtomicBoolean(false);
+    private final ExecutorService snapshotExecutor;
+
+    private FileOutputStream fileOutputStream;
+    private DataOutputStream dataOutputStream;
+    private long records = 0;
+    private boolean closed = false;
+    private IOException failure = null;
+
+    private TinkerWriteAheadLog(final TinkerGraph graph, final String graphLocation, final long snapshotThreshold, final boolean sync) {
+        this.graph = graph;
+        this.logFile = new File(graphLocation + ".log");
+        this.previousLogFile = new File(graphLocation + ".log.1");
+        this.snapshotThreshold = snapshotThreshold;
+        this.sync = sync;
+        this.kryo = ((GryoMapper) graph.io(IoCore.gryo()).mapper().create()).createMapper();
+        this.snapshotExecutor = Executors.newSingleThreadExecutor(r -> {
+            final Thread thread = new Thread(r, "tinkergraph-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Replays the logs that remain from the last run onto the graph, which must already hold the last snapshot, and
+     * opens the log for appending.
+     */
+    static TinkerWriteAheadLog open(final TinkerGraph graph, final String graphLocation, final long snapshotThreshold,
+                                    final boolean sync) throws Exception {
+        final TinkerWriteAheadLog log = new TinkerWriteAheadLog(graph, graphLocation, snapshotThreshold, sync);
+        final File parent = log.logFile.getAbsoluteFile().getParentFile();
+        if (!parent.exists()) parent.mkdirs();
+
+        final boolean interruptedSnapshot = log.previousLogFile.exists();
+        if (interruptedSnapshot) log.replay(log.previousLogFile);
+        if (log.logFile.exists()) log.records = log.replay(log.logFile);
+        graph.advanceCurrentId();
+
+        if (interruptedSnapshot) {
+            // nothing else can change the graph yet, so the snapshot is exact and both logs can go
+            graph.writeSnapshot();
+            Files.deleteIfExists(log.logFile.toPath());
+            Files.delete(log.previousLogFile.toPath());
+            log.records = 0;
+        }
+
+        log.openLogFile();
+        return log;
+    }
+
+    /**
+     * Closes the log so that no further mutations are accepted and writes a final snapshot of the graph, after which
+     * the logs are deleted. If the snapshot can not be written the logs are kept to be replayed on the next start.
+     */
+    void close() {
+        // a snapshot that is being written has to finish first as it needs to start the next log
+        this.snapshotExecutor.shutdown();
+        try {
+            this.snapshotExecutor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+
+        this.graph.locks.lockAll();
+        try {
+            synchronized (this) {
+                if (this.closed) return;
+                this.closed = true;
+                try {
+                    this.dataOutputStream.flush();
+                    if (this.sync) this.fileOutputStream.getFD().sync();
+                    this.dataOutputStream.close();
+                } catch (IOException ioe) {
+                    throw new IllegalStateException("Could not close the write-ahead log at " + this.logFile, ioe);
+                }
+            }
+        } finally {
+            this.graph.locks.unlockAll();
+        }
+
+        try {
+            this.graph.writeSnapshot();
+            Files.deleteIfExists(this.logFile.toPath());
+            Files.deleteIfExists(this.previousLogFile.toPath());
+        } catch (Exception ex) {
+            throw new IllegalStateException(String.format("Could not write a snapshot of the graph on close - the write-ahead log at %s will be replayed instead", this.logFile), ex);
+        }
+    }
+
+    /**
+     * Discards the logs and replaces the snapshot with the current graph, which is expected to have been cleared.
+     */
+    void reset() {
+        this.graph.locks.lockAll();
+        try {
+            synchronized (this) {
+                this.dataOutputStream.close();
+                this.graph.writeSnapshot();
+                Files.deleteIfExists(this.logFile.toPath());
+                Files.deleteIfExists(this.previousLogFile.toPath());
+                this.openLogFile();
+                this.records = 0;
+            }
+        } catch (Exception ex) {
+            throw new IllegalStateException("Could not reset the write-ahead log at " + this.logFile, ex);
+        } finally {
+            this.graph.locks.unlockAll();
+        }
+    }
+
+    synchronized void addVertex(final TinkerVertex vertex) {
+        this.output.clear();
+        this.output.writeByte(ADD_VERTEX);
+        this.kryo.writeClassAndObject(this.output, vertex.id);
+        this.output.writeString(vertex.label);
+        this.append();
+    }
+
+    synchronized void removeVertex(final TinkerVertex vertex) {
+        this.output.clear();
+        this.output.writeByte(REMOVE_VERTEX);
+        this.kryo.writeClassAndObject(this.output, vertex.id);
+        this.append();
+    }
+
+    synchronized void addEdge(final TinkerEdge edge) {
+        this.output.clear();
+        this.output.writeByte(ADD_EDGE);
+        this.kryo.writeClassAndObject(this.output, edge.id);
+        this.kryo.writeClassAndObject(this.output, edge.outVertex.id());
+        this.output.writeString(edge.label);
+        this.kryo.writeClassAndObject(this.output, edge.inVertex.id());
+        this.append();
+    }
+
+    synchronized void removeEdge(final TinkerEdge edge) {
+        this.output.clear();
+        this.output.writeByte(REMOVE_EDGE);
+        this.kryo.writeClassAndObject(this.output, edge.id);
+        this.append();
+    }
+
+    synchronized void addVertexProperty(final TinkerVertexProperty<?> vertexProperty) {
+        this.output.clear();
+        this.output.writeByte(ADD_VERTEX_PROPERTY);
+        this.kryo.writeClassAndObject(this.output, vertexProperty.element().id());
+        this.kryo.writeClassAndObject(this.output, vertexProperty.id);
+        this.output.writeString(vertexProperty.key());
+        this.kryo.writeClassAndObject(this.output, vertexProperty.value());
+        this.append();
+    }
+
+    synchronized void removeVertexProperty(final TinkerVertexProperty<?> vertexProperty) {
+        this.output.clear();
+        this.output.writeByte(REMOVE_VERTEX_PROPERTY);
+        this.kryo.writeClassAndObject(this.output, vertexProperty.element().id());
+        this.kryo.writeClassAndObject(this.output, vertexProperty.id);
+        this.append();
+    }
+
+    synchronized void addMetaProperty(final TinkerVertexProperty<?> vertexProperty, final String key, final Object value) {
+        this.output.clear();
+        this.output.writeByte(ADD_META_PROPERTY);
+        this.kryo.writeClassAndObject(this.output, vertexProperty.element().id());
+        this.kryo.writeClassAndObject(this.output, vertexProperty.id);
+        this.output.writeString(key);
+        this.kryo.writeClassAndObject(this.output, value);
+        this.append();
+    }
+
+    synchronized void removeMetaProperty(final TinkerVertexProperty<?> vertexProperty, final String key) {
+        this.output.clear();
+        this.output.writeByte(REMOVE_META_PROPERTY);
+        this.kryo.writeClassAndObject(this.output, vertexProperty.element().id());
+        this.kryo.writeClassAndObject(this.output, vertexProperty.id);
+        this.output.writeString(key);
+        this.append();
+    }
+
+    synchronized void addEdgeProperty(final TinkerEdge edge, final String key, final Object value) {
+        this.output.clear();
+        this.output.writeByte(ADD_EDGE_PROPERTY);
+        this.kryo.writeClassAndObject(this.output, edge.id);
+        this.output.writeString(key);
+        this.kryo.writeClassAndObject(this.output, value);
+        this.append();
+    }
+
+    synchronized void removeEdgeProperty(final TinkerEdge edge, final String key) {
+        this.output.clear();
+        this.output.writeByte(REMOVE_EDGE_PROPERTY);
+        this.kryo.writeClassAndObject(this.output, edge.id);
+        this.output.writeString(key);
+        this.append();
+    }
+
+    private void append() {
+        if (this.closed)
+            throw new IllegalStateException("The write-ahead log at " + this.logFile + " is closed");
+        if (null != this.failure)
+            throw new IllegalStateException("A previous append to the write-ahead log at " + this.logFile + " failed", this.failure);
+
+        final byte[] buffer = this.output.getBuffer();
+        final int length = this.output.position();
+        this.crc.reset();
+        this.crc.update(buffer, 0, length);
+        try {
+            this.dataOutputStream.writeInt(length);
+            this.dataOutputStream.writeInt((int) this.crc.getValue());
+            this.dataOutputStream.write(buffer, 0, length);
+            this.dataOutputStream.flush();
+            if (this.sync) this.fileOutputStream.getFD().sync();
+        } catch (IOException ioe) {
+            this.failure = ioe;
+            throw new IllegalStateException("Could not append to the write-ahead log at " + this.logFile, ioe);
+        }
+
+        if (++this.records >= this.snapshotThreshold && this.snapshotting.compareAndSet(false, true))
+            this.snapshotExecutor.submit(this::snapshot);
+    }
+
+    /**
+     * Determines if a snapshot is being written in the background.
+     */
+    boolean isSnapshotting() {
+        return this.snapshotting.get();
+    }
+
+    /**
+     * Moves the current log aside, writes a snapshot of the graph and then deletes the log that was moved aside. The
+     * log is moved aside while all of the locks are held, so every record in it has been applied to the graph and is
+     * covered by the snapshot. A previous log that remains from a failed snapshot is never replaced - the current log
+     * then keeps its records, and the previous log is only deleted once a snapshot covering both has been written.
+     */
+    private void snapshot() {
+        try {
+            this.graph.locks.lockAll();
+            try {
+                synchronized (this) {
+                    if (this.closed || null != this.failure) return;
+                    if (!this.previousLogFile.exists()) {
+                        this.dataOutputStream.close();
+                        Files.move(this.logFile.toPath(), this.previousLogFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+                        try {
+                            this.openLogFile();
+                        } catch (IOException ioe) {
+                            this.failure = ioe;
+                            throw ioe;
+                        }
+                    }
+                    this.records = 0;
+                }
+            } finally {
+                this.graph.locks.unlockAll();
+            }
+            this.graph.writeSnapshot();
+            Files.delete(this.previousLogFile.toPath());
+        } catch (Exception ex) {
+            // both logs remain and are replayed on the next start, and the next snapshot will not replace the previous log
+            logger.error(String.format("Could not write a snapshot of the graph - the write-ahead logs at %s and %s will be replayed instead", this.previousLogFile, this.logFile), ex);
+        } finally {
+            this.snapshotting.set(false);
+        }
+    }
+
+    private void openLogFile() throws IOException {
+        this.fileOutputStream = new FileOutputStream(this.logFile, true);
+        this.dataOutputStream = new DataOutputStream(new BufferedOutputStream(this.fileOutputStream));
+    }
+
+    /**
+     * Applies each record in the log to the graph and truncates the log after the last complete record.
+     *
+     * @return the number of records applied
+     */
+    private long replay(final File file) throws IOException {
+        long count = 0;
+        long position = 0;
+        try (final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            final CRC32 checksum = new CRC32();
+            byte[] buffer = new byte[4096];
+            while (true) {
+                final int length;
+                final int crcValue;
+                try {
+                    length = in.readInt();
+                    crcValue = in.readInt();
+                    if (length < 0 || length > file.length() - position - 8) break;
+                    if (buffer.length < length) buffer = new byte[length];
+                    in.readFully(buffer, 0, length);
+                } catch (EOFException eof) {
+                    break;
+                }
+                checksum.reset();
+                checksum.update(buffer, 0, length);
+                if ((int) checksum.getValue() != crcValue) break;
+
+                this.apply(new Input(buffer, 0, length));
+                position = position + 8 + length;
+                count++;
+            }
+        }
+
+        if (position < file.length()) {
+            logger.warn("Truncating incomplete record at position {} of the write-ahead log at {}", position, file);
+            try (final RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                raf.setLength(position);
+            }
+        }
+        return count;
+    }
+
+    private void apply(final Input input) {
+        final byte type = input.readByte();
+        switch (type) {
+            case ADD_VERTEX: {
+                final Object id = this.kryo.readClassAndObject(input);
+                final String label = input.readString();
+                if (!this.graph.vertices.containsKey(id))
+                    this.graph.addVertex(T.id, id, T.label, label);
+                break;
+            }
+            case REMOVE_VERTEX: {
+                final Vertex vertex = this.graph.vertices.get(this.kryo.readClassAndObject(input));
+                if (null != vertex) vertex.remove();
+                break;
+            }
+            case ADD_EDGE: {
+                final Object id = this.kryo.readClassAndObject(input);
+                final Vertex outVertex = this.graph.vertices.get(this.kryo.readClassAndObject(input));
+                final String label = input.readString();
+                final Vertex inVertex = this.graph.vertices.get(this.kryo.readClassAndObject(input));
+                if (!this.graph.edges.containsKey(id) && null != outVertex && null != inVertex)
+                    outVertex.addEdge(label, inVertex, T.id, id);
+                break;
+            }
+            case REMOVE_EDGE: {
+                final Edge edge = this.graph.edges.get(this.kryo.readClassAndObject(input));
+                if (null != edge) edge.remove();
+                break;
+            }
+            case ADD_VERTEX_PROPERTY: {
+                final Vertex vertex = this.graph.vertices.get(this.kryo.readClassAndObject(input));
+                final Object id = this.kryo.readClassAndObject(input);
+                final String key = input.readString();
+                final Object value = this.kryo.readClassAndObject(input);
+                if (null != vertex && null == findVertexProperty(vertex, id))
+                    vertex.property(VertexProperty.Cardinality.list, key, value, T.id, id);
+                break;
+            }
+            case REMOVE_VERTEX_PROPERTY: {
+                final Vertex vertex = this.graph.vertices.get(this.kryo.readClassAndObject(input));
+                final VertexProperty<?> vertexProperty = findVertexProperty(vertex, this.kryo.readClassAndObject(input));
+                if (null != vertexProperty) vertexProperty.remove();
+                break;
+            }
+            case ADD_META_PROPERTY: {
+                final Vertex vertex = this.graph.vertices.get(this.kryo.readClassAndObject(input));
+                final VertexProperty<?> vertexProperty = findVertexProperty(vertex, this.kryo.readClassAndObject(input));
+                final String key = input.readString();
+                final Object value = this.kryo.readClassAndObject(input);
+                if (null != vertexProperty) vertexProperty.property(key, value);
+                break;
+            }
+            case REMOVE_META_PROPERTY: {
+                final Vertex vertex = this.graph.vertices.get(this.kryo.readClassAndObject(input));
+                final VertexProperty<?> vertexProperty = findVertexProperty(vertex, this.kryo.readClassAndObject(input));
+                final String key = input.readString();
+                if (null != vertexProperty) {
+                    final Property<?> property = vertexProperty.property(key);
+                    if (property.isPresent()) property.remove();
+                }
+                break;
+            }
+            case ADD_EDGE_PROPERTY: {
+                final Edge edge = this.graph.edges.get(this.kryo.readClassAndObject(input));
+                final String key = input.readString();
+                final Object value = this.kryo.readClassAndObject(input);
+                if (null != edge) edge.property(key, value);
+                break;
+            }
+            case REMOVE_EDGE_PROPERTY: {
+                final Edge edge = this.graph.edges.get(this.kryo.readClassAndObject(input));
+                final String key = input.readString();
+                if (null != edge) {
+                    final Property<?> property = edge.property(key);
+                    if (property.isPresent()) property.remove();
+                }
+                break;
+            }
+            default:
+                throw new IllegalStateException(String.format("Unknown write-ahead log record type %s", type));
+        }
+    }
+
+    private static VertexProperty<?> findVertexProperty(final Vertex vertex, final Object id) {
+        if (null == vertex) return null;
+        final Iterator<VertexProperty<Object>> properties = vertex.properties();
+        return IteratorUtils.stream(properties).filter(p -> p.id().equals(id)).findFirst().orElse(null);
+    }
+}
@@ -19,16 +19,21 @@
 
 package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization;
 
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.DefaultGraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
 import org.apache.tinkerpop.gremlin.process.traversal.util.EmptyTraversal;
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.map.TinkerCountGlobalStep;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.map.TinkerDegreeCountStep;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -74,6 +79,14 @@ public class TinkerGraphCountStrategyTest {
 
     }
 
+    private static Traversal.Admin<?, ?> countStep(final Class<? extends Element> elementClass, final HasContainer hasContainer) {
+        return new DefaultGraphTraversal<>().addStep(new TinkerCountGlobalStep(EmptyTraversal.instance(), elementClass, Collections.singletonList(hasContainer)));
+    }
+
+    private static Traversal.Admin<?, ?> degreeStep(final Object id, final Direction direction, final String... edgeLabels) {
+        return new DefaultGraphTraversal<>().addStep(new TinkerDegreeCountStep<>(EmptyTraversal.instance(), new Object[]{id}, direction, edgeLabels));
+    }
+
     @Parameterized.Parameters(name = "{0}")
     public static Iterable<Object[]> generateTestParameters() {
         return Arrays.asList(new Object[][]{
@@ -86,12 +99,22 @@ public class TinkerGraphCountStrategyTest {
                 {__.V().map(out().groupCount()).identity().count().as("a"), countStep(Vertex.class), TraversalStrategies.GlobalCache.getStrategies(TinkerGraph.class).toList()},
                 {__.V().label().map(s -> s.get().length()).count(), countStep(Vertex.class), TraversalStrategies.GlobalCache.getStrategies(TinkerGraph.class).toList()},
                 {__.V().as("a").map(select("a")).count(), countStep(Vertex.class),TraversalStrategies.GlobalCache.getStrategies(TinkerGraph.class).toList()},
+                {__.V().hasLabel("person").count(), countStep(Vertex.class, new HasContainer(T.label.getAccessor(), P.eq("person"))), Collections.emptyList()},
+                {__.V().hasLabel("person", "software").count(), countStep(Vertex.class, new HasContainer(T.label.getAccessor(), P.within("person", "software"))), TraversalStrategies.GlobalCache.getStrategies(TinkerGraph.class).toList()},
+                {__.V(1).outE("knows").count(), degreeStep(1, Direction.OUT, "knows"), Collections.emptyList()},
+                {__.V(1).both().count(), degreeStep(1, Direction.BOTH), TraversalStrategies.GlobalCache.getStrategies(TinkerGraph.class).toList()},
+                {__.V(1).in("created").map(out()).count(), degreeStep(1, Direction.IN, "created"), TraversalStrategies.GlobalCache.getStrategies(TinkerGraph.class).toList()},
                 //
                 {__.V(), __.V(), Collections.emptyList()},
                 {__.V().out().count(), __.V().out().count(), Collections.emptyList()},
                 {__.V(1).count(), __.V(1).count(), Collections.emptyList()},
                 {__.count(), __.count(), Collections.emptyList()},
                 {__.V().map(out().groupCount("m")).identity().count().as("a"), __.V().map(out().groupCount("m")).identity().count().as("a"), Collections.emptyList()},
+                {__.V().has("name", "marko").count(), __.V().has("name", "marko").count(), Collections.emptyList()},
+                {__.V().hasLabel("person").hasLabel("software").count(), __.V().hasLabel("person").hasLabel("software").count(), Collections.emptyList()},
+                {__.V().hasLabel(P.neq("person")).count(), __.V().hasLabel(P.neq("person")).count(), Collections.emptyList()},
+                {__.V(1).out().out().count(), __.V(1).out().out().count(), Collections.emptyList()},
+                {__.V(1).outE().inV().count(), __.V(1).outE().inV().count(), Collections.emptyList()},
         });
     }
 }
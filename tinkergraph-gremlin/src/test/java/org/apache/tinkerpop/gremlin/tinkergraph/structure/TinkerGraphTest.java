@@ -21,12 +21,37 @@ package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 import org.apache.commons.configuration.BaseConfiguration;
 import org.apache.commons.configuration.Configuration;
 import org.apache.tinkerpop.gremlin.TestHelper;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.Scope;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.branch.ParallelStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.branch.RepeatStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.OrStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.ShortestPathFilterStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.ShortestPathStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.LazyPropertyMap;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ParallelStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.SpillStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.InlineFilterStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.ReachabilityStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.RepeatUnrollStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.ShortestPathStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Column;
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
 import org.apache.tinkerpop.gremlin.structure.io.Io;
 import org.apache.tinkerpop.gremlin.structure.io.GraphReader;
@@ -40,6 +65,13 @@ import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONWriter;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoClassResolver;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoWriter;
+import org.apache.tinkerpop.gremlin.structure.util.GraphStatistics;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.map.TinkerCountGlobalStep;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.map.TinkerDegreeCountStep;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.map.TinkerMinMaxGlobalStep;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.sideEffect.TinkerGraphStep;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization.TinkerGraphCountStrategy;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization.TinkerGraphMinMaxStrategy;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.apache.tinkerpop.shaded.jackson.databind.ObjectMapper;
 import org.apache.tinkerpop.shaded.kryo.ClassResolver;
@@ -59,16 +91,26 @@ import java.io.FileOutputStream;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 
 /**
@@ -299,6 +341,321 @@ public class TinkerGraphTest {
         }, 0.5)).has("oid", "1").count().next());
     }
 
+    @Test
+    public void shouldUseSortedVertexIndexForRangePredicates() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.SORTED);
+        for (int ix = 0; ix < 100; ix++) {
+            g.addVertex("name", "person" + ix, "age", ix);
+        }
+        g.addVertex("name", "no-age");
+
+        // spy on what passes through the pipeline - only the vertices in the age range should be evaluated
+        final AtomicInteger evaluated = new AtomicInteger(0);
+        assertEquals(new Long(9), g.traversal().V().has("name", P.test((t, u) -> {
+            evaluated.incrementAndGet();
+            return true;
+        }, "x")).has("age", P.gt(90)).count().next());
+        assertEquals(9, evaluated.get());
+
+        evaluated.set(0);
+        assertEquals(new Long(10), g.traversal().V().has("name", P.test((t, u) -> {
+            evaluated.incrementAndGet();
+            return true;
+        }, "x")).has("age", P.between(10L, 20L)).count().next());
+        assertEquals(10, evaluated.get());
+
+        assertEquals(new Long(0), g.traversal().V().has("age", P.gt(50)).has("age", P.lt(40)).count().next());
+        assertEquals(new Long(1), g.traversal().V().has("age", P.gte(50)).has("age", P.lte(50)).count().next());
+        assertEquals(Arrays.asList(97, 98, 99), g.traversal().V().has("age", P.gt(96)).values("age").order().toList());
+
+        // updates and removals should be reflected in the index
+        g.traversal().V().has("age", 99).property("age", 5).iterate();
+        g.traversal().V().has("age", 98).drop().iterate();
+        assertEquals(Arrays.asList(97), g.traversal().V().has("age", P.gt(96)).values("age").toList());
+        assertEquals(new Long(2), g.traversal().V().has("age", P.within(5)).count().next());
+        assertEquals(new Long(2), g.traversal().V().has("age", P.inside(4, 6)).count().next());
+    }
+
+    @Test
+    public void shouldUseSortedEdgeIndexForRangePredicates() {
+        final TinkerGraph g = TinkerGraph.open();
+        final Vertex v = g.addVertex();
+        for (int ix = 0; ix < 10; ix++) {
+            v.addEdge("self", v, "weight", ix / 10d);
+        }
+        g.createIndex("weight", Edge.class, TinkerGraph.IndexType.SORTED);
+        assertTrue(g.getIndexedKeys(Edge.class).contains("weight"));
+        assertTrue(g.getSortedIndexedKeys(Edge.class).contains("weight"));
+
+        final AtomicInteger evaluated = new AtomicInteger(0);
+        assertEquals(new Long(3), g.traversal().E().has("weight", P.lt(0.3d)).hasLabel(P.test((t, u) -> {
+            evaluated.incrementAndGet();
+            return true;
+        }, "x")).count().next());
+        assertEquals(3, evaluated.get());
+
+        g.dropIndex("weight", Edge.class);
+        assertEquals(0, g.getSortedIndexedKeys(Edge.class).size());
+        assertEquals(new Long(3), g.traversal().E().has("weight", P.lt(0.3d)).count().next());
+    }
+
+    @Test
+    public void shouldUseSortedVertexIndexForOrderLimit() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.SORTED);
+        for (int ix = 0; ix < 100; ix++) {
+            g.addVertex("name", "person" + ix, "age", ix % 50);
+        }
+
+        final AtomicInteger evaluated = new AtomicInteger(0);
+        assertEquals(Arrays.asList(49, 49, 48), g.traversal().V().has("name", P.test((t, u) -> {
+            evaluated.incrementAndGet();
+            return true;
+        }, "x")).order().by("age", Order.decr).limit(3).values("age").toList());
+        assertEquals(4, evaluated.get());
+
+        assertEquals(Arrays.asList(0, 0, 1, 1), g.traversal().V().order().by("age").limit(4).values("age").toList());
+        assertEquals(Arrays.asList(10, 10, 11), g.traversal().V().has("age", P.gte(10)).order().by("age").limit(3).values("age").toList());
+
+        // once a vertex without the key exists the index can no longer be used to order all vertices
+        g.addVertex("name", "no-age");
+        evaluated.set(0);
+        assertEquals(Arrays.asList(49, 49, 48), g.traversal().V().has("name", P.test((t, u) -> {
+            evaluated.incrementAndGet();
+            return !t.equals("no-age");
+        }, "x")).order().by("age", Order.decr).limit(3).values("age").toList());
+        assertEquals(101, evaluated.get());
+    }
+
+    @Test
+    public void shouldNotConsiderSortedIndexCompleteWhenMultiPropertiesOutnumberElements() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY, VertexProperty.Cardinality.list.name());
+        final TinkerGraph g = TinkerGraph.open(conf);
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.SORTED);
+        final Vertex v = g.addVertex("name", "marko", "age", 29);
+        v.property(VertexProperty.Cardinality.list, "age", 30);
+        g.addVertex("name", "no-age");
+
+        assertFalse(TinkerHelper.isSortedIndexComplete(g, Vertex.class, "age"));
+        assertEquals(1L, g.statistics().countByKey(Vertex.class, "age").get().longValue());
+
+        v.properties("age").forEachRemaining(Property::remove);
+        assertEquals(0L, g.statistics().countByKey(Vertex.class, "age").get().longValue());
+    }
+
+    @Test
+    public void shouldKeepStatistics() {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        graph.createIndex("lang", Vertex.class);
+        final GraphStatistics statistics = graph.statistics();
+        assertEquals(6L, statistics.count(Vertex.class).get().longValue());
+        assertEquals(4L, statistics.countByLabel(Vertex.class, "person").get().longValue());
+        assertEquals(2L, statistics.countByLabel(Edge.class, "knows").get().longValue());
+        assertEquals(0L, statistics.countByLabel(Vertex.class, "blah").get().longValue());
+        assertEquals(2L, statistics.countByValue(Vertex.class, "lang", "java").get().longValue());
+        assertFalse(statistics.countByValue(Vertex.class, "name", "marko").isPresent());
+        assertEquals(1.0d, statistics.averageDegree(Direction.OUT).get(), 0.0d);
+        assertEquals(2.0d / 3.0d, statistics.averageDegree(Direction.BOTH, "knows").get(), 0.000001d);
+
+        graph.traversal().V().has("name", "josh").drop().iterate();
+        assertEquals(3L, statistics.countByLabel(Vertex.class, "person").get().longValue());
+        assertEquals(1L, statistics.countByLabel(Edge.class, "knows").get().longValue());
+        assertEquals(2L, statistics.countByLabel(Edge.class, "created").get().longValue());
+
+        graph.clear();
+        assertEquals(0L, statistics.countByLabel(Vertex.class, "person").get().longValue());
+    }
+
+    @Test
+    public void shouldKeepDegreeDistribution() {
+        final TinkerGraph graph = TinkerGraph.open();
+        final Vertex hub = graph.addVertex("name", "hub");
+        for (int ix = 0; ix < 100; ix++) {
+            graph.addVertex("name", "v" + ix).addEdge("knows", hub);
+        }
+        final Vertex other = graph.addVertex("name", "other");
+        hub.addEdge("created", other);
+
+        final GraphStatistics statistics = graph.statistics();
+        final GraphStatistics.DegreeDistribution knowsIn = statistics.degreeDistribution(Direction.IN, "knows").get();
+        assertEquals(102L, knowsIn.vertexCount());
+        assertEquals(101L, knowsIn.count(0));
+        assertEquals(1L, knowsIn.count(GraphStatistics.DegreeDistribution.bucketOf(100)));
+        assertEquals(8, knowsIn.buckets());
+        assertEquals(0L, knowsIn.degreeAt(0.99d));
+        assertEquals(127L, knowsIn.degreeAt(1.0d));
+        // the average hides the hub
+        assertEquals(100.0d / 102.0d, statistics.averageDegree(Direction.IN, "knows").get(), 0.000001d);
+
+        assertEquals(new GraphStatistics.DegreeDistribution(new long[]{1, 101}),
+                statistics.degreeDistribution(Direction.OUT, null).get());
+        assertEquals(new GraphStatistics.DegreeDistribution(new long[]{0, 101, 0, 0, 0, 0, 0, 1}),
+                statistics.degreeDistribution(Direction.BOTH, null).get());
+
+        // small changes reuse the distribution while larger ones recompute it
+        graph.addVertex("name", "v100").addEdge("knows", hub);
+        assertEquals(102L, statistics.degreeDistribution(Direction.IN, "knows").get().vertexCount());
+        for (int ix = 101; ix < 130; ix++) {
+            graph.addVertex("name", "v" + ix).addEdge("knows", hub);
+        }
+        final GraphStatistics.DegreeDistribution recomputed = statistics.degreeDistribution(Direction.IN, "knows").get();
+        assertEquals(132L, recomputed.vertexCount());
+        assertEquals(1L, recomputed.count(GraphStatistics.DegreeDistribution.bucketOf(130)));
+
+        graph.clear();
+        assertEquals(0L, statistics.degreeDistribution(Direction.IN, "knows").get().vertexCount());
+    }
+
+    @Test
+    public void shouldOrderOnlyMergedHasContainersBySelectivity() {
+        final TinkerGraph graph = TinkerGraph.open();
+        graph.createIndex("country", Vertex.class);
+        graph.createIndex("email", Vertex.class);
+        final Vertex hub = graph.addVertex();
+        for (int ix = 0; ix < 100; ix++) {
+            hub.addEdge("knows", graph.addVertex("country", "US", "email", "p" + ix + "@example.com"));
+        }
+
+        final Traversal.Admin<?, ?> merged = graph.traversal().V().out().and(__.has("country", "US"), __.has("email", "p1@example.com")).asAdmin();
+        merged.setStrategies(new DefaultTraversalStrategies().addStrategies(InlineFilterStrategy.instance()));
+        merged.applyStrategies();
+        assertEquals(Arrays.asList("email", "country"), ((HasStep<?>) merged.getSteps().get(2)).getHasContainers().stream().map(HasContainer::getKey).collect(Collectors.toList()));
+
+        // containers that were not merged by the strategy keep the order in which they were written
+        final Traversal.Admin<?, ?> written = graph.traversal().V().out().has("country", "US").has("email", "p1@example.com").asAdmin();
+        written.setStrategies(new DefaultTraversalStrategies().addStrategies(InlineFilterStrategy.instance()));
+        written.applyStrategies();
+        assertEquals(Arrays.asList("country", "email"), ((HasStep<?>) written.getSteps().get(2)).getHasContainers().stream().map(HasContainer::getKey).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void shouldOrderFiltersBySelectivity() {
+        final TinkerGraph graph = TinkerGraph.open();
+        graph.createIndex("country", Vertex.class);
+        graph.createIndex("email", Vertex.class);
+        for (int i = 0; i < 100; i++) {
+            graph.addVertex("country", i < 90 ? "US" : "CA", "email", "user" + i + "@example.com");
+        }
+        final GraphTraversalSource g = graph.traversal();
+
+        final Traversal.Admin<Vertex, Vertex> has = g.V().and(__.has("country", "US"), __.has("email", "user1@example.com")).asAdmin();
+        has.applyStrategies();
+        final List<HasContainer> hasContainers = ((TinkerGraphStep<?, ?>) has.getStartStep()).getHasContainers();
+        assertEquals("email", hasContainers.get(0).getKey());
+        assertEquals("country", hasContainers.get(1).getKey());
+        assertEquals(1, IteratorUtils.count(has));
+
+        final Traversal.Admin<Vertex, Vertex> or = g.V().or(__.has("email", "user1@example.com"), __.has("country", "US")).asAdmin();
+        or.applyStrategies();
+        final OrStep<?> orStep = TraversalHelper.getFirstStepOfAssignableClass(OrStep.class, or).get();
+        assertEquals("country", ((HasStep<?>) orStep.getLocalChildren().get(0).getStartStep()).getHasContainers().get(0).getKey());
+        assertEquals(90, IteratorUtils.count(or));
+    }
+
+    @Test
+    public void shouldUseCompositeVertexIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("name", Vertex.class);
+        g.createCompositeIndex(Vertex.class, "name", "age");
+        for (int ix = 0; ix < 100; ix++) {
+            g.addVertex("name", "person" + (ix % 2), "age", ix);
+        }
+        g.addVertex("name", "person0");
+        assertEquals(Collections.singleton(Arrays.asList("name", "age")), g.getCompositeIndexedKeys(Vertex.class));
+
+        // spy on what passes through the pipeline - only the vertex with both values should be evaluated
+        final AtomicInteger evaluated = new AtomicInteger(0);
+        assertEquals(new Long(1), g.traversal().V().has("age", P.test((t, u) -> {
+            evaluated.incrementAndGet();
+            return true;
+        }, "x")).has("name", "person0").has("age", 10).count().next());
+        assertEquals(1, evaluated.get());
+        assertEquals(new Long(0), g.traversal().V().has("name", "person1").has("age", 10).count().next());
+
+        // updates and removals should be reflected in the index
+        g.traversal().V().has("name", "person0").has("age", 10).property("age", 11).iterate();
+        assertEquals(new Long(0), g.traversal().V().has("name", "person0").has("age", 10).count().next());
+        assertEquals(new Long(1), g.traversal().V().has("name", "person0").has("age", 11).count().next());
+        g.traversal().V().has("name", "person1").has("age", 11).drop().iterate();
+        g.traversal().V().has("name", "person0").has("age", 11).properties("name").drop().iterate();
+        assertEquals(new Long(0), g.traversal().V().has("name", "person0").has("age", 11).count().next());
+        g.traversal().V().has("age", 11).property("name", "person0").iterate();
+        assertEquals(new Long(1), g.traversal().V().has("name", "person0").has("age", 11).count().next());
+
+        g.dropCompositeIndex(Vertex.class, "name", "age");
+        assertEquals(0, g.getCompositeIndexedKeys(Vertex.class).size());
+        assertEquals(new Long(1), g.traversal().V().has("name", "person0").has("age", 11).count().next());
+    }
+
+    @Test
+    public void shouldUseCompositeVertexIndexWithMultiProperties() {
+        final TinkerGraph g = TinkerGraph.open();
+        final Vertex v = g.addVertex("name", "marko");
+        v.property(VertexProperty.Cardinality.list, "location", "santa fe");
+        v.property(VertexProperty.Cardinality.list, "location", "brussels");
+        g.createCompositeIndex(Vertex.class, "name", "location");
+
+        assertEquals(new Long(1), g.traversal().V().has("name", "marko").has("location", "santa fe").count().next());
+        assertEquals(new Long(1), g.traversal().V().has("name", "marko").has("location", "brussels").count().next());
+
+        v.properties("location").forEachRemaining(p -> {
+            if (p.value().equals("santa fe")) p.remove();
+        });
+        assertEquals(new Long(0), g.traversal().V().has("name", "marko").has("location", "santa fe").count().next());
+        assertEquals(new Long(1), g.traversal().V().has("name", "marko").has("location", "brussels").count().next());
+    }
+
+    @Test
+    public void shouldUseCompositeEdgeIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        final Vertex v = g.addVertex();
+        for (int ix = 0; ix < 10; ix++) {
+            v.addEdge("self", v, "weight", ix % 2, "year", 2000 + ix);
+        }
+        g.createCompositeIndex(Edge.class, "weight", "year");
+
+        final AtomicInteger evaluated = new AtomicInteger(0);
+        assertEquals(new Long(1), g.traversal().E().has("weight", P.test((t, u) -> {
+            evaluated.incrementAndGet();
+            return true;
+        }, "x")).has("weight", 1).has("year", 2003).count().next());
+        assertEquals(1, evaluated.get());
+
+        g.traversal().E().has("weight", 1).has("year", 2003).drop().iterate();
+        assertEquals(new Long(0), g.traversal().E().has("weight", 1).has("year", 2003).count().next());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotCreateCompositeIndexWithSingleKey() {
+        TinkerGraph.open().createCompositeIndex(Vertex.class, "name");
+    }
+
+    @Test
+    public void shouldAddVerticesWhileIteratingIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("name", Vertex.class);
+        for (int ix = 0; ix < 10; ix++) {
+            g.addVertex("name", "marko");
+        }
+
+        // the index is iterated lazily when the traversal does not mutate, so adding to it from elsewhere is allowed
+        final Iterator<Vertex> vertices = g.traversal().V().has("name", "marko");
+        vertices.next();
+        g.addVertex("name", "marko");
+        int count = 1;
+        while (vertices.hasNext()) {
+            vertices.next();
+            count++;
+        }
+        assertTrue(count >= 10);
+
+        // a mutating traversal should not see the vertices it adds to the index
+        g.traversal().V().has("name", "marko").addV().property("name", "marko").iterate();
+        assertEquals(new Long(22), g.traversal().V().has("name", "marko").count().next());
+    }
+
     @Test
     public void shouldSerializeTinkerGraphToGryo() throws Exception {
         final TinkerGraph graph = TinkerFactory.createModern();
@@ -485,6 +842,61 @@ public class TinkerGraphTest {
         reloadedGraph.close();
     }
 
+    @Test
+    public void shouldPersistToChunkedGryoAndHandleMultiProperties() {
+        final String graphLocation = TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + "shouldPersistToChunkedGryoMulti.kryo";
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "gryo-chunked");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateTheCrew(graph);
+        graph.close();
+
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY, VertexProperty.Cardinality.list.toString());
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        IoTest.assertCrewGraph(reloadedGraph, false);
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldLoadChunkedGryoInParallel() {
+        final String graphLocation = TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + "shouldLoadChunkedGryoInParallel.kryo";
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "gryo-chunked");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOAD_THREADS, 4);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        final Random random = new Random(123456789L);
+        final int vertices = 50000;
+        for (int i = 0; i < vertices; i++) {
+            graph.addVertex(T.id, i, T.label, i % 2 == 0 ? "person" : "software", "name", "v" + i);
+        }
+        for (int i = 0; i < vertices * 2; i++) {
+            graph.vertices(random.nextInt(vertices)).next().addEdge("knows", graph.vertices(random.nextInt(vertices)).next(), "weight", (double) i);
+        }
+        final GraphTraversalSource g = graph.traversal();
+        final Map<Object, Object> outDegrees = g.V().group().by(T.id).by(__.outE().count()).next();
+        final double weights = g.E().values("weight").sum().next().doubleValue();
+        graph.close();
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        final GraphTraversalSource reloaded = reloadedGraph.traversal();
+        assertEquals(vertices, reloaded.V().count().next().intValue());
+        assertEquals(vertices * 2, reloaded.E().count().next().intValue());
+        assertEquals(vertices / 2, reloaded.V().hasLabel("person").count().next().intValue());
+        assertEquals("v4321", reloaded.V(4321).values("name").next());
+        assertEquals(outDegrees, reloaded.V().group().by(T.id).by(__.outE().count()).next());
+        assertEquals(weights, reloaded.E().values("weight").sum().next().doubleValue(), 0.0d);
+        assertEquals(reloaded.V().outE().count().next(), reloaded.V().inE().count().next());
+        reloadedGraph.close();
+    }
+
     @Test
     public void shouldPersistWithRelativePath() {
         final String graphLocation = TestHelper.convertToRelative(TinkerGraphTest.class,
@@ -504,6 +916,238 @@ public class TinkerGraphTest {
         reloadedGraph.close();
     }
 
+    @Test
+    public void shouldRecoverFromWriteAheadLogWithoutClose() {
+        final String graphLocation = TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + "shouldRecoverFromWriteAheadLog.kryo";
+        deleteWriteAheadLogFiles(graphLocation);
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "gryo");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, true);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY, VertexProperty.Cardinality.list.toString());
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateTheCrew(graph);
+
+        // nothing is written to the graph location until a snapshot is taken so everything comes from the log
+        assertTrue(!new File(graphLocation).exists());
+        final TinkerGraph recoveredGraph = TinkerGraph.open(conf);
+        IoTest.assertCrewGraph(recoveredGraph, false);
+        recoveredGraph.close();
+        graph.close();
+    }
+
+    @Test
+    public void shouldReplayRemovalsAndUpdatesFromWriteAheadLog() {
+        final String graphLocation = TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + "shouldReplayRemovalsFromWriteAheadLog.kryo";
+        deleteWriteAheadLogFiles(graphLocation);
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "gryo");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        final GraphTraversalSource g = graph.traversal();
+        g.V().has("name", "marko").property("age", 30).iterate();
+        g.V().has("name", "lop").drop().iterate();
+        g.E().has("weight", 1.0d).property("weight", 0.9d).iterate();
+        g.E().has("weight", 0.5d).properties("weight").drop().iterate();
+        g.V().has("name", "vadas").properties("name").property("acl", "private").iterate();
+        graph.close();
+
+        final TinkerGraph recoveredGraph = TinkerGraph.open(conf);
+        final GraphTraversalSource r = recoveredGraph.traversal();
+        assertEquals(5, IteratorUtils.count(recoveredGraph.vertices()));
+        assertEquals(3, IteratorUtils.count(recoveredGraph.edges()));
+        assertEquals(30, r.V().has("name", "marko").values("age").next());
+        assertEquals(2, r.E().has("weight", 0.9d).count().next().intValue());
+        assertEquals(1, r.E().hasNot("weight").count().next().intValue());
+        assertEquals("private", r.V().has("name", "vadas").properties("name").values("acl").next());
+        assertEquals(0, r.V().has("name", "lop").count().next().intValue());
+
+        // new elements must not reuse the ids of recovered ones
+        final Vertex v = recoveredGraph.addVertex("name", "stephen");
+        v.property("status", "new");
+        assertEquals(6, IteratorUtils.count(recoveredGraph.vertices()));
+        assertEquals(1, IteratorUtils.count(v.properties("status")));
+        recoveredGraph.close();
+    }
+
+    @Test
+    public void shouldSnapshotWithWriteAheadLog() throws Exception {
+        final String graphLocation = TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + "shouldSnapshotWithWriteAheadLog.kryo";
+        deleteWriteAheadLogFiles(graphLocation);
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "gryo");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, true);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_SNAPSHOT_THRESHOLD, 100);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        Vertex previous = graph.addVertex("name", "v0");
+        for (int ix = 1; ix < 250; ix++) {
+            final Vertex v = graph.addVertex("name", "v" + ix);
+            previous.addEdge("next", v, "position", ix);
+            previous = v;
+        }
+        // closing writes a final snapshot so no log is left to replay
+        graph.close();
+        assertTrue(new File(graphLocation).exists());
+        assertTrue(!new File(graphLocation + ".log.1").exists());
+        assertTrue(!new File(graphLocation + ".log").exists());
+
+        final TinkerGraph recoveredGraph = TinkerGraph.open(conf);
+        assertEquals(250, IteratorUtils.count(recoveredGraph.vertices()));
+        assertEquals(249, IteratorUtils.count(recoveredGraph.edges()));
+        assertEquals(new Long(249), recoveredGraph.traversal().V().has("name", "v0").repeat(__.out("next")).emit().count().next());
+        recoveredGraph.addVertex("name", "v250");
+        recoveredGraph.close();
+
+        // a partly written record at the end of the log is dropped
+        try (final FileOutputStream out = new FileOutputStream(graphLocation + ".log", true)) {
+            out.write(new byte[]{0, 0, 0, 100, 1, 2, 3});
+        }
+
+        final TinkerGraph reopenedGraph = TinkerGraph.open(conf);
+        assertEquals(251, IteratorUtils.count(reopenedGraph.vertices()));
+        reopenedGraph.close();
+    }
+
+    @Test
+    public void shouldSnapshotWithWriteAheadLogAndConcurrentWrites() throws Exception {
+        final String graphLocation = TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + "shouldSnapshotWithConcurrentWrites.kryo";
+        deleteWriteAheadLogFiles(graphLocation);
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "gryo");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, true);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_SNAPSHOT_THRESHOLD, 500);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_CONCURRENT_WRITES, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        final Vertex hub = graph.addVertex("name", "hub");
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int ix = 0; ix < 4; ix++) {
+            final int worker = ix;
+            futures.add(executor.submit(() -> {
+                for (int iy = 0; iy < 1000; iy++) {
+                    final Vertex v = graph.addVertex("name", "person", "worker", worker);
+                    v.addEdge("knows", hub, "weight", iy);
+                    if (iy % 10 == 0) v.remove();
+                }
+            }));
+        }
+        for (final Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        graph.close();
+
+        final TinkerGraph recoveredGraph = TinkerGraph.open(conf);
+        assertEquals(3601, IteratorUtils.count(recoveredGraph.vertices()));
+        assertEquals(3600, IteratorUtils.count(recoveredGraph.edges()));
+        assertEquals(new Long(3600), recoveredGraph.traversal().V().has("name", "hub").in("knows").count().next());
+        recoveredGraph.close();
+    }
+
+    @Test
+    public void shouldKeepPreviousLogWhenSnapshotsFailRepeatedly() throws Exception {
+        final String graphLocation = TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + "shouldKeepPreviousLogWhenSnapshotsFailRepeatedly.kryo";
+        deleteWriteAheadLogFiles(graphLocation);
+
+        // a directory in place of the temporary snapshot file makes every snapshot fail
+        final File snapshot = new File(graphLocation + ".snapshot");
+        if (snapshot.isDirectory()) snapshot.delete();
+        assertTrue(snapshot.mkdir());
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "gryo");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, true);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_SNAPSHOT_THRESHOLD, 10);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        for (int ix = 0; ix < 25; ix++) {
+            graph.addVertex("name", "v" + ix);
+            while (graph.log.isSnapshotting()) {
+                Thread.sleep(10);
+            }
+        }
+        assertTrue(new File(graphLocation + ".log.1").exists());
+        assertTrue(!new File(graphLocation).exists());
+
+        // recover as if the process died, now that snapshots can be written again
+        assertTrue(snapshot.delete());
+        final TinkerGraph recoveredGraph = TinkerGraph.open(conf);
+        assertEquals(25, IteratorUtils.count(recoveredGraph.vertices()));
+        assertEquals(new Long(1), recoveredGraph.traversal().V().has("name", "v0").count().next());
+        assertTrue(!new File(graphLocation + ".log.1").exists());
+        recoveredGraph.close();
+        graph.close();
+    }
+
+    @Test
+    public void shouldNotApplyMutationsThatCanNotBeLogged() {
+        final String graphLocation = TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + "shouldNotApplyMutationsThatCanNotBeLogged.kryo";
+        deleteWriteAheadLogFiles(graphLocation);
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "gryo");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        final Vertex a = graph.addVertex("name", "a");
+        final Vertex b = graph.addVertex("name", "b");
+        final Edge e = a.addEdge("knows", b, "weight", 1.0d);
+        graph.close();
+
+        final List<Runnable> mutations = Arrays.asList(
+                () -> graph.addVertex("name", "c"),
+                () -> a.addEdge("knows", b),
+                () -> a.property("name", "x"),
+                () -> a.property("name").property("acl", "private"),
+                () -> e.property("weight", 0.5d),
+                () -> e.property("weight").remove(),
+                () -> e.remove(),
+                () -> a.remove());
+        for (final Runnable mutation : mutations) {
+            try {
+                mutation.run();
+                fail("The write-ahead log is closed so the mutation should have been refused");
+            } catch (IllegalStateException ise) {
+                // expected
+            }
+        }
+
+        assertEquals(2, IteratorUtils.count(graph.vertices()));
+        assertEquals(1, IteratorUtils.count(graph.edges()));
+        assertEquals(1, IteratorUtils.count(a.edges(Direction.OUT)));
+        assertEquals("a", a.value("name"));
+        assertEquals(1.0d, e.<Double>value("weight"), 0.0d);
+        assertFalse(a.property("name").property("acl").isPresent());
+
+        final TinkerGraph recoveredGraph = TinkerGraph.open(conf);
+        assertEquals(2, IteratorUtils.count(recoveredGraph.vertices()));
+        assertEquals(1, IteratorUtils.count(recoveredGraph.edges()));
+        recoveredGraph.close();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldRequireGraphLocationForWriteAheadLog() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, true);
+        TinkerGraph.open(conf);
+    }
+
+    private static void deleteWriteAheadLogFiles(final String graphLocation) {
+        for (final String suffix : Arrays.asList("", ".log", ".log.1", ".snapshot")) {
+            final File f = new File(graphLocation + suffix);
+            if (f.exists() && f.isFile()) f.delete();
+        }
+    }
+
     @Test
     public void shouldPersistToAnyGraphFormat() {
         final String graphLocation = TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + "shouldPersistToAnyGraphFormat.dat";
@@ -537,6 +1181,461 @@ public class TinkerGraphTest {
         assertEquals(TestIoBuilder.calledCreate, 1);
     }
 
+    @Test
+    public void shouldTraverseWithCompactAdjacencyStorage() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_ADJACENCY_STORAGE, TinkerGraph.AdjacencyStorage.COMPACT.name());
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        IoTest.assertModernGraph(graph, true, false);
+
+        final GraphTraversalSource g = graph.traversal();
+        assertEquals(6, g.V().outE().count().next().intValue());
+        assertEquals(6, g.V().inE().count().next().intValue());
+        assertEquals(12, g.V().bothE().count().next().intValue());
+        assertEquals(2, g.V().out("knows").count().next().intValue());
+        assertEquals(4, g.V().out("created").count().next().intValue());
+        assertEquals(6, g.V().out("knows", "created").count().next().intValue());
+        assertEquals(3, g.V().has("name", "marko").out().count().next().intValue());
+        assertEquals(3, g.V().has("name", "lop").in("created").count().next().intValue());
+    }
+
+    @Test
+    public void shouldRemoveEdgesWithCompactAdjacencyStorage() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_ADJACENCY_STORAGE, TinkerGraph.AdjacencyStorage.COMPACT.name());
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        final Vertex a = graph.addVertex();
+        final List<Vertex> others = new ArrayList<>();
+        for (int ix = 0; ix < 100; ix++) {
+            final Vertex v = graph.addVertex();
+            a.addEdge(ix % 2 == 0 ? "even" : "odd", v);
+            v.addEdge("back", a);
+            others.add(v);
+        }
+
+        final GraphTraversalSource g = graph.traversal();
+        assertEquals(50, g.V(a).out("even").count().next().intValue());
+        assertEquals(100, g.V(a).in("back").count().next().intValue());
+
+        g.V(a).outE("even").limit(10).drop().iterate();
+        assertEquals(40, g.V(a).out("even").count().next().intValue());
+        assertEquals(50, g.V(a).out("odd").count().next().intValue());
+
+        others.get(1).remove();
+        assertEquals(49, g.V(a).out("odd").count().next().intValue());
+        assertEquals(99, g.V(a).in("back").count().next().intValue());
+
+        a.remove();
+        assertEquals(0, g.E().count().next().intValue());
+        assertEquals(0, g.V(others.get(0)).bothE().count().next().intValue());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRequireValidAdjacencyStorage() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_ADJACENCY_STORAGE, "doesNotExist");
+        TinkerGraph.open(conf);
+    }
+
+    @Test
+    public void shouldMutateConcurrentlyWithConcurrentWrites() throws Exception {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_CONCURRENT_WRITES, true);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_LOCK_STRIPES, 4);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        graph.createIndex("name", Vertex.class);
+        graph.createIndex("weight", Edge.class);
+        graph.createCompositeIndex(Vertex.class, "name", "worker");
+
+        final int workers = 8;
+        final int verticesPerWorker = 500;
+        final Vertex hub = graph.addVertex("name", "hub");
+        final ExecutorService executor = Executors.newFixedThreadPool(workers);
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int ix = 0; ix < workers; ix++) {
+            final int worker = ix;
+            futures.add(executor.submit(() -> {
+                final Random random = new Random(worker);
+                for (int iy = 0; iy < verticesPerWorker; iy++) {
+                    final Vertex v = graph.addVertex("name", "person", "worker", worker);
+                    v.addEdge("knows", hub, "weight", random.nextInt(10));
+                    hub.addEdge("knows", v, "weight", random.nextInt(10));
+                    v.property(VertexProperty.Cardinality.list, "location", "l" + iy);
+                }
+            }));
+        }
+        for (final Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        final int total = workers * verticesPerWorker;
+        final GraphTraversalSource g = graph.traversal();
+        assertEquals(new Long(total + 1), g.V().count().next());
+        assertEquals(new Long(total * 2), g.E().count().next());
+        assertEquals(new Long(total), g.V().has("name", "person").count().next());
+        assertEquals(new Long(verticesPerWorker), g.V().has("name", "person").has("worker", 3).count().next());
+        assertEquals(new Long(total), g.V(hub).out().count().next());
+        assertEquals(new Long(total), g.V(hub).in().count().next());
+        long indexed = 0;
+        for (int ix = 0; ix < 10; ix++) {
+            indexed = indexed + g.E().has("weight", ix).count().next();
+        }
+        assertEquals(total * 2, indexed);
+        assertEquals(new Long(total), g.V().has("name", "person").properties("location").count().next());
+    }
+
+    @Test
+    public void shouldRemoveConcurrentlyWithConcurrentWrites() throws Exception {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_CONCURRENT_WRITES, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        graph.createIndex("name", Vertex.class);
+
+        final Vertex hub = graph.addVertex("name", "hub");
+        final List<Vertex> vertices = new ArrayList<>();
+        for (int ix = 0; ix < 2000; ix++) {
+            final Vertex v = graph.addVertex("name", "person");
+            v.addEdge("knows", hub);
+            vertices.add(v);
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int ix = 0; ix < 4; ix++) {
+            final int worker = ix;
+            futures.add(executor.submit(() -> {
+                for (int iy = worker; iy < vertices.size(); iy = iy + 4) {
+                    vertices.get(iy).remove();
+                }
+            }));
+        }
+        for (final Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(1, IteratorUtils.count(graph.vertices()));
+        assertEquals(0, IteratorUtils.count(graph.edges()));
+        assertEquals(0, IteratorUtils.count(hub.edges(Direction.BOTH)));
+        assertEquals(new Long(0), graph.traversal().V().has("name", "person").count().next());
+    }
+
+    @Test
+    public void shouldKeepIndexOfExistingEdgeWhenConcurrentAddEdgeLosesIdRace() throws Exception {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_CONCURRENT_WRITES, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        graph.createIndex("weight", Edge.class);
+
+        final Vertex a = graph.addVertex();
+        final Vertex b = graph.addVertex();
+        final int rounds = 500;
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        final AtomicInteger rejected = new AtomicInteger(0);
+        for (int ix = 0; ix < rounds; ix++) {
+            final long id = ix;
+            final CyclicBarrier barrier = new CyclicBarrier(2);
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int iy = 0; iy < 2; iy++) {
+                futures.add(executor.submit(() -> {
+                    barrier.await();
+                    try {
+                        a.addEdge("knows", b, T.id, id, "weight", 1);
+                    } catch (IllegalArgumentException iae) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(rounds, rejected.get());
+        assertEquals(rounds, IteratorUtils.count(graph.edges()));
+        assertEquals(new Long(rounds), graph.traversal().E().has("weight", 1).count().next());
+    }
+
+    @Test
+    public void shouldSpillOrderedVerticesAndAttachThemAgain() throws Exception {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        final String spillDirectory = TestHelper.makeTestDataDirectory(TinkerGraphTest.class, "spill");
+        final GraphTraversalSource g = graph.traversal();
+        final GraphTraversalSource spilling = g.withStrategies(SpillStrategy.build().maxInMemory(2).spillDirectory(spillDirectory).create());
+
+        assertEquals(g.V().order().by("name").toList(), spilling.V().order().by("name").toList());
+        assertEquals(g.V().properties("name").order().by(T.value, Order.decr).toList(),
+                spilling.V().properties("name").order().by(T.value, Order.decr).toList());
+        assertEquals(g.E().properties("weight").order().by(__.value()).value().toList(),
+                spilling.E().properties("weight").order().by(__.value()).value().toList());
+        assertEquals(g.V().out().order().by(__.outE().count()).by("name").values("name").toList(),
+                spilling.V().out().order().by(__.outE().count()).by("name").values("name").toList());
+
+        // the meta-properties are only found if the vertex properties were attached again
+        final GraphTraversalSource crew = TinkerFactory.createTheCrew().traversal();
+        assertEquals(crew.V().properties("location").order().by(T.value).values("startTime").toList(),
+                crew.withStrategies(SpillStrategy.build().maxInMemory(2).spillDirectory(spillDirectory).create()).
+                        V().properties("location").order().by(T.value).values("startTime").toList());
+        assertEquals(0, new File(spillDirectory).list().length);
+    }
+
+    @Test
+    public void shouldSpillGroupsAndAttachThemAgain() throws Exception {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        final String spillDirectory = TestHelper.makeTestDataDirectory(TinkerGraphTest.class, "spill-group");
+        final GraphTraversalSource g = graph.traversal();
+        final GraphTraversalSource spilling = g.withStrategies(SpillStrategy.build().maxInMemory(2).spillDirectory(spillDirectory).create());
+
+        assertEquals(g.V().group().by().by(__.out().fold()).next(), spilling.V().group().by().by(__.out().fold()).next());
+        assertEquals(g.V().group().by(T.label).by(__.values("name").fold()).next(),
+                spilling.V().group().by(T.label).by(__.values("name").fold()).next());
+        assertEquals(g.E().group().by("weight").by(__.count()).next(), spilling.E().group().by("weight").by(__.count()).next());
+
+        // the vertices that are keys and within values are read back from the graph rather than as detached
+        final Map<Vertex, List<Vertex>> groups = spilling.V().<Vertex, List<Vertex>>group().by().by(__.out().fold()).next();
+        assertEquals(6, groups.size());
+        for (final Map.Entry<Vertex, List<Vertex>> entry : groups.entrySet()) {
+            assertTrue(entry.getKey() instanceof TinkerVertex);
+            for (final Vertex vertex : entry.getValue()) {
+                assertTrue(vertex instanceof TinkerVertex);
+            }
+        }
+        assertEquals(0, new File(spillDirectory).list().length);
+    }
+
+    @Test
+    public void shouldFindShortestPathsWithShortestPathStrategy() {
+        final TinkerGraph graph = TinkerGraph.open();
+        final int size = 30;
+        for (int i = 0; i < size; i++) {
+            graph.addVertex(T.id, i);
+        }
+        for (int i = 0; i < size; i++) {
+            final Vertex vertex = graph.vertices(i).next();
+            vertex.addEdge("next", graph.vertices((i + 1) % size).next());
+            vertex.addEdge("jump", graph.vertices((i * 7 + 3) % size).next());
+        }
+        final GraphTraversalSource g = graph.traversal();
+        final GraphTraversalSource unoptimized = g.withoutStrategies(ShortestPathStrategy.class);
+        final Traversal.Admin<?, ?> traversal = g.V(0).repeat(__.out().simplePath()).until(__.hasId(5)).limit(1).path().asAdmin();
+        traversal.applyStrategies();
+        assertTrue(TraversalHelper.hasStepOfClass(ShortestPathStep.class, traversal));
+
+        for (int source = 0; source < size; source = source + 3) {
+            for (int target = 1; target < size; target = target + 4) {
+                final List<Path> expected = unoptimized.V(source).repeat(__.out().simplePath()).until(__.hasId(target)).limit(1).path().toList();
+                final List<Path> paths = g.V(source).repeat(__.out().simplePath()).until(__.hasId(target)).limit(1).path().toList();
+                assertEquals(expected.size(), paths.size());
+                if (!paths.isEmpty()) {
+                    final Path path = paths.get(0);
+                    assertEquals(expected.get(0).size(), path.size());
+                    assertTrue(path.isSimple());
+                    assertEquals(source, ((Vertex) path.get(0)).id());
+                    assertEquals(target, ((Vertex) path.get(path.size() - 1)).id());
+                    for (int i = 1; i < path.size(); i++) {
+                        assertTrue(IteratorUtils.list(((Vertex) path.get(i - 1)).vertices(Direction.OUT)).contains(path.get(i)));
+                    }
+                }
+                // the search from the start alone when the filter is not on identifiers
+                assertEquals(unoptimized.V(source).repeat(__.both("jump").simplePath()).until(__.has(T.id, target)).path().limit(1).count(Scope.local).toList(),
+                        g.V(source).repeat(__.both("jump").simplePath()).until(__.has(T.id, target)).path().limit(1).count(Scope.local).toList());
+                assertEquals(unoptimized.V(source).repeat(__.both().simplePath()).until(__.hasId(target, target + 1)).path().limit(1).count(Scope.local).toList(),
+                        g.V(source).repeat(__.both().simplePath()).until(__.hasId(target, target + 1)).path().limit(1).count(Scope.local).toList());
+            }
+        }
+
+        // the path does not return to vertices that were already on it before repeat()
+        assertEquals(unoptimized.V(0).out().repeat(__.both().simplePath()).until(__.hasId(29)).limit(1).path().count(Scope.local).toList(),
+                g.V(0).out().repeat(__.both().simplePath()).until(__.hasId(29)).limit(1).path().count(Scope.local).toList());
+        // the shortest path from any of the starts, which repeat() itself does not promise
+        final long shortest = Math.min(unoptimized.V(10).repeat(__.out().simplePath()).until(__.hasId(0)).limit(1).path().count(Scope.local).next(),
+                unoptimized.V(20).repeat(__.out().simplePath()).until(__.hasId(0)).limit(1).path().count(Scope.local).next());
+        assertEquals(shortest, g.V(10, 20).repeat(__.out().simplePath()).until(__.hasId(0)).limit(1).path().count(Scope.local).next().longValue());
+
+        // on a graph computer traversers that reach a vertex already reached from their start are filtered
+        final TinkerGraph modern = TinkerFactory.createModern();
+        final GraphTraversalSource computer = modern.traversal().withComputer();
+        final GraphTraversalSource unoptimizedComputer = computer.withoutStrategies(ShortestPathStrategy.class);
+        for (final Vertex source : IteratorUtils.list(modern.vertices())) {
+            for (final Vertex target : IteratorUtils.list(modern.vertices())) {
+                assertEquals(unoptimizedComputer.V(source.id()).repeat(__.both().simplePath()).until(__.hasId(target.id())).path().limit(1).count(Scope.local).toList(),
+                        computer.V(source.id()).repeat(__.both().simplePath()).until(__.hasId(target.id())).path().limit(1).count(Scope.local).toList());
+            }
+        }
+        assertTrue(IteratorUtils.list(modern.vertices()).stream().noneMatch(v -> v.keys().contains(ShortestPathFilterStep.VISITED)));
+    }
+
+    @Test
+    public void shouldTraverseFromEachVertexOnceWithReachabilityStrategy() {
+        final TinkerGraph graph = TinkerGraph.open();
+        final int size = 30;
+        for (int i = 0; i < size; i++) {
+            graph.addVertex(T.id, i, "group", i % 4);
+        }
+        for (int i = 0; i < size; i++) {
+            final Vertex vertex = graph.vertices(i).next();
+            vertex.addEdge("next", graph.vertices((i + 1) % size).next());
+            vertex.addEdge("jump", graph.vertices((i * 7 + 3) % size).next());
+        }
+        final GraphTraversalSource g = graph.traversal();
+        final GraphTraversalSource unoptimized = g.withoutStrategies(ReachabilityStrategy.class);
+        final Traversal.Admin<?, ?> traversal = g.V(0).repeat(__.out()).emit().dedup().asAdmin();
+        traversal.applyStrategies();
+        assertTrue(TraversalHelper.getStepsOfClass(RepeatStep.class, traversal).get(0).isPruneVisited());
+
+        // every vertex is on the cycle of "next" edges, which repeat() would otherwise follow without end
+        assertEquals(size, g.V(0).repeat(__.out()).emit().dedup().count().next().intValue());
+        assertEquals(size, g.V(0).repeat(__.in("next")).emit().dedup().count().next().intValue());
+        assertEquals(Collections.singleton(0), g.V(3).repeat(__.out("next")).until(__.hasId(0)).dedup().id().toSet());
+
+        for (int source = 0; source < size; source = source + 5) {
+            assertEquals(unoptimized.V(source).repeat(__.out()).emit().times(4).dedup().toSet(),
+                    g.V(source).repeat(__.out()).emit().times(4).dedup().toSet());
+            assertEquals(unoptimized.V(source).emit().repeat(__.both("jump")).times(3).has("group", 1).dedup().toSet(),
+                    g.V(source).emit().repeat(__.both("jump")).times(3).has("group", 1).dedup().toSet());
+            assertEquals(unoptimized.V(source).repeat(__.outE().inV()).emit(__.has("group", 2)).times(4).dedup().toSet(),
+                    g.V(source).repeat(__.outE().inV()).emit(__.has("group", 2)).times(4).dedup().toSet());
+            // without emit() only the vertices reached in exactly as many loops come out
+            assertEquals(unoptimized.withoutStrategies(RepeatUnrollStrategy.class).V(source).repeat(__.out()).times(5).dedup().toSet(),
+                    g.withoutStrategies(RepeatUnrollStrategy.class).V(source).repeat(__.out()).times(5).dedup().toSet());
+        }
+
+        // the vertices reached by each start are kept apart in a local() traversal
+        assertEquals(unoptimized.V().local(__.repeat(__.out("jump")).emit().times(3).dedup().count()).toList(),
+                g.V().local(__.repeat(__.out("jump")).emit().times(3).dedup().count()).toList());
+
+        final GraphTraversalSource modern = TinkerFactory.createModern().traversal();
+        final GraphTraversalSource unoptimizedModern = modern.withoutStrategies(ReachabilityStrategy.class);
+        assertEquals(unoptimizedModern.V().repeat(__.both()).emit().times(3).dedup().toSet(), modern.V().repeat(__.both()).emit().times(3).dedup().toSet());
+        assertEquals(unoptimizedModern.V().repeat(__.out()).until(__.not(__.out())).dedup().toSet(), modern.V().repeat(__.out()).until(__.not(__.out())).dedup().toSet());
+        assertEquals(unoptimizedModern.V().repeat(__.out()).emit().dedup().values("name").toSet(), modern.V().repeat(__.out()).emit().dedup().values("name").toSet());
+    }
+
+    @Test
+    public void shouldProduceSameResultsWithParallelStrategy() {
+        final TinkerGraph graph = TinkerGraph.open();
+        final Random random = new Random(123456789L);
+        final int size = 500;
+        for (int i = 0; i < size; i++) {
+            graph.addVertex(T.id, i, T.label, i % 3 == 0 ? "person" : "software", "group", i % 7, "weight", random.nextDouble());
+        }
+        for (int i = 0; i < size * 4; i++) {
+            graph.vertices(random.nextInt(size)).next().addEdge(random.nextBoolean() ? "knows" : "created", graph.vertices(random.nextInt(size)).next());
+        }
+        final GraphTraversalSource g = graph.traversal();
+        final GraphTraversalSource parallel = g.withStrategies(ParallelStrategy.build().threads(4).batchSize(7).create());
+        final Traversal.Admin<?, ?> traversal = parallel.V().out().count().asAdmin();
+        traversal.applyStrategies();
+        assertTrue(TraversalHelper.hasStepOfClass(ParallelStep.class, traversal));
+
+        assertEquals(g.V().both().both().count().next(), parallel.V().both().both().count().next());
+        assertEquals(g.E().count().next(), parallel.E().count().next());
+        assertEquals(g.V().out("knows").groupCount().by("group").next(), parallel.V().out("knows").groupCount().by("group").next());
+        assertEquals(g.V().hasLabel("person").group().by("group").by(__.out().count()).next(),
+                parallel.V().hasLabel("person").group().by("group").by(__.out().count()).next());
+        assertEquals(g.V().group().by(T.label).by(__.values("group").fold().order(Scope.local)).next(),
+                parallel.V().group().by(T.label).by(__.values("group").fold().order(Scope.local)).next());
+        assertEquals(g.V().out().values("group").sum().next(), parallel.V().out().values("group").sum().next());
+        assertEquals(g.V().out().values("group").max().next(), parallel.V().out().values("group").max().next());
+        assertEquals(g.V().out().values("group").min().next(), parallel.V().out().values("group").min().next());
+        assertEquals(g.V().out().values("weight").mean().next().doubleValue(), parallel.V().out().values("weight").mean().next().doubleValue(), 0.000001d);
+        assertEquals(g.V().out().out().id().fold().order(Scope.local).next(), parallel.V().out().out().id().fold().order(Scope.local).next());
+        assertEquals(g.V().local(__.out().order().by("weight").limit(1)).values("group").groupCount().next(),
+                parallel.V().local(__.out().order().by("weight").limit(1)).values("group").groupCount().next());
+        assertEquals(g.V().out().count().is(P.gt(0)).toList(), parallel.V().out().count().is(P.gt(0)).toList());
+
+        // the traversal continues as normal from the merged result of the barrier
+        assertEquals(g.V().out().groupCount().by("group").as("a").select(Column.values).unfold().sum().next(),
+                parallel.V().out().groupCount().by("group").as("a").select(Column.values).unfold().sum().next());
+        assertEquals(0L, parallel.V().has("group", 99).out().count().next().longValue());
+        assertEquals(Collections.emptyMap(), parallel.V().has("group", 99).groupCount().next());
+    }
+
+    @Test
+    public void shouldReturnLazyPropertyMapsThatDoNotChangeWithTheGraph() {
+        final GraphTraversalSource g = TinkerFactory.createTheCrew().traversal();
+        final Map<Object, Object> valueMap = g.V().has("name", "marko").valueMap(true).next();
+        assertTrue(valueMap instanceof LazyPropertyMap);
+        assertEquals(Arrays.asList("san diego", "santa cruz", "brussels", "santa fe"), valueMap.get("location"));
+        assertEquals("person", valueMap.get(T.label));
+        assertEquals(4, valueMap.size());
+        assertEquals(Collections.singletonList("marko"), g.V().has("name", "marko").valueMap().select("name").next());
+        assertTrue(g.V().has("name", "marko").propertyMap("name").next() instanceof LazyPropertyMap);
+
+        // the map holds the properties as they were when it was returned
+        final Map<Object, Object> before = new HashMap<>(valueMap);
+        g.V().has("name", "marko").properties("location").drop().iterate();
+        g.V().has("name", "marko").property("age", 29).iterate();
+        assertEquals(before, valueMap);
+        assertEquals(Arrays.asList("san diego", "santa cruz", "brussels", "santa fe"), valueMap.get("location"));
+        assertFalse(valueMap.containsKey("age"));
+
+        final Map<Object, Object> modifiedValueMap = g.V().has("name", "marko").property(VertexProperty.Cardinality.single, "age", 30).valueMap(true).next();
+        assertEquals(Collections.singletonList(30), modifiedValueMap.get("age"));
+        assertFalse(modifiedValueMap.containsKey("location"));
+        assertEquals(new HashMap<>(g.V().has("name", "marko").valueMap(true).next()), modifiedValueMap);
+    }
+
+    @Test
+    public void shouldCountAndReduceFromLabelsIndicesAndAdjacency() {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        graph.createIndex("name", Vertex.class);
+        graph.createIndex("age", Vertex.class);
+        graph.createIndex("weight", Edge.class);
+        final GraphTraversalSource g = graph.traversal();
+        final GraphTraversalSource standard = g.withoutStrategies(TinkerGraphCountStrategy.class, TinkerGraphMinMaxStrategy.class);
+
+        assertPushedDown(4L, TinkerCountGlobalStep.class, g.V().hasLabel("person").count(), standard.V().hasLabel("person").count());
+        assertPushedDown(6L, TinkerCountGlobalStep.class, g.V().hasLabel("person", "software", "person").count(), standard.V().hasLabel("person", "software", "person").count());
+        assertPushedDown(0L, TinkerCountGlobalStep.class, g.E().hasLabel("likes").count(), standard.E().hasLabel("likes").count());
+        assertPushedDown(1L, TinkerCountGlobalStep.class, g.V().has("name", "marko").count(), standard.V().has("name", "marko").count());
+        assertPushedDown(0L, TinkerCountGlobalStep.class, g.V().has("name", "marko").hasLabel("software").count(), standard.V().has("name", "marko").hasLabel("software").count());
+        assertPushedDown(3L, TinkerDegreeCountStep.class, g.V(1).outE().count(), standard.V(1).outE().count());
+        assertPushedDown(2L, TinkerDegreeCountStep.class, g.V(1).out("knows").count(), standard.V(1).out("knows").count());
+        assertPushedDown(6L, TinkerDegreeCountStep.class, g.V(1, 4, 99).both().count(), standard.V(1, 4, 99).both().count());
+        assertPushedDown(35, TinkerMinMaxGlobalStep.class, g.V().values("age").max(), standard.V().values("age").max());
+        assertPushedDown(27, TinkerMinMaxGlobalStep.class, g.V().values("age").min(), standard.V().values("age").min());
+        assertPushedDown(1.0d, TinkerMinMaxGlobalStep.class, g.E().values("weight").max(), standard.E().values("weight").max());
+
+        // the values of an index are reduced as the values of the elements would be, including their type
+        graph.addVertex(T.label, "person", "name", "stephen", "age", 40L);
+        graph.addVertex(T.label, "person", "name", "daniel");
+        assertPushedDown(1L, TinkerCountGlobalStep.class, g.V().has("age", 40L).hasLabel("person").count(), standard.V().has("age", 40L).hasLabel("person").count());
+        assertPushedDown(40L, TinkerMinMaxGlobalStep.class, g.V().values("age").max(), standard.V().values("age").max());
+        assertPushedDown(27L, TinkerMinMaxGlobalStep.class, g.V().values("age").min(), standard.V().values("age").min());
+        graph.createIndex("nickname", Vertex.class);
+        assertPushedDown(Integer.MIN_VALUE, TinkerMinMaxGlobalStep.class, g.V().values("nickname").max(), standard.V().values("nickname").max());
+
+        g.V().has("name", "stephen").drop().iterate();
+        assertPushedDown(5L, TinkerCountGlobalStep.class, g.V().hasLabel("person").count(), standard.V().hasLabel("person").count());
+        assertPushedDown(1L, TinkerCountGlobalStep.class, g.V().has("name", "daniel").count(), standard.V().has("name", "daniel").count());
+        assertPushedDown(35, TinkerMinMaxGlobalStep.class, g.V().values("age").max(), standard.V().values("age").max());
+
+        // the filters and values of keys without an index are left to the standard steps
+        graph.dropIndex("age", Vertex.class);
+        final Traversal.Admin<?, ?> max = g.V().values("age").max().asAdmin();
+        max.applyStrategies();
+        assertFalse(TraversalHelper.hasStepOfClass(TinkerMinMaxGlobalStep.class, max));
+        final Traversal.Admin<?, ?> count = g.V().has("age", 29).count().asAdmin();
+        count.applyStrategies();
+        assertFalse(TraversalHelper.hasStepOfClass(TinkerCountGlobalStep.class, count));
+        assertEquals(35, g.V().values("age").max().next());
+    }
+
+    private static void assertPushedDown(final Object expected, final Class<? extends Step> stepClass,
+                                         final Traversal<?, ?> traversal, final Traversal<?, ?> standardTraversal) {
+        final Traversal.Admin<?, ?> admin = traversal.asAdmin();
+        admin.applyStrategies();
+        assertTrue(admin.toString(), TraversalHelper.hasStepOfClass(stepClass, admin));
+        final Object result = admin.next();
+        assertEquals(expected, result);
+        assertEquals(standardTraversal.next(), result);
+    }
+
     @Test
     public void shouldSerializeWithColorClassResolverToTinkerGraph() throws Exception {
         final Map<String,Color> colors = new HashMap<>();